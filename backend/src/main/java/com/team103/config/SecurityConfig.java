@@ -3,7 +3,10 @@ package com.team103.config;
 
 import com.team103.security.JwtAuthFilter;
 import com.team103.security.JwtUtil;
+import com.team103.security.NoHttpSessionFilter;
+import com.team103.security.VerifiedTokenCache;
 import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -15,6 +18,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.session.DisableEncodeUrlFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -43,15 +47,16 @@ public class SecurityConfig {
     };
 
     /* ====== 비밀번호 인코더 ====== */
+    // cost 를 올리면 새로 만드는 해시부터 적용되고, 기존 해시는 로그인 때 PasswordVerifier 가 다시 해시
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.password.bcrypt-cost:10}") int cost) {
+        return new BCryptPasswordEncoder(cost);
     }
 
     /* ====== JWT 필터 Bean ====== */
     @Bean
-    public JwtAuthFilter jwtAuthFilter(JwtUtil jwtUtil) {
-        return new JwtAuthFilter(jwtUtil);
+    public JwtAuthFilter jwtAuthFilter(JwtUtil jwtUtil, VerifiedTokenCache tokenCache) {
+        return new JwtAuthFilter(jwtUtil, tokenCache);
     }
 
     /* ====== 메인 Security FilterChain ====== */
@@ -69,6 +74,8 @@ public class SecurityConfig {
                 /* ----- 항상 허용 ----- */
                 .requestMatchers("/error", "/error/**").permitAll()
                 .dispatcherTypeMatchers(DispatcherType.ERROR, DispatcherType.FORWARD).permitAll()
+                // SSE(좌석판 스트림) 비동기 디스패치: 최초 요청에서 이미 인가됨
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 
                 // 헬스체크, ping
                 .requestMatchers("/actuator/health/**", "/actuator/info", "/ping").permitAll()
@@ -200,6 +207,9 @@ public class SecurityConfig {
                 .anyRequest().authenticated()
             )
 
+            // 세션 생성 자체를 막음 (STATELESS 는 Security 자신만 세션을 안 만듦)
+            .addFilterBefore(new NoHttpSessionFilter(), DisableEncodeUrlFilter.class)
+
             // JWT 필터 추가
             .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
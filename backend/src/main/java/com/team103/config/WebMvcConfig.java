@@ -0,0 +1,17 @@
+package com.team103.config;
+
+import com.team103.security.CurrentUserArgumentResolver;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        // 컨트롤러 파라미터 CurrentUser ← SecurityContext (세션 대신)
+        resolvers.add(new CurrentUserArgumentResolver());
+    }
+}
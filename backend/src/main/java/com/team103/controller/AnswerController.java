@@ -10,13 +10,15 @@ import com.team103.repository.ParentRepository;
 import com.team103.repository.QuestionRepository;
 import com.team103.repository.StudentRepository;
 import com.team103.repository.TeacherRepository;
-import com.team103.security.JwtUtil;
+import com.team103.security.CurrentUser;
 import com.team103.service.FcmService;
-
-import io.jsonwebtoken.Claims;
-import jakarta.servlet.http.HttpSession;
+import com.team103.service.QnaAggregateService;
+import com.team103.service.QnaMessageEvent;
+import com.team103.service.QnaRecentService;
+import com.team103.service.QnaSearchIndex;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -29,42 +31,16 @@ import java.util.*;
 @RestController
 public class AnswerController {
 
-    private static final String BEARER = "Bearer ";
-
     @Autowired private AnswerRepository answerRepository;
     @Autowired private QuestionRepository questionRepository;
     @Autowired private StudentRepository studentRepository;
     @Autowired private TeacherRepository teacherRepository;
     @Autowired private ParentRepository parentRepository;
     @Autowired private FcmService fcmService;
-    @Autowired private JwtUtil jwtUtil;
-
-    /** JWT → 세션에 username/role 저장 */
-    @ModelAttribute
-    public void ensureSessionFromJwt(
-            @RequestHeader(value = "Authorization", required = false) String auth,
-            HttpSession session
-    ) {
-        if (!StringUtils.hasText(auth) || !auth.startsWith(BEARER)) return;
-
-        if (session.getAttribute("username") != null &&
-            session.getAttribute("role") != null) return;
-
-        try {
-            String token = auth.substring(BEARER.length());
-            Claims claims = jwtUtil.validateToken(token);
-
-            String userId = claims.getSubject();
-            String role = claims.get("role", String.class);
-
-            if (StringUtils.hasText(userId)) {
-                session.setAttribute("username", userId);
-            }
-            if (StringUtils.hasText(role)) {
-                session.setAttribute("role", role);
-            }
-        } catch (Exception ignore) {}
-    }
+    @Autowired private QnaAggregateService qnaAggregates;
+    @Autowired private QnaSearchIndex searchIndex;
+    @Autowired private QnaRecentService qnaRecent;
+    @Autowired private ApplicationEventPublisher events;
 
     // ─────────────────────────────────────────────────────────────
     // 🔹 특정 질문의 답변 목록 조회
@@ -85,13 +61,13 @@ public class AnswerController {
     public ResponseEntity<Answer> createAnswer(
             @PathVariable("qId") String questionId,
             @RequestBody Answer payload,
-            HttpSession session) {
+            CurrentUser me) {
 
         Question q = questionRepository.findById(questionId).orElse(null);
         if (q == null) return new ResponseEntity<>(HttpStatus.NOT_FOUND);
 
-        String role = (String) session.getAttribute("role");
-        String userId = (String) session.getAttribute("username");
+        String role = me.role();
+        String userId = me.userId();
 
         if (!StringUtils.hasText(userId))
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
@@ -107,11 +83,13 @@ public class AnswerController {
         } catch (Exception ignore) {}
 
         Answer saved = answerRepository.save(a);
+        qnaAggregates.onAnswerCreated(saved);
+        searchIndex.putAnswer(saved);
+        qnaRecent.onAnswerCreated(saved, q, role);
+        events.publishEvent(new QnaMessageEvent(questionId));
 
-        // 알림 전송 (FCM)
-        try {
-            sendFcmForAnswer(saved, q, role);
-        } catch (Exception ignore) {}
+        // 알림 전송 (FCM): 수신자 조회/발송 모두 요청 밖에서
+        fcmService.sendLater(() -> sendFcmForAnswer(saved, q, role));
 
         saved.setTeacherName(resolveTeacherName(saved.getAuthor()));
         return new ResponseEntity<>(saved, HttpStatus.CREATED);
@@ -131,6 +109,7 @@ public class AnswerController {
         Answer existing = opt.get();
         existing.setContent(answer.getContent());
         Answer updated = answerRepository.save(existing);
+        searchIndex.putAnswer(updated);
 
         updated.setTeacherName(resolveTeacherName(updated.getAuthor()));
         return ResponseEntity.ok(updated);
@@ -142,9 +121,9 @@ public class AnswerController {
     @DeleteMapping("/api/answers/{id}")
     public ResponseEntity<Void> deleteAnswer(
             @PathVariable String id,
-            HttpSession session) {
+            CurrentUser me) {
 
-        String role = (String) session.getAttribute("role");
+        String role = me.role();
         if (!"teacher".equalsIgnoreCase(role))
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
 
@@ -152,8 +131,12 @@ public class AnswerController {
         if (opt.isEmpty()) return ResponseEntity.noContent().build();
 
         Answer answer = opt.get();
+        boolean wasActive = !answer.isDeleted();
         answer.setDeleted(true);
         answerRepository.save(answer);
+        if (wasActive) qnaAggregates.onAnswerDeleted(answer);
+        searchIndex.removeAnswer(answer.getId());
+        qnaRecent.onAnswerDeleted(answer);
 
         return ResponseEntity.noContent().build();
     }
@@ -193,10 +176,10 @@ public class AnswerController {
     @GetMapping("/api/my/recent-answers")
     public List<Answer> getMyRecentAnswers(
             @RequestParam(defaultValue = "2") int count,
-            HttpSession session
+            CurrentUser me
     ) {
-        String role = (String) session.getAttribute("role");
-        String userId = (String) session.getAttribute("username");
+        String role = me.role();
+        String userId = me.userId();
 
         if (role == null || userId == null) return List.of();
 
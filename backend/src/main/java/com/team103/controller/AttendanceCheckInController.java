@@ -2,14 +2,20 @@ package com.team103.controller;
 
 import com.team103.dto.CheckInRequest;
 import com.team103.dto.CheckInResponse;
-import com.team103.model.Attendance;
 import com.team103.model.Course;
 import com.team103.model.Student;
-import com.team103.repository.AttendanceRepository;
 import com.team103.repository.CourseRepository;
 import com.team103.repository.StudentRepository;
+import com.team103.security.CurrentUser;
+import com.team103.service.CheckInDedup;
+import com.team103.service.CheckInIngestQueue;
+import com.team103.service.EntranceCheckInService;
+import com.team103.service.LobbyService;
+import com.team103.service.ModelAccessors;
+import com.team103.service.SeatBoardChangedEvent;
 import com.team103.service.SeatBoardService;   // ⭐ 추가
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -20,17 +26,26 @@ import org.springframework.web.bind.annotation.*;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/api/attendance")
 public class AttendanceCheckInController {
 
     private final CourseRepository courseRepo;
-    private final AttendanceRepository attRepo;
+    private final CheckInIngestQueue ingest;
+    private final CheckInDedup dedup;
+    private final EntranceCheckInService entrance;
+    private final LobbyService lobby;
     private final StudentRepository studentRepo;
     private final MongoTemplate mongo;
 
     private final SeatBoardService seatBoardService;   // ⭐ 추가
+    private final ApplicationEventPublisher events;
 
     @Value("${attendance.lateAfterMin:15}")
     private int lateAfterMin;
@@ -38,32 +53,61 @@ public class AttendanceCheckInController {
     @Value("${attendance.absentAfterMin:20}")
     private int absentAfterMin;
 
-    private static final String COLL_ATT = "attendances";
     private static final String COLL_WAIT = "waiting_room";
 
     public AttendanceCheckInController(
             CourseRepository courseRepo,
-            AttendanceRepository attRepo,
+            CheckInIngestQueue ingest,
+            CheckInDedup dedup,
+            EntranceCheckInService entrance,
+            LobbyService lobby,
             StudentRepository studentRepo,
             MongoTemplate mongo,
-            SeatBoardService seatBoardService        // ⭐ 추가
+            SeatBoardService seatBoardService,       // ⭐ 추가
+            ApplicationEventPublisher events
     ) {
         this.courseRepo = courseRepo;
-        this.attRepo = attRepo;
+        this.ingest = ingest;
+        this.dedup = dedup;
+        this.entrance = entrance;
+        this.lobby = lobby;
         this.studentRepo = studentRepo;
         this.mongo = mongo;
         this.seatBoardService = seatBoardService;   // ⭐ 추가
+        this.events = events;
     }
 
     /** =========================================================
      *  🚪 1) Entrance 입구 출석 (classId 없음)
      * ========================================================= */
     @PostMapping("/check-in")
-    public ResponseEntity<?> checkIn(@RequestBody CheckInRequest req) {
+    public ResponseEntity<?> checkIn(@RequestBody CheckInRequest req,
+                                     @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                     CurrentUser me) {
 
         if (req == null || req.getStudentId() == null)
             return ResponseEntity.badRequest().body("studentId 필요");
 
+        // 반복 스캔(2~5회) 멱등 처리: 헤더 키 우선, 없으면 (학생, 수업/입구, 날짜)
+        // 헤더 키는 (로그인 사용자, 학생, 날짜) 범위 안에서만 → 다른 학생 요청과 키가 겹쳐도 결과를 나눠 갖지 않음
+        String ymd = ZonedDateTime.now(ZoneId.of("Asia/Seoul")).toLocalDate().toString();
+        String key = (idempotencyKey != null && !idempotencyKey.isBlank())
+                ? CheckInDedup.headerKey(me.userId(), req.getStudentId(), ymd, idempotencyKey.trim())
+                : CheckInDedup.checkInKey(req.getStudentId(), req.getClassId(), ymd);
+        // 같은 키로 다른 수업/학원 요청이 오면 첫 결과를 돌려주지 않고 422
+        String fingerprint = CheckInDedup.checkInKey(req.getStudentId(), req.getClassId(), ymd)
+                + "|" + req.getAcademyNumber();
+
+        try {
+            return dedup.<ResponseEntity<?>>once(key, fingerprint, () -> doCheckIn(req),
+                    r -> r.getStatusCode().is2xxSuccessful());
+        } catch (CheckInDedup.KeyReusedException e) {
+            return ResponseEntity.unprocessableEntity().body("Idempotency-Key 가 다른 요청에 재사용됨");
+        }
+    }
+
+    private ResponseEntity<?> doCheckIn(CheckInRequest req) {
+
         String studentId = req.getStudentId();
         String classId = req.getClassId();
         Integer academyReq = req.getAcademyNumber();
@@ -71,7 +115,6 @@ public class AttendanceCheckInController {
         ZoneId KST = ZoneId.of("Asia/Seoul");
         ZonedDateTime now = ZonedDateTime.now(KST);
         String ymd = now.toLocalDate().toString();
-        String hm = now.toLocalTime().toString();
 
         // 학생 조회
         Student stu = studentRepo.findByStudentId(studentId);
@@ -82,33 +125,17 @@ public class AttendanceCheckInController {
          * ========================================================= */
         if (classId == null || classId.isBlank()) {
 
-            // entrance 문서 upsert
-            Query q = new Query(
-                    Criteria.where("Date").is(ymd)
-                            .and("Type").is("entrance")
-            );
-            Update up = new Update()
-                    .setOnInsert("Type", "entrance")
-                    .setOnInsert("Date", ymd)
-                    .set("updatedAt", new Date());
-            mongo.upsert(q, up, COLL_ATT);
-
-            // 리스트 추가
-            Update push = new Update().push("Attendance_List", Map.of(
-                    "Student_ID", studentId,
-                    "Status", "입구 출석",
-                    "CheckIn_Time", hm,
-                    "Source", "tablet"
-            ));
-            mongo.updateFirst(q, push, COLL_ATT);
-
-            // waiting_room 업데이트
             Integer academyNumber = academyReq != null
                     ? academyReq
                     : stu.getAcademyNumbers() != null && !stu.getAcademyNumbers().isEmpty()
                         ? stu.getAcademyNumbers().get(0)
                         : null;
 
+            // 입구 출석 이벤트 기록 (학원+날짜 파티션, 요약은 entrance_daily)
+            entrance.record(academyNumber, ymd, studentId, "tablet");
+
+            // waiting_room 업데이트
+
             if (academyNumber != null) {
                 Query wq = new Query(
                         Criteria.where("Academy_Number").is(academyNumber)
@@ -123,8 +150,12 @@ public class AttendanceCheckInController {
                         .set("School", stu.getSchool())
                         .set("Grade", stu.getGrade());
                 mongo.upsert(wq, wup, COLL_WAIT);
+                lobby.onEntered(academyNumber, studentId, now.toLocalDateTime().toString(), "LOBBY");
             }
 
+            // 대기열/입구 출석 변경 → 같은 날짜 좌석판 구독자에게 알림
+            events.publishEvent(new SeatBoardChangedEvent(null, ymd));
+
             CheckInResponse r = new CheckInResponse();
             r.setStatus("입구 출석");
             r.setDate(ymd);
@@ -160,43 +191,27 @@ public class AttendanceCheckInController {
                 ? "지각"
                 : "출석";
 
-        Attendance att = attRepo.findFirstByClassIdAndDate(classId, ymd);
-        if (att == null) {
-            att = new Attendance();
-            att.setClassId(classId);
-            att.setDate(ymd);
-            att.setAttendanceList(new ArrayList<>());
-            att.setSeatAssignments(new ArrayList<>());
+        // 출석 기록 + waiting_room 제거는 그룹 커밋 큐로 (수업+날짜별 bulk 1회, 좌석판 알림도 flush 때)
+        CompletableFuture<Void> written;
+        try {
+            written = ingest.submit(new CheckInIngestQueue.ClassCheckIn(
+                    classId, ymd, studentId, status, now.toLocalTime().toString(),
+                    course.getAcademyNumber(), ModelAccessors.roster(course)));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(503).header("Retry-After", "1").body("출석 처리 지연, 잠시 후 다시 시도");
         }
 
-        boolean found = false;
-        for (Attendance.Item it : att.getAttendanceList()) {
-            if (it.getStudentId().equals(studentId)) {
-                it.setStatus(status);
-                it.setCheckInTime(now.toLocalTime().toString());
-                found = true;
-                break;
+        // durable 모드: DB 반영까지 확인 후 응답
+        if (ingest.isDurable()) {
+            try {
+                written.get(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return ResponseEntity.status(503).body("출석 저장 확인 실패");
+            } catch (ExecutionException | TimeoutException e) {
+                return ResponseEntity.status(503).body("출석 저장 확인 실패");
             }
         }
-        if (!found) {
-            Attendance.Item it = new Attendance.Item();
-            it.setStudentId(studentId);
-            it.setStatus(status);
-            it.setCheckInTime(now.toLocalTime().toString());
-            att.getAttendanceList().add(it);
-        }
-
-        attRepo.save(att);
-
-        // waiting_room 제거
-        Integer academyNumber = course.getAcademyNumber();
-        if (academyNumber != null) {
-            Query del = new Query(
-                    Criteria.where("Academy_Number").is(academyNumber)
-                            .and("Student_ID").is(studentId)
-            );
-            mongo.remove(del, COLL_WAIT);
-        }
 
         CheckInResponse r = new CheckInResponse();
         r.setStatus(status);
@@ -5,6 +5,7 @@ import com.team103.model.Academy;
 import com.team103.model.Director;
 import com.team103.repository.AcademyRepository;
 import com.team103.repository.DirectorRepository;
+import com.team103.service.LoginPrincipalService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +22,7 @@ public class DirectorSignupController {
     @Autowired private DirectorRepository directorRepo;
     @Autowired private AcademyRepository academyRepo;
     @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private LoginPrincipalService principals;
 
     @PostMapping(consumes = "application/json", produces = "application/json")
     public ResponseEntity<?> signup(@RequestBody DirectorSignupRequest req) {
@@ -32,8 +34,8 @@ public class DirectorSignupController {
             ));
         }
 
-        // 2) 중복 체크 (로그인 아이디 기준)
-        if (directorRepo.existsByUsername(req.getUsername())) {
+        // 2) 중복 체크 (로그인 아이디 기준, 다른 역할 계정 아이디 포함)
+        if (directorRepo.existsByUsername(req.getUsername()) || principals.isTaken(req.getUsername())) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
                 "status", "fail",
                 "message", "이미 존재하는 원장 아이디입니다."
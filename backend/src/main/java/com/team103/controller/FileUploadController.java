@@ -1,47 +1,36 @@
 // src/main/java/com/team103/controller/FileUploadController.java
 package com.team103.controller;
 
+import com.team103.service.UploadStore;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
-import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.io.IOException;
-import java.nio.file.*;
 import java.util.*;
 
 @RestController
 @RequestMapping("/api/files")
 public class FileUploadController {
 
-    private final Path uploadDir = Paths.get("uploads").toAbsolutePath().normalize();
+    private final UploadStore uploadStore;
 
-    public FileUploadController() throws IOException {
-        Files.createDirectories(uploadDir); // ./uploads 보장
+    public FileUploadController(UploadStore uploadStore) {
+        this.uploadStore = uploadStore;
     }
 
+    /** images 파트들을 본문에서 바로 blob 저장소로 (같은 이미지는 같은 URL) */
     @PostMapping(value = "/upload", consumes = {"multipart/form-data"})
-    public ResponseEntity<Map<String, Object>> upload(@RequestParam("images") List<MultipartFile> images) throws IOException {
-        List<String> urls = new ArrayList<>();
-        for (MultipartFile file : images) {
-            if (file.isEmpty()) continue;
-
-            String original = StringUtils.cleanPath(Objects.requireNonNullElse(file.getOriginalFilename(), "image"));
-            String ext = "";
-            int dot = original.lastIndexOf('.');
-            if (dot >= 0) ext = original.substring(dot);
-
-            String filename = UUID.randomUUID().toString().replace("-", "") + ext;
-            Path target = uploadDir.resolve(filename);
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
+    public ResponseEntity<Map<String, Object>> upload(HttpServletRequest request) {
+        UploadStore.Upload upload = uploadStore.receive(request, "images");
 
+        List<String> urls = new ArrayList<>();
+        for (UploadStore.StoredBlob blob : upload.files()) {
             // ★ 정적 매핑(/files/**)과 맞춰 공개 URL 생성
-            String publicUrl = ServletUriComponentsBuilder
-                    .fromCurrentContextPath()
-                    .path("/files/")
-                    .path(filename)
-                    .toUriString();
+            String publicUrl = ServletUriComponentsBuilder
+                    .fromCurrentContextPath()
+                    .path(blob.publicPath())
+                    .toUriString();
 
             urls.add(publicUrl);
         }
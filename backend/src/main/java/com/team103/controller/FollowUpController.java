@@ -6,14 +6,15 @@ import com.team103.model.Parent;
 import com.team103.repository.FollowUpRepository;
 import com.team103.repository.StudentRepository;
 import com.team103.repository.ParentRepository;
-import com.team103.security.JwtUtil;
+import com.team103.security.CurrentUser;
+import com.team103.service.QnaAggregateService;
+import com.team103.service.QnaMessageEvent;
+import com.team103.service.QnaSearchIndex;
 
-import jakarta.servlet.http.HttpSession;
-
-import io.jsonwebtoken.Claims;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.*;
 
@@ -30,38 +31,18 @@ public class FollowUpController {
     private ParentRepository parentRepository;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private QnaAggregateService qnaAggregates;
 
-    private static final String BEARER = "Bearer ";
+    @Autowired
+    private QnaSearchIndex searchIndex;
+
+    @Autowired
+    private ApplicationEventPublisher events;
 
     public FollowUpController(FollowUpRepository followUpRepository) {
         this.followUpRepository = followUpRepository;
     }
 
-    // ★ JWT → 세션 브릿지 (이 컨트롤러로 들어오는 모든 요청에 대해 세션 보강)
-    @ModelAttribute
-    public void ensureSessionFromJwt(
-            @RequestHeader(value = "Authorization", required = false) String auth,
-            HttpSession session
-    ) {
-        if (auth == null || !auth.startsWith(BEARER)) return;
-        try {
-            String token = auth.substring(BEARER.length());
-            Claims claims = jwtUtil.validateToken(token);
-            String userId = claims.getSubject();
-            String role = claims.get("role", String.class);
-
-            if (userId != null && session.getAttribute("username") == null) {
-                session.setAttribute("username", userId);
-            }
-            if (role != null && session.getAttribute("role") == null) {
-                session.setAttribute("role", role);
-            }
-        } catch (Exception ignore) {
-            // 유효하지 않은 토큰이면 세션 미변경
-        }
-    }
-
     // 목록
     @GetMapping("/questions/{qId}/followups")
     public List<FollowUp> list(@PathVariable("qId") String questionId) {
@@ -89,9 +70,9 @@ public class FollowUpController {
     @PostMapping("/questions/{qId}/followups")
     public ResponseEntity<?> create(@PathVariable("qId") String questionId,
                                     @RequestBody FollowUp fu,
-                                    HttpSession session) {
-        String role = (String) session.getAttribute("role");
-        String userId = (String) session.getAttribute("username");
+                                    CurrentUser me) {
+        String role = me.role();
+        String userId = me.userId();
         if (userId == null || role == null) {
             return ResponseEntity.status(401).body("로그인 후 이용해주세요.");
         }
@@ -106,6 +87,9 @@ public class FollowUpController {
         fu.setDeleted(false);
 
         FollowUp saved = followUpRepository.save(fu);
+        qnaAggregates.onFollowUpCreated(saved);
+        searchIndex.putFollowUp(saved);
+        events.publishEvent(new QnaMessageEvent(questionId));
 
         // 응답에도 역할별 이름 세팅
         if ("student".equalsIgnoreCase(role)) {
@@ -125,9 +109,9 @@ public class FollowUpController {
     @PutMapping("/followups/{id}")
     public ResponseEntity<?> update(@PathVariable String id,
                                     @RequestBody FollowUp req,
-                                    HttpSession session) {
-        String role = (String) session.getAttribute("role");
-        String userId = (String) session.getAttribute("username");
+                                    CurrentUser me) {
+        String role = me.role();
+        String userId = me.userId();
         if (userId == null || role == null) return ResponseEntity.status(401).build();
         if (!(role.equalsIgnoreCase("student") || role.equalsIgnoreCase("parent"))) return ResponseEntity.status(403).build();
 
@@ -139,6 +123,7 @@ public class FollowUpController {
 
         fu.setContent(req.getContent());
         FollowUp saved = followUpRepository.save(fu);
+        searchIndex.putFollowUp(saved);
 
         // 응답에도 역할별 이름 세팅
         String fuRole = saved.getAuthorRole();
@@ -157,9 +142,9 @@ public class FollowUpController {
 
     // 삭제(소프트): 작성자 or 선생
     @DeleteMapping("/followups/{id}")
-    public ResponseEntity<?> delete(@PathVariable String id, HttpSession session) {
-        String role = (String) session.getAttribute("role");
-        String userId = (String) session.getAttribute("username");
+    public ResponseEntity<?> delete(@PathVariable String id, CurrentUser me) {
+        String role = me.role();
+        String userId = me.userId();
         if (userId == null || role == null) return ResponseEntity.status(401).build();
 
         Optional<FollowUp> opt = followUpRepository.findById(id);
@@ -173,6 +158,8 @@ public class FollowUpController {
         if (!fu.isDeleted()) {
             fu.setDeleted(true);
             followUpRepository.save(fu);
+            qnaAggregates.onFollowUpDeleted(fu);
+            searchIndex.removeFollowUp(fu.getId());
         }
         return ResponseEntity.noContent().build();
     }
@@ -3,6 +3,7 @@ package com.team103.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.team103.dto.LoginRequest;
 import com.team103.dto.LoginResponse;
+import com.team103.model.LoginPrincipal;
 import com.team103.model.Director;
 import com.team103.model.Parent;
 import com.team103.model.Student;
@@ -12,11 +13,11 @@ import com.team103.repository.ParentRepository;
 import com.team103.repository.StudentRepository;
 import com.team103.repository.TeacherRepository;
 import com.team103.security.JwtUtil;
-import jakarta.servlet.http.HttpSession;
+import com.team103.service.LoginPrincipalService;
+import com.team103.service.PasswordVerifier;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.*;
@@ -31,231 +32,289 @@ public class LoginController {
     @Autowired private ParentRepository parentRepo;
     @Autowired private DirectorRepository directorRepo;
     @Autowired private JwtUtil jwtUtil;
-    @Autowired private PasswordEncoder passwordEncoder;
-    @Autowired private HttpSession session;
+    @Autowired private PasswordVerifier passwordVerifier;
+    @Autowired private LoginPrincipalService principals;
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest request) {
         String username = request.getUsername();
         String password = request.getPassword();
 
-        // 1) 학생
-        Student student = studentRepo.findByStudentId(username);
-        if (student != null && safeMatches(password, student.getStudentPw())) {
-
-            // FCM 토큰 업데이트 (옵션)
-            if (request.getFcmToken() != null && !request.getFcmToken().isEmpty()) {
-                student.setFcmToken(request.getFcmToken());
-                studentRepo.save(student);
+        try {
+            // 아이디 색인 재구성 전(기동 직후)에는 예전처럼 컬렉션 순서대로
+            if (!principals.isReady()) return legacyLogin(request, username, password);
+
+            // 색인 1회 조회 → 해당 계정 해시 1회 검사(전용 풀) → 그 계정만 로드
+            LoginPrincipal p = principals.find(username);
+            if (p == null || p.getRole() == null) return fail();
+
+            // 색인에 해시가 없으면(평문 옛 계정) 원본 문서를 먼저 읽어 그 값으로 검사
+            Object account = null;
+            String stored = p.getPasswordHash();
+            if (stored == null) {
+                account = loadAccount(p);
+                LoginPrincipalService.Account a = LoginPrincipalService.accountOf(account);
+                if (a == null) return fail();
+                stored = a.passwordHash();
             }
 
-            String token = jwtUtil.generateToken(student.getStudentId(), "student");
-            session.setAttribute("username", student.getStudentId());
-            session.setAttribute("role", "student");
+            PasswordVerifier.Verdict v = passwordVerifier.verify(password, stored);
+            if (!v.matched()) return fail();
+
+            if (account == null) account = loadAccount(p);
+            ResponseEntity<?> res = null;
+            if (account instanceof Student s) res = studentLogin(s, request);
+            else if (account instanceof Teacher t) res = teacherLogin(t);
+            else if (account instanceof Director d) res = directorLogin(d);
+            else if (account instanceof Parent pa) res = parentLogin(pa);
+            if (res == null) return fail();
+
+            upgradeIfNeeded(v, p.getRole(), p.getEntityId(), password, stored);
+            return res;
+        } catch (PasswordVerifier.BusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("status", "fail", "message", "로그인 요청이 많습니다. 잠시 후 다시 시도해주세요."));
+        }
+    }
 
-            LoginResponse res = new LoginResponse(
-                "success",
-                "student",
-                student.getStudentId(),
-                student.getStudentName(),
-                token,
-                student.getStudentPhoneNumber(),
-                student.getAddress(),
-                student.getSchool(),
-                student.getGrade(),
-                student.getGender(),
-                student.getAcademyNumbers()
-            );
+    /** 색인이 가리키는 원본 계정 문서 (없으면 null) */
+    private Object loadAccount(LoginPrincipal p) {
+        String id = p.getEntityId();
+        if (id == null) return null;
+        return switch (p.getRole()) {
+            case LoginPrincipalService.STUDENT -> studentRepo.findById(id).orElse(null);
+            case LoginPrincipalService.TEACHER -> teacherRepo.findById(id).orElse(null);
+            case LoginPrincipalService.DIRECTOR -> directorRepo.findById(id).orElse(null);
+            case LoginPrincipalService.PARENT -> parentRepo.findById(id).orElse(null);
+            default -> null;
+        };
+    }
 
-            logJson("학생 로그인 응답", res);
-            return ResponseEntity.ok(res);
+    /** 예전 방식: 학생 → 교사 → 원장 → 학부모 순서로 조회 (색인 준비 전에만) */
+    private ResponseEntity<?> legacyLogin(LoginRequest request, String username, String password) {
+        Student student = studentRepo.findByStudentId(username);
+        if (student != null) {
+            PasswordVerifier.Verdict v = passwordVerifier.verify(password, student.getStudentPw());
+            if (v.matched()) {
+                ResponseEntity<?> res = studentLogin(student, request);
+                upgradeIfNeeded(v, LoginPrincipalService.STUDENT, student.getId(), password, student.getStudentPw());
+                return res;
+            }
         }
 
-        // 2) 교사
         Teacher teacher = teacherRepo.findByTeacherId(username);
-        if (teacher != null && safeMatches(password, teacher.getTeacherPw())) {
-            String token = jwtUtil.generateToken(teacher.getTeacherId(), "teacher");
-            session.setAttribute("username", teacher.getTeacherId());
-            session.setAttribute("role", "teacher");
-
-            LoginResponse res = new LoginResponse(
-                "success",
-                "teacher",
-                teacher.getTeacherId(),
-                teacher.getTeacherName(),
-                token,
-                teacher.getTeacherPhoneNumber(),
-                null, null, 0, null,
-                teacher.getAcademyNumbers()
-            );
-
-            logJson("교사 로그인 응답", res);
-            return ResponseEntity.ok(res);
+        if (teacher != null) {
+            PasswordVerifier.Verdict v = passwordVerifier.verify(password, teacher.getTeacherPw());
+            if (v.matched()) {
+                upgradeIfNeeded(v, LoginPrincipalService.TEACHER, teacher.getId(), password, teacher.getTeacherPw());
+                return teacherLogin(teacher);
+            }
         }
 
-        // 3) 원장
         Director director = directorRepo.findByUsername(username);
         if (director != null) {
-            boolean pwOk = false;
-            try {
-                pwOk = passwordEncoder.matches(password, director.getPassword());
-            } catch (Exception ignore) {
-                // 저장된 비번이 bcrypt가 아닐 경우 대비 (평문 비교 + 마이그레이션)
-                if (director.getPassword() != null && director.getPassword().equals(password)) {
-                    pwOk = true;
-                    director.setPassword(passwordEncoder.encode(password));
-                    directorRepo.save(director);
-                }
+            PasswordVerifier.Verdict v = passwordVerifier.verify(password, director.getPassword());
+            if (v.matched()) {
+                upgradeIfNeeded(v, LoginPrincipalService.DIRECTOR, director.getId(), password, director.getPassword());
+                return directorLogin(director);
             }
+        }
 
-            if (pwOk) {
-                String token = jwtUtil.generateToken(director.getUsername(), "director");
-
-                LoginResponse res = new LoginResponse(
-                    "success",
-                    "director",
-                    director.getUsername(),
-                    director.getName(),
-                    token,
-                    director.getPhone(),
-                    null, null, 0, null,
-                    director.getAcademyNumbers()
-                );
-
-                session.setAttribute("username", director.getUsername());
-                session.setAttribute("role", "director");
-
-                logJson("원장 로그인 응답", res);
-                return ResponseEntity.ok(res);
+        Parent parent = parentRepo.findByParentsId(username);
+        if (parent != null) {
+            PasswordVerifier.Verdict v = passwordVerifier.verify(password, parent.getParentsPw());
+            if (v.matched()) {
+                upgradeIfNeeded(v, LoginPrincipalService.PARENT, parent.getId(), password, parent.getParentsPw());
+                return parentLogin(parent);
             }
         }
 
-        // 4) 학부모
+        return fail();
+    }
 
-        Parent parent = parentRepo.findByParentsId(username);
-        if (parent != null && safeMatches(password, parent.getParentsPw())) {
-            String token = jwtUtil.generateToken(parent.getParentsId(), "parent");
-            session.setAttribute("username", parent.getParentsId());
-            session.setAttribute("role", "parent");
+    /** 낮은 cost / 평문 해시면 응답과 별개로 다시 해시해서 저장 (학생은 FCM 토큰 저장이 끝난 뒤에 호출) */
+    private void upgradeIfNeeded(PasswordVerifier.Verdict v, String role, String entityId, String raw, String oldHash) {
+        if (v.upgrade()) passwordVerifier.upgradeLater(role, entityId, raw, oldHash);
+    }
 
-            // ✅ 학원 번호 수집: ① Parent 자체 → ② studentIds → ③ Parents_Number
-            Set<Integer> academySet = new LinkedHashSet<>();
+    private ResponseEntity<?> fail() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("status", "fail", "message", "일치하는 계정이 없습니다"));
+    }
 
-            // ① Parent 문서 자체의 Academy_Numbers 사용 (있다면)
-            try {
-                List<Integer> pAcademies = parent.getAcademyNumbers();
-                if (pAcademies != null && !pAcademies.isEmpty()) {
-                    academySet.addAll(pAcademies);
-                    System.out.println("학부모 보완① parent.academyNumbers 사용: " + pAcademies);
-                }
-            } catch (NoSuchMethodError | Exception ignore) {
-                // 모델에 필드가 없을 수도 있음
+    // 1) 학생
+    private ResponseEntity<?> studentLogin(Student student, LoginRequest request) {
+        // FCM 토큰 업데이트 (옵션)
+        if (request.getFcmToken() != null && !request.getFcmToken().isEmpty()) {
+            student.setFcmToken(request.getFcmToken());
+            studentRepo.save(student);
+        }
+
+        String token = jwtUtil.generateToken(student.getStudentId(), "student");
+
+        LoginResponse res = new LoginResponse(
+            "success",
+            "student",
+            student.getStudentId(),
+            student.getStudentName(),
+            token,
+            student.getStudentPhoneNumber(),
+            student.getAddress(),
+            student.getSchool(),
+            student.getGrade(),
+            student.getGender(),
+            student.getAcademyNumbers()
+        );
+
+        logJson("학생 로그인 응답", res);
+        return ResponseEntity.ok(res);
+    }
+
+    // 2) 교사
+    private ResponseEntity<?> teacherLogin(Teacher teacher) {
+        String token = jwtUtil.generateToken(teacher.getTeacherId(), "teacher");
+
+        LoginResponse res = new LoginResponse(
+            "success",
+            "teacher",
+            teacher.getTeacherId(),
+            teacher.getTeacherName(),
+            token,
+            teacher.getTeacherPhoneNumber(),
+            null, null, 0, null,
+            teacher.getAcademyNumbers()
+        );
+
+        logJson("교사 로그인 응답", res);
+        return ResponseEntity.ok(res);
+    }
+
+    // 3) 원장
+    private ResponseEntity<?> directorLogin(Director director) {
+        String token = jwtUtil.generateToken(director.getUsername(), "director");
+
+        LoginResponse res = new LoginResponse(
+            "success",
+            "director",
+            director.getUsername(),
+            director.getName(),
+            token,
+            director.getPhone(),
+            null, null, 0, null,
+            director.getAcademyNumbers()
+        );
+
+        logJson("원장 로그인 응답", res);
+        return ResponseEntity.ok(res);
+    }
+
+    // 4) 학부모
+    private ResponseEntity<?> parentLogin(Parent parent) {
+        String token = jwtUtil.generateToken(parent.getParentsId(), "parent");
+
+        // ✅ 학원 번호 수집: ① Parent 자체 → ② studentIds → ③ Parents_Number
+        Set<Integer> academySet = new LinkedHashSet<>();
+
+        // ① Parent 문서 자체의 Academy_Numbers 사용 (있다면)
+        try {
+            List<Integer> pAcademies = parent.getAcademyNumbers();
+            if (pAcademies != null && !pAcademies.isEmpty()) {
+                academySet.addAll(pAcademies);
+                System.out.println("학부모 보완① parent.academyNumbers 사용: " + pAcademies);
             }
+        } catch (NoSuchMethodError | Exception ignore) {
+            // 모델에 필드가 없을 수도 있음
+        }
 
-            // ② Parent가 보유한 studentIds로 학생 일괄 조회 (레포에 메서드가 있어야 함)
-            boolean step2Tried = false;
-            try {
-                List<String> sids = parent.getStudentIds();
-                if ((sids != null && !sids.isEmpty()) && academySet.isEmpty()) {
-                    step2Tried = true;
-                    List<Student> childrenByIds = studentRepo.findByStudentIdIn(sids);
-                    if (childrenByIds != null) {
-                        for (Student s : childrenByIds) {
-                            if (s != null && s.getAcademyNumbers() != null) {
-                                academySet.addAll(s.getAcademyNumbers());
-                            }
+        // ② Parent가 보유한 studentIds로 학생 일괄 조회 (레포에 메서드가 있어야 함)
+        boolean step2Tried = false;
+        try {
+            List<String> sids = parent.getStudentIds();
+            if ((sids != null && !sids.isEmpty()) && academySet.isEmpty()) {
+                step2Tried = true;
+                List<Student> childrenByIds = studentRepo.findByStudentIdIn(sids);
+                if (childrenByIds != null) {
+                    for (Student s : childrenByIds) {
+                        if (s != null && s.getAcademyNumbers() != null) {
+                            academySet.addAll(s.getAcademyNumbers());
                         }
                     }
-                    System.out.println("학부모 보완② studentIds 기반 수집: size=" + academySet.size());
                 }
-            } catch (NoSuchMethodError | Exception e) {
-                // findByStudentIdIn 또는 getStudentIds가 없을 수 있음
-                if (step2Tried) e.printStackTrace();
+                System.out.println("학부모 보완② studentIds 기반 수집: size=" + academySet.size());
             }
+        } catch (NoSuchMethodError | Exception e) {
+            // findByStudentIdIn 또는 getStudentIds가 없을 수 있음
+            if (step2Tried) e.printStackTrace();
+        }
 
-            // ③ Parents_Number 키로 자녀 조회 (기존 로직)
-            if (academySet.isEmpty()) {
-                String pno = parent.getParentsNumber();
-                List<Student> children = (pno == null || pno.isEmpty())
-                        ? new ArrayList<>()
-                        : studentRepo.findByParentsNumber(pno);
-
-                String firstChildId = null;
-                if (children != null && !children.isEmpty()) {
-                    for (Student child : children) {
-                        if (child.getAcademyNumbers() != null) {
-                            academySet.addAll(child.getAcademyNumbers());
-                        }
+        // ③ Parents_Number 키로 자녀 조회 (기존 로직)
+        if (academySet.isEmpty()) {
+            String pno = parent.getParentsNumber();
+            List<Student> children = (pno == null || pno.isEmpty())
+                    ? new ArrayList<>()
+                    : studentRepo.findByParentsNumber(pno);
+
+            String firstChildId = null;
+            if (children != null && !children.isEmpty()) {
+                for (Student child : children) {
+                    if (child.getAcademyNumbers() != null) {
+                        academySet.addAll(child.getAcademyNumbers());
                     }
-                    firstChildId = children.get(0).getStudentId();
-                }
-
-                List<Integer> academyNumbers = new ArrayList<>(academySet);
-
-                LoginResponse res = new LoginResponse(
-                    "success",
-                    "parent",
-                    parent.getParentsId(),
-                    parent.getParentsName(),
-                    token,
-                    parent.getParentsPhoneNumber(),
-                    null,
-                    null,
-                    0,
-                    null,
-                    academyNumbers
-                );
-
-                res.setParentsNumber(parent.getParentsNumber());
-                res.setChildStudentId(firstChildId);
-
-                try {
-                    System.out.println("학부모 로그인 응답(③ 포함) → " + new ObjectMapper().writeValueAsString(res));
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-                return ResponseEntity.ok(res);
-            } else {
-                // ① 또는 ②에서 이미 academySet을 채운 경우
-                List<Integer> academyNumbers = new ArrayList<>(academySet);
-
-                LoginResponse res = new LoginResponse(
-                    "success",
-                    "parent",
-                    parent.getParentsId(),
-                    parent.getParentsName(),
-                    token,
-                    parent.getParentsPhoneNumber(),
-                    null,
-                    null,
-                    0,
-                    null,
-                    academyNumbers
-                );
-                res.setParentsNumber(parent.getParentsNumber());
-                // firstChildId는 ①/② 경로에서는 확정 불가 → 필요 시 클라이언트에서 최초 자녀 조회
-
-                try {
-                    System.out.println("학부모 로그인 응답(①/② 경로) → " + new ObjectMapper().writeValueAsString(res));
-                } catch (Exception e) {
-                    e.printStackTrace();
                 }
-                return ResponseEntity.ok(res);
+                firstChildId = children.get(0).getStudentId();
             }
 
-        }
+            List<Integer> academyNumbers = new ArrayList<>(academySet);
 
-        // 실패
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body(Map.of("status", "fail", "message", "일치하는 계정이 없습니다"));
-    }
+            LoginResponse res = new LoginResponse(
+                "success",
+                "parent",
+                parent.getParentsId(),
+                parent.getParentsName(),
+                token,
+                parent.getParentsPhoneNumber(),
+                null,
+                null,
+                0,
+                null,
+                academyNumbers
+            );
 
-    /** bcrypt null/예외 방지용 안전 매칭 */
-    private boolean safeMatches(String raw, String encoded) {
-        try {
-            return encoded != null && passwordEncoder.matches(raw, encoded);
-        } catch (Exception e) {
-            return false;
+            res.setParentsNumber(parent.getParentsNumber());
+            res.setChildStudentId(firstChildId);
+
+            try {
+                System.out.println("학부모 로그인 응답(③ 포함) → " + new ObjectMapper().writeValueAsString(res));
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            return ResponseEntity.ok(res);
+        } else {
+            // ① 또는 ②에서 이미 academySet을 채운 경우
+            List<Integer> academyNumbers = new ArrayList<>(academySet);
+
+            LoginResponse res = new LoginResponse(
+                "success",
+                "parent",
+                parent.getParentsId(),
+                parent.getParentsName(),
+                token,
+                parent.getParentsPhoneNumber(),
+                null,
+                null,
+                0,
+                null,
+                academyNumbers
+            );
+            res.setParentsNumber(parent.getParentsNumber());
+            // firstChildId는 ①/② 경로에서는 확정 불가 → 필요 시 클라이언트에서 최초 자녀 조회
+
+            try {
+                System.out.println("학부모 로그인 응답(①/② 경로) → " + new ObjectMapper().writeValueAsString(res));
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            return ResponseEntity.ok(res);
         }
     }
 
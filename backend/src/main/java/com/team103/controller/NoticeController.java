@@ -4,15 +4,16 @@ package com.team103.controller;
 import com.team103.model.Notice;
 import com.team103.repository.NoticeRepository;
 import com.team103.repository.TeacherRepository;
+import com.team103.service.UploadStore;
 
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.io.IOException;
-import java.nio.file.*;
 import java.util.*;
 
 @RestController
@@ -25,51 +26,38 @@ public class NoticeController {
     @Autowired
     private TeacherRepository teacherRepo;
 
-    /* ================= 파일 저장 유틸 ================= */
+    @Autowired
+    private UploadStore uploadStore;
 
-    /** 로컬 업로드 경로: ./uploads/notices */
-    private static final Path UPLOAD_DIR = Paths.get("uploads", "notices");
+    /* ================= multipart 필드 유틸 ================= */
 
-    private static void ensureUploadDir() {
-        try {
-            Files.createDirectories(UPLOAD_DIR);
-        } catch (IOException e) {
-            throw new RuntimeException("Cannot create upload dir: " + UPLOAD_DIR, e);
-        }
+    /** 필수 텍스트 필드 (없으면 400) */
+    private static String requiredField(UploadStore.Upload form, String name) {
+        String v = form.field(name);
+        if (v == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, name + " 값이 필요합니다.");
+        return v;
     }
 
-    /** 무작위 파일명 부여 (원본 확장자 유지) */
-    private static String randomName(String original) {
-        String ext = "";
-        int dot = original.lastIndexOf('.');
-        if (dot >= 0 && dot < original.length() - 1) {
-            ext = original.substring(dot);
+    /** 정수 목록 필드: 여러 번 보낸 값 / "1,2" 둘 다 허용 (빈 값은 무시) */
+    private static List<Integer> intValues(UploadStore.Upload form, String name) {
+        List<Integer> out = new ArrayList<>();
+        for (String raw : form.fieldValues(name)) {
+            for (String s : raw.split(",")) {
+                if (s.isBlank()) continue;
+                try {
+                    out.add(Integer.valueOf(s.trim()));
+                } catch (NumberFormatException e) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, name + " 값이 올바르지 않습니다.");
+                }
+            }
         }
-        return UUID.randomUUID().toString().replace("-", "") + ext;
+        return out;
     }
 
-    /** 저장 후 노출용 URL: /files/notices/<fname> */
-    private static String publicUrl(String fileName) {
-        return "/files/notices/" + fileName;
-    }
-
-    /** 이미지 저장 → 공개 URL 리스트 반환 */
-    private static List<String> saveImages(List<MultipartFile> images) {
-        if (images == null || images.isEmpty()) return Collections.emptyList();
-        ensureUploadDir();
+    /** 저장된 이미지 → 공개 URL 리스트 (/files/blobs/..) */
+    private static List<String> imageUrls(UploadStore.Upload form) {
         List<String> urls = new ArrayList<>();
-        for (MultipartFile mf : images) {
-            if (mf == null || mf.isEmpty()) continue;
-            String oname = Optional.ofNullable(mf.getOriginalFilename()).orElse("image");
-            String fname = randomName(oname);
-            Path dest = UPLOAD_DIR.resolve(fname).normalize().toAbsolutePath();
-            try {
-                Files.copy(mf.getInputStream(), dest, StandardCopyOption.REPLACE_EXISTING);
-                urls.add(publicUrl(fname));
-            } catch (IOException e) {
-                // 실패 파일은 스킵 (필요시 로깅)
-            }
-        }
+        for (UploadStore.StoredBlob blob : form.files()) urls.add(blob.publicPath());
         return urls;
     }
 
@@ -144,20 +132,21 @@ public class NoticeController {
         return ResponseEntity.ok(saved);
     }
 
-    // Multipart 생성 (텍스트 + images[])
+    // Multipart 생성 (텍스트 + images[]) — 본문을 UploadStore 가 직접 읽음
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<Notice> createMultipart(
-            @RequestParam("title") String title,
-            @RequestParam("content") String content,
-            @RequestParam(value = "author", required = false) String author,          // 교사ID
-            // ✅ 프론트에서 FormData로 보내는 academyNumbers (복수형)
-            @RequestParam(value = "academyNumbers", required = false) List<Integer> academyNumbers,
-            // ✅ 혹시 단일 academyNumber로만 보내는 클라이언트가 있다면 fallback
-            @RequestParam(value = "academyNumber", required = false) Integer legacyAcademyNumber,
-            @RequestParam(value = "classId", required = false) String classId,
-            @RequestParam(value = "className", required = false) String className,
-            @RequestPart(value = "images", required = false) List<MultipartFile> images
-    ) {
+    public ResponseEntity<Notice> createMultipart(HttpServletRequest request) {
+        UploadStore.Upload form = uploadStore.receive(request, "images");
+        String title = requiredField(form, "title");
+        String content = requiredField(form, "content");
+        String author = form.field("author");                                        // 교사ID
+        // ✅ 프론트에서 FormData로 보내는 academyNumbers (복수형)
+        List<Integer> academyNumbers = intValues(form, "academyNumbers");
+        // ✅ 혹시 단일 academyNumber로만 보내는 클라이언트가 있다면 fallback
+        List<Integer> legacy = intValues(form, "academyNumber");
+        Integer legacyAcademyNumber = legacy.isEmpty() ? null : legacy.get(0);
+        String classId = form.field("classId");
+        String className = form.field("className");
+
         Notice n = new Notice();
         n.setTitle(title);
         n.setContent(content);
@@ -186,7 +175,7 @@ public class NoticeController {
         if (className != null && !className.isBlank()) n.setClassName(className.trim());
         n.setCreatedAt(new Date());
 
-        List<String> urls = saveImages(images);
+        List<String> urls = imageUrls(form);
         if (!urls.isEmpty()) n.setImageUrls(urls);
 
         Notice saved = noticeRepo.save(n);
@@ -224,15 +213,19 @@ public class NoticeController {
     @PutMapping(path = "/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<Notice> updateNoticeMultipart(
             @PathVariable String id,
-            @RequestParam("title") String title,
-            @RequestParam("content") String content,
-            // ✅ 생성과 동일하게 academyNumbers/academyNumber 둘 다 지원
-            @RequestParam(value = "academyNumbers", required = false) List<Integer> academyNumbers,
-            @RequestParam(value = "academyNumber", required = false) Integer legacyAcademyNumber,
-            @RequestParam(value = "classId", required = false) String classId,
-            @RequestParam(value = "className", required = false) String className,
-            @RequestPart(value = "images", required = false) List<MultipartFile> images
+            HttpServletRequest request
     ) {
+        if (!noticeRepo.existsById(id)) return ResponseEntity.notFound().build(); // 없는 공지에 이미지 저장 안 함
+        UploadStore.Upload form = uploadStore.receive(request, "images");
+        String title = requiredField(form, "title");
+        String content = requiredField(form, "content");
+        // ✅ 생성과 동일하게 academyNumbers/academyNumber 둘 다 지원
+        List<Integer> academyNumbers = intValues(form, "academyNumbers");
+        List<Integer> legacy = intValues(form, "academyNumber");
+        Integer legacyAcademyNumber = legacy.isEmpty() ? null : legacy.get(0);
+        String classId = form.field("classId");
+        String className = form.field("className");
+
         return noticeRepo.findById(id)
                 .map(ex -> {
                     ex.setTitle(title);
@@ -257,7 +250,7 @@ public class NoticeController {
                     if (classId != null) ex.setClassId(classId);
                     if (className != null) ex.setClassName(className);
 
-                    List<String> add = saveImages(images);
+                    List<String> add = imageUrls(form);
                     if (!add.isEmpty()) {
                         List<String> merged = new ArrayList<>();
                         if (ex.getImageUrls() != null) merged.addAll(ex.getImageUrls());
@@ -1,6 +1,7 @@
 // backend/src/main/java/com/team103/controller/ParentManageController.java
 package com.team103.controller;
 
+import com.team103.service.LoginPrincipalService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -30,9 +31,11 @@ import java.util.stream.Collectors;
 public class ParentManageController {
 
     private final MongoTemplate mongo;
+    private final LoginPrincipalService principals;
 
-    public ParentManageController(MongoTemplate mongo) {
+    public ParentManageController(MongoTemplate mongo, LoginPrincipalService principals) {
         this.mongo = mongo;
+        this.principals = principals;
     }
 
     /** --------- 유틸 --------- */
@@ -148,6 +151,7 @@ public class ParentManageController {
 
     /** --------- 아이디 변경 ---------
      * MongoDB는 _id 업데이트가 불가하여 새 문서 INSERT 후 기존 삭제 방식으로 처리.
+     * 컬렉션 이름으로 직접 쓰므로 저장 이벤트가 없음 → 로그인 아이디 색인은 여기서 직접 갱신.
      */
     @PostMapping({"/api/parents/{id}/change-id", "/api/manage/teachers/parents/{id}/change-id"})
     public ResponseEntity<?> changeParentId(@PathVariable("id") String id,
@@ -174,12 +178,21 @@ public class ParentManageController {
 
         // 충돌 체크
         Map exists = mongo.findById(newId, Map.class, "parents");
-        if (exists != null) throw new ResponseStatusException(HttpStatus.CONFLICT, "NEW_ID_ALREADY_EXISTS");
+        if (exists != null || principals.isTaken(newId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "NEW_ID_ALREADY_EXISTS");
+        }
 
         // insert → delete 순
         mongo.insert(newDoc, "parents");
         mongo.remove(qOld, "parents");
 
+        // 로그인 아이디 색인: 옛 문서 항목 제거 → 새 문서로 등록
+        Object oldKey = oldDoc.get("_id");
+        if (oldKey != null) principals.remove(LoginPrincipalService.PARENT, String.valueOf(oldKey));
+        Object pw = newDoc.get("parentsPw");
+        principals.sync(new LoginPrincipalService.Account(LoginPrincipalService.PARENT, newId, newId,
+                pw == null ? null : String.valueOf(pw)), new Date());
+
         // 새 문서 반환
         Map fresh = mongo.findById(newId, Map.class, "parents");
         return ResponseEntity.ok(Objects.requireNonNullElse(fresh, Map.of("ok", true, "id", newId)));
@@ -3,6 +3,7 @@ package com.team103.controller;
 import com.team103.dto.ParentSignupRequest;
 import com.team103.model.Parent;
 import com.team103.repository.ParentRepository;
+import com.team103.service.LoginPrincipalService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,9 +20,13 @@ public class ParentSignupController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private LoginPrincipalService principals;
+
     @PostMapping
     public ResponseEntity<String> signup(@RequestBody ParentSignupRequest req) {
-        if (parentRepo.existsByParentsId(req.getParentsId())) {
+        // 로그인 아이디는 네 역할 통틀어 유일
+        if (parentRepo.existsByParentsId(req.getParentsId()) || principals.isTaken(req.getParentsId())) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body("이미 존재하는 학부모 ID입니다");
         }
 
@@ -3,6 +3,7 @@ package com.team103.controller;
 import com.team103.dto.ParentUpdateRequest;
 import com.team103.model.Parent;
 import com.team103.repository.ParentRepository;
+import com.team103.service.LoginPrincipalService;
 import org.springframework.http.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -14,8 +15,10 @@ import java.util.Map;
 public class ParentUpdateController {
 
     private final ParentRepository parentRepository;
-    public ParentUpdateController(ParentRepository parentRepository) {
+    private final LoginPrincipalService principals;
+    public ParentUpdateController(ParentRepository parentRepository, LoginPrincipalService principals) {
         this.parentRepository = parentRepository;
+        this.principals = principals;
     }
 
     /** 1) 보호자 기본정보 수정 (아이디 변경 아님) */
@@ -55,7 +58,7 @@ public class ParentUpdateController {
         if (id.equals(newId)) {
             return ResponseEntity.ok(Map.of("status", "noop", "id", id));
         }
-        if (parentRepository.existsByParentsId(newId)) {
+        if (parentRepository.existsByParentsId(newId) || principals.isTaken(newId)) {
             return ResponseEntity.status(HttpStatus.CONFLICT)
                     .body(Map.of("message", "DUPLICATE_ID", "newId", newId));
         }
@@ -0,0 +1,25 @@
+package com.team103.controller;
+
+import com.team103.service.PasswordVerifier;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 로그인 비밀번호 검사 현황 (원장 전용: /api/admin/**)
+ * - 검사 풀 큐 대기 / 해시 시간 p50·p99 → bcrypt cost 조정 근거
+ * - legacy=true 면 역할별 옛 해시(평문 / 목표 cost 미만) 계정 수도 같이 (컬렉션마다 count 3회)
+ */
+@RestController
+@RequestMapping("/api/admin/auth")
+public class PasswordStatsController {
+
+    private final PasswordVerifier passwordVerifier;
+
+    public PasswordStatsController(PasswordVerifier passwordVerifier) {
+        this.passwordVerifier = passwordVerifier;
+    }
+
+    @GetMapping("/password-stats")
+    public PasswordVerifier.Stats stats(@RequestParam(defaultValue = "true") boolean legacy) {
+        return passwordVerifier.stats(legacy);
+    }
+}
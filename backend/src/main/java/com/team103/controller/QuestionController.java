@@ -1,30 +1,30 @@
 package com.team103.controller;
 
-import com.team103.model.Academy;
-import com.team103.model.Answer;
+import com.team103.dto.QnaSearchResponse;
+import com.team103.dto.QnaThreadUpdates;
+import com.team103.dto.QuestionPageResponse;
 import com.team103.model.Parent;
 import com.team103.model.Question;
-import com.team103.model.QuestionReadState;
 import com.team103.model.Student;
-import com.team103.model.Teacher;
-import com.team103.model.FollowUp;
-import com.team103.repository.AcademyRepository;
-import com.team103.repository.AnswerRepository;
 import com.team103.repository.ParentRepository;
-import com.team103.repository.QuestionReadStateRepository;
 import com.team103.repository.QuestionRepository;
 import com.team103.repository.StudentRepository;
-import com.team103.repository.TeacherRepository;
-import com.team103.repository.FollowUpRepository;
-import com.team103.security.JwtUtil;
+import com.team103.security.CurrentUser;
+import com.team103.service.QnaAggregateService;
+import com.team103.service.QnaRecentService;
+import com.team103.service.QnaRoomService;
+import com.team103.service.QnaSearchIndex;
+import com.team103.service.QnaSearchService;
+import com.team103.service.QnaThreadFeed;
+import com.team103.service.QuestionExtrasService;
+import com.team103.service.QuestionPageService;
+import com.team103.service.ReadStateTracker;
 
-import jakarta.servlet.http.HttpSession;
-
-import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 // 💡 MongoTemplate 관련
 import org.springframework.data.mongodb.core.MongoTemplate;
@@ -32,60 +32,33 @@ import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
-import org.springframework.data.domain.Sort;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.Date;
-import java.util.LinkedHashSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/questions")
 public class QuestionController {
 
     @Autowired private QuestionRepository questionRepository;
-    @Autowired private AnswerRepository answerRepository;
-    @Autowired private TeacherRepository teacherRepository;
-    @Autowired private AcademyRepository academyRepository;
-    @Autowired private QuestionReadStateRepository readRepo;
     @Autowired private StudentRepository studentRepository;
     @Autowired private ParentRepository parentRepository;
-    @Autowired private FollowUpRepository followUpRepository;
-    @Autowired private JwtUtil jwtUtil;
+    @Autowired private QuestionExtrasService questionExtras;
+    @Autowired private QuestionPageService questionPages;
+    @Autowired private QnaThreadFeed threadFeed;
+    @Autowired private ReadStateTracker readStates;
+    @Autowired private QnaRoomService qnaRooms;
+    @Autowired private QnaSearchIndex searchIndex;
+    @Autowired private QnaRecentService qnaRecent;
+    @Autowired private QnaSearchService qnaSearch;
 
     // MongoTemplate
     @Autowired private MongoTemplate mongo;
 
-    private static final String BEARER = "Bearer ";
-
-    // === JWT → 세션 보완 ===
-    @ModelAttribute
-    public void ensureSessionFromJwt(
-            @RequestHeader(value = "Authorization", required = false) String auth,
-            HttpSession session
-    ) {
-        if (auth == null || !auth.startsWith(BEARER)) return;
-
-        try {
-            String token = auth.substring(BEARER.length());
-            Claims claims = jwtUtil.validateToken(token);
-
-            String userId = claims.getSubject();
-            String role = claims.get("role", String.class);
-
-            if (userId != null && session.getAttribute("username") == null) {
-                session.setAttribute("username", userId);
-            }
-            if (role != null && session.getAttribute("role") == null) {
-                session.setAttribute("role", String.valueOf(role));
-            }
-        } catch (Exception ignore) {
-            // 토큰 유효하지 않으면 무시
-        }
-    }
-
     // === 내부 유틸 ===
 
     private boolean isParentOwnsRoom(Question q, String parentId) {
@@ -94,172 +67,15 @@ public class QuestionController {
                 && q.getRoomParentId().equals(parentId);
     }
 
-    // 중복 room 문서 정리: 최신 createdAt 1개만 남기고 나머지 삭제
-    private Question resolveSingleRoomAndCleanup(List<Question> rooms) {
-        if (rooms == null || rooms.isEmpty()) {
-            return null;
-        }
-
-        Question keep = null;
-        Date keepCreatedAt = null;
-
-        for (Question q : rooms) {
-            if (q == null) continue;
-            Date created = q.getCreatedAt();
-            if (keep == null) {
-                keep = q;
-                keepCreatedAt = created;
-            } else {
-                if (created != null) {
-                    if (keepCreatedAt == null || created.after(keepCreatedAt)) {
-                        keep = q;
-                        keepCreatedAt = created;
-                    }
-                }
-            }
-        }
-
-        if (keep == null) {
-            for (Question q : rooms) {
-                if (q != null) {
-                    keep = q;
-                    break;
-                }
-            }
-        }
-
-        if (keep == null) return null;
-
-        String keepId = keep.getId();
-        for (Question q : rooms) {
-            if (q == null) continue;
-            String qId = q.getId();
-            if (keepId != null && qId != null && !keepId.equals(qId)) {
-                try {
-                    questionRepository.delete(q);
-                } catch (Exception ignore) {}
-            }
-        }
-
-        return keep;
-    }
-
-    // lastReadAt 최신 1건 조회
-    private Date findLastReadAt(String questionId, String userId) {
-        Query q = new Query(Criteria.where("questionId").is(questionId)
-                .and("userId").is(userId));
-        q.with(Sort.by(Sort.Direction.DESC, "lastReadAt"));
-        q.limit(1);
-        QuestionReadState rs = mongo.findOne(q, QuestionReadState.class);
-        return (rs != null) ? rs.getLastReadAt() : null;
-    }
-
-    // 읽음 상태 upsert
-    private void upsertReadState(String questionId, String userId, Date when) {
-        Query q = new Query(Criteria.where("questionId").is(questionId)
-                .and("userId").is(userId));
-        Update up = new Update()
-                .set("questionId", questionId)
-                .set("userId", userId)
-                .set("lastReadAt", when);
-        mongo.findAndModify(q, up,
-                FindAndModifyOptions.options().upsert(true).returnNew(true),
-                QuestionReadState.class);
-    }
-
-    // === 원자적 방 생성 유틸 (학생) ===
-    private Question getOrCreateStudentRoomAtomic(int academyNumber, String studentId) {
-        // 1) 기존 중복 정리
-        List<Question> rooms = questionRepository.findRoomByAcademyAndStudent(academyNumber, studentId);
-        Question room = resolveSingleRoomAndCleanup(rooms);
-        if (room != null) {
-            return room;
-        }
-
-        // 2) 제목용 이름 조회
-        String titleName = studentId;
-        try {
-            Student s = studentRepository.findByStudentId(studentId);
-            if (s != null && s.getStudentName() != null && !s.getStudentName().isEmpty()) {
-                titleName = s.getStudentName();
-            }
-        } catch (Exception ignore) {}
-
-        // 3) 원자적 upsert
-        Query query = new Query(
-                Criteria.where("room").is(true)
-                        .and("academyNumber").is(academyNumber)
-                        .and("roomStudentId").is(studentId)
-        );
-        Date now = new Date();
-        Update update = new Update()
-                .setOnInsert("academyNumber", academyNumber)
-                .setOnInsert("room", true)
-                .setOnInsert("roomStudentId", studentId)
-                .setOnInsert("title", "학생 " + titleName + " 채팅방")
-                .setOnInsert("author", studentId)
-                .setOnInsert("authorRole", "student")
-                .setOnInsert("createdAt", now);
-
-        return mongo.findAndModify(
-                query,
-                update,
-                FindAndModifyOptions.options().upsert(true).returnNew(true),
-                Question.class
-        );
-    }
-
-    // === 원자적 방 생성 유틸 (보호자) ===
-    private Question getOrCreateParentRoomAtomic(int academyNumber, String parentId) {
-        // 1) 기존 중복 정리
-        List<Question> rooms = questionRepository.findRoomByAcademyAndParent(academyNumber, parentId);
-        Question room = resolveSingleRoomAndCleanup(rooms);
-        if (room != null) {
-            return room;
-        }
-
-        // 2) 제목용 이름 조회
-        String titleName = parentId;
-        try {
-            Parent p = parentRepository.findByParentsId(parentId);
-            if (p != null && p.getParentsName() != null && !p.getParentsName().isEmpty()) {
-                titleName = p.getParentsName();
-            }
-        } catch (Exception ignore) {}
-
-        // 3) 원자적 upsert
-        Query query = new Query(
-                Criteria.where("room").is(true)
-                        .and("academyNumber").is(academyNumber)
-                        .and("roomParentId").is(parentId)
-        );
-        Date now = new Date();
-        Update update = new Update()
-                .setOnInsert("academyNumber", academyNumber)
-                .setOnInsert("room", true)
-                .setOnInsert("roomParentId", parentId)
-                .setOnInsert("title", "보호자 " + titleName + " 채팅방")
-                .setOnInsert("author", parentId)
-                .setOnInsert("authorRole", "parent")
-                .setOnInsert("createdAt", now);
-
-        return mongo.findAndModify(
-                query,
-                update,
-                FindAndModifyOptions.options().upsert(true).returnNew(true),
-                Question.class
-        );
-    }
-
     // === 컨트롤러 메서드들 ===
 
     // ID 하나로 학생/학부모 방 자동 판별 후 조회/생성 (교사/원장 전용)
     @GetMapping("/room/by-id")
     public ResponseEntity<Question> getOrCreateRoomById(@RequestParam("academyNumber") int academyNumber,
                                                         @RequestParam("id") String targetId,
-                                                        HttpSession session) {
-        String role = (String) session.getAttribute("role");
-        String userId = (String) session.getAttribute("username");
+                                                        CurrentUser me) {
+        String role = me.role();
+        String userId = me.userId();
         if (role == null || userId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -285,13 +101,12 @@ public class QuestionController {
 
         Question room;
         if (isStudent) {
-            room = getOrCreateStudentRoomAtomic(academyNumber, targetId);
+            room = qnaRooms.studentRoom(academyNumber, targetId);
         } else {
-            room = getOrCreateParentRoomAtomic(academyNumber, targetId);
+            room = qnaRooms.parentRoom(academyNumber, targetId);
         }
 
-        populateExtras(room);
-        computeUnreadForUser(room, userId, role);
+        questionExtras.fill(room, userId, role);
         return ResponseEntity.ok(room);
     }
 
@@ -299,9 +114,9 @@ public class QuestionController {
     @GetMapping("/room/parent/for-teacher")
     public ResponseEntity<Question> getOrCreateParentRoomForTeacher(@RequestParam("academyNumber") int academyNumber,
                                                                     @RequestParam("parentId") String parentId,
-                                                                    HttpSession session) {
-        String role = (String) session.getAttribute("role");
-        String userId = (String) session.getAttribute("username");
+                                                                    CurrentUser me) {
+        String role = me.role();
+        String userId = me.userId();
         if (role == null || userId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -314,29 +129,27 @@ public class QuestionController {
         }
         parentId = parentId.trim();
 
-        Question room = getOrCreateParentRoomAtomic(academyNumber, parentId);
+        Question room = qnaRooms.parentRoom(academyNumber, parentId);
 
-        populateExtras(room);
-        computeUnreadForUser(room, userId, role);
+        questionExtras.fill(room, userId, role);
         return ResponseEntity.ok(room);
     }
 
     // 목록 (학원별 또는 전체)
     @GetMapping
     public List<Question> getQuestions(@RequestParam(value = "academyNumber", required = false) Integer academyNumber,
-                                       HttpSession session) {
-        String role = (String) session.getAttribute("role");
-        String userId = (String) session.getAttribute("username");
+                                       CurrentUser me) {
+        String role = me.role();
+        String userId = me.userId();
 
         // 학부모: 본인 방만
         if ("parent".equalsIgnoreCase(role)) {
             List<Question> result = new ArrayList<>();
             if (academyNumber != null) {
                 List<Question> rooms = questionRepository.findRoomByAcademyAndParent(academyNumber, userId);
-                Question room = resolveSingleRoomAndCleanup(rooms);
+                Question room = QnaRoomService.pick(rooms);
                 if (room != null) {
-                    populateExtras(room);
-                    computeUnreadForUser(room, userId, role);
+                    questionExtras.fill(room, userId, role);
                     result.add(room);
                 }
             }
@@ -348,10 +161,9 @@ public class QuestionController {
             List<Question> result = new ArrayList<>();
             if (academyNumber != null) {
                 List<Question> rooms = questionRepository.findRoomByAcademyAndStudent(academyNumber, userId);
-                Question room = resolveSingleRoomAndCleanup(rooms);
+                Question room = QnaRoomService.pick(rooms);
                 if (room != null) {
-                    populateExtras(room);
-                    computeUnreadForUser(room, userId, role);
+                    questionExtras.fill(room, userId, role);
                     result.add(room);
                 }
             }
@@ -362,20 +174,73 @@ public class QuestionController {
         List<Question> list = (academyNumber != null)
                 ? questionRepository.findByAcademyNumber(academyNumber)
                 : questionRepository.findAll();
-        for (Question q : list) {
-            populateExtras(q);
-            if (userId != null) computeUnreadForUser(q, userId, role);
-        }
+        questionExtras.fill(list, userId, role);
         return list;
     }
 
+    // 목록 커서 페이징 (교사/원장): 최근 활동 순, 페이지 단위로만 부가정보 계산
+    @GetMapping("/page")
+    public ResponseEntity<QuestionPageResponse> getQuestionPage(@RequestParam("academyNumber") int academyNumber,
+                                                                @RequestParam(value = "cursor", required = false) String cursor,
+                                                                @RequestParam(value = "limit", required = false) Integer limit,
+                                                                CurrentUser me) {
+        String role = me.role();
+        String userId = me.userId();
+        if (role == null || userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!(role.equalsIgnoreCase("teacher") || role.equalsIgnoreCase("director"))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        QuestionPageResponse page;
+        try {
+            page = questionPages.page(academyNumber, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        questionExtras.fill(page.getItems(), userId, role);
+        return ResponseEntity.ok(page);
+    }
+
+    // QnA 검색 (질문/답변/후속질문 본문). 교사/원장은 학원 전체, 학생/학부모는 본인 방 안에서만
+    @GetMapping("/search")
+    public ResponseEntity<QnaSearchResponse> search(@RequestParam("academyNumber") int academyNumber,
+                                                    @RequestParam("q") String q,
+                                                    @RequestParam(value = "limit", required = false) Integer limit,
+                                                    CurrentUser me) {
+        String role = me.role();
+        String userId = me.userId();
+        if (role == null || userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        Set<String> only = null;
+        if ("student".equalsIgnoreCase(role) || "parent".equalsIgnoreCase(role)) {
+            List<Question> rooms = "student".equalsIgnoreCase(role)
+                    ? questionRepository.findRoomByAcademyAndStudent(academyNumber, userId)
+                    : questionRepository.findRoomByAcademyAndParent(academyNumber, userId);
+            only = new HashSet<>();
+            for (Question r : rooms) only.add(r.getId());
+            if (only.isEmpty()) return ResponseEntity.ok(new QnaSearchResponse(List.of(), false));
+        } else if (!(role.equalsIgnoreCase("teacher") || role.equalsIgnoreCase("director"))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        try {
+            return ResponseEntity.ok(qnaSearch.search(academyNumber, q, only, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // 학생별 1:1 방 (학생/교사/원장)
     @GetMapping("/room")
     public ResponseEntity<Question> getOrCreateRoom(@RequestParam("academyNumber") int academyNumber,
                                                     @RequestParam(value = "studentId", required = false) String studentId,
-                                                    HttpSession session) {
-        String role = (String) session.getAttribute("role");
-        String userId = (String) session.getAttribute("username");
+                                                    CurrentUser me) {
+        String role = me.role();
+        String userId = me.userId();
         if (role == null || userId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -395,19 +260,18 @@ public class QuestionController {
         }
         studentId = studentId.trim();
 
-        Question room = getOrCreateStudentRoomAtomic(academyNumber, studentId);
+        Question room = qnaRooms.studentRoom(academyNumber, studentId);
 
-        populateExtras(room);
-        computeUnreadForUser(room, userId, role);
+        questionExtras.fill(room, userId, role);
         return ResponseEntity.ok(room);
     }
 
     // 학부모 전용: (academyNumber, parentId=세션) 기준 방 조회/생성
     @RequestMapping(value = "/room/parent", method = {RequestMethod.GET, RequestMethod.POST})
     public ResponseEntity<Question> getOrCreateParentRoom(@RequestParam("academyNumber") int academyNumber,
-                                                          HttpSession session) {
-        String role = (String) session.getAttribute("role");
-        String parentId = (String) session.getAttribute("username");
+                                                          CurrentUser me) {
+        String role = me.role();
+        String parentId = me.userId();
         if (role == null || parentId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -415,19 +279,18 @@ public class QuestionController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        Question room = getOrCreateParentRoomAtomic(academyNumber, parentId);
+        Question room = qnaRooms.parentRoom(academyNumber, parentId);
 
-        populateExtras(room);
-        computeUnreadForUser(room, parentId, role);
+        questionExtras.fill(room, parentId, role);
         return ResponseEntity.ok(room);
     }
 
     // 질문 생성
     @PostMapping
     public ResponseEntity<?> createQuestion(@RequestBody Question question,
-                                            HttpSession session) {
-        String role = (String) session.getAttribute("role");
-        String userId = (String) session.getAttribute("username");
+                                            CurrentUser me) {
+        String role = me.role();
+        String userId = me.userId();
 
         if (userId == null || role == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("로그인 후 이용해주세요.");
@@ -447,8 +310,11 @@ public class QuestionController {
         question.setAuthor(userId);
         question.setAuthorRole(role);
         question.setCreatedAt(new Date());
+        QnaAggregateService.initNew(question);
 
         Question saved = questionRepository.save(question);
+        searchIndex.putQuestion(saved);
+        qnaRecent.onQuestionCreated(saved);
         return ResponseEntity.ok(saved);
     }
 
@@ -456,14 +322,17 @@ public class QuestionController {
     @PutMapping("/{id}")
     public ResponseEntity<Question> updateQuestion(@PathVariable String id,
                                                    @RequestBody Question patch) {
-        Optional<Question> opt = questionRepository.findById(id);
-        if (opt.isEmpty()) return ResponseEntity.notFound().build();
-
-        Question src = opt.get();
-        if (patch.getTitle() != null)   src.setTitle(patch.getTitle());
-        if (patch.getContent() != null) src.setContent(patch.getContent());
-
-        Question updated = questionRepository.save(src);
+        // 문서 전체 save 는 동시에 들어온 답변 집계($inc)를 덮어쓸 수 있어 바뀐 필드만 $set
+        Update up = new Update();
+        if (patch.getTitle() != null)   up.set("title", patch.getTitle());
+        if (patch.getContent() != null) up.set("content", patch.getContent());
+
+        Query byId = new Query(Criteria.where("_id").is(id));
+        Question updated = up.getUpdateObject().isEmpty()
+                ? mongo.findOne(byId, Question.class)
+                : mongo.findAndModify(byId, up, FindAndModifyOptions.options().returnNew(true), Question.class);
+        if (updated == null) return ResponseEntity.notFound().build();
+        searchIndex.putQuestion(updated);
         return ResponseEntity.ok(updated);
     }
 
@@ -474,14 +343,16 @@ public class QuestionController {
             return ResponseEntity.notFound().build();
         }
         questionRepository.deleteById(id);
+        searchIndex.removeQuestion(id);
+        qnaRecent.forgetQuestions(List.of(id));
         return ResponseEntity.noContent().build();
     }
 
     // 단건 (학부모는 본인 방만)
     @GetMapping("/{id}")
-    public ResponseEntity<Question> getQuestionById(@PathVariable String id, HttpSession session) {
-        String role = (String) session.getAttribute("role");
-        String userId = (String) session.getAttribute("username");
+    public ResponseEntity<Question> getQuestionById(@PathVariable String id, CurrentUser me) {
+        String role = me.role();
+        String userId = me.userId();
 
         Optional<Question> opt = questionRepository.findById(id);
         if (opt.isEmpty()) return ResponseEntity.notFound().build();
@@ -492,147 +363,43 @@ public class QuestionController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
 
-        populateExtras(q);
-        if (userId != null) computeUnreadForUser(q, userId, role);
+        questionExtras.fill(q, userId, role);
         return ResponseEntity.ok(q);
     }
 
-    // 부가정보(학원명, 교사명, updatedAt) 채우기
-    private void populateExtras(Question q) {
-        if (q == null) return;
-
-        // 학원명
-        try {
-            Academy ac = academyRepository.findByNumber(q.getAcademyNumber());
-            if (ac != null && ac.getName() != null) {
-                q.setAcademyName(ac.getName());
-            }
-        } catch (Exception ignore) {}
-
-        Date lastAnsAt = null;
-        Date lastFuAt  = null;
-
-        // 답변
-        try {
-            List<Answer> answers = answerRepository.findActiveByQuestionId(q.getId());
-            answers.sort(Comparator.comparing(Answer::getCreatedAt,
-                    Comparator.nullsFirst(Comparator.naturalOrder())));
-
-            LinkedHashSet<String> teacherIds = new LinkedHashSet<>();
-            for (Answer a : answers) {
-                if (a == null) continue;
-                if (a.getAuthor() != null && !a.getAuthor().isEmpty()) {
-                    teacherIds.add(a.getAuthor());
-                }
-                if (a.getCreatedAt() != null) {
-                    if (lastAnsAt == null || a.getCreatedAt().after(lastAnsAt)) {
-                        lastAnsAt = a.getCreatedAt();
-                    }
-                }
-            }
+    // 방 새 메시지 대기 (long-poll): cursor 이후 답변/후속질문이 생기면 바로 응답, 없으면 timeout 후 빈 응답
+    @GetMapping("/{id}/updates")
+    public DeferredResult<ResponseEntity<QnaThreadUpdates>> waitUpdates(@PathVariable String id,
+                                                                        @RequestParam(value = "cursor", required = false) String cursor,
+                                                                        @RequestParam(value = "since", required = false) Long since,
+                                                                        CurrentUser me) {
+        DeferredResult<ResponseEntity<QnaThreadUpdates>> denied = new DeferredResult<>();
+        String role = me.role();
+        String userId = me.userId();
+        if (userId == null) {
+            denied.setResult(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+            return denied;
+        }
 
-            List<String> names = new ArrayList<>();
-            for (String tid : teacherIds) {
-                Teacher t = teacherRepository.findByTeacherId(tid);
-                names.add((t != null && t.getTeacherName() != null && !t.getTeacherName().isEmpty())
-                        ? t.getTeacherName()
-                        : tid);
-            }
-            q.setTeacherNames(names);
-            q.setLastAnswerAt(lastAnsAt);
-        } catch (Exception ignore) {}
+        Optional<Question> opt = questionRepository.findById(id);
+        if (opt.isEmpty() || ("parent".equalsIgnoreCase(role) && !isParentOwnsRoom(opt.get(), userId))) {
+            denied.setResult(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+            return denied;
+        }
 
-        // FollowUp 최신 시각
         try {
-            List<FollowUp> fus = followUpRepository.findByQuestionIdAndDeletedFalse(q.getId());
-            for (FollowUp fu : fus) {
-                if (fu == null || fu.getCreatedAt() == null) continue;
-                if (lastFuAt == null || fu.getCreatedAt().after(lastFuAt)) {
-                    lastFuAt = fu.getCreatedAt();
-                }
-            }
-        } catch (Exception ignore) {}
-
-        Date base = q.getCreatedAt();
-        Date max = base;
-        if (lastAnsAt != null && (max == null || lastAnsAt.after(max))) max = lastAnsAt;
-        if (lastFuAt  != null && (max == null || lastFuAt.after(max)))   max = lastFuAt;
-        q.setUpdatedAt(max);
-    }
-
-    // 미확인 메시지 수 계산
-    private void computeUnreadForUser(Question q, String userId, String role) {
-        if (q == null || userId == null) return;
-
-        Date lastRead = findLastReadAt(q.getId(), userId);
-        int cnt = 0;
-
-        if (role != null && (role.equalsIgnoreCase("teacher") || role.equalsIgnoreCase("director"))) {
-            // 교사/원장: 학생/학부모 메시지 기준
-            if (q.getCreatedAt() != null) {
-                if (lastRead == null || q.getCreatedAt().after(lastRead)) {
-                    cnt += 1;
-                }
-            }
-            try {
-                List<FollowUp> fus = followUpRepository.findByQuestionIdAndDeletedFalse(q.getId());
-                for (FollowUp fu : fus) {
-                    if (fu == null || fu.getCreatedAt() == null) continue;
-                    String ar = fu.getAuthorRole() != null ? fu.getAuthorRole().toLowerCase() : "";
-                    boolean fromStudentSide = ar.contains("student") || ar.contains("parent");
-                    if (fromStudentSide) {
-                        if (lastRead == null || fu.getCreatedAt().after(lastRead)) {
-                            cnt += 1;
-                        }
-                    }
-                }
-            } catch (Exception ignore) {}
-            q.setUnreadCount(cnt);
-
-            List<Answer> answers = answerRepository.findActiveByQuestionId(q.getId());
-            LinkedHashSet<String> teacherSet = new LinkedHashSet<>();
-            for (Answer a : answers) {
-                if (a != null && a.getAuthor() != null) {
-                    teacherSet.add(a.getAuthor());
-                }
-            }
-            List<String> names = new ArrayList<>();
-            for (String tid : teacherSet) {
-                Teacher t = teacherRepository.findByTeacherId(tid);
-                names.add((t != null && t.getTeacherName() != null && !t.getTeacherName().isEmpty())
-                        ? t.getTeacherName() : tid);
-            }
-            q.setRecentResponderNames(names);
-
-        } else {
-            // 학생/학부모: 교사 답변 기준
-            List<Answer> answers = answerRepository.findActiveByQuestionId(q.getId());
-            LinkedHashSet<String> teacherSet = new LinkedHashSet<>();
-
-            for (Answer a : answers) {
-                if (lastRead == null || (a.getCreatedAt() != null && a.getCreatedAt().after(lastRead))) {
-                    cnt++;
-                }
-                if (a != null && a.getAuthor() != null) {
-                    teacherSet.add(a.getAuthor());
-                }
-            }
-            List<String> names = new ArrayList<>();
-            for (String tid : teacherSet) {
-                Teacher t = teacherRepository.findByTeacherId(tid);
-                names.add((t != null && t.getTeacherName() != null && !t.getTeacherName().isEmpty())
-                        ? t.getTeacherName() : tid);
-            }
-            q.setUnreadCount(cnt);
-            q.setRecentResponderNames(names);
+            return threadFeed.await(id, cursor, since);
+        } catch (IllegalArgumentException e) {
+            denied.setResult(ResponseEntity.badRequest().build());
+            return denied;
         }
     }
 
     // 읽음 표시
     @PutMapping("/{id}/read")
-    public ResponseEntity<Void> markRead(@PathVariable String id, HttpSession session) {
-        String role = (String) session.getAttribute("role");
-        String userId = (String) session.getAttribute("username");
+    public ResponseEntity<Void> markRead(@PathVariable String id, CurrentUser me) {
+        String role = me.role();
+        String userId = me.userId();
         if (userId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
 
         Optional<Question> opt = questionRepository.findById(id);
@@ -645,7 +412,7 @@ public class QuestionController {
             }
         }
 
-        upsertReadState(id, userId, new Date());
+        readStates.markRead(id, userId, new Date()); // 저장은 ReadStateTracker 가 묶어서
         return ResponseEntity.noContent().build();
     }
 
@@ -25,7 +25,11 @@ import org.springframework.web.bind.annotation.*;
 
 import com.team103.model.Room;
 import com.team103.repository.RoomRepository;
+import com.team103.service.EntranceCheckInService;
+import com.team103.service.LobbyService;
+import com.team103.service.SeatBoardChangedEvent;
 import com.team103.service.SeatBoardService;
+import org.springframework.context.ApplicationEventPublisher;
 
 // 로깅
 import org.slf4j.Logger;
@@ -41,13 +45,22 @@ public class RoomController {
     private final RoomRepository roomRepository;
     private final MongoTemplate mongoTemplate;
     private final SeatBoardService seatBoardService;
+    private final ApplicationEventPublisher events;
+    private final EntranceCheckInService entrance;
+    private final LobbyService lobby;
 
     public RoomController(RoomRepository roomRepository,
                           MongoTemplate mongoTemplate,
-                          SeatBoardService seatBoardService) {
+                          SeatBoardService seatBoardService,
+                          ApplicationEventPublisher events,
+                          EntranceCheckInService entrance,
+                          LobbyService lobby) {
         this.roomRepository   = roomRepository;
         this.mongoTemplate    = mongoTemplate;
         this.seatBoardService = seatBoardService;
+        this.events           = events;
+        this.entrance         = entrance;
+        this.lobby            = lobby;
     }
 
     private String today() {
@@ -113,33 +126,13 @@ public class RoomController {
             wrUpdate,
             "waiting_room"
         );
+        lobby.onEntered(academyNumber, studentId, now, "LOBBY");
 
         /* -------------------------------
-           entrance 출석 문서 생성/갱신
-           (🔥 핵심: Academy_Number 포함)
+           entrance 출석 이벤트 기록
+           (학원+날짜 파티션 → entrance_checkins / entrance_daily)
         --------------------------------*/
-        Update entUpdate = new Update()
-                .set("Type", "entrance")
-                .set("Date", ymd)
-                .set("Academy_Number", academyNumber)
-                .set("updatedAt", now)
-                .push("Attendance_List",
-                        new Document()
-                                .append("Student_ID", studentId)
-                                .append("Status", "입구 출석")
-                                .append("Source", "tablet")
-                                .append("CheckIn_Time", now)
-                );
-
-        mongoTemplate.upsert(
-                new Query(new Criteria().andOperator(
-                        Criteria.where("Type").is("entrance"),
-                        Criteria.where("Date").is(ymd),
-                        Criteria.where("Academy_Number").is(academyNumber)   // 🔥 필터 추가
-                )),
-                entUpdate,
-                "attendances"   // ← 컬렉션 이름
-        );
+        entrance.record(academyNumber, ymd, studentId, "tablet");
 
 
         /* -------------------------------
@@ -174,6 +167,9 @@ public class RoomController {
             }
         }
 
+        // 대기열 변경 → 좌석판 스트림 구독자에게 알림
+        events.publishEvent(new SeatBoardChangedEvent(null, ymd));
+
         return ResponseEntity.ok("로비 입장 처리됨");
     }
 
@@ -304,6 +300,7 @@ public class RoomController {
             if (wrId != null) {
                 Query rq = new Query(Criteria.where("_id").is(wrId));
                 mongoTemplate.remove(rq, "waiting_room");
+                lobby.onRemoved(academyNumber, studentId);
             }
 
             return ResponseEntity.ok("출석 + 좌석 배치 완료");
@@ -2,9 +2,15 @@ package com.team103.controller;
 
 import com.team103.dto.SeatAssignRequest;
 import com.team103.dto.SeatBoardResponse;
+import com.team103.service.SeatBoardCache;
 import com.team103.service.SeatBoardService;
+import com.team103.service.SeatBoardStreamService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/teachers/classes")
@@ -12,18 +18,50 @@ import org.springframework.web.bind.annotation.*;
 public class SeatBoardController {
 
     private final SeatBoardService seatBoardService;
+    private final SeatBoardStreamService seatBoardStreamService;
+    private final SeatBoardCache seatBoardCache;
 
-    public SeatBoardController(SeatBoardService seatBoardService) {
+    public SeatBoardController(SeatBoardService seatBoardService,
+                               SeatBoardStreamService seatBoardStreamService,
+                               SeatBoardCache seatBoardCache) {
         this.seatBoardService = seatBoardService;
+        this.seatBoardStreamService = seatBoardStreamService;
+        this.seatBoardCache = seatBoardCache;
     }
 
-    /** 좌석판 조회 */
+    /** 좌석판 조회
+     *  - ETag = 스냅샷 version, If-None-Match 일치 시 304 (본문 없음)
+     */
     @GetMapping("/{classId}/seat-board")
     public ResponseEntity<SeatBoardResponse> getSeatBoard(
+            @PathVariable String classId,
+            @RequestParam(required = false) String date,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
+    ) {
+        SeatBoardResponse board = seatBoardService.getSeatBoard(classId, date);
+        String etag = "\"" + board.getVersion() + "\"";
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(304).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(board);
+    }
+
+    /** 좌석판 스냅샷 캐시 통계 (hit/miss/evictions) */
+    @GetMapping("/seat-board/cache-stats")
+    public ResponseEntity<Map<String, Object>> seatBoardCacheStats() {
+        return ResponseEntity.ok(seatBoardCache.stats());
+    }
+
+    /** 좌석판 실시간 스트림(SSE)
+     *  - event "board": 전체 SeatBoardResponse (최초 1회 + 레이아웃 변경 시)
+     *  - event "delta": 바뀐 좌석(index 기준)/카운트/대기열만 (SeatBoardDelta)
+     */
+    @GetMapping(value = "/{classId}/seat-board/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSeatBoard(
             @PathVariable String classId,
             @RequestParam(required = false) String date
     ) {
-        return ResponseEntity.ok(seatBoardService.getSeatBoard(classId, date));
+        return seatBoardStreamService.subscribe(classId, date);
     }
 
     /** 좌석 배정 (교사 수동/QR 공통)
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.team103.dto.StudentSignupRequest;
 import com.team103.model.Student;
 import com.team103.repository.StudentRepository;
+import com.team103.service.LoginPrincipalService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +19,7 @@ public class StudentSignupController {
 
     @Autowired private StudentRepository studentRepo;
     @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private LoginPrincipalService principals;
 
     @PostMapping(consumes = "application/json", produces = "application/json")
     public ResponseEntity<?> signup(@RequestBody StudentSignupRequest req) {
@@ -30,8 +32,8 @@ public class StudentSignupController {
             ));
         }
 
-        // 2) 중복 검사: 로그인 아이디 기준
-        if (studentRepo.existsByStudentId(req.getStudentId())) {
+        // 2) 중복 검사: 로그인 아이디 기준 (다른 역할 계정 아이디 포함)
+        if (studentRepo.existsByStudentId(req.getStudentId()) || principals.isTaken(req.getStudentId())) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
                 "status", "fail",
                 "message", "이미 존재하는 학생 아이디입니다"
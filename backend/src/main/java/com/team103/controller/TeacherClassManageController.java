@@ -13,6 +13,7 @@ import com.team103.repository.AttendanceRepository;
 import com.team103.repository.CourseRepository;
 import com.team103.repository.StudentRepository;
 import com.team103.repository.TeacherRepository;
+import com.team103.service.LoginPrincipalService;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -45,17 +46,20 @@ public class TeacherClassManageController {
     private final TeacherRepository teacherRepo;
     private final MongoTemplate mongo;
     private final AttendanceRepository attRepo;
+    private final LoginPrincipalService principals;
 
     public TeacherClassManageController(CourseRepository courseRepo,
                                         StudentRepository studentRepo,
                                         TeacherRepository teacherRepo,
                                         MongoTemplate mongo,
-                                        AttendanceRepository attRepo) {
+                                        AttendanceRepository attRepo,
+                                        LoginPrincipalService principals) {
         this.courseRepo = courseRepo;
         this.studentRepo = studentRepo;
         this.teacherRepo = teacherRepo;
         this.mongo = mongo;
         this.attRepo = attRepo;
+        this.principals = principals;
     }
 
     /* ===================== 공통 가드/유틸 ===================== */
@@ -323,7 +327,7 @@ public class TeacherClassManageController {
         if (body.containsKey("Student_ID")) newId = Objects.toString(body.get("Student_ID"), newId);
 
         if (newId != null && !newId.isBlank() && !newId.equals(studentId)) {
-            if (studentRepo.existsByStudentId(newId)) {
+            if (studentRepo.existsByStudentId(newId) || principals.isTaken(newId)) {
                 return ResponseEntity.status(HttpStatus.CONFLICT).body("DUPLICATE_STUDENT_ID");
             }
 
@@ -452,13 +456,24 @@ public class TeacherClassManageController {
         for (String k : List.of("parentsId","Parent_ID","parentId")) {
             if (body.containsKey(k)) { newPid = Objects.toString(body.get(k), null); break; }
         }
-        if (newPid != null && !newPid.isBlank() && !newPid.equals(parentId)) {
+        boolean idChanged = newPid != null && !newPid.isBlank() && !newPid.equals(parentId);
+        if (idChanged) {
+            if (principals.isTaken(newPid)) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body("DUPLICATE_PARENT_ID");
+            }
             up.set("Parent_ID", newPid);
             up.set("parentsId", newPid);
             up.set("parentId", newPid);
         }
 
         mongo.updateFirst(findQ, up, "parents");
+
+        // 컬렉션 이름으로 갱신 → 저장 이벤트 없음. 로그인 아이디 색인 직접 반영
+        if (idChanged && parentDoc.get("_id") != null) {
+            Object pw = parentDoc.get("parentsPw");
+            principals.sync(new LoginPrincipalService.Account(LoginPrincipalService.PARENT,
+                    String.valueOf(parentDoc.get("_id")), newPid, pw == null ? null : String.valueOf(pw)), new Date());
+        }
         return ResponseEntity.ok(newPid != null ? Map.of("parentId", newPid) : Map.of("ok", true));
     }
 
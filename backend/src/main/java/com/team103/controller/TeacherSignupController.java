@@ -3,6 +3,7 @@ package com.team103.controller;
 import com.team103.dto.TeacherSignupRequest;
 import com.team103.model.Teacher;
 import com.team103.repository.TeacherRepository;
+import com.team103.service.LoginPrincipalService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,9 +20,13 @@ public class TeacherSignupController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private LoginPrincipalService principals;
+
     @PostMapping
     public ResponseEntity<String> signup(@RequestBody TeacherSignupRequest req) {
-        if (teacherRepo.existsByTeacherId(req.getTeacherId())) {
+        // 로그인 아이디는 네 역할 통틀어 유일
+        if (teacherRepo.existsByTeacherId(req.getTeacherId()) || principals.isTaken(req.getTeacherId())) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body("이미 존재하는 교사 ID입니다");
         }
 
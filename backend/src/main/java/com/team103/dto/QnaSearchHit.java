@@ -0,0 +1,48 @@
+// src/main/java/com/team103/dto/QnaSearchHit.java
+package com.team103.dto;
+
+import java.util.Date;
+
+/**
+ * QnA 검색 결과 1건
+ * - kind : "question" | "answer" | "followup"
+ * - questionId / questionTitle : 속한 방(질문), 결과를 누르면 이 방을 열면 됨
+ * - snippet : 검색어 주변 본문 일부
+ */
+public class QnaSearchHit {
+
+    private String kind;
+    private String id;
+    private String questionId;
+    private String questionTitle;
+    private String author;
+    private String snippet;
+    private Date createdAt;
+    private float score;
+
+    public QnaSearchHit() {}
+
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getQuestionId() { return questionId; }
+    public void setQuestionId(String questionId) { this.questionId = questionId; }
+
+    public String getQuestionTitle() { return questionTitle; }
+    public void setQuestionTitle(String questionTitle) { this.questionTitle = questionTitle; }
+
+    public String getAuthor() { return author; }
+    public void setAuthor(String author) { this.author = author; }
+
+    public String getSnippet() { return snippet; }
+    public void setSnippet(String snippet) { this.snippet = snippet; }
+
+    public Date getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
+
+    public float getScore() { return score; }
+    public void setScore(float score) { this.score = score; }
+}
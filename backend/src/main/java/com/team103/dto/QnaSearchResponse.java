@@ -0,0 +1,27 @@
+// src/main/java/com/team103/dto/QnaSearchResponse.java
+package com.team103.dto;
+
+import java.util.List;
+
+/**
+ * QnA 검색 응답
+ * - items : 관련도 순 (같으면 최신순)
+ * - indexing : 기동 직후 색인을 채우는 중이면 true (결과가 일부만 나올 수 있음)
+ */
+public class QnaSearchResponse {
+
+    private List<QnaSearchHit> items;
+    private boolean indexing;
+
+    public QnaSearchResponse() {}
+    public QnaSearchResponse(List<QnaSearchHit> items, boolean indexing) {
+        this.items = items;
+        this.indexing = indexing;
+    }
+
+    public List<QnaSearchHit> getItems() { return items; }
+    public void setItems(List<QnaSearchHit> items) { this.items = items; }
+
+    public boolean isIndexing() { return indexing; }
+    public void setIndexing(boolean indexing) { this.indexing = indexing; }
+}
@@ -0,0 +1,35 @@
+// src/main/java/com/team103/dto/QnaThreadUpdates.java
+package com.team103.dto;
+
+import com.team103.model.Answer;
+import com.team103.model.FollowUp;
+
+import java.util.List;
+
+/**
+ * QnA 방 새 메시지 대기(long-poll) 응답
+ * - answers / followUps : 요청 커서 이후 새로 생긴 것만 (createdAt 오름차순), 시간 초과면 둘 다 빈 배열
+ * - cursor : 다음 대기 요청에 그대로 넘기는 값
+ */
+public class QnaThreadUpdates {
+
+    private List<Answer> answers;
+    private List<FollowUp> followUps;
+    private String cursor;
+
+    public QnaThreadUpdates() {}
+    public QnaThreadUpdates(List<Answer> answers, List<FollowUp> followUps, String cursor) {
+        this.answers = answers;
+        this.followUps = followUps;
+        this.cursor = cursor;
+    }
+
+    public List<Answer> getAnswers() { return answers; }
+    public void setAnswers(List<Answer> answers) { this.answers = answers; }
+
+    public List<FollowUp> getFollowUps() { return followUps; }
+    public void setFollowUps(List<FollowUp> followUps) { this.followUps = followUps; }
+
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+}
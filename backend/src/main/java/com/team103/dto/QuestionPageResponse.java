@@ -0,0 +1,28 @@
+// src/main/java/com/team103/dto/QuestionPageResponse.java
+package com.team103.dto;
+
+import com.team103.model.Question;
+
+import java.util.List;
+
+/**
+ * QnA 방 목록 한 페이지 (최근 활동 순)
+ * - nextCursor 를 그대로 다음 요청의 cursor 로 넘기면 이어서 조회, null 이면 마지막 페이지
+ */
+public class QuestionPageResponse {
+
+    private List<Question> items;
+    private String nextCursor;
+
+    public QuestionPageResponse() {}
+    public QuestionPageResponse(List<Question> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Question> getItems() { return items; }
+    public void setItems(List<Question> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,73 @@
+// src/main/java/com/team103/dto/SeatBoardDelta.java
+package com.team103.dto;
+
+import java.util.List;
+
+/**
+ * 좌석판 스트림(SSE)의 "delta" 이벤트 본문.
+ * - 최초 "board" 이벤트로 받은 SeatBoardResponse.seats 배열의 index 기준으로 바뀐 좌석만 전달
+ * - 카운트는 항상 포함, 대기열(waiting)은 바뀐 경우에만 포함(null이면 그대로)
+ */
+public class SeatBoardDelta {
+
+    private String classId;
+    private String date;
+    private long version;
+
+    private List<SeatChange> seats;
+    private List<SeatBoardResponse.WaitingItem> waiting;
+
+    private Integer presentCount;
+    private Integer lateCount;
+    private Integer absentCount;
+    private Integer moveOrBreakCount;
+    private Integer notRecordedCount;
+
+    // ── Getters / Setters ─────────────────────────────
+    public String getClassId() { return classId; }
+    public void setClassId(String classId) { this.classId = classId; }
+
+    public String getDate() { return date; }
+    public void setDate(String date) { this.date = date; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public List<SeatChange> getSeats() { return seats; }
+    public void setSeats(List<SeatChange> seats) { this.seats = seats; }
+
+    public List<SeatBoardResponse.WaitingItem> getWaiting() { return waiting; }
+    public void setWaiting(List<SeatBoardResponse.WaitingItem> waiting) { this.waiting = waiting; }
+
+    public Integer getPresentCount() { return presentCount; }
+    public void setPresentCount(Integer presentCount) { this.presentCount = presentCount; }
+
+    public Integer getLateCount() { return lateCount; }
+    public void setLateCount(Integer lateCount) { this.lateCount = lateCount; }
+
+    public Integer getAbsentCount() { return absentCount; }
+    public void setAbsentCount(Integer absentCount) { this.absentCount = absentCount; }
+
+    public Integer getMoveOrBreakCount() { return moveOrBreakCount; }
+    public void setMoveOrBreakCount(Integer moveOrBreakCount) { this.moveOrBreakCount = moveOrBreakCount; }
+
+    public Integer getNotRecordedCount() { return notRecordedCount; }
+    public void setNotRecordedCount(Integer notRecordedCount) { this.notRecordedCount = notRecordedCount; }
+
+    // ── Nested ─────────────────────────────
+    public static class SeatChange {
+        private int index;
+        private SeatBoardResponse.SeatStatus seat;
+
+        public SeatChange() {}
+        public SeatChange(int index, SeatBoardResponse.SeatStatus seat) {
+            this.index = index;
+            this.seat = seat;
+        }
+
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+        public SeatBoardResponse.SeatStatus getSeat() { return seat; }
+        public void setSeat(SeatBoardResponse.SeatStatus seat) { this.seat = seat; }
+    }
+}
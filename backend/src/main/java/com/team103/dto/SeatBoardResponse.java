@@ -8,6 +8,9 @@ public class SeatBoardResponse {
     private CurrentClass currentClass;
     private String date;
 
+    /** 스냅샷 버전(단조 증가) – 같은 값이면 내용도 같음 */
+    private Long version;
+
     /** "grid" | "vector" */
     private String layoutType;
 
@@ -36,6 +39,9 @@ public class SeatBoardResponse {
     public String getDate() { return date; }
     public void setDate(String date) { this.date = date; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public String getLayoutType() { return layoutType; }
     public void setLayoutType(String layoutType) { this.layoutType = layoutType; }
 
@@ -34,6 +34,10 @@ public class Attendance {
     @Field("Seat_Assignments")
     private List<SeatAssign> seatAssignments;
 
+    /** Seat_Assignments 낙관적 버전 (AttendanceWriteService CAS 용, 예전 문서는 없음) */
+    @Field("Seat_Version")
+    private Long seatVersion;
+
     // ── getters/setters ─────────────────────────────────────────────
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
@@ -56,6 +60,9 @@ public class Attendance {
     public List<SeatAssign> getSeatAssignments() { return seatAssignments; }
     public void setSeatAssignments(List<SeatAssign> seatAssignments) { this.seatAssignments = seatAssignments; }
 
+    public Long getSeatVersion() { return seatVersion; }
+    public void setSeatVersion(Long seatVersion) { this.seatVersion = seatVersion; }
+
     // ── 출석 엔트리 ─────────────────────────────────────────────
     public static class Item {
         @Field("Student_ID")
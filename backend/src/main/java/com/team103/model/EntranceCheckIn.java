@@ -0,0 +1,61 @@
+package com.team103.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * 입구 출석 이벤트 1건 (append-only)
+ * - 예전 {Type:"entrance", Date} 단일 문서의 Attendance_List 원소 하나에 해당
+ * - 학원+날짜로 파티션 → 학원끼리 같은 문서를 두고 경합하지 않음
+ * - (Academy_Number, Date) 인덱스는 EntranceCheckInService 가 기동 시 생성 (자동 인덱스 생성 꺼져 있음)
+ */
+@Document(collection = "entrance_checkins")
+public class EntranceCheckIn {
+
+    @Id
+    private String id;
+
+    @Field("Academy_Number")
+    private Integer academyNumber; // 학원을 모르면 0
+
+    @Field("Date")
+    private String date; // "yyyy-MM-dd"
+
+    @Field("Student_ID")
+    private String studentId;
+
+    @Field("CheckIn_Time")
+    private String checkInTime; // ISO 또는 "HH:mm..."
+
+    @Field("Source")
+    private String source; // "tablet", "lobby-qr" 등
+
+    public EntranceCheckIn() {}
+
+    public EntranceCheckIn(Integer academyNumber, String date, String studentId, String checkInTime, String source) {
+        this.academyNumber = academyNumber;
+        this.date = date;
+        this.studentId = studentId;
+        this.checkInTime = checkInTime;
+        this.source = source;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Integer getAcademyNumber() { return academyNumber; }
+    public void setAcademyNumber(Integer academyNumber) { this.academyNumber = academyNumber; }
+
+    public String getDate() { return date; }
+    public void setDate(String date) { this.date = date; }
+
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+
+    public String getCheckInTime() { return checkInTime; }
+    public void setCheckInTime(String checkInTime) { this.checkInTime = checkInTime; }
+
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+}
@@ -0,0 +1,60 @@
+package com.team103.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.util.List;
+
+/**
+ * 학원별 하루 입구 출석 요약 (entrance_checkins 프로젝션)
+ * - _id = "학원번호|yyyy-MM-dd"
+ * - 학생 목록은 중복 없이(Student_IDs), 시각/횟수는 요약만. 상세는 entrance_checkins 참고
+ */
+@Document(collection = "entrance_daily")
+public class EntranceDaily {
+
+    @Id
+    private String id;
+
+    @Field("Academy_Number")
+    private Integer academyNumber;
+
+    @Field("Date")
+    private String date;
+
+    @Field("Student_IDs")
+    private List<String> studentIds;
+
+    @Field("Count")
+    private Long count; // 중복 스캔 포함 이벤트 수
+
+    @Field("First_CheckIn_Time")
+    private String firstCheckInTime;
+
+    @Field("Last_CheckIn_Time")
+    private String lastCheckInTime;
+
+    public static String idOf(int academyNumber, String date) { return academyNumber + "|" + date; }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Integer getAcademyNumber() { return academyNumber; }
+    public void setAcademyNumber(Integer academyNumber) { this.academyNumber = academyNumber; }
+
+    public String getDate() { return date; }
+    public void setDate(String date) { this.date = date; }
+
+    public List<String> getStudentIds() { return studentIds; }
+    public void setStudentIds(List<String> studentIds) { this.studentIds = studentIds; }
+
+    public Long getCount() { return count; }
+    public void setCount(Long count) { this.count = count; }
+
+    public String getFirstCheckInTime() { return firstCheckInTime; }
+    public void setFirstCheckInTime(String firstCheckInTime) { this.firstCheckInTime = firstCheckInTime; }
+
+    public String getLastCheckInTime() { return lastCheckInTime; }
+    public void setLastCheckInTime(String lastCheckInTime) { this.lastCheckInTime = lastCheckInTime; }
+}
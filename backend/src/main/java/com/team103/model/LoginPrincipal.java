@@ -0,0 +1,31 @@
+package com.team103.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.util.Date;
+
+/**
+ * 로그인 아이디 색인 (POST /api/login 이 컬렉션 4개를 차례로 뒤지지 않도록)
+ * - id = 역할:엔티티ID (아이디가 바뀌어도 같은 문서를 갱신)
+ * - username 은 네 역할 통틀어 유일 (unique 인덱스)
+ * - passwordHash : 해당 계정의 bcrypt 해시 (원본 문서 저장 시 같이 갱신). 옛 평문 계정은 null
+ * - syncedAt : 마지막 동기화 시각 (전체 재구성 때 남은 옛 문서 정리용)
+ */
+@Document(collection = "login_principals")
+public class LoginPrincipal {
+    @Id private String id;
+    @Indexed(name = "login_principal_username_uniq", unique = true)
+    private String username;
+    private String role;
+    private String entityId;
+    private String passwordHash;
+    private Date syncedAt;
+
+    public String getId(){ return id; } public void setId(String id){ this.id = id; }
+    public String getUsername(){ return username; } public void setUsername(String v){ this.username = v; }
+    public String getRole(){ return role; } public void setRole(String v){ this.role = v; }
+    public String getEntityId(){ return entityId; } public void setEntityId(String v){ this.entityId = v; }
+    public String getPasswordHash(){ return passwordHash; } public void setPasswordHash(String v){ this.passwordHash = v; }
+    public Date getSyncedAt(){ return syncedAt; } public void setSyncedAt(Date v){ this.syncedAt = v; }
+}
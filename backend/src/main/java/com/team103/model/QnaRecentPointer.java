@@ -0,0 +1,31 @@
+package com.team103.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.util.Date;
+
+/**
+ * 사용자별 "최근 QnA" 바로가기 (GET /api/qna/recent)
+ * - id = 역할:사용자ID (전체 최신 질문은 "all")
+ * - answer* : 학생/학부모는 내 질문에 달린 최신 답변, 교사/원장은 내가 쓴 최신 답변
+ * - question* : 내가 쓴 최신 질문 (answer 가 없을 때만 사용)
+ * - complete : 원본에서 한 번 계산해 채웠는지 (false/없음이면 다음 조회 때 계산)
+ */
+@Document(collection = "qna_recent_pointers")
+public class QnaRecentPointer {
+    @Id private String id;
+    private String answerQuestionId;
+    private String answerId;
+    private Date answerAt;
+    private String questionId;
+    private Date questionAt;
+    private boolean complete;
+
+    public String getId(){ return id; } public void setId(String id){ this.id = id; }
+    public String getAnswerQuestionId(){ return answerQuestionId; } public void setAnswerQuestionId(String v){ this.answerQuestionId = v; }
+    public String getAnswerId(){ return answerId; } public void setAnswerId(String v){ this.answerId = v; }
+    public Date getAnswerAt(){ return answerAt; } public void setAnswerAt(Date v){ this.answerAt = v; }
+    public String getQuestionId(){ return questionId; } public void setQuestionId(String v){ this.questionId = v; }
+    public Date getQuestionAt(){ return questionAt; } public void setQuestionAt(Date v){ this.questionAt = v; }
+    public boolean isComplete(){ return complete; } public void setComplete(boolean v){ this.complete = v; }
+}
@@ -1,6 +1,7 @@
 // src/main/java/com/team103/model/Question.java
 package com.team103.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.data.annotation.Id;
@@ -16,19 +17,25 @@ import java.util.List;
 @Document(collection = "questions")
 @JsonInclude(JsonInclude.Include.NON_NULL) // null 필드는 생략
 @CompoundIndexes({
-    // ✅ 부모 QnA 방 고유 보장: room=true + academyNumber + roomParentId 조합 유니크
-    // sparse=true → roomParentId가 없는 문서는 인덱스 대상에서 제외(학생 room/일반 질문 안전)
+    // ✅ 1:1 QnA 방 고유 보장: room=true + academyNumber + roomParentId|roomStudentId 조합 유니크
+    // partial → room=true 이고 해당 id 가 있는 문서만 인덱스 대상 (일반 질문/다른 종류 방 안전)
+    // 실제 생성은 QnaRoomDedupJob 이 기존 중복 정리 후 수행 (예전 sparse 인덱스 uniq_*_room 은 제거)
     @CompoundIndex(
-        name = "uniq_parent_room",
+        name = "room_parent_uniq",
         def  = "{'room':1,'academyNumber':1,'roomParentId':1}",
         unique = true,
-        sparse = true
+        partialFilter = "{'room':true,'roomParentId':{'$exists':true}}"
     )
      ,@CompoundIndex(
-         name = "uniq_student_room",
+         name = "room_student_uniq",
          def  = "{'room':1,'academyNumber':1,'roomStudentId':1}",
          unique = true,
-         sparse = true
+         partialFilter = "{'room':true,'roomStudentId':{'$exists':true}}"
+     )
+     // 방 목록 커서 페이징 (QuestionPageService): 학원별 최근 활동 순
+     ,@CompoundIndex(
+         name = "academy_updated_idx",
+         def  = "{'academyNumber':1,'updatedAt':-1,'_id':-1}"
      )
 })
 public class Question {
@@ -64,14 +71,32 @@ public class Question {
     @Transient
     private int unreadCount;
 
+    // ------- 방 활동 집계 (QnaAggregateService 가 $inc/$max/$push 로 유지) -------
+
     // ✅ 마지막 교사 답변 시각(TeacherQnaPanel의 latestActivityTs가 사용)
-    @Transient
     private Date lastAnswerAt;
 
-    // ✅ 질문/답변/팔로업 중 가장 최신(정렬/미확인 판단 기준) — 현재 저장 안 함(표시용)
-    @Transient
+    private Date lastFollowUpAt;
+
+    // ✅ 질문/답변/팔로업 중 가장 최신(정렬/미확인 판단 기준)
     private Date updatedAt;
 
+    private Integer answerCount;       // 활성 답변 수 (교사 측)
+    private Integer followUpCount;     // 활성 후속 질문 수 (학생/학부모 측)
+
+    @JsonIgnore
+    private List<String> responderIds; // 답변한 교사 id (첫 답변 순, 중복 없음)
+
+    // 최근 메시지 시각 (미확인 수 계산용, 최대 QnaAggregateService.RECENT_KEEP 개)
+    @JsonIgnore
+    private List<Date> recentAnswerAts;
+    @JsonIgnore
+    private List<Date> recentFollowUpAts;
+
+    // null 이면 아직 집계 없음 (backfill 대상)
+    @JsonIgnore
+    private Integer aggVersion;
+
     public Question() {
         this.createdAt = new Date();
     }
@@ -124,4 +149,25 @@ public class Question {
 
     public Date getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(Date updatedAt) { this.updatedAt = updatedAt; }
+
+    public Date getLastFollowUpAt() { return lastFollowUpAt; }
+    public void setLastFollowUpAt(Date v) { this.lastFollowUpAt = v; }
+
+    public Integer getAnswerCount() { return answerCount; }
+    public void setAnswerCount(Integer v) { this.answerCount = v; }
+
+    public Integer getFollowUpCount() { return followUpCount; }
+    public void setFollowUpCount(Integer v) { this.followUpCount = v; }
+
+    public List<String> getResponderIds() { return responderIds; }
+    public void setResponderIds(List<String> v) { this.responderIds = v; }
+
+    public List<Date> getRecentAnswerAts() { return recentAnswerAts; }
+    public void setRecentAnswerAts(List<Date> v) { this.recentAnswerAts = v; }
+
+    public List<Date> getRecentFollowUpAts() { return recentFollowUpAts; }
+    public void setRecentFollowUpAts(List<Date> v) { this.recentFollowUpAts = v; }
+
+    public Integer getAggVersion() { return aggVersion; }
+    public void setAggVersion(Integer v) { this.aggVersion = v; }
 }
@@ -1,10 +1,13 @@
 package com.team103.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.util.Date;
 
 @Document(collection = "question_read_state")
+// (질문, 사용자)당 1건 — ReadStateTracker 가 기동 시 중복 정리 후 생성
+@CompoundIndex(name = "question_user_uniq", def = "{'questionId':1,'userId':1}", unique = true)
 public class QuestionReadState {
     @Id private String id;
     private String questionId;
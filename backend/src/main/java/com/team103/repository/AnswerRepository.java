@@ -25,6 +25,13 @@ public interface AnswerRepository extends MongoRepository<Answer, String> {
     )
     Answer findLatestActiveByQuestionId(String questionId);
 
+    // 같은 질문에 이 교사의 활성 답변이 남아 있는지 (응답자 집계용)
+    @Query(
+            value = "{ 'questionId': ?0, 'author': ?1, $or: [ { 'deleted': false }, { 'deleted': { $exists: false } } ] }",
+            count = true
+    )
+    long countActiveByQuestionIdAndAuthor(String questionId, String author);
+
     // 질문 여러 개 중 최신 1건
     Answer findTopByQuestionIdInAndDeletedFalseOrderByCreatedAtDesc(List<String> questionIds);
 
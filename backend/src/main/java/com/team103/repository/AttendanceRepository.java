@@ -14,8 +14,9 @@ import java.util.List;
  * 컬렉션 구조:
  * 1) 수업 출석 문서
  *    - Class_ID, Date, Attendance_List[], Seat_Assignments[]
- * 2) entrance 입구 출석 문서
+ * 2) entrance 입구 출석 문서 (구데이터)
  *    - Type = "entrance", Date, Attendance_List[]
+ *    - 새 입구 출석은 entrance_checkins / entrance_daily 로 기록 (EntranceCheckInService)
  *
  * 👉 학생 출석 조회용 메서드는 "수업 출석 문서(Class_ID 존재)"만 보도록 필터링 필요
  */
@@ -56,13 +57,12 @@ public interface AttendanceRepository extends MongoRepository<Attendance, String
     List<Attendance> findByTypeAndDate(String type, String date);
 
     /**
-     * Type + Date + Academy_Number 기반 조회
-     * - A안(학원별 entrance 문서 분리) 시나리오에서 사용
-     * - 아직 entrance 문서에 Academy_Number 안 넣었으면 결과는 항상 빈 리스트가 됨
+     * Type + Date + Academy_Number 기반 조회 (구데이터 entrance 문서 전용)
      *
-     * 👉 지금 바로 쓰고 싶으면 EntranceCheckInController 에서
-     *    attendances 문서에도 Academy_Number 필드를 같이 set 해줘야 함.
+     * @deprecated 입구 출석은 더 이상 attendances 에 쓰지 않음.
+     *             학원별 하루 입구 출석은 EntranceCheckInService.findDaily / checkedInStudents 사용
      */
+    @Deprecated
     @Query(value = "{ 'Type': ?0, 'Date': ?1, 'Academy_Number': ?2 }")
     List<Attendance> findByTypeAndDateAndAcademyNumber(String type, String date, Integer academyNumber);
 }
@@ -0,0 +1,13 @@
+package com.team103.repository;
+
+import com.team103.model.EntranceCheckIn;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+/** entrance_checkins (입구 출석 이벤트 로그) */
+public interface EntranceCheckInRepository extends MongoRepository<EntranceCheckIn, String> {
+
+    /** 학원 + 날짜 이벤트 전체 (프로젝션 재생성/상세 조회용) */
+    List<EntranceCheckIn> findByAcademyNumberAndDate(Integer academyNumber, String date);
+}
@@ -0,0 +1,8 @@
+package com.team103.repository;
+
+import com.team103.model.EntranceDaily;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/** entrance_daily (학원별 하루 입구 출석 요약, _id = "학원번호|날짜") */
+public interface EntranceDailyRepository extends MongoRepository<EntranceDaily, String> {
+}
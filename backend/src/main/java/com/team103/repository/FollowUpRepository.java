@@ -2,8 +2,12 @@ package com.team103.repository;
 
 import com.team103.model.FollowUp;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import java.util.Collection;
 import java.util.List;
 
 public interface FollowUpRepository extends MongoRepository<FollowUp, String> {
     List<FollowUp> findByQuestionIdAndDeletedFalse(String questionId);
+
+    // 목록 화면용: 여러 질문의 follow-up 한 번에
+    List<FollowUp> findByQuestionIdInAndDeletedFalse(Collection<String> questionIds);
 }
@@ -2,8 +2,13 @@ package com.team103.repository;
 
 import com.team103.model.QuestionReadState;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface QuestionReadStateRepository extends MongoRepository<QuestionReadState, String> {
     Optional<QuestionReadState> findByQuestionIdAndUserId(String questionId, String userId);
+
+    // 목록 화면용: 한 사용자의 여러 질문 읽음 상태
+    List<QuestionReadState> findByUserIdAndQuestionIdIn(String userId, Collection<String> questionIds);
 }
\ No newline at end of file
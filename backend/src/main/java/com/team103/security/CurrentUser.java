@@ -0,0 +1,39 @@
+package com.team103.security;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * 현재 요청의 사용자 (userId + 토큰의 role 클레임 그대로).
+ * 컨트롤러 파라미터로 선언하면 CurrentUserArgumentResolver 가 SecurityContext 에서 채워줌 → HttpSession 불필요.
+ * 비로그인 요청이면 userId / role 모두 null.
+ */
+public record CurrentUser(String userId, String role) {
+
+    public static final CurrentUser ANONYMOUS = new CurrentUser(null, null);
+
+    public boolean isAuthenticated() {
+        return userId != null;
+    }
+
+    /**
+     * JwtAuthFilter 가 details 에 넣어 둔 값을 우선 사용.
+     * 다른 경로로 인증된 경우(테스트 등)는 이름 + 첫 권한(ROLE_ 제거, 소문자)으로 구성.
+     */
+    public static CurrentUser from(Authentication auth) {
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return ANONYMOUS;
+        }
+        if (auth.getDetails() instanceof CurrentUser u) return u;
+
+        String role = null;
+        for (GrantedAuthority g : auth.getAuthorities()) {
+            String a = g.getAuthority();
+            if (a == null || a.isBlank()) continue;
+            role = (a.startsWith("ROLE_") ? a.substring(5) : a).toLowerCase();
+            break;
+        }
+        return new CurrentUser(auth.getName(), role);
+    }
+}
@@ -0,0 +1,37 @@
+package com.team103.security;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * 컨트롤러의 CurrentUser 파라미터 주입.
+ * JwtAuthFilter 가 이미 검증해서 SecurityContext 에 넣은 인증만 읽음 (토큰 재검증 X, 세션 X).
+ * 같은 요청 안에서는 request attribute 에 한 번만 만들어 둠.
+ */
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String ATTR = CurrentUser.class.getName();
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return CurrentUser.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter,
+                                  ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest,
+                                  WebDataBinderFactory binderFactory) {
+        Object cached = webRequest.getAttribute(ATTR, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof CurrentUser u) return u;
+
+        CurrentUser user = CurrentUser.from(SecurityContextHolder.getContext().getAuthentication());
+        webRequest.setAttribute(ATTR, user, RequestAttributes.SCOPE_REQUEST);
+        return user;
+    }
+}
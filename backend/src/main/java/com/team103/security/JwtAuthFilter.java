@@ -1,5 +1,6 @@
 package com.team103.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -25,6 +26,8 @@ import java.util.stream.Collectors;
  * Authorization: Bearer <JWT> 를 읽어 SecurityContext에 인증을 세팅.
  * role/roles/authorities/scope 어디서 와도 흡수하여 ROLE_* 권한으로 정규화.
  * 디버깅 로그 강화.
+ * 토큰은 요청당 최대 1회만 파싱/검증하고, 검증된 토큰은 VerifiedTokenCache 로 exp 까지 재사용.
+ * 컨트롤러용 CurrentUser(userId, role 클레임)는 인증 details 에 넣어 둠 (세션 사용 안 함).
  */
 public class JwtAuthFilter extends OncePerRequestFilter {
 
@@ -32,9 +35,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     private static final String BEARER = "Bearer ";
 
     private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache tokenCache;
 
-    public JwtAuthFilter(JwtUtil jwtUtil) {
+    public JwtAuthFilter(JwtUtil jwtUtil, VerifiedTokenCache tokenCache) {
         this.jwtUtil = jwtUtil;
+        this.tokenCache = tokenCache;
     }
 
     /** 헤더가 비어있으면 쿠키에서 대체 토큰을 찾아주는 보조 함수(선택) */
@@ -107,61 +112,45 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 return;
             }
 
-            // 유효성 검사
-            boolean valid = false;
-            try {
-                valid = jwtUtil.validate(token);
-            } catch (Exception ex) {
+            // 1) 캐시: 이미 검증한 토큰이면 파싱 없이
+            VerifiedTokenCache.Verified verified = tokenCache.get(token);
+            if (verified != null) {
                 if (log.isDebugEnabled()) {
-                    log.debug("[{}] token validate threw: {}", rid, ex.toString());
+                    log.debug("[{}] token cache hit user='{}'", rid, verified.username());
                 }
-            }
-
-            if (!valid) {
-                if (log.isDebugEnabled()) {
-                    log.debug("[{}] token invalid → continue without auth", rid);
+            } else {
+                // 2) 유효성 검사 + 클레임 추출 (1회 파싱)
+                Claims claims = null;
+                try {
+                    claims = jwtUtil.parseClaims(token);
+                } catch (Exception ex) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("[{}] token validate threw: {}", rid, ex.toString());
+                    }
                 }
-                filterChain.doFilter(request, response);
-                return;
-            }
-
-            // 사용자/권한 추출
-            String username = jwtUtil.getUsername(token);
-
-            // 다양한 위치의 역할 수집
-            Set<String> rawRoles = new LinkedHashSet<>();
-            rawRoles.addAll(jwtUtil.getClaimAsStringList(token, "roles"));       // ["TEACHER","DIRECTOR"]
-            String singleRole = jwtUtil.getClaimAsString(token, "role");         // "TEACHER"
-            if (singleRole != null && !singleRole.isBlank()) rawRoles.add(singleRole);
-            rawRoles.addAll(jwtUtil.getClaimAsStringList(token, "authorities")); // ["ROLE_TEACHER", ...]
-            String scope = jwtUtil.getClaimAsString(token, "scope");             // "teacher director"
-            if (scope != null) {
-                Arrays.stream(scope.split("[,\\s]+"))
-                        .filter(s -> !s.isBlank())
-                        .forEach(rawRoles::add);
-            }
 
-            // ROLE_ 접두사 정규화
-            List<String> normalized = rawRoles.stream()
-                    .filter(Objects::nonNull)
-                    .map(String::trim)
-                    .filter(s -> !s.isEmpty())
-                    .map(String::toUpperCase)
-                    .map(s -> s.startsWith("ROLE_") ? s : "ROLE_" + s)
-                    .toList();
+                if (claims == null) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("[{}] token invalid → continue without auth", rid);
+                    }
+                    filterChain.doFilter(request, response);
+                    return;
+                }
 
-            List<GrantedAuthority> authorities = normalized.stream()
-                    .map(SimpleGrantedAuthority::new)
-                    .collect(Collectors.toList());
+                List<GrantedAuthority> authorities = authoritiesOf(claims);
+                verified = tokenCache.put(token, claims.getSubject(),
+                        jwtUtil.getClaimAsString(claims, "role"), authorities, claims.getExpiration());
 
-            if (log.isDebugEnabled()) {
-                log.debug("[{}] token OK user='{}' rawRoles={} normalizedAuthorities={}",
-                        rid, username, rawRoles, normalized);
+                if (log.isDebugEnabled()) {
+                    log.debug("[{}] token OK user='{}' normalizedAuthorities={}",
+                            rid, verified.username(), authorities);
+                }
             }
 
             // 인증 세팅
             UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(username, null, authorities);
+                    new UsernamePasswordAuthenticationToken(verified.username(), null, verified.authorities());
+            authentication.setDetails(new CurrentUser(verified.username(), verified.role()));
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
             filterChain.doFilter(request, response);
@@ -175,4 +164,29 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             MDC.remove("rid");
         }
     }
+
+    /** 다양한 위치의 역할 수집 → ROLE_ 접두사 정규화 (이미 검증한 Claims 사용) */
+    List<GrantedAuthority> authoritiesOf(Claims claims) {
+        Set<String> rawRoles = new LinkedHashSet<>();
+        rawRoles.addAll(jwtUtil.getClaimAsStringList(claims, "roles"));       // ["TEACHER","DIRECTOR"]
+        String singleRole = jwtUtil.getClaimAsString(claims, "role");         // "TEACHER"
+        if (singleRole != null && !singleRole.isBlank()) rawRoles.add(singleRole);
+        rawRoles.addAll(jwtUtil.getClaimAsStringList(claims, "authorities")); // ["ROLE_TEACHER", ...]
+        String scope = jwtUtil.getClaimAsString(claims, "scope");             // "teacher director"
+        if (scope != null) {
+            Arrays.stream(scope.split("[,\\s]+"))
+                    .filter(s -> !s.isBlank())
+                    .forEach(rawRoles::add);
+        }
+
+        return rawRoles.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(String::toUpperCase)
+                .map(s -> s.startsWith("ROLE_") ? s : "ROLE_" + s)
+                .distinct()
+                .map(s -> (GrantedAuthority) new SimpleGrantedAuthority(s))
+                .collect(Collectors.toList());
+    }
 }
@@ -13,6 +13,7 @@ import java.util.Base64;
 public class JwtUtil {
 
     private final Key key;
+    private final JwtParser parser;    // 불변·스레드 안전 → 한 번만 생성
     private final long expMs;          // 만료(ms)
     private final long clockSkewSec;   // 허용 시계 오차(sec)
 
@@ -25,6 +26,10 @@ public class JwtUtil {
         this.key = Keys.hmacShaKeyFor(secretBytes);
         this.expMs = expMs;
         this.clockSkewSec = clockSkewSec;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .setAllowedClockSkewSeconds(clockSkewSec)
+                .build();
     }
 
     /* ================== 토큰 생성 ================== */
@@ -78,12 +83,7 @@ public class JwtUtil {
     /** 유효하면 Claims 반환(예외 throw) */
     public Claims parseClaims(String token) throws JwtException {
         String t = stripBearer(token);
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .setAllowedClockSkewSeconds(clockSkewSec)
-                .build()
-                .parseClaimsJws(t)
-                .getBody();
+        return parser.parseClaimsJws(t).getBody();
     }
 
     /* ================== 클레임 접근 ================== */
@@ -141,7 +141,12 @@ public class JwtUtil {
 
     /** 임의 클레임을 타입-세이프하게 꺼내기 (없으면 null) */
     public <T> T getClaim(String token, String name, Class<T> type) {
-        Object v = parseClaims(token).get(name);
+        return getClaim(parseClaims(token), name, type);
+    }
+
+    /** 이미 검증한 Claims 에서 꺼내기 (다시 파싱하지 않음) */
+    public <T> T getClaim(Claims claims, String name, Class<T> type) {
+        Object v = claims.get(name);
         if (v == null) return null;
 
         // 타입이 이미 맞으면 그대로
@@ -169,10 +174,18 @@ public class JwtUtil {
         return getClaim(token, name, String.class);
     }
 
+    public String getClaimAsString(Claims claims, String name) {
+        return getClaim(claims, name, String.class);
+    }
+
     /** 문자열 리스트 클레임(예: roles)이면 대문자 정규화해서 반환 */
     @SuppressWarnings("unchecked")
     public List<String> getClaimAsStringList(String token, String name) {
-        Object v = parseClaims(token).get(name);
+        return getClaimAsStringList(parseClaims(token), name);
+    }
+
+    public List<String> getClaimAsStringList(Claims claims, String name) {
+        Object v = claims.get(name);
         if (v instanceof Collection<?> col) {
             List<String> out = new ArrayList<>(col.size());
             for (Object o : col) if (o != null) out.add(String.valueOf(o).trim());
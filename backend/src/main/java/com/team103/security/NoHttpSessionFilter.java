@@ -0,0 +1,58 @@
+package com.team103.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * HttpSession 생성 차단.
+ * SessionCreationPolicy.STATELESS 는 Spring Security 자신만 세션을 안 만들 뿐이라,
+ * 컨트롤러나 라이브러리가 request.getSession() 을 부르면 여전히 세션(JSESSIONID)이 생김.
+ * → 요청을 감싸서 getSession(false) 는 항상 null, 세션을 만들려고 하면 IllegalStateException.
+ */
+public class NoHttpSessionFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        filterChain.doFilter(new SessionlessRequest(request), response);
+    }
+
+    static final class SessionlessRequest extends HttpServletRequestWrapper {
+
+        SessionlessRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public HttpSession getSession() {
+            return getSession(true);
+        }
+
+        @Override
+        public HttpSession getSession(boolean create) {
+            if (create) {
+                throw new IllegalStateException("HttpSession is disabled (stateless API): " + getRequestURI());
+            }
+            return null;
+        }
+
+        @Override
+        public String changeSessionId() {
+            throw new IllegalStateException("HttpSession is disabled (stateless API)");
+        }
+
+        @Override
+        public boolean isRequestedSessionIdValid() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.team103.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 검증이 끝난 JWT → (username, 권한 목록) 캐시.
+ * 같은 토큰으로 다시 들어온 요청은 서명 검증/JSON 디코딩 없이 바로 인증 세팅.
+ *
+ * - 키는 토큰 원문이 아니라 SHA-256 (메모리에 토큰 원문을 오래 두지 않음)
+ * - 토큰 exp 시각에 만료 (exp 가 없거나 너무 멀면 maxTtlSec 까지만)
+ * - 최대 maxEntries 건. 넘치면 만료된 것부터 지우고, 그래도 넘치면 전부 비움 (다음 요청부터 다시 채워짐)
+ * - 검증 실패한 토큰은 넣지 않음
+ */
+@Component
+public class VerifiedTokenCache {
+
+    /** 인증에 필요한 것만 (권한 목록은 미리 만들어 둔 불변 리스트, role 은 토큰의 role 클레임) */
+    public record Verified(String username, String role, List<GrantedAuthority> authorities, long expiresAtMs) {}
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final int maxEntries;
+    private final long maxTtlMs;
+    private final Map<String, Verified> entries = new ConcurrentHashMap<>();
+
+    public VerifiedTokenCache(@Value("${jwt.cache.max-entries:50000}") int maxEntries,
+                              @Value("${jwt.cache.max-ttl-sec:900}") long maxTtlSec) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.maxTtlMs = Math.max(1, maxTtlSec) * 1000L;
+    }
+
+    /** 만료 전이면 캐시된 결과, 아니면 null */
+    public Verified get(String token) {
+        if (maxEntries == 0 || token == null) return null;
+        String k = hash(token);
+        Verified v = entries.get(k);
+        if (v == null) return null;
+        if (System.currentTimeMillis() >= v.expiresAtMs()) {
+            entries.remove(k, v);
+            return null;
+        }
+        return v;
+    }
+
+    public Verified put(String token, String username, String role,
+                        List<GrantedAuthority> authorities, Date expiration) {
+        long now = System.currentTimeMillis();
+        long exp = now + maxTtlMs;
+        if (expiration != null) exp = Math.min(exp, expiration.getTime());
+        Verified v = new Verified(username, role, List.copyOf(authorities), exp);
+        if (maxEntries == 0 || exp <= now) return v;
+
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(e -> now >= e.expiresAtMs());
+            if (entries.size() >= maxEntries) entries.clear();
+        }
+        entries.put(hash(token), v);
+        return v;
+    }
+
+    public int size() { return entries.size(); }
+
+    private static String hash(String token) {
+        MessageDigest md = SHA256.get();
+        md.reset();
+        return Base64.getEncoder().encodeToString(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+}
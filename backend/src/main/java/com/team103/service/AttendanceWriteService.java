@@ -0,0 +1,264 @@
+// src/main/java/com/team103/service/AttendanceWriteService.java
+package com.team103.service;
+
+import com.team103.model.Attendance;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * 수업 출석 문서(attendances, Class_ID + Date) 부분 갱신 전용
+ *
+ * - 문서 전체를 읽어 Java에서 고친 뒤 save() 하던 방식 대신, 바뀌는 원소만 $set/$push/$pull
+ *   → QR 러시 때 동시 저장끼리 서로 덮어쓰던 문제(lost update) 제거
+ * - 출결 상태: Attendance_List 원소를 arrayFilters(Student_ID)로 지정해 한 번에 갱신, 없으면 $ne 조건부 $push
+ * - 좌석 배정: "같은 좌석 또는 같은 학생 제거 + 추가"는 한 번의 연산으로 표현이 안 돼서
+ *   Seat_Version 낙관적 버전으로 compare-and-set (충돌 시 재시도)
+ *
+ * 문서 생성은 Class_ID+Date unique 인덱스를 믿고 upsert($setOnInsert)로만 한다.
+ * 자동 인덱스 생성이 꺼져 있으므로 그 인덱스는 기동 시 여기서 직접 만든다
+ * (이미 생긴 중복 문서는 한 건으로 합친 뒤 다시 시도).
+ */
+@Service
+public class AttendanceWriteService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttendanceWriteService.class);
+
+    private static final int MAX_RETRY = 5;
+    private static final String INDEX_NAME = "class_date_idx";
+
+    /** "출석"으로 승격해도 되는 기존 상태 (지각/결석/조퇴 등은 유지) */
+    private static final List<Object> PROMOTABLE = List.of(
+            "미기록", "입구 출석", "이동", "휴식",
+            Pattern.compile("^\\s*$"),
+            Pattern.compile("^move$", Pattern.CASE_INSENSITIVE),
+            Pattern.compile("^break$", Pattern.CASE_INSENSITIVE));
+
+    private final MongoTemplate mongo;
+
+    public AttendanceWriteService(MongoTemplate mongo) {
+        this.mongo = mongo;
+    }
+
+    private static Query docQuery(String classId, String ymd) {
+        return new Query(Criteria.where("Class_ID").is(classId).and("Date").is(ymd));
+    }
+
+    private static Map<String, Object> item(String sid, String status, String checkInTime, String source) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("Student_ID", sid);
+        m.put("Status", status);
+        if (checkInTime != null) m.put("CheckIn_Time", checkInTime);
+        if (source != null) m.put("Source", source);
+        return m;
+    }
+
+    /* ─────────────── 문서 보장 ─────────────── */
+
+    /** 없으면 roster(미기록)로 생성, 있으면 그대로. 동시 생성은 unique 인덱스가 한 건만 남김 */
+    public Attendance ensureDoc(String classId, String ymd, Collection<String> roster) {
+        Attendance att = mongo.findOne(docQuery(classId, ymd), Attendance.class);
+        if (att != null) return att;
+
+        List<Map<String, Object>> list = new ArrayList<>();
+        if (roster != null) for (String sid : roster) list.add(item(sid, "미기록", null, null));
+
+        Update up = new Update()
+                .setOnInsert("Class_ID", classId)
+                .setOnInsert("Date", ymd)
+                .setOnInsert("Attendance_List", list)
+                .setOnInsert("Seat_Assignments", new ArrayList<>())
+                .setOnInsert("Seat_Version", 0L);
+        try {
+            mongo.upsert(docQuery(classId, ymd), up, Attendance.class);
+        } catch (DuplicateKeyException ignore) {
+            // 다른 요청이 먼저 만들었음
+        }
+        return mongo.findOne(docQuery(classId, ymd), Attendance.class);
+    }
+
+    /* ─────────────── 출결 상태 ─────────────── */
+
+    /** 상태 덮어쓰기 (이동/휴식/지각/결석 등, 수업 QR 출석). checkInTime이 null이면 시간은 건드리지 않음 */
+    public void setStatus(String classId, String ymd, String sid, String status, String checkInTime, String source) {
+        Update set = new Update()
+                .set("Attendance_List.$[it].Status", status)
+                .filterArray(Criteria.where("it.Student_ID").is(sid));
+        if (checkInTime != null) set.set("Attendance_List.$[it].CheckIn_Time", checkInTime);
+        if (source != null) set.set("Attendance_List.$[it].Source", source);
+
+        upsertItem(classId, ymd, sid, set, item(sid, status, checkInTime, source));
+    }
+
+    /**
+     * 좌석 QR 출석: 미기록/입구 출석/이동/휴식만 "출석"으로 승격, 지각/결석 등은 유지.
+     * newStatus가 "출석"이 아니면 setStatus 와 같다.
+     */
+    public void markCheckIn(String classId, String ymd, String sid, String newStatus) {
+        if (!"출석".equals(newStatus)) {
+            setStatus(classId, ymd, sid, newStatus, null, null);
+            return;
+        }
+        List<Object> from = new ArrayList<>(PROMOTABLE);
+        from.add(null); // Status 필드 없음
+        Update promote = new Update()
+                .set("Attendance_List.$[it].Status", "출석")
+                .filterArray(Criteria.where("it.Student_ID").is(sid).and("it.Status").in(from));
+
+        upsertItem(classId, ymd, sid, promote, item(sid, "출석", null, null));
+    }
+
+    /**
+     * 원소가 있으면 update, 없으면 원소 추가.
+     * 두 연산 모두 "원소 존재 여부"를 조건으로 걸어서, 사이에 다른 요청이 끼어도 중복 원소가 생기지 않음
+     */
+    private void upsertItem(String classId, String ymd, String sid, Update ifPresent, Map<String, Object> newItem) {
+        for (int i = 0; i < MAX_RETRY; i++) {
+            Query has = docQuery(classId, ymd).addCriteria(Criteria.where("Attendance_List.Student_ID").is(sid));
+            if (mongo.updateFirst(has, ifPresent, Attendance.class).getMatchedCount() > 0) return;
+
+            Query hasNot = docQuery(classId, ymd).addCriteria(Criteria.where("Attendance_List.Student_ID").ne(sid));
+            if (mongo.updateFirst(hasNot, new Update().push("Attendance_List", newItem), Attendance.class)
+                    .getMatchedCount() > 0) return;
+
+            // 둘 다 실패 = 문서가 없거나, 그 사이 다른 요청이 원소를 추가함 → 문서 보장 후 재시도
+            ensureDoc(classId, ymd, null);
+        }
+        throw new IllegalStateException("attendance update conflict: " + classId + " @ " + ymd);
+    }
+
+    /* ─────────────── 좌석 배정 ─────────────── */
+
+    /** 좌석 배정: 같은 좌석 / 같은 학생의 기존 배정은 제거 후 추가 (Seat_Version CAS) */
+    public void assignSeat(String classId, String ymd, String seatLabel, String sid) {
+        for (int i = 0; i < MAX_RETRY; i++) {
+            Attendance att = ensureDoc(classId, ymd, null);
+            Long version = att.getSeatVersion();
+
+            List<Attendance.SeatAssign> list = new ArrayList<>();
+            if (att.getSeatAssignments() != null) {
+                for (Attendance.SeatAssign x : att.getSeatAssignments()) {
+                    if (x == null) continue;
+                    if (seatLabel.equals(x.getSeatLabel()) || sid.equals(x.getStudentId())) continue;
+                    list.add(x);
+                }
+            }
+            Attendance.SeatAssign a = new Attendance.SeatAssign();
+            a.setSeatLabel(seatLabel);
+            a.setStudentId(sid);
+            list.add(a);
+
+            // 버전 필드가 없는 예전 문서는 "필드 없음"을 조건으로 첫 CAS
+            Criteria same = Criteria.where("_id").is(att.getId());
+            same = (version == null) ? same.and("Seat_Version").exists(false) : same.and("Seat_Version").is(version);
+            Query cas = new Query(same);
+
+            Update up = new Update().set("Seat_Assignments", list).inc("Seat_Version", 1);
+            if (mongo.updateFirst(cas, up, Attendance.class).getMatchedCount() > 0) return;
+        }
+        throw new IllegalStateException("seat assignment conflict: " + classId + " @ " + ymd);
+    }
+
+    /** 좌석 해제: 단일 $pull 이라 버전 확인 없이 원자적 */
+    public void unassignSeat(String classId, String ymd, String seatLabel) {
+        Update up = new Update()
+                .pull("Seat_Assignments", Map.of("Seat_Label", seatLabel))
+                .inc("Seat_Version", 1);
+        mongo.updateFirst(docQuery(classId, ymd), up, Attendance.class);
+    }
+
+    /* ─────────────── 인덱스 ─────────────── */
+
+    @PostConstruct
+    void ensureUniqueIndex() {
+        Index idx = new Index()
+                .on("Class_ID", Sort.Direction.ASC)
+                .on("Date", Sort.Direction.ASC)
+                .unique()
+                .named(INDEX_NAME);
+        try {
+            mongo.indexOps(Attendance.class).ensureIndex(idx);
+        } catch (RuntimeException first) {
+            // 인덱스 없이 동시 upsert 로 생긴 (Class_ID, Date) 중복 문서가 있으면 합친 뒤 한 번 더
+            try {
+                int removed = mergeDuplicates();
+                mongo.indexOps(Attendance.class).ensureIndex(idx);
+                log.info("[ATTENDANCE] unique index created after merging {} duplicate docs", removed);
+            } catch (RuntimeException e) {
+                log.warn("[ATTENDANCE] unique index ensure failed : {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * (Class_ID, Date) 중복 문서를 가장 먼저 생긴 1건으로 합침
+     * - 출결: 남길 문서에 없는 학생은 추가, 남길 문서가 미기록이면 기록된 쪽 값 사용
+     * - 좌석: 좌석/학생이 겹치지 않는 배정만 추가
+     */
+    private int mergeDuplicates() {
+        Aggregation agg = Aggregation.newAggregation(
+                Aggregation.group("classId", "date").count().as("n"),
+                Aggregation.match(Criteria.where("n").gt(1)));
+        int removed = 0;
+        for (Document d : mongo.aggregate(agg, Attendance.class, Document.class).getMappedResults()) {
+            Document id = d.get("_id", Document.class);
+            if (id == null) continue;
+            Query dup = docQuery(id.getString("classId"), id.getString("date"))
+                    .with(Sort.by(Sort.Direction.ASC, "_id"));
+            List<Attendance> docs = mongo.find(dup, Attendance.class);
+            if (docs.size() < 2) continue;
+
+            Attendance keep = docs.get(0);
+            Map<String, Attendance.Item> items = new LinkedHashMap<>();
+            List<Attendance.SeatAssign> seats = new ArrayList<>();
+            long version = 0;
+            for (Attendance a : docs) {
+                if (a.getAttendanceList() != null) {
+                    for (Attendance.Item it : a.getAttendanceList()) {
+                        if (it == null || it.getStudentId() == null) continue;
+                        Attendance.Item cur = items.get(it.getStudentId());
+                        if (cur == null || (unrecorded(cur) && !unrecorded(it))) items.put(it.getStudentId(), it);
+                    }
+                }
+                if (a.getSeatAssignments() != null) {
+                    for (Attendance.SeatAssign s : a.getSeatAssignments()) {
+                        if (s == null) continue;
+                        boolean clash = seats.stream().anyMatch(x ->
+                                Objects.equals(x.getSeatLabel(), s.getSeatLabel())
+                                        || Objects.equals(x.getStudentId(), s.getStudentId()));
+                        if (!clash) seats.add(s);
+                    }
+                }
+                if (a.getSeatVersion() != null) version = Math.max(version, a.getSeatVersion());
+            }
+
+            mongo.updateFirst(new Query(Criteria.where("_id").is(keep.getId())), new Update()
+                    .set("Attendance_List", new ArrayList<>(items.values()))
+                    .set("Seat_Assignments", seats)
+                    .set("Seat_Version", version + 1), Attendance.class);
+            for (int i = 1; i < docs.size(); i++) {
+                mongo.remove(new Query(Criteria.where("_id").is(docs.get(i).getId())), Attendance.class);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private static boolean unrecorded(Attendance.Item it) {
+        String s = it.getStatus();
+        return s == null || s.isBlank() || "미기록".equals(s);
+    }
+}
@@ -0,0 +1,129 @@
+// src/main/java/com/team103/service/CheckInDedup.java
+package com.team103.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 반복 QR 스캔 멱등 처리 (짧은 시간 창 안의 중복 요청은 첫 결과 재사용)
+ *
+ * - 키: checkInKey(studentId, classId 또는 "entrance", date) / 클라이언트 Idempotency-Key 헤더
+ *   · 헤더 키도 (호출자, 학생, 날짜) 범위 안에서만 유효 → 다른 학생과 키가 겹쳐도 남의 결과를 받지 않음
+ * - 창(windowSec) 안에 같은 키가 다시 오면 Mongo 를 건드리지 않고 첫 결과 반환
+ *   · 첫 요청이 아직 처리 중이면 그 결과를 기다렸다가 같은 값을 받음
+ *   · fingerprint(요청 내용 요약)가 첫 요청과 다르면 재사용하지 않고 KeyReusedException
+ * - 잠금 없이 ConcurrentHashMap.putIfAbsent / replace 로만 슬롯 선점
+ * - 실패했거나 cacheable 이 아닌 결과(4xx/5xx 등)는 슬롯을 지워 바로 재시도 가능
+ * - 만료 슬롯은 SWEEP_EVERY 번 호출마다 한 번씩 정리
+ */
+@Component
+public class CheckInDedup {
+
+    private static final int SWEEP_EVERY = 1024;
+
+    private final long windowMs;
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private record Slot(long expiresAt, String fingerprint, CompletableFuture<Object> result) {}
+
+    /** 같은 멱등 키가 다른 내용의 요청에 다시 쓰임 (호출 측에서 422) */
+    public static class KeyReusedException extends RuntimeException {
+        public KeyReusedException(String key) {
+            super("idempotency key reused with a different payload: " + key);
+        }
+    }
+
+    public CheckInDedup(@Value("${checkin.dedup.window-sec:10}") long windowSec) {
+        this.windowMs = Math.max(0, windowSec) * 1000L;
+    }
+
+    public static String checkInKey(String studentId, String classIdOrNull, String ymd) {
+        String target = (classIdOrNull == null || classIdOrNull.isBlank()) ? "entrance" : classIdOrNull;
+        return studentId + "|" + target + "|" + ymd;
+    }
+
+    /** 클라이언트 Idempotency-Key → (호출자, 학생, 날짜) 범위로 한정한 키 */
+    public static String headerKey(String callerId, String studentId, String ymd, String idempotencyKey) {
+        return "hdr|" + callerId + "|" + studentId + "|" + ymd + "|" + idempotencyKey;
+    }
+
+    /** 좌석 QR 스캔 키 (forgetSeat 로 좌석 단위 제거) */
+    public static String seatKey(String studentId, String classId, String seatLabel, String ymd) {
+        return checkInKey(studentId, classId + "#" + seatLabel, ymd);
+    }
+
+    /** 좌석 배정 해제 → 그 좌석의 스캔 슬롯 제거 (해제 직후 같은 학생 재스캔이 중복으로 묻히지 않게) */
+    public void forgetSeat(String classId, String seatLabel, String ymd) {
+        String suffix = "|" + classId + "#" + seatLabel + "|" + ymd;
+        slots.keySet().removeIf(k -> k.endsWith(suffix));
+    }
+
+    /**
+     * key 로 처음 온 요청만 action 실행, 창 안의 중복은 첫 결과 반환
+     * @param cacheable 결과를 창 동안 재사용해도 되는지 (false 면 실행 후 슬롯 제거)
+     */
+    public <T> T once(String key, Supplier<T> action, Predicate<T> cacheable) {
+        return once(key, null, action, cacheable);
+    }
+
+    /**
+     * @param fingerprint 요청 내용 요약 (null 이면 비교 안 함). 창 안의 중복인데 첫 요청과 다르면 KeyReusedException
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T once(String key, String fingerprint, Supplier<T> action, Predicate<T> cacheable) {
+        if (windowMs == 0 || key == null) return action.get();
+        if (calls.incrementAndGet() % SWEEP_EVERY == 0) sweep();
+
+        final long now = System.currentTimeMillis();
+        final Slot mine = new Slot(now + windowMs, fingerprint, new CompletableFuture<>());
+
+        while (true) {
+            Slot cur = slots.putIfAbsent(key, mine);
+            if (cur == null) break;                          // 선점 성공
+            if (cur.expiresAt() > now) {                     // 창 안의 중복
+                if (fingerprint != null && cur.fingerprint() != null && !fingerprint.equals(cur.fingerprint())) {
+                    throw new KeyReusedException(key);
+                }
+                return (T) join(cur);
+            }
+            if (slots.replace(key, cur, mine)) break;        // 만료 슬롯 교체
+        }
+
+        T value;
+        try {
+            value = action.get();
+        } catch (RuntimeException e) {
+            slots.remove(key, mine);
+            mine.result().completeExceptionally(e);
+            throw e;
+        }
+        mine.result().complete(value);
+        if (!cacheable.test(value)) slots.remove(key, mine);
+        return value;
+    }
+
+    private static Object join(Slot s) {
+        try {
+            return s.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        slots.entrySet().removeIf(e -> e.getValue().expiresAt() <= now && e.getValue().result().isDone());
+    }
+
+    public int size() { return slots.size(); }
+}
@@ -0,0 +1,246 @@
+// src/main/java/com/team103/service/CheckInIngestQueue.java
+package com.team103.service;
+
+import com.team103.model.Attendance;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * 수업 QR 출석 그룹 커밋 큐
+ *
+ * - 요청 스레드는 상태 판정까지만 하고 큐에 넣은 뒤 바로 응답 (durable 이면 flush 완료까지 대기)
+ * - flusher 스레드가 flushMs 동안 모인 출석을 (classId, date) 별로 묶어
+ *   attendances 에 ordered bulk 1회, waiting_room 삭제 bulk 1회로 기록
+ *   · 학생마다 [원소 있으면 $set] → [없으면 $ne 조건부 $push] 두 연산을 순서대로 넣어서 bulk 안에서도 중복 원소 없음
+ * - 큐가 가득 차면 offerTimeoutMs 만큼 기다린 뒤 거절(RejectedExecutionException) → 컨트롤러가 503
+ * - bulk 실패 시 해당 묶음은 건별 AttendanceWriteService 경로로 재시도
+ */
+@Component
+public class CheckInIngestQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(CheckInIngestQueue.class);
+    private static final String COLL_WAIT = "waiting_room";
+
+    /** 큐에 들어가는 출석 1건 */
+    public record ClassCheckIn(String classId,
+                               String date,
+                               String studentId,
+                               String status,
+                               String checkInTime,
+                               Integer academyNumber,
+                               List<String> roster) {}
+
+    private record Pending(ClassCheckIn item, CompletableFuture<Void> done) {}
+
+    private final MongoTemplate mongo;
+    private final AttendanceWriteService attWrites;
+    private final ApplicationEventPublisher events;
+    private final LobbyService lobby;
+
+    private final BlockingQueue<Pending> queue;
+    private final long flushMs;
+    private final long offerTimeoutMs;
+    private final int maxBatch;
+    private final boolean durable;
+
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public CheckInIngestQueue(MongoTemplate mongo,
+                              AttendanceWriteService attWrites,
+                              ApplicationEventPublisher events,
+                              LobbyService lobby,
+                              @Value("${checkin.queue.capacity:10000}") int capacity,
+                              @Value("${checkin.queue.flush-ms:5}") long flushMs,
+                              @Value("${checkin.queue.offer-timeout-ms:50}") long offerTimeoutMs,
+                              @Value("${checkin.queue.max-batch:1000}") int maxBatch,
+                              @Value("${checkin.queue.durable:false}") boolean durable) {
+        this.mongo = mongo;
+        this.attWrites = attWrites;
+        this.events = events;
+        this.lobby = lobby;
+        this.queue = new ArrayBlockingQueue<>(Math.max(16, capacity));
+        this.flushMs = Math.max(1, flushMs);
+        this.offerTimeoutMs = Math.max(0, offerTimeoutMs);
+        this.maxBatch = Math.max(1, maxBatch);
+        this.durable = durable;
+
+        this.flusher = new Thread(this::runLoop, "checkin-ingest");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /** durable 설정이면 flush 완료(또는 실패)까지 기다리는 편이 맞음 */
+    public boolean isDurable() { return durable; }
+
+    /**
+     * 큐에 넣고 flush 완료 시 끝나는 future 반환
+     * @throws RejectedExecutionException 큐가 가득 차 offerTimeoutMs 안에 못 넣은 경우
+     */
+    public CompletableFuture<Void> submit(ClassCheckIn item) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        boolean ok;
+        try {
+            ok = queue.offer(new Pending(item, done), offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ok = false;
+        }
+        if (!ok || !running) throw new RejectedExecutionException("check-in queue full");
+        return done;
+    }
+
+    public int pending() { return queue.size(); }
+
+    /* ─────────────── flusher ─────────────── */
+
+    private void runLoop() {
+        List<Pending> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // 첫 건 이후 flushMs 동안 더 모음 (러시 때는 이 창 안에 수십~수백 건)
+                if (running) {
+                    try {
+                        Thread.sleep(flushMs);
+                    } catch (InterruptedException e) {
+                        // 모으던 중 인터럽트 → 이미 꺼낸 건은 그대로 기록
+                    }
+                }
+                queue.drainTo(batch, maxBatch - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                // poll 대기 중 (batch 는 비어 있음). 종료 중이면 큐가 빌 때까지 루프가 계속 비움
+            } catch (RuntimeException e) {
+                log.error("[CHECKIN-QUEUE] flush loop error", e);
+            } finally {
+                // 어떤 경로로 빠져나와도 꺼낸 건의 호출자가 타임아웃까지 기다리지 않게
+                failUnfinished(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static void failUnfinished(List<Pending> batch) {
+        for (Pending p : batch) {
+            if (!p.done().isDone()) {
+                log.error("[CHECKIN-QUEUE] check-in not flushed class={} student={}", p.item().classId(), p.item().studentId());
+                p.done().completeExceptionally(new IllegalStateException("check-in not flushed"));
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        if (batch.isEmpty()) return;
+
+        // (classId|date) 별로 묶기 (도착 순서 유지 → 같은 학생이 두 번이면 마지막 것이 최종)
+        Map<String, List<Pending>> groups = new LinkedHashMap<>();
+        for (Pending p : batch) {
+            groups.computeIfAbsent(p.item().classId() + "|" + p.item().date(), k -> new ArrayList<>()).add(p);
+        }
+
+        BulkOperations waitDeletes = null;
+        List<ClassCheckIn> leftLobby = new ArrayList<>();
+        List<SeatBoardChangedEvent> changed = new ArrayList<>();
+        for (List<Pending> group : groups.values()) {
+            ClassCheckIn head = group.get(0).item();
+            try {
+                writeGroup(head.classId(), head.date(), group);
+            } catch (RuntimeException ex) {
+                log.warn("[CHECKIN-QUEUE] bulk failed class={} date={} n={} → 건별 재시도 : {}",
+                        head.classId(), head.date(), group.size(), ex.getMessage());
+                writeOneByOne(group);
+            }
+
+            for (Pending p : group) {
+                if (p.item().academyNumber() == null) continue;
+                if (waitDeletes == null) waitDeletes = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, COLL_WAIT);
+                waitDeletes.remove(new Query(Criteria.where("Academy_Number").is(p.item().academyNumber())
+                        .and("Student_ID").is(p.item().studentId())));
+                leftLobby.add(p.item());
+            }
+            changed.add(new SeatBoardChangedEvent(head.classId(), head.date()));
+        }
+
+        try {
+            if (waitDeletes != null) {
+                try {
+                    waitDeletes.execute();
+                    for (ClassCheckIn c : leftLobby) lobby.onRemoved(c.academyNumber(), c.studentId());
+                } catch (RuntimeException ex) {
+                    log.warn("[CHECKIN-QUEUE] waiting_room cleanup failed : {}", ex.getMessage());
+                }
+            }
+        } finally {
+            // 대기실 정리까지 끝난 뒤 알림 → 이 이벤트로 다시 만든 좌석판에 방금 입실한 학생이 대기실에 남아 보이지 않음
+            for (SeatBoardChangedEvent e : changed) events.publishEvent(e);
+        }
+        for (Pending p : batch) p.done().complete(null);
+    }
+
+    private void writeGroup(String classId, String ymd, List<Pending> group) {
+        attWrites.ensureDoc(classId, ymd, group.get(0).item().roster());
+
+        BulkOperations ops = mongo.bulkOps(BulkOperations.BulkMode.ORDERED, Attendance.class);
+        for (Pending p : group) {
+            ClassCheckIn c = p.item();
+            Query has = docQuery(classId, ymd).addCriteria(Criteria.where("Attendance_List.Student_ID").is(c.studentId()));
+            Update set = new Update()
+                    .set("Attendance_List.$[it].Status", c.status())
+                    .set("Attendance_List.$[it].CheckIn_Time", c.checkInTime())
+                    .filterArray(Criteria.where("it.Student_ID").is(c.studentId()));
+            ops.updateOne(has, set);
+
+            Query hasNot = docQuery(classId, ymd).addCriteria(Criteria.where("Attendance_List.Student_ID").ne(c.studentId()));
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("Student_ID", c.studentId());
+            item.put("Status", c.status());
+            item.put("CheckIn_Time", c.checkInTime());
+            ops.updateOne(hasNot, new Update().push("Attendance_List", item));
+        }
+        ops.execute();
+    }
+
+    private void writeOneByOne(List<Pending> group) {
+        for (Pending p : group) {
+            ClassCheckIn c = p.item();
+            try {
+                attWrites.ensureDoc(c.classId(), c.date(), c.roster());
+                attWrites.setStatus(c.classId(), c.date(), c.studentId(), c.status(), c.checkInTime(), null);
+            } catch (RuntimeException ex) {
+                log.error("[CHECKIN-QUEUE] check-in lost class={} student={}", c.classId(), c.studentId(), ex);
+                p.done().completeExceptionally(ex);
+            }
+        }
+    }
+
+    private static Query docQuery(String classId, String ymd) {
+        return new Query(Criteria.where("Class_ID").is(classId).and("Date").is(ymd));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
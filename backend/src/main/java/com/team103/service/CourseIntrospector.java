@@ -1,6 +1,5 @@
 package com.team103.service;
 
-import java.lang.reflect.Method;
 import java.time.DayOfWeek;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -8,6 +7,8 @@ import java.util.stream.Collectors;
 /**
  * Course 모델이 프로젝트마다 조금씩 다른 경우를 흡수하기 위한 안전한 리플렉션 어댑터.
  * 존재하면 쓰고, 없으면 건너뛰는 방식으로 최대한 값을 해석해준다.
+ * 메서드 조회는 ModelAccessors 의 클래스별 MethodHandle 캐시를 사용 (호출마다 getMethod 하지 않음).
+ * 타입이 Course 로 확정된 곳은 ModelAccessors 의 typed 메서드를 쓸 것.
  */
 public final class CourseIntrospector {
 
@@ -16,13 +17,7 @@ public final class CourseIntrospector {
     /* ===================== 기본 유틸 ===================== */
 
     private static Object call(Object target, String method, Class<?>[] types, Object... args) {
-        try {
-            Method m = target.getClass().getMethod(method, types);
-            m.setAccessible(true);
-            return m.invoke(target, args);
-        } catch (Exception ignore) {
-            return null;
-        }
+        return ModelAccessors.invoke(target, method, types, args);
     }
 
     private static Object call(Object target, String method) {
@@ -0,0 +1,267 @@
+// src/main/java/com/team103/service/CourseScheduleIndex.java
+package com.team103.service;
+
+import com.team103.model.Course;
+import com.team103.repository.CourseRepository;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 수업 시간표 인메모리 인덱스 (좌석 QR → classId 해석용)
+ *
+ * - (academyNumber, roomNumber, date) → 그 날 그 방을 쓰는 classId 목록
+ * - classId → roster(Set)
+ * - 날짜 판정은 TeacherTodayService 와 동일: 취소일 제외 → 특별일 포함 → 요일 매칭,
+ *   방은 Date_Room_Overrides 우선 → 기본 강의실
+ *   · 요일/특별일이 하나도 없는 구데이터 수업은 매일 있는 것으로 본다 (기존 동작 호환)
+ * - 학원번호가 없는 수업은 학원 0(와일드카드)으로 넣고 모든 학원에서 매칭
+ * - Course 저장/삭제 시 Mongo 라이프사이클 이벤트로 해당 수업만 갱신
+ *   (TeacherClassManageController / TeacherScheduleController 등 courseRepo.save 전부 포함)
+ *   · classId 가 바뀐 저장이면 _id 로 예전 classId 를 찾아 먼저 제거
+ * - 기동 직후 백그라운드에서 전체 적재 (첫 QR 요청이 전체 조회를 떠안지 않게)
+ * - 다른 인스턴스에서의 변경 대비로 rebuildSec 마다 전체 재적재
+ */
+@Component
+public class CourseScheduleIndex extends AbstractMongoEventListener<Course> {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseScheduleIndex.class);
+
+    private static final DateTimeFormatter YMD = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int ANY_ACADEMY = 0;
+    private static final int MAX_DAYS = 14;
+
+    private final CourseRepository courseRepo;
+    private final long rebuildMs;
+
+    /** classId → 시간표 스냅샷 (전체 재적재 시 통째로 교체) */
+    private volatile Map<String, Entry> entries = new ConcurrentHashMap<>();
+    /** Mongo _id → classId (삭제 이벤트는 _id만 줌) */
+    private volatile Map<String, String> classIdByDocId = new ConcurrentHashMap<>();
+    /** ymd → (academy,room) → classIds : 날짜별로 처음 조회될 때 한 번 만들어 둠. 목록은 교체만 하고 수정하지 않음 */
+    private volatile Map<String, Map<Long, List<String>>> days = new ConcurrentHashMap<>();
+
+    private volatile long builtAt = 0L;
+
+    public CourseScheduleIndex(CourseRepository courseRepo,
+                               @Value("${schedule.index.rebuild-sec:600}") long rebuildSec) {
+        this.courseRepo = courseRepo;
+        this.rebuildMs = Math.max(30, rebuildSec) * 1000L;
+    }
+
+    /** 수업 하나의 시간표 불변 스냅샷 */
+    private record Entry(String classId,
+                         String docId,
+                         List<Integer> academies,
+                         Set<Integer> daysOfWeek,
+                         Set<String> extraDates,
+                         Set<String> cancelledDates,
+                         Map<String, Integer> roomOverrides,
+                         Integer primaryRoom,
+                         Set<String> roster) {
+
+        static Entry of(Course c) {
+            String cid = ModelAccessors.classId(c);
+            if (cid == null) return null;
+            return new Entry(
+                    cid,
+                    c.getId(),
+                    List.copyOf(ModelAccessors.academyNumbers(c)),
+                    Set.copyOf(c.getDaysOfWeekInt()),
+                    c.getExtraDates() == null ? Set.of() : new HashSet<>(c.getExtraDates()),
+                    c.getCancelledDates() == null ? Set.of() : new HashSet<>(c.getCancelledDates()),
+                    c.getDateRoomOverrides() == null ? Map.of() : new HashMap<>(c.getDateRoomOverrides()),
+                    c.getPrimaryRoomNumber(),
+                    Set.copyOf(ModelAccessors.roster(c)));
+        }
+
+        boolean meetsOn(String ymd, int isoDow) {
+            if (cancelledDates.contains(ymd)) return false;
+            if (extraDates.contains(ymd)) return true;
+            if (daysOfWeek.isEmpty() && extraDates.isEmpty()) return true; // 구데이터: 시간표 없음
+            return daysOfWeek.contains(isoDow);
+        }
+
+        Integer roomOn(String ymd) {
+            Integer rn = roomOverrides.get(ymd);
+            return rn != null ? rn : primaryRoom;
+        }
+    }
+
+    private static long key(int academyNumber, int roomNumber) {
+        return ((long) academyNumber << 32) | (roomNumber & 0xffffffffL);
+    }
+
+    /* ─────────────── 조회 ─────────────── */
+
+    /** 학원+방+날짜에 수업이 있고 roster 에 학생이 포함된 classId (없으면 null) */
+    public String findClassId(int academyNumber, int roomNumber, String studentId, String ymd) {
+        for (String cid : classIdsFor(academyNumber, roomNumber, ymd)) {
+            Entry e = entries.get(cid);
+            if (e != null && e.roster().contains(studentId)) return cid;
+        }
+        return null;
+    }
+
+    /** 학원+방+날짜에 수업이 있는 classId 목록 */
+    public List<String> classIdsFor(int academyNumber, int roomNumber, String ymd) {
+        Map<Long, List<String>> day = dayIndex(ymd);
+        List<String> exact = day.getOrDefault(key(academyNumber, roomNumber), List.of());
+        List<String> any = day.getOrDefault(key(ANY_ACADEMY, roomNumber), List.of());
+        if (any.isEmpty()) return exact;
+        List<String> out = new ArrayList<>(exact);
+        out.addAll(any);
+        return out;
+    }
+
+    /** classId 의 roster (없으면 빈 Set) */
+    public Set<String> rosterOf(String classId) {
+        ensureLoaded();
+        Entry e = classId == null ? null : entries.get(classId);
+        return e == null ? Set.of() : e.roster();
+    }
+
+    private Map<Long, List<String>> dayIndex(String ymd) {
+        ensureLoaded();
+        Map<Long, List<String>> day = days.get(ymd);
+        if (day != null) return day;
+
+        synchronized (this) {
+            day = days.get(ymd);
+            if (day != null) return day;
+
+            int isoDow;
+            try {
+                isoDow = LocalDate.parse(ymd, YMD).getDayOfWeek().getValue();
+            } catch (DateTimeParseException e) {
+                return Map.of();
+            }
+            if (days.size() >= MAX_DAYS) days.clear();
+            day = new ConcurrentHashMap<>();
+            for (Entry e : entries.values()) addToDay(day, e, ymd, isoDow);
+            days.put(ymd, day);
+            return day;
+        }
+    }
+
+    private static void addToDay(Map<Long, List<String>> day, Entry e, String ymd, int isoDow) {
+        if (!e.meetsOn(ymd, isoDow)) return;
+        Integer rn = e.roomOn(ymd);
+        if (rn == null) return;
+
+        List<Integer> academies = e.academies().isEmpty() ? List.of(ANY_ACADEMY) : e.academies();
+        for (Integer an : academies) {
+            if (an == null) continue;
+            day.merge(key(an, rn), List.of(e.classId()), (a, b) -> {
+                List<String> merged = new ArrayList<>(a);
+                merged.addAll(b);
+                return merged;
+            });
+        }
+    }
+
+    /* ─────────────── 적재/갱신 ─────────────── */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmOnReady() {
+        Thread t = new Thread(() -> {
+            try {
+                ensureLoaded();
+            } catch (RuntimeException e) {
+                // 실패하면 첫 조회 때 다시 적재
+                log.warn("[SCHEDULE-INDEX] warm-up failed : {}", e.getMessage());
+            }
+        }, "schedule-index-warmup");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private void ensureLoaded() {
+        if (System.currentTimeMillis() - builtAt < rebuildMs) return;
+        synchronized (this) {
+            if (System.currentTimeMillis() - builtAt < rebuildMs) return;
+            rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        Map<String, Entry> nextEntries = new ConcurrentHashMap<>();
+        Map<String, String> nextDocIds = new ConcurrentHashMap<>();
+        for (Course c : courseRepo.findAll()) {
+            Entry e = Entry.of(c);
+            if (e == null) continue;
+            nextEntries.put(e.classId(), e);
+            if (e.docId() != null) nextDocIds.put(e.docId(), e.classId());
+        }
+        entries = nextEntries;
+        classIdByDocId = nextDocIds;
+        days = new ConcurrentHashMap<>();
+        builtAt = System.currentTimeMillis();
+    }
+
+    /** 수업 하나 갱신 (저장 직후) */
+    public synchronized void upsert(Course c) {
+        if (builtAt == 0L) return; // 아직 적재 전이면 첫 조회 때 전체 적재
+        Entry e = Entry.of(c);
+        if (e == null) return;
+
+        // classId 가 바뀌었으면 예전 classId 의 스냅샷/날짜 슬롯 제거 (좌석 QR 이 옛 수업으로 해석되지 않게)
+        String previous = e.docId() == null ? null : classIdByDocId.get(e.docId());
+        if (previous != null && !previous.equals(e.classId())) remove(previous);
+
+        removeFromDays(e.classId());
+        entries.put(e.classId(), e);
+        if (e.docId() != null) classIdByDocId.put(e.docId(), e.classId());
+
+        for (Map.Entry<String, Map<Long, List<String>>> d : days.entrySet()) {
+            int isoDow = LocalDate.parse(d.getKey(), YMD).getDayOfWeek().getValue();
+            addToDay(d.getValue(), e, d.getKey(), isoDow);
+        }
+    }
+
+    public synchronized void remove(String classId) {
+        if (classId == null) return;
+        Entry old = entries.remove(classId);
+        if (old != null && old.docId() != null) classIdByDocId.remove(old.docId());
+        removeFromDays(classId);
+    }
+
+    private void removeFromDays(String classId) {
+        for (Map<Long, List<String>> day : days.values()) {
+            day.replaceAll((k, list) -> {
+                if (!list.contains(classId)) return list;
+                List<String> copy = new ArrayList<>(list);
+                copy.remove(classId);
+                return copy;
+            });
+        }
+    }
+
+    /* ─────────────── Mongo 라이프사이클 이벤트 ─────────────── */
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Course> event) {
+        upsert(event.getSource());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Course> event) {
+        Document d = event.getSource();
+        Object id = d == null ? null : d.get("_id");
+        if (id == null) return;
+        remove(classIdByDocId.get(String.valueOf(id)));
+    }
+}
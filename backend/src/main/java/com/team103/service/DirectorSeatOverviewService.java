@@ -9,10 +9,8 @@ import com.team103.model.WaitingRoom;
 import com.team103.repository.CourseRepository;
 import com.team103.repository.RoomRepository;
 import com.team103.repository.StudentRepository;
-import com.team103.repository.WaitingRoomRepository;
 import org.springframework.stereotype.Service;
 
-import java.lang.reflect.Method;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -21,18 +19,18 @@ public class DirectorSeatOverviewService {
 
     private final RoomRepository roomRepo;
     private final CourseRepository courseRepo;
-    private final WaitingRoomRepository waitingRepo;
+    private final LobbyService lobby;
     private final StudentRepository studentRepo;
     private final SeatBoardService seatSvc;
 
     public DirectorSeatOverviewService(RoomRepository roomRepo,
                                        CourseRepository courseRepo,
-                                       WaitingRoomRepository waitingRepo,
+                                       LobbyService lobby,
                                        StudentRepository studentRepo,
                                        SeatBoardService seatSvc) {
         this.roomRepo = roomRepo;
         this.courseRepo = courseRepo;
-        this.waitingRepo = waitingRepo;
+        this.lobby = lobby;
         this.studentRepo = studentRepo;
         this.seatSvc = seatSvc;
     }
@@ -45,54 +43,43 @@ public class DirectorSeatOverviewService {
         final List<Room> rooms = roomRepo.findByAcademyNumber(academyNumber);
 
         /* 2) 해당 학원의 Course 목록만 */
-        List<Course> courses;
-        try {
-            Method m = courseRepo.getClass().getMethod("findByAcademyNumber", int.class);
-            @SuppressWarnings("unchecked")
-            List<Course> tmp = (List<Course>) m.invoke(courseRepo, academyNumber);
-            courses = tmp != null ? tmp : Collections.emptyList();
-        } catch (Exception ignore) {
-            courses = courseRepo.findAll().stream()
-                    .filter(c -> {
-                        Integer an = parseIntOrNull(getString(c, "getAcademyNumber"));
-                        return an != null && an == academyNumber;
-                    })
-                    .collect(Collectors.toList());
-        }
+        List<Course> tmp = courseRepo.findByAcademyNumber(academyNumber);
+        final List<Course> courses = tmp != null ? tmp : Collections.emptyList();
 
         final List<DirectorOverviewResponse.RoomStatus> roomViews = new ArrayList<>();
 
         /* 3) 각 방별로 오늘 날짜에 사용 중인 반 찾기 */
+        final Map<Integer, Course> usingByRoom = new HashMap<>();
+        final Map<String, Course> boardCourses = new LinkedHashMap<>();
+        final Map<Integer, Room> roomByNumber = new HashMap<>();
         for (Room room : rooms) {
-            Optional<Course> usingCourse = courses.stream().filter(c -> {
-                Object rf = call(c, "getRoomFor", new Class[]{String.class}, new Object[]{ymd});
-                if (rf == null) return false;
-                Integer rn = parseIntOrNull(String.valueOf(rf));
-                return Objects.equals(rn, room.getRoomNumber());
-            }).findFirst();
-
-            SeatBoardResponse seatBoard;
-            String className = null;
-
-            if (usingCourse.isPresent()) {
-                Course c = usingCourse.get();
-
-                className = coalesce(getString(c, "getClassName"), getString(c, "getName"));
-                String classId = coalesce(getString(c, "getClassId"), getString(c, "getId"));
-
-                Integer courseAcademy = parseIntOrNull(getString(c, "getAcademyNumber"));
-                if (courseAcademy != null && courseAcademy != academyNumber) {
-                    // 진짜로 숫자가 다를 때만 다른 학원으로 간주 → 빈 보드
-                    seatBoard = buildEmptyBoardFromRoom(room, ymd);
-                } else {
-                    // null 이면 같은 학원으로 보고 seatBoard 호출 (구 데이터 호환)
-                    seatBoard = seatSvc.getSeatBoard(classId, ymd);
-                }
-
-            } else {
-                // 오늘 이 방을 쓰는 반이 없는 경우 → 빈 보드
-                seatBoard = buildEmptyBoardFromRoom(room, ymd);
-            }
+            roomByNumber.putIfAbsent(room.getRoomNumber(), room);
+            courses.stream()
+                    .filter(c -> Objects.equals(ModelAccessors.roomFor(c, ymd), room.getRoomNumber()))
+                    .findFirst()
+                    .ifPresent(c -> {
+                        usingByRoom.put(room.getRoomNumber(), c);
+                        Integer courseAcademy = c.getAcademyNumber();
+                        String classId = ModelAccessors.classId(c);
+                        // 진짜로 숫자가 다를 때만 다른 학원으로 간주, null 이면 같은 학원 (구 데이터 호환)
+                        if (classId != null && (courseAcademy == null || courseAcademy == academyNumber)) {
+                            boardCourses.put(classId, c);
+                        }
+                    });
+        }
+
+        /* 3-1) 좌석판 일괄 조립 (출석/이름/입구 출석 한 번씩 읽고 병렬 조립) */
+        final Map<String, SeatBoardResponse> boards =
+                seatSvc.getSeatBoards(academyNumber, ymd, boardCourses, roomByNumber);
+
+        for (Room room : rooms) {
+            Course c = usingByRoom.get(room.getRoomNumber());
+            String className = c == null ? null : ModelAccessors.className(c);
+            String classId = c == null ? null : ModelAccessors.classId(c);
+
+            // 오늘 이 방을 쓰는 반이 없거나 다른 학원 반이면 → 빈 보드
+            SeatBoardResponse seatBoard = classId == null ? null : boards.get(classId);
+            if (seatBoard == null) seatBoard = buildEmptyBoardFromRoom(room, ymd);
 
             DirectorOverviewResponse.RoomStatus rs = new DirectorOverviewResponse.RoomStatus();
             rs.setRoomNumber(room.getRoomNumber());
@@ -107,8 +94,8 @@ public class DirectorSeatOverviewService {
             roomViews.add(rs);
         }
 
-        /* 4) 웨이팅룸 학생도 동일 학원만 */
-        final List<WaitingRoom> waits = waitingRepo.findByAcademyNumber(academyNumber);
+        /* 4) 웨이팅룸 학생도 동일 학원만 (LobbyService 메모리, 체크인 시각 순) */
+        final List<WaitingRoom> waits = lobby.waiting(academyNumber);
         final List<String> waitIds = waits.stream()
                 .map(WaitingRoom::getStudentId)
                 .filter(Objects::nonNull)
@@ -116,9 +103,10 @@ public class DirectorSeatOverviewService {
                 .collect(Collectors.toList());
 
         final Map<String, String> nameById = studentRepo.findByStudentIdIn(waitIds).stream()
+                .filter(s -> ModelAccessors.studentId(s) != null && ModelAccessors.studentName(s) != null)
                 .collect(Collectors.toMap(
-                        s -> getString(s, "getStudentId"),
-                        s -> coalesce(getString(s, "getStudentName"), getString(s, "getName")),
+                        ModelAccessors::studentId,
+                        ModelAccessors::studentName,
                         (a, b) -> a,
                         LinkedHashMap::new
                 ));
@@ -145,13 +133,9 @@ public class DirectorSeatOverviewService {
         SeatBoardResponse r = new SeatBoardResponse();
         r.setDate(ymd);
 
-        List<Room.VectorSeat> vec = null;
-        try { vec = castVectorSeatList(Room.class.getMethod("getVectorLayoutV2").invoke(room)); } catch (Exception ignore) {}
-        if (vec == null || vec.isEmpty()) {
-            try { vec = castVectorSeatList(Room.class.getMethod("getVectorLayout").invoke(room)); } catch (Exception ignore) {}
-        }
+        List<Room.VectorSeat> vec = ModelAccessors.vectorSeats(room);
 
-        if (vec != null && !vec.isEmpty()) {
+        if (!vec.isEmpty()) {
             r.setLayoutType("vector");
             r.setCanvasW(room.getVectorCanvasW() != null ? room.getVectorCanvasW() : 1.0);
             r.setCanvasH(room.getVectorCanvasH() != null ? room.getVectorCanvasH() : 1.0);
@@ -204,39 +188,12 @@ public class DirectorSeatOverviewService {
     }
 
     /* ---------------- helpers ---------------- */
-    private static Object call(Object target, String name, Class<?>[] types, Object[] args) {
-        if (target == null) return null;
-        try {
-            Method m = (types == null)
-                    ? target.getClass().getMethod(name)
-                    : target.getClass().getMethod(name, types);
-            m.setAccessible(true);
-            return (args == null) ? m.invoke(target) : m.invoke(target, args);
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
-    private static String getString(Object target, String name) {
-        Object v = call(target, name, null, null);
-        return v == null ? null : String.valueOf(v);
-    }
-
-    private static String coalesce(String a, String b) {
-        return (a != null && !a.isBlank()) ? a : b;
-    }
-
     private static Integer parseIntOrNull(String s) {
         if (s == null) return null;
         try { return Integer.valueOf(s.replaceAll("[^0-9]", "")); }
         catch (Exception e) { return null; }
     }
 
-    @SuppressWarnings("unchecked")
-    private static List<Room.VectorSeat> castVectorSeatList(Object o) {
-        try { return (List<Room.VectorSeat>) o; } catch (Exception e) { return null; }
-    }
-
     private static int seatOrderOfLocal(Room.VectorSeat v) {
         Integer n = parseIntOrNull(v == null ? null : v.getLabel());
         return n == null ? Integer.MAX_VALUE : n;
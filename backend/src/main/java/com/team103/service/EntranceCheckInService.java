@@ -0,0 +1,124 @@
+// src/main/java/com/team103/service/EntranceCheckInService.java
+package com.team103.service;
+
+import com.team103.model.EntranceCheckIn;
+import com.team103.model.EntranceDaily;
+import com.team103.repository.EntranceCheckInRepository;
+import com.team103.repository.EntranceDailyRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * 입구 출석 기록
+ *
+ * - 예전: 시스템 전체에 날짜당 {Type:"entrance"} 문서 하나 + Attendance_List $push
+ *   → 모든 학원이 한 문서에 몰려 경합, 문서 크기 계속 증가(16MB 한도)
+ * - 지금: entrance_checkins 에 이벤트 1건씩 insert (문서 경합 없음)
+ *   + entrance_daily 에 (학원, 날짜) 요약을 $addToSet/$inc/$min/$max 로 갱신
+ *   → 경합 범위가 학원 하나의 하루로 줄고, 요약 크기는 학원 학생 수로 제한
+ * - 좌석판 "입구 출석" 표시와 학원별 조회는 요약(entrance_daily)만 읽음
+ * - 요약 재생성(rebuildDaily)용 (Academy_Number, Date) 인덱스는 기동 시 ensureIndex
+ */
+@Service
+public class EntranceCheckInService {
+
+    private static final Logger log = LoggerFactory.getLogger(EntranceCheckInService.class);
+
+    /** 학원을 모르는 입구 출석 파티션 */
+    public static final int UNKNOWN_ACADEMY = 0;
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final EntranceCheckInRepository eventRepo;
+    private final EntranceDailyRepository dailyRepo;
+    private final MongoTemplate mongo;
+
+    public EntranceCheckInService(EntranceCheckInRepository eventRepo,
+                                  EntranceDailyRepository dailyRepo,
+                                  MongoTemplate mongo) {
+        this.eventRepo = eventRepo;
+        this.dailyRepo = dailyRepo;
+        this.mongo = mongo;
+    }
+
+    @PostConstruct
+    void ensureIndex() {
+        try {
+            mongo.indexOps(EntranceCheckIn.class).ensureIndex(new Index()
+                    .on("Academy_Number", Sort.Direction.ASC)
+                    .on("Date", Sort.Direction.ASC)
+                    .named("academy_date_idx"));
+        } catch (RuntimeException e) {
+            log.warn("[ENTRANCE] index ensure failed : {}", e.getMessage());
+        }
+    }
+
+    /** 입구 출석 1건 기록 (이벤트 insert + 학원별 하루 요약 갱신). 시각은 KST ISO 로컬시각으로 통일 */
+    public void record(Integer academyNumber, String ymd, String studentId, String source) {
+        int an = academyNumber == null ? UNKNOWN_ACADEMY : academyNumber;
+        String checkInTime = LocalDateTime.now(KST).toString();
+
+        eventRepo.insert(new EntranceCheckIn(an, ymd, studentId, checkInTime, source));
+
+        Update up = new Update()
+                .setOnInsert("Academy_Number", an)
+                .setOnInsert("Date", ymd)
+                .addToSet("Student_IDs", studentId)
+                .inc("Count", 1)
+                .min("First_CheckIn_Time", checkInTime)
+                .max("Last_CheckIn_Time", checkInTime);
+        mongo.upsert(new Query(Criteria.where("_id").is(EntranceDaily.idOf(an, ymd))), up, EntranceDaily.class);
+    }
+
+    /** 학원 + 날짜 요약 (없으면 empty) */
+    public Optional<EntranceDaily> findDaily(int academyNumber, String ymd) {
+        return dailyRepo.findById(EntranceDaily.idOf(academyNumber, ymd));
+    }
+
+    /** 그 날 입구 출석한 학생 ID (학원 미상 파티션 포함) */
+    public Set<String> checkedInStudents(int academyNumber, String ymd) {
+        Set<String> out = new HashSet<>();
+        findDaily(academyNumber, ymd).map(EntranceDaily::getStudentIds).ifPresent(out::addAll);
+        if (academyNumber != UNKNOWN_ACADEMY) {
+            findDaily(UNKNOWN_ACADEMY, ymd).map(EntranceDaily::getStudentIds).ifPresent(out::addAll);
+        }
+        return out;
+    }
+
+    /** 이벤트 로그에서 요약을 다시 만듦 (요약 유실/수동 정정 시) */
+    public EntranceDaily rebuildDaily(int academyNumber, String ymd) {
+        List<EntranceCheckIn> events = eventRepo.findByAcademyNumberAndDate(academyNumber, ymd);
+
+        EntranceDaily d = new EntranceDaily();
+        d.setId(EntranceDaily.idOf(academyNumber, ymd));
+        d.setAcademyNumber(academyNumber);
+        d.setDate(ymd);
+
+        LinkedHashSet<String> ids = new LinkedHashSet<>();
+        String first = null, last = null;
+        for (EntranceCheckIn e : events) {
+            if (e.getStudentId() != null) ids.add(e.getStudentId());
+            String t = e.getCheckInTime();
+            if (t == null) continue;
+            if (first == null || t.compareTo(first) < 0) first = t;
+            if (last == null || t.compareTo(last) > 0) last = t;
+        }
+        d.setStudentIds(new ArrayList<>(ids));
+        d.setCount((long) events.size());
+        d.setFirstCheckInTime(first);
+        d.setLastCheckInTime(last);
+        return dailyRepo.save(d);
+    }
+}
@@ -0,0 +1,242 @@
+// src/main/java/com/team103/service/FcmDispatcher.java
+package com.team103.service;
+
+import com.team103.model.Parent;
+import com.team103.model.Student;
+import com.team103.model.Teacher;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FCM 발송 큐 (요청 스레드에서 Firebase 를 기다리지 않음)
+ *
+ * - enqueue 는 제한된 큐(capacity)에 넣기만 함. 가득 차면 버리고 false
+ * - worker 스레드가 큐에서 최대 500건(sendEach 한도)씩 묶어 FcmTransport.sendEach 1회
+ * - 일시 오류(UNAVAILABLE / INTERNAL / QUOTA_EXCEEDED) 는 지수 백오프(base·2^n, 최대 maxMs, jitter) 후 다시 큐에
+ *   · maxAttempts 넘으면 포기
+ * - UNREGISTERED 토큰은 묶음마다 모아서 students / teachers / parents 에 updateMulti 1회씩 ($unset fcmToken)
+ * - 수신자 조회(DB)도 요청 밖에서 하도록 fanOut(작업) 제공
+ * - 종료 시 큐에 남은 것까지 보내고 멈춤 (예약된 재시도는 버림)
+ */
+@Service
+public class FcmDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(FcmDispatcher.class);
+
+    static final int MAX_BATCH = FcmTransport.MAX_BATCH;
+
+    /** 보낼 메시지 1건 (attempt = 이미 실패한 횟수) */
+    record Outbound(String userId, String token, String title, String body, int attempt) {}
+
+    private final MongoTemplate mongo;
+    private final FcmTransport transport;
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+
+    private final BlockingQueue<Outbound> queue;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService retries;
+    private final ThreadPoolExecutor fanOut;
+    private volatile boolean running = true;
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong unregistered = new AtomicLong();
+
+    public FcmDispatcher(MongoTemplate mongo,
+                         FcmTransport transport,
+                         @Value("${fcm.queue.capacity:10000}") int capacity,
+                         @Value("${fcm.workers:2}") int workerCount,
+                         @Value("${fcm.retry.max-attempts:5}") int maxAttempts,
+                         @Value("${fcm.retry.base-ms:500}") long baseBackoffMs,
+                         @Value("${fcm.retry.max-ms:30000}") long maxBackoffMs) {
+        this.mongo = mongo;
+        this.transport = transport;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffMs = Math.max(10, baseBackoffMs);
+        this.maxBackoffMs = Math.max(this.baseBackoffMs, maxBackoffMs);
+        this.queue = new ArrayBlockingQueue<>(Math.max(MAX_BATCH, capacity));
+
+        int n = Math.max(1, workerCount);
+        this.workers = Executors.newFixedThreadPool(n, daemon("fcm-send"));
+        for (int i = 0; i < n; i++) workers.execute(this::workLoop);
+        this.retries = Executors.newSingleThreadScheduledExecutor(daemon("fcm-retry"));
+        this.fanOut = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1000), daemon("fcm-fanout"));
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /* ─────────────── 입력 ─────────────── */
+
+    /** 발송 예약. 큐가 가득 찼거나 종료 중이면 false */
+    public boolean enqueue(String userId, String token, String title, String body) {
+        if (!running || !queue.offer(new Outbound(userId, token, title, body, 0))) {
+            dropped.incrementAndGet();
+            log.warn("[FCM] queue full, dropped (userId={})", userId);
+            return false;
+        }
+        return true;
+    }
+
+    /** 수신자 조회 + enqueue 를 요청 스레드 밖에서 */
+    public void fanOut(Runnable task) {
+        try {
+            fanOut.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.warn("[FCM] fan-out failed : {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("[FCM] fan-out queue full, notification skipped");
+        }
+    }
+
+    public int queued() { return queue.size(); }
+    public long sentCount() { return sent.get(); }
+    public long failedCount() { return failed.get(); }
+    public long droppedCount() { return dropped.get(); }
+    public long unregisteredCount() { return unregistered.get(); }
+
+    /* ─────────────── 발송 ─────────────── */
+
+    private void workLoop() {
+        List<Outbound> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                Outbound first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                failed.addAndGet(batch.size());
+                log.error("[FCM] batch send failed ({} msgs)", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<Outbound> batch) {
+        List<FcmTransport.Push> pushes = new ArrayList<>(batch.size());
+        for (Outbound o : batch) pushes.add(new FcmTransport.Push(o.token(), o.title(), o.body()));
+
+        List<FcmTransport.Status> results;
+        try {
+            results = transport.sendEach(pushes);
+        } catch (FcmTransport.FcmTransportException e) {
+            // 묶음 전체 실패 (인증/네트워크/미초기화 등)
+            if (e.isRetryable()) {
+                for (Outbound o : batch) retry(o);
+            } else {
+                failed.addAndGet(batch.size());
+                log.warn("[FCM] batch rejected ({} msgs) : {}", batch.size(), e.getMessage());
+            }
+            return;
+        }
+
+        Set<String> deadTokens = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            FcmTransport.Status s = i < results.size() ? results.get(i) : FcmTransport.Status.FAILED;
+            Outbound o = batch.get(i);
+            if (s == FcmTransport.Status.OK) {
+                sent.incrementAndGet();
+            } else if (s == FcmTransport.Status.UNREGISTERED) {
+                deadTokens.add(o.token());
+            } else if (s.retryable()) {
+                retry(o);
+            } else {
+                failed.incrementAndGet();
+                log.warn("[FCM] 전송 실패 (userId={}) : {}", o.userId(), s);
+            }
+        }
+        if (!deadTokens.isEmpty()) removeTokens(deadTokens);
+    }
+
+    private void retry(Outbound o) {
+        int attempt = o.attempt() + 1;
+        if (attempt >= maxAttempts || !running) {
+            failed.incrementAndGet();
+            log.warn("[FCM] 재시도 포기 (userId={}, attempts={})", o.userId(), attempt);
+            return;
+        }
+        long backoff = Math.min(maxBackoffMs, baseBackoffMs << Math.min(20, attempt - 1));
+        long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        Outbound next = new Outbound(o.userId(), o.token(), o.title(), o.body(), attempt);
+        try {
+            retries.schedule(() -> {
+                if (!queue.offer(next)) {
+                    dropped.incrementAndGet();
+                    log.warn("[FCM] queue full, retry dropped (userId={})", next.userId());
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException shuttingDown) {
+            failed.incrementAndGet();
+        }
+    }
+
+    /** UNREGISTERED 토큰 일괄 제거 (역할 컬렉션마다 updateMulti 1회) */
+    private void removeTokens(Set<String> tokens) {
+        unregistered.addAndGet(tokens.size());
+        Query q = new Query(Criteria.where("fcmToken").in(tokens));
+        Update unset = new Update().unset("fcmToken");
+        for (Class<?> type : List.of(Student.class, Teacher.class, Parent.class)) {
+            try {
+                mongo.updateMulti(q, unset, type);
+            } catch (RuntimeException e) {
+                log.warn("[FCM] token cleanup failed ({}) : {}", type.getSimpleName(), e.getMessage());
+            }
+        }
+        log.info("[FCM] UNREGISTERED → DB 토큰 {}개 제거", tokens.size());
+    }
+
+    /* ─────────────── 종료 ─────────────── */
+
+    @PreDestroy
+    public void shutdown() {
+        fanOut.shutdown();
+        try {
+            fanOut.awaitTermination(3, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        running = false;
+        retries.shutdownNow();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("[FCM] shutdown timeout, {} messages not sent", queue.size());
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("[FCM] stopped (sent={}, failed={}, dropped={}, unregistered={})",
+                sent.get(), failed.get(), dropped.get(), unregistered.get());
+    }
+}
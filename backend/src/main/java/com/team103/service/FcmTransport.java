@@ -0,0 +1,54 @@
+// src/main/java/com/team103/service/FcmTransport.java
+package com.team103.service;
+
+import java.util.List;
+
+/**
+ * FCM 발송 수단 (FcmDispatcher 가 묶음 단위로 호출)
+ *
+ * - 운영 구현은 FirebaseFcmTransport (실제 FirebaseMessaging.sendEach) 하나뿐
+ * - 테스트는 src/test 의 FakeFcmTransport (지연/오류/속도 제한 흉내) 를 FcmDispatcher 에 직접 넘김
+ */
+public interface FcmTransport {
+
+    /** 한 번에 보낼 수 있는 최대 건수 (FCM sendEach 한도) */
+    int MAX_BATCH = 500;
+
+    /** 보낼 알림 1건 */
+    record Push(String token, String title, String body) {}
+
+    /** 건별 결과 */
+    enum Status {
+        OK,
+        /** 앱 삭제 등으로 더 이상 유효하지 않은 토큰 → DB 에서 제거 */
+        UNREGISTERED,
+        /** 아래 셋은 잠시 후 다시 시도 */
+        QUOTA_EXCEEDED,
+        UNAVAILABLE,
+        INTERNAL,
+        /** 그 밖의 실패 (재시도 안 함) */
+        FAILED;
+
+        public boolean retryable() {
+            return this == QUOTA_EXCEEDED || this == UNAVAILABLE || this == INTERNAL;
+        }
+    }
+
+    /**
+     * @return 입력 순서와 같은 순서의 결과
+     * @throws FcmTransportException 묶음 전체가 실패 (인증/네트워크/미초기화 등)
+     */
+    List<Status> sendEach(List<Push> batch) throws FcmTransportException;
+
+    /** 묶음 전체 실패 */
+    class FcmTransportException extends Exception {
+        private final boolean retryable;
+
+        public FcmTransportException(String message, boolean retryable, Throwable cause) {
+            super(message, cause);
+            this.retryable = retryable;
+        }
+
+        public boolean isRetryable() { return retryable; }
+    }
+}
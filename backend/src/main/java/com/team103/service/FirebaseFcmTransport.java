@@ -0,0 +1,70 @@
+// src/main/java/com/team103/service/FirebaseFcmTransport.java
+package com.team103.service;
+
+import com.google.firebase.ErrorCode;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.SendResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 실제 Firebase 발송 (sendEach)
+ * - FirebaseApp 은 FirebaseConfig 가 초기화. 안 되어 있으면 묶음 전체 실패(재시도 안 함)로 처리
+ */
+@Component
+public class FirebaseFcmTransport implements FcmTransport {
+
+    private static final Set<ErrorCode> RETRYABLE_PLATFORM = EnumSet.of(
+            ErrorCode.UNAVAILABLE, ErrorCode.INTERNAL, ErrorCode.DEADLINE_EXCEEDED, ErrorCode.RESOURCE_EXHAUSTED);
+
+    @Override
+    public List<Status> sendEach(List<Push> batch) throws FcmTransportException {
+        List<Message> messages = new ArrayList<>(batch.size());
+        for (Push p : batch) {
+            messages.add(Message.builder()
+                    .setToken(p.token())
+                    .setNotification(Notification.builder().setTitle(p.title()).setBody(p.body()).build())
+                    .build());
+        }
+
+        BatchResponse res;
+        try {
+            res = FirebaseMessaging.getInstance().sendEach(messages);
+        } catch (FirebaseMessagingException e) {
+            throw new FcmTransportException(e.getMessage(), statusOf(e).retryable(), e);
+        } catch (IllegalStateException notInitialized) {
+            throw new FcmTransportException("Firebase 미초기화", false, notInitialized);
+        }
+
+        List<Status> out = new ArrayList<>(batch.size());
+        for (SendResponse r : res.getResponses()) {
+            out.add(r.isSuccessful() ? Status.OK : statusOf(r.getException()));
+        }
+        return out;
+    }
+
+    private static Status statusOf(FirebaseMessagingException e) {
+        if (e == null) return Status.FAILED;
+        MessagingErrorCode code = e.getMessagingErrorCode();
+        if (code != null) {
+            switch (code) {
+                case UNREGISTERED:   return Status.UNREGISTERED;
+                case QUOTA_EXCEEDED: return Status.QUOTA_EXCEEDED;
+                case UNAVAILABLE:    return Status.UNAVAILABLE;
+                case INTERNAL:       return Status.INTERNAL;
+                default:             return Status.FAILED;
+            }
+        }
+        return e.getErrorCode() != null && RETRYABLE_PLATFORM.contains(e.getErrorCode())
+                ? Status.UNAVAILABLE : Status.FAILED;
+    }
+}
@@ -0,0 +1,115 @@
+// src/main/java/com/team103/service/LobbyService.java
+package com.team103.service;
+
+import com.team103.model.WaitingRoom;
+import com.team103.repository.WaitingRoomRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 학원별 대기실(waiting_room) 인메모리 목록
+ *
+ * - 학원마다 입구 체크인 시각 순으로 정렬된 불변 리스트를 들고 있고, 쓰기 때 복사 후 교체
+ *   → 좌석판/원장 현황 조회는 잠금 없이 리스트 참조만 읽음
+ * - Mongo(waiting_room)가 원본: 학원을 처음 조회할 때와 reloadSec 마다 findByAcademyNumber 로 다시 맞춤
+ *   (다른 인스턴스에서 들어온 변경 대비)
+ * - 입구 출석(AttendanceCheckInController, RoomController.enterLobby) → onEntered
+ * - 좌석 배정/수업 출석으로 대기실에서 빠질 때 → remove(Mongo 삭제 포함) 또는 onRemoved(이미 삭제한 경우)
+ * - 학원번호 없이 전체를 훑는 조회는 제공하지 않음
+ */
+@Service
+public class LobbyService {
+
+    private static final Comparator<WaitingRoom> BY_CHECKIN = Comparator
+            .comparing(WaitingRoom::getCheckedInAt, Comparator.nullsLast(String::compareTo))
+            .thenComparing(WaitingRoom::getStudentId, Comparator.nullsLast(String::compareTo));
+
+    private final WaitingRoomRepository waitingRepo;
+    private final long reloadMs;
+
+    private final Map<Integer, Lobby> lobbies = new ConcurrentHashMap<>();
+
+    private static final class Lobby {
+        volatile List<WaitingRoom> ordered = List.of();
+        volatile long loadedAt = 0L;
+    }
+
+    public LobbyService(WaitingRoomRepository waitingRepo,
+                        @Value("${lobby.reload-sec:300}") long reloadSec) {
+        this.waitingRepo = waitingRepo;
+        this.reloadMs = Math.max(10, reloadSec) * 1000L;
+    }
+
+    /* ─────────────── 조회 ─────────────── */
+
+    /** 학원 대기실 전체 (체크인 시각 순, 수정 불가 리스트) */
+    public List<WaitingRoom> waiting(int academyNumber) {
+        if (academyNumber <= 0) return List.of();
+        Lobby l = lobbies.computeIfAbsent(academyNumber, k -> new Lobby());
+        if (System.currentTimeMillis() - l.loadedAt >= reloadMs) {
+            synchronized (l) {
+                if (System.currentTimeMillis() - l.loadedAt >= reloadMs) reload(academyNumber, l);
+            }
+        }
+        return l.ordered;
+    }
+
+    private void reload(int academyNumber, Lobby l) {
+        List<WaitingRoom> raws = waitingRepo.findByAcademyNumber(academyNumber);
+        Map<String, WaitingRoom> bySid = new LinkedHashMap<>();
+        if (raws != null) {
+            for (WaitingRoom w : raws) {
+                if (w == null || w.getStudentId() == null) continue;
+                bySid.merge(w.getStudentId(), w, (a, b) -> BY_CHECKIN.compare(a, b) >= 0 ? a : b); // 최신 1건
+            }
+        }
+        l.ordered = sorted(bySid.values());
+        l.loadedAt = System.currentTimeMillis();
+    }
+
+    /* ─────────────── 변경 ─────────────── */
+
+    /** 입구 체크인 반영 (waiting_room upsert 는 호출 측에서 이미 한 뒤) */
+    public void onEntered(int academyNumber, String studentId, String checkedInAt, String status) {
+        if (academyNumber <= 0 || studentId == null) return;
+        Lobby l = lobbies.get(academyNumber);
+        if (l == null || l.loadedAt == 0L) return; // 아직 안 읽은 학원은 첫 조회 때 Mongo 에서 가져옴
+
+        WaitingRoom w = new WaitingRoom(studentId, academyNumber, checkedInAt, status);
+        synchronized (l) {
+            List<WaitingRoom> next = new ArrayList<>(l.ordered.size() + 1);
+            for (WaitingRoom x : l.ordered) if (!studentId.equals(x.getStudentId())) next.add(x);
+            next.add(w);
+            l.ordered = sorted(next);
+        }
+    }
+
+    /** 대기실에서 제거 (Mongo 삭제 + 메모리) */
+    public void remove(int academyNumber, String studentId) {
+        if (academyNumber <= 0 || studentId == null) return;
+        waitingRepo.deleteByAcademyNumberAndStudentId(academyNumber, studentId);
+        onRemoved(academyNumber, studentId);
+    }
+
+    /** 이미 Mongo 에서 지운 경우 메모리만 반영 */
+    public void onRemoved(int academyNumber, String studentId) {
+        Lobby l = lobbies.get(academyNumber);
+        if (l == null || studentId == null) return;
+        synchronized (l) {
+            List<WaitingRoom> cur = l.ordered;
+            if (cur.stream().noneMatch(x -> studentId.equals(x.getStudentId()))) return;
+            List<WaitingRoom> next = new ArrayList<>(cur.size());
+            for (WaitingRoom x : cur) if (!studentId.equals(x.getStudentId())) next.add(x);
+            l.ordered = List.copyOf(next);
+        }
+    }
+
+    private static List<WaitingRoom> sorted(Collection<WaitingRoom> in) {
+        List<WaitingRoom> out = new ArrayList<>(in);
+        out.sort(BY_CHECKIN);
+        return List.copyOf(out);
+    }
+}
@@ -0,0 +1,144 @@
+// src/main/java/com/team103/service/LoginPrincipalRebuildJob.java
+package com.team103.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.team103.model.LoginPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * login_principals 전체 재구성 (기동 후 1회, 백그라운드)
+ *
+ * - unique 인덱스 login_principal_username_uniq 보장
+ * - 학생 → 교사 → 원장 → 학부모 순서(예전 로그인 조회 순서)로 계정을 읽어 500건씩 bulk upsert
+ *   · 같은 아이디가 이번 재구성에서 이미 앞 역할로 들어갔으면 충돌로 집계하고 건너뜀
+ *   · 지난 재구성에서 남은 문서와 충돌하면 그 문서를 지우고 다시 넣음
+ * - 이번 재구성에서 손대지 않은 문서(원본이 사라진 계정) 삭제
+ * - 끝나면 LoginPrincipalService.markReady() → 로그인이 색인 1회 조회로 전환
+ */
+@Component
+public class LoginPrincipalRebuildJob {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginPrincipalRebuildJob.class);
+    private static final int BATCH = 500;
+    private static final int DUPLICATE_KEY = 11000;
+
+    /** 재구성 결과 */
+    public record Result(int indexed, int conflicts, long removed) {}
+
+    private final MongoTemplate mongo;
+    private final LoginPrincipalService principals;
+    private final boolean onStart;
+
+    public LoginPrincipalRebuildJob(MongoTemplate mongo,
+                                    LoginPrincipalService principals,
+                                    @Value("${auth.principals.rebuild-on-start:true}") boolean onStart) {
+        this.mongo = mongo;
+        this.principals = principals;
+        this.onStart = onStart;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnReady() {
+        if (!onStart) return;
+        Thread t = new Thread(() -> {
+            try {
+                Result r = run();
+                log.info("[LOGIN-INDEX] rebuilt: indexed={}, conflicts={}, removed={}",
+                        r.indexed(), r.conflicts(), r.removed());
+            } catch (RuntimeException e) {
+                // 실패하면 ready=false 유지 → 로그인은 예전 방식으로 계속 동작
+                log.error("[LOGIN-INDEX] rebuild failed", e);
+            }
+        }, "login-principal-rebuild");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    public Result run() {
+        mongo.indexOps(LoginPrincipal.class).ensureIndex(
+                new Index().on("username", Sort.Direction.ASC).unique().named("login_principal_username_uniq"));
+
+        Date start = new Date();
+        int indexed = 0;
+        int conflicts = 0;
+        for (Class<?> type : LoginPrincipalService.ACCOUNT_TYPES) {
+            List<LoginPrincipalService.Account> batch = new ArrayList<>(BATCH);
+            try (Stream<?> s = mongo.stream(new Query(), type)) {
+                Iterator<?> it = s.iterator();
+                while (it.hasNext()) {
+                    LoginPrincipalService.Account a = LoginPrincipalService.accountOf(it.next());
+                    if (a == null || a.entityId() == null || a.username() == null || a.username().isBlank()) continue;
+                    batch.add(a);
+                    if (batch.size() >= BATCH) {
+                        int[] r = flush(batch, start);
+                        indexed += r[0];
+                        conflicts += r[1];
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                int[] r = flush(batch, start);
+                indexed += r[0];
+                conflicts += r[1];
+            }
+        }
+
+        long removed = mongo.remove(new Query(Criteria.where("syncedAt").lt(start)), LoginPrincipal.class)
+                .getDeletedCount();
+        principals.markReady();
+        return new Result(indexed, conflicts, removed);
+    }
+
+    /** bulk upsert. 반환 {색인 수, 충돌 수} */
+    private int[] flush(List<LoginPrincipalService.Account> batch, Date start) {
+        BulkOperations ops = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, LoginPrincipal.class);
+        for (LoginPrincipalService.Account a : batch) {
+            ops.upsert(new Query(Criteria.where("_id").is(a.key())), LoginPrincipalService.updateFor(a, start));
+        }
+        try {
+            ops.execute();
+            return new int[]{batch.size(), 0};
+        } catch (BulkOperationException e) {
+            int ok = batch.size();
+            int conflicts = 0;
+            for (BulkWriteError err : e.getErrors()) {
+                ok--;
+                LoginPrincipalService.Account a = batch.get(err.getIndex());
+                if (err.getCode() == DUPLICATE_KEY && retryOverStale(a, start)) {
+                    ok++;
+                } else {
+                    conflicts++;
+                    log.warn("[LOGIN-INDEX] username '{}' used by more than one account, {} skipped", a.username(), a.key());
+                }
+            }
+            return new int[]{ok, conflicts};
+        }
+    }
+
+    /** 충돌 상대가 지난 재구성의 남은 문서면 지우고 다시 넣음 */
+    private boolean retryOverStale(LoginPrincipalService.Account a, Date start) {
+        LoginPrincipal owner = principals.find(a.username());
+        if (owner == null || owner.getId().equals(a.key())
+                || (owner.getSyncedAt() != null && !owner.getSyncedAt().before(start))) {
+            return false;
+        }
+        mongo.remove(new Query(Criteria.where("_id").is(owner.getId()).and("syncedAt").lt(start)), LoginPrincipal.class);
+        return principals.sync(a, start);
+    }
+}
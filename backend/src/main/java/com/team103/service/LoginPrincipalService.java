@@ -0,0 +1,215 @@
+// src/main/java/com/team103/service/LoginPrincipalService.java
+package com.team103.service;
+
+import com.team103.model.Director;
+import com.team103.model.LoginPrincipal;
+import com.team103.model.Parent;
+import com.team103.model.Student;
+import com.team103.model.Teacher;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 로그인 아이디 색인 (login_principals) 조회/유지
+ *
+ * - 로그인은 username 으로 1회 조회 → 해당 역할/엔티티/해시를 바로 얻음
+ *   · bcrypt 해시만 복사. 옛 평문 비밀번호는 색인에 두지 않음(null) → 로그인 때 원본 문서로 검사
+ * - 학생/교사/학부모/원장 문서가 저장·삭제되면 Mongo 라이프사이클 이벤트로 해당 계정만 갱신
+ *   (회원가입 / 정보 수정 / 비밀번호 재설정 / 계정 삭제 등 repository 저장 경로)
+ *   · deleteByStudentId 처럼 조건 삭제는 이벤트에 조건 문서만 오므로 로그인 아이디 필드로 제거
+ *   · 컬렉션 이름으로 직접 쓰는 경로(updateFirst(.., "parents") 등)는 이벤트가 없으므로 호출 측에서
+ *     isTaken 검사 후 sync / remove 를 직접 호출
+ * - 같은 아이디를 다른 계정이 이미 쓰고 있으면 색인하지 않고 경고만 (unique 인덱스)
+ * - 전체 재구성은 LoginPrincipalRebuildJob. 끝나기 전(ready=false)에는 LoginController 가 예전 방식으로 조회
+ */
+@Component
+public class LoginPrincipalService extends AbstractMongoEventListener<Object> {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginPrincipalService.class);
+
+    public static final String STUDENT = "student";
+    public static final String TEACHER = "teacher";
+    public static final String DIRECTOR = "director";
+    public static final String PARENT = "parent";
+
+    /** 예전 로그인 조회 순서 (같은 아이디가 여러 역할에 있으면 앞쪽이 우선) */
+    public static final List<Class<?>> ACCOUNT_TYPES =
+            List.of(Student.class, Teacher.class, Director.class, Parent.class);
+
+    /** 원본 계정 1건에서 뽑은 색인 값 (passwordHash 는 원본에 저장된 값 그대로, 평문일 수 있음) */
+    public record Account(String role, String entityId, String username, String passwordHash) {
+        public String key() { return role + ":" + entityId; }
+    }
+
+    private final MongoTemplate mongo;
+    private volatile boolean ready;
+
+    public LoginPrincipalService(MongoTemplate mongo,
+                                 @Value("${auth.principals.rebuild-on-start:true}") boolean rebuildOnStart) {
+        this.mongo = mongo;
+        // 재구성을 안 하면 색인이 이미 유지되고 있다고 보고 바로 사용
+        this.ready = !rebuildOnStart;
+    }
+
+    /* ─────────────── 조회 ─────────────── */
+
+    public boolean isReady() { return ready; }
+
+    void markReady() { ready = true; }
+
+    public LoginPrincipal find(String username) {
+        if (username == null || username.isBlank()) return null;
+        return mongo.findOne(new Query(Criteria.where("username").is(username)), LoginPrincipal.class);
+    }
+
+    /** 네 역할 통틀어 이미 쓰는 아이디인지 (회원가입 중복 검사용) */
+    public boolean isTaken(String username) {
+        if (username == null || username.isBlank()) return false;
+        return mongo.exists(new Query(Criteria.where("username").is(username)), LoginPrincipal.class);
+    }
+
+    /* ─────────────── 계정 → 색인 값 ─────────────── */
+
+    public static Account accountOf(Object entity) {
+        if (entity instanceof Student s) return new Account(STUDENT, s.getId(), s.getStudentId(), s.getStudentPw());
+        if (entity instanceof Teacher t) return new Account(TEACHER, t.getId(), t.getTeacherId(), t.getTeacherPw());
+        if (entity instanceof Director d) return new Account(DIRECTOR, d.getId(), d.getUsername(), d.getPassword());
+        if (entity instanceof Parent p) return new Account(PARENT, p.getId(), p.getParentsId(), p.getParentsPw());
+        return null;
+    }
+
+    static String roleOf(Class<?> type) {
+        if (type == Student.class) return STUDENT;
+        if (type == Teacher.class) return TEACHER;
+        if (type == Director.class) return DIRECTOR;
+        if (type == Parent.class) return PARENT;
+        return null;
+    }
+
+    static Class<?> typeOf(String role) {
+        if (role == null) return null;
+        return switch (role) {
+            case STUDENT -> Student.class;
+            case TEACHER -> Teacher.class;
+            case DIRECTOR -> Director.class;
+            case PARENT -> Parent.class;
+            default -> null;
+        };
+    }
+
+    /** 원본 컬렉션의 비밀번호 필드명 */
+    static String passwordField(String role) {
+        if (role == null) return null;
+        return switch (role) {
+            case STUDENT -> "Student_PW";
+            case TEACHER -> "Teacher_PW";
+            case DIRECTOR -> "Director_PW";
+            case PARENT -> "parentsPw";
+            default -> null;
+        };
+    }
+
+    /** 원본 컬렉션의 로그인 아이디 필드명 */
+    static String loginField(String role) {
+        return switch (role) {
+            case STUDENT -> "Student_ID";
+            case TEACHER -> "Teacher_ID";
+            case DIRECTOR -> "Director_ID";
+            case PARENT -> "parentsId";
+            default -> null;
+        };
+    }
+
+    static Update updateFor(Account a, Date syncedAt) {
+        return new Update()
+                .set("username", a.username())
+                .set("role", a.role())
+                .set("entityId", a.entityId())
+                .set("passwordHash", PasswordVerifier.isBcrypt(a.passwordHash()) ? a.passwordHash() : null)
+                .set("syncedAt", syncedAt);
+    }
+
+    /* ─────────────── 갱신 ─────────────── */
+
+    /** 계정 1건 반영. 아이디가 비었으면 제거, 다른 계정이 같은 아이디를 쓰면 false */
+    public boolean sync(Account a, Date syncedAt) {
+        if (a == null || a.entityId() == null) return false;
+        if (a.username() == null || a.username().isBlank()) {
+            remove(a.role(), a.entityId());
+            return false;
+        }
+        try {
+            mongo.upsert(new Query(Criteria.where("_id").is(a.key())), updateFor(a, syncedAt), LoginPrincipal.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            log.warn("[LOGIN-INDEX] username '{}' already used by another account, {} not indexed", a.username(), a.key());
+            return false;
+        }
+    }
+
+    /** 원본 해시를 updateFirst 로 바꾼 경우 (저장 이벤트가 없으므로 직접). 옛 값이 평문이었으면 색인에는 null */
+    public void updateHash(String role, String entityId, String oldHash, String newHash) {
+        String indexed = PasswordVerifier.isBcrypt(oldHash) ? oldHash : null;
+        Query q = new Query(Criteria.where("_id").is(role + ":" + entityId).and("passwordHash").is(indexed));
+        mongo.updateFirst(q, new Update().set("passwordHash", newHash).set("syncedAt", new Date()), LoginPrincipal.class);
+    }
+
+    public void remove(String role, String entityId) {
+        if (role == null || entityId == null) return;
+        mongo.remove(new Query(Criteria.where("_id").is(role + ":" + entityId)), LoginPrincipal.class);
+    }
+
+    public void removeByUsername(String role, String username) {
+        if (role == null || username == null) return;
+        mongo.remove(new Query(Criteria.where("username").is(username).and("role").is(role)), LoginPrincipal.class);
+    }
+
+    /* ─────────────── Mongo 라이프사이클 이벤트 ─────────────── */
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        Account a = accountOf(event.getSource());
+        if (a == null) return;
+        try {
+            sync(a, new Date());
+        } catch (RuntimeException e) {
+            // 원본 저장은 이미 끝남 → 색인만 어긋남 (다음 재구성 때 복구)
+            log.warn("[LOGIN-INDEX] sync failed ({}) : {}", a.key(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        String role = roleOf(event.getType());
+        Document d = event.getSource();
+        if (role == null || d == null) return;
+        try {
+            Object id = d.get("_id");
+            if (id instanceof Document in && in.get("$in") instanceof Collection<?> ids) {
+                for (Object x : ids) remove(role, String.valueOf(x));
+            } else if (id != null) {
+                remove(role, String.valueOf(id));
+            } else {
+                Object login = d.get(loginField(role));
+                if (login instanceof String s) removeByUsername(role, s);
+            }
+        } catch (RuntimeException e) {
+            log.warn("[LOGIN-INDEX] remove failed ({} {}) : {}", role, d.toJson(), e.getMessage());
+        }
+    }
+}
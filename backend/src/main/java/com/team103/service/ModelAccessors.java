@@ -0,0 +1,154 @@
+// src/main/java/com/team103/service/ModelAccessors.java
+package com.team103.service;
+
+import com.team103.model.Course;
+import com.team103.model.Room;
+import com.team103.model.Student;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Course / Student / Room 값 접근 계층 (요청마다 리플렉션 조회 없음)
+ *
+ * - 예전 tryInvoke/call(getMethod → setAccessible → invoke) 자리를 대체
+ * - 모델 타입이 확정된 곳은 직접 호출 + 구데이터 호환 보정만 여기서 처리
+ * - 타입을 모르는 Object 대상(CourseIntrospector 등)은 클래스별로 한 번 만든 MethodHandle 캐시 사용
+ */
+public final class ModelAccessors {
+
+    private ModelAccessors() {}
+
+    private static boolean isBlank(String s) { return s == null || s.trim().isEmpty(); }
+
+    /* ===================== Course ===================== */
+
+    /** Class_ID 우선, 없으면 _id */
+    public static String classId(Course c) {
+        if (c == null) return null;
+        String id = c.getClassId();
+        if (isBlank(id) || "null".equalsIgnoreCase(id)) id = c.getId();
+        return isBlank(id) ? null : id;
+    }
+
+    public static String className(Course c) {
+        return c == null ? null : c.getClassName();
+    }
+
+    /** Academy_Numbers → 없으면 Academy_Number 단일값 */
+    public static List<Integer> academyNumbers(Course c) {
+        return c == null ? List.of() : c.getAcademyNumbersSafe();
+    }
+
+    /** 대표 학원번호 (복수면 첫 번째) */
+    public static Integer academyNumber(Course c) {
+        List<Integer> nums = academyNumbers(c);
+        return nums.isEmpty() ? null : nums.get(0);
+    }
+
+    /** 학원 소속 판정: 학원번호가 아예 없으면 같은 학원으로 본다(구데이터 호환) */
+    public static boolean belongsToAcademy(Course c, int academyNumber) {
+        if (c == null) return false;
+        List<Integer> nums = academyNumbers(c);
+        return nums.isEmpty() || nums.contains(academyNumber);
+    }
+
+    /** 날짜별 강의실 (오버라이드 → 기본 강의실) */
+    public static Integer roomFor(Course c, String ymd) {
+        if (c == null) return null;
+        Integer rn = c.getRoomFor(ymd);
+        return rn != null ? rn : c.getPrimaryRoomNumber();
+    }
+
+    /** Students 배열 (공백/중복 제거, 순서 유지) */
+    public static List<String> roster(Course c) {
+        if (c == null || c.getStudents() == null) return List.of();
+        LinkedHashSet<String> out = new LinkedHashSet<>();
+        for (Object sidObj : c.getStudents()) {
+            if (sidObj == null) continue;
+            String sid = String.valueOf(sidObj).trim();
+            if (!sid.isEmpty()) out.add(sid);
+        }
+        return new ArrayList<>(out);
+    }
+
+    /**
+     * 강의실 하나의 좌석 배정 맵 (seatLabel → studentId)
+     * - Mongo 역직렬화 시 Seat_Map 키가 문자열로 들어오는 경우가 있어 둘 다 확인
+     */
+    public static Map<String, String> seatMapFor(Course c, Integer roomNumber) {
+        if (c == null || roomNumber == null || c.getSeatMap() == null) return Map.of();
+        Map<?, ?> top = c.getSeatMap();
+        Object sub = top.get(String.valueOf(roomNumber));
+        if (sub == null) sub = top.get(roomNumber);
+        if (!(sub instanceof Map<?, ?> inner)) return Map.of();
+
+        Map<String, String> out = new LinkedHashMap<>();
+        for (var e : inner.entrySet()) {
+            if (e.getKey() == null || e.getValue() == null) continue;
+            out.put(String.valueOf(e.getKey()), String.valueOf(e.getValue()));
+        }
+        return out;
+    }
+
+    /* ===================== Student ===================== */
+
+    public static String studentId(Student s) {
+        return s == null ? null : s.getStudentId();
+    }
+
+    public static String studentName(Student s) {
+        return s == null || isBlank(s.getStudentName()) ? null : s.getStudentName();
+    }
+
+    /* ===================== Room ===================== */
+
+    public static List<Room.VectorSeat> vectorSeats(Room r) {
+        return r == null || r.getVectorLayout() == null ? List.of() : r.getVectorLayout();
+    }
+
+    /* ===================== 타입 미상 Object (MethodHandle 캐시) ===================== */
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+    private static final Object[] NO_ARGS = new Object[0];
+
+    /** 클래스별 (메서드명 + 파라미터) → 핸들. 없는 메서드는 Optional.empty()로 캐시해 재조회도 하지 않음 */
+    private static final ClassValue<Map<String, Optional<MethodHandle>>> HANDLES = new ClassValue<>() {
+        @Override
+        protected Map<String, Optional<MethodHandle>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static Optional<MethodHandle> handle(Class<?> type, String name, Class<?>[] params) {
+        String sig = params.length == 0 ? name : name + Arrays.toString(params);
+        return HANDLES.get(type).computeIfAbsent(sig, k -> {
+            try {
+                MethodHandle mh = LOOKUP.unreflect(type.getMethod(name, params));
+                return Optional.of(mh.asSpreader(Object[].class, params.length)
+                        .asType(MethodType.methodType(Object.class, Object.class, Object[].class)));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    /** public 메서드 호출, 없거나 실패하면 null */
+    public static Object invoke(Object target, String name) {
+        return invoke(target, name, new Class<?>[0], NO_ARGS);
+    }
+
+    public static Object invoke(Object target, String name, Class<?>[] params, Object... args) {
+        if (target == null) return null;
+        Optional<MethodHandle> mh = handle(target.getClass(), name, params == null ? new Class<?>[0] : params);
+        if (mh.isEmpty()) return null;
+        try {
+            return mh.get().invokeExact(target, args == null ? NO_ARGS : args);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+}
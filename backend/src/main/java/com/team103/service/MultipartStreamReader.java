@@ -0,0 +1,256 @@
+// src/main/java/com/team103/service/MultipartStreamReader.java
+package com.team103.service;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * multipart/form-data 요청 본문을 앞에서부터 한 번만 읽는 파서 (임시 파일/메모리 버퍼링 없음)
+ *
+ * - next() 로 파트를 하나씩 꺼내고, 파트 본문은 body() 스트림으로 바로 읽음 (다음 경계 직전까지)
+ *   · 본문을 다 안 읽고 next() 하면 남은 부분은 버림
+ * - 버퍼는 BUFFER 바이트 하나만 사용 (경계 문자열 길이만큼은 항상 남겨 두고 내보냄)
+ * - 파트 헤더는 maxHeaderBytes 까지만 (넘으면 IOException)
+ */
+final class MultipartStreamReader {
+
+    private static final int BUFFER = 64 * 1024;
+
+    /** 파트 1개 (헤더 + 본문 스트림) */
+    static final class Part {
+        private final String name;
+        private final String filename;
+        private final String contentType;
+        private final InputStream body;
+
+        Part(String name, String filename, String contentType, InputStream body) {
+            this.name = name;
+            this.filename = filename;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        String name() { return name; }
+        /** 파일 파트가 아니면 null */
+        String filename() { return filename; }
+        String contentType() { return contentType; }
+        boolean isFile() { return filename != null; }
+        InputStream body() { return body; }
+    }
+
+    private final InputStream in;
+    private final byte[] delimiter;
+    private final int maxHeaderBytes;
+    private final byte[] buf = new byte[BUFFER];
+    private int pos;
+    private int lim;
+    private boolean eof;
+    private boolean finished;
+    private BodyStream current;
+
+    MultipartStreamReader(InputStream in, String boundary, int maxHeaderBytes) {
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.maxHeaderBytes = maxHeaderBytes;
+        // 첫 경계 앞에는 CRLF 가 없으므로 넣어 두고 시작 → 모든 경계를 같은 방식으로 찾음
+        buf[0] = '\r';
+        buf[1] = '\n';
+        lim = 2;
+        current = new BodyStream(); // 첫 경계 전 preamble (버림)
+    }
+
+    /** Content-Type 헤더에서 boundary 값 (없으면 null) */
+    static String boundaryOf(String contentType) {
+        if (contentType == null) return null;
+        for (String p : contentType.split(";")) {
+            String t = p.trim();
+            if (t.regionMatches(true, 0, "boundary=", 0, 9)) {
+                String b = t.substring(9).trim();
+                if (b.length() >= 2 && b.startsWith("\"") && b.endsWith("\"")) b = b.substring(1, b.length() - 1);
+                return b.isEmpty() ? null : b;
+            }
+        }
+        return null;
+    }
+
+    /** 다음 파트 (마지막 경계 뒤면 null) */
+    Part next() throws IOException {
+        if (finished) return null;
+        current.skipRest();
+
+        // 경계 바로 뒤: "--" 면 끝, CRLF 면 헤더 시작
+        if (!require(2)) throw new EOFException("multipart stream ended after boundary");
+        if (buf[pos] == '-' && buf[pos + 1] == '-') {
+            finished = true;
+            return null;
+        }
+        skipLinearWhitespace();
+        if (!require(2) || buf[pos] != '\r' || buf[pos + 1] != '\n') {
+            throw new IOException("malformed multipart boundary line");
+        }
+        pos += 2;
+
+        String name = null, filename = null, contentType = null;
+        int headerBytes = 0;
+        String line;
+        while (!(line = readLine()).isEmpty()) {
+            headerBytes += line.length() + 2;
+            if (headerBytes > maxHeaderBytes) throw new IOException("multipart part headers too large");
+            int colon = line.indexOf(':');
+            if (colon <= 0) continue;
+            String key = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = line.substring(colon + 1).trim();
+            if (key.equals("content-disposition")) {
+                name = param(value, "name");
+                filename = param(value, "filename");
+            } else if (key.equals("content-type")) {
+                contentType = value;
+            }
+        }
+        current = new BodyStream();
+        return new Part(name, filename, contentType, current);
+    }
+
+    /** Content-Disposition 의 name="..." / filename="..." */
+    static String param(String header, String key) {
+        int i = 0;
+        while (i < header.length()) {
+            int semi = nextSemicolon(header, i);
+            String p = header.substring(i, semi).trim();
+            int eq = p.indexOf('=');
+            if (eq > 0 && p.substring(0, eq).trim().equalsIgnoreCase(key)) {
+                String v = p.substring(eq + 1).trim();
+                if (v.length() >= 2 && v.startsWith("\"") && v.endsWith("\"")) {
+                    v = v.substring(1, v.length() - 1).replace("\\\"", "\"").replace("\\\\", "\\");
+                }
+                return v;
+            }
+            i = semi + 1;
+        }
+        return null;
+    }
+
+    /** 따옴표 안의 ';' 는 건너뜀 */
+    private static int nextSemicolon(String s, int from) {
+        boolean quoted = false;
+        for (int i = from; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\' && quoted) i++;
+            else if (c == '"') quoted = !quoted;
+            else if (c == ';' && !quoted) return i;
+        }
+        return s.length();
+    }
+
+    /* ─────────────── 버퍼 ─────────────── */
+
+    /** 버퍼에 최소 n 바이트 확보 (스트림이 끝나서 못 채우면 false) */
+    private boolean require(int n) throws IOException {
+        while (lim - pos < n) {
+            if (eof) return false;
+            fill();
+        }
+        return true;
+    }
+
+    private void fill() throws IOException {
+        if (pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, lim - pos);
+            lim -= pos;
+            pos = 0;
+        }
+        int r = in.read(buf, lim, buf.length - lim);
+        if (r < 0) eof = true;
+        else lim += r;
+    }
+
+    private void skipLinearWhitespace() throws IOException {
+        while (require(1) && (buf[pos] == ' ' || buf[pos] == '\t')) pos++;
+    }
+
+    /** CRLF 까지 한 줄 (UTF-8, CRLF 제외) */
+    private String readLine() throws IOException {
+        int start = pos;
+        int scanned = 0;
+        while (true) {
+            for (int i = start + scanned; i + 1 < lim; i++) {
+                if (buf[i] == '\r' && buf[i + 1] == '\n') {
+                    String s = new String(buf, start, i - start, StandardCharsets.UTF_8);
+                    pos = i + 2;
+                    return s;
+                }
+            }
+            scanned = Math.max(0, lim - start - 1);
+            if (scanned > maxHeaderBytes) throw new IOException("multipart header line too long");
+            if (eof) throw new EOFException("multipart stream ended in part headers");
+            int before = pos;
+            fill();
+            start -= before - pos;
+        }
+    }
+
+    private int indexOfDelimiter(int from, int to) {
+        byte first = delimiter[0];
+        outer:
+        for (int i = from; i <= to - delimiter.length; i++) {
+            if (buf[i] != first) continue;
+            for (int j = 1; j < delimiter.length; j++) {
+                if (buf[i + j] != delimiter[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /** 현재 파트 본문: 다음 경계 직전까지 */
+    private final class BodyStream extends InputStream {
+        private boolean done;
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            int n = read(one, 0, 1);
+            return n < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (done) return -1;
+            if (len == 0) return 0;
+            while (true) {
+                require(delimiter.length);
+                int idx = indexOfDelimiter(pos, lim);
+                if (idx == pos) {
+                    pos += delimiter.length;
+                    done = true;
+                    return -1;
+                }
+                // 경계가 없으면 경계 일부일 수 있는 끝부분(delimiter.length - 1)은 남겨 둠
+                int end = idx >= 0 ? idx : lim - (delimiter.length - 1);
+                if (end > pos) {
+                    int n = Math.min(len, end - pos);
+                    System.arraycopy(buf, pos, b, off, n);
+                    pos += n;
+                    return n;
+                }
+                if (eof) throw new EOFException("multipart stream ended before closing boundary");
+                fill();
+            }
+        }
+
+        @Override
+        public int available() {
+            return 0;
+        }
+
+        void skipRest() throws IOException {
+            byte[] skip = new byte[8192];
+            while (read(skip, 0, skip.length) >= 0) {
+                // 버림
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+// src/main/java/com/team103/service/PasswordVerifier.java
+package com.team103.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * 비밀번호 검사 전용 스레드 풀 (bcrypt 를 Tomcat 요청 스레드에서 직접 돌리지 않음)
+ *
+ * - 동시 해시 계산은 threads 개로 제한, 대기는 queue 건까지. 넘치거나 timeoutMs 안에 못 끝나면 BusyException (→ 503)
+ *   · 수업 시작 직후 로그인 몰림에 CPU 를 bcrypt 가 다 먹지 않도록
+ * - 큐 대기 시간 / 해시 시간을 최근 WINDOW 건 기준 p50 / p99 로 보고 (stats)
+ * - 로그인 성공 시 저장된 해시가 목표 cost(auth.password.bcrypt-cost) 보다 낮으면
+ *   같은 풀에서 다시 해시해 저장 (네 역할 모두). 그 사이 비밀번호가 바뀌었으면 건드리지 않음
+ * - bcrypt 가 아닌 값(평문 옛 계정)은 기본적으로 불일치. 예전 코드도 BCryptPasswordEncoder.matches 만 써서
+ *   평문 로그인은 어느 역할도 된 적이 없음. auth.password.allow-legacy-plaintext=true 로 켠 경우에만
+ *   평문 비교 후 다시 해시 (이관용, 네 역할 모두에 적용됨)
+ * - 역할별로 아직 옛 해시(평문 / 낮은 cost)인 계정 수 집계 (legacyCounts)
+ */
+@Service
+public class PasswordVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordVerifier.class);
+    private static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}$");
+    private static final int WINDOW = 4096;
+
+    /** 검사 결과 (upgrade = 맞았지만 다시 해시해서 저장해야 함) */
+    public record Verdict(boolean matched, boolean upgrade) {
+        static final Verdict NO = new Verdict(false, false);
+    }
+
+    /** bcrypt 해시 형식인지 (아니면 옛 평문 값) */
+    public static boolean isBcrypt(String encoded) {
+        return encoded != null && BCRYPT.matcher(encoded).matches();
+    }
+
+    /** 검사 풀이 가득 찼거나 시간 초과 */
+    public static class BusyException extends RuntimeException {
+        BusyException(String message) { super(message); }
+    }
+
+    /** 역할별 옛 해시 계정 수 */
+    public record LegacyCount(String role, long accounts, long nonBcrypt, long belowCost) {}
+
+    public record Stats(int threads, int queueCapacity, int queued, int active, int bcryptCost,
+                        long verified, long rejected, long upgraded,
+                        long queueWaitP50Us, long queueWaitP99Us, long hashP50Us, long hashP99Us,
+                        List<LegacyCount> legacy) {}
+
+    private final PasswordEncoder encoder;
+    private final MongoTemplate mongo;
+    private final LoginPrincipalService principals;
+    private final int threads;
+    private final int queueCapacity;
+    private final int bcryptCost;
+    private final long timeoutMs;
+    private final boolean allowPlaintext;
+    private final ThreadPoolExecutor pool;
+
+    private final AtomicLong verified = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong upgraded = new AtomicLong();
+    private final LatencyWindow queueWait = new LatencyWindow(WINDOW);
+    private final LatencyWindow hashTime = new LatencyWindow(WINDOW);
+
+    public PasswordVerifier(PasswordEncoder encoder,
+                            MongoTemplate mongo,
+                            LoginPrincipalService principals,
+                            @Value("${auth.password.threads:0}") int threads,
+                            @Value("${auth.password.queue:256}") int queueCapacity,
+                            @Value("${auth.password.bcrypt-cost:10}") int bcryptCost,
+                            @Value("${auth.password.timeout-ms:5000}") long timeoutMs,
+                            @Value("${auth.password.allow-legacy-plaintext:false}") boolean allowPlaintext) {
+        this.encoder = encoder;
+        this.mongo = mongo;
+        this.principals = principals;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.bcryptCost = bcryptCost;
+        this.timeoutMs = Math.max(100, timeoutMs);
+        this.allowPlaintext = allowPlaintext;
+        this.pool = new ThreadPoolExecutor(this.threads, this.threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.queueCapacity), r -> {
+                    Thread t = new Thread(r, "password-verify");
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /* ─────────────── 검사 ─────────────── */
+
+    /** 요청 스레드는 결과만 기다림. 풀이 가득 찼거나 timeoutMs 초과면 BusyException */
+    public Verdict verify(String raw, String encoded) {
+        if (raw == null || encoded == null || encoded.isEmpty()) return Verdict.NO;
+
+        long submitted = System.nanoTime();
+        Future<Verdict> f;
+        try {
+            f = pool.submit(() -> {
+                long started = System.nanoTime();
+                queueWait.record(started - submitted);
+                try {
+                    return check(raw, encoded);
+                } finally {
+                    hashTime.record(System.nanoTime() - started);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new BusyException("password queue full");
+        }
+
+        try {
+            Verdict v = f.get(timeoutMs, TimeUnit.MILLISECONDS);
+            verified.incrementAndGet();
+            return v;
+        } catch (TimeoutException e) {
+            f.cancel(true);
+            rejected.incrementAndGet();
+            throw new BusyException("password check timeout");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusyException("interrupted");
+        } catch (ExecutionException e) {
+            log.warn("[PASSWORD] check failed : {}", e.getCause() == null ? e.getMessage() : e.getCause().toString());
+            return Verdict.NO;
+        }
+    }
+
+    Verdict check(String raw, String encoded) {
+        if (BCRYPT.matcher(encoded).matches()) {
+            if (!encoder.matches(raw, encoded)) return Verdict.NO;
+            return new Verdict(true, encoder.upgradeEncoding(encoded));
+        }
+        // bcrypt 가 아닌 옛 계정: 켜 둔 경우에만 평문 비교 (상수 시간) → 맞으면 다시 해시
+        if (allowPlaintext && MessageDigest.isEqual(
+                raw.getBytes(StandardCharsets.UTF_8), encoded.getBytes(StandardCharsets.UTF_8))) {
+            return new Verdict(true, true);
+        }
+        return Verdict.NO;
+    }
+
+    /* ─────────────── 다시 해시 ─────────────── */
+
+    /** 로그인 성공 뒤 호출. 풀이 바쁘면 건너뜀 (다음 로그인 때 다시) */
+    public void upgradeLater(String role, String entityId, String raw, String oldHash) {
+        if (role == null || entityId == null || raw == null || oldHash == null) return;
+        try {
+            pool.execute(() -> upgrade(role, entityId, raw, oldHash));
+        } catch (RejectedExecutionException e) {
+            log.debug("[PASSWORD] rehash skipped, pool busy ({}:{})", role, entityId);
+        }
+    }
+
+    private void upgrade(String role, String entityId, String raw, String oldHash) {
+        Class<?> type = LoginPrincipalService.typeOf(role);
+        String field = LoginPrincipalService.passwordField(role);
+        if (type == null || field == null) return;
+        try {
+            String hash = encoder.encode(raw);
+            // 저장된 해시가 그대로일 때만 (그 사이 재설정/변경됐으면 그쪽이 우선)
+            Query q = new Query(Criteria.where("_id").is(entityId).and(field).is(oldHash));
+            if (mongo.updateFirst(q, new Update().set(field, hash), type).getModifiedCount() > 0) {
+                principals.updateHash(role, entityId, oldHash, hash);
+                upgraded.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            log.warn("[PASSWORD] rehash failed ({}:{}) : {}", role, entityId, e.getMessage());
+        }
+    }
+
+    /* ─────────────── 보고 ─────────────── */
+
+    /** 역할별로 아직 bcrypt 가 아니거나 목표 cost 미만인 계정 수 */
+    public List<LegacyCount> legacyCounts() {
+        Pattern below = bcryptCost > 4 ? belowCostPattern(bcryptCost) : null;
+        List<LegacyCount> out = new ArrayList<>();
+        for (Class<?> type : LoginPrincipalService.ACCOUNT_TYPES) {
+            String role = LoginPrincipalService.roleOf(type);
+            String field = LoginPrincipalService.passwordField(role);
+            long accounts = mongo.count(new Query(Criteria.where(field).ne(null)), type);
+            long nonBcrypt = mongo.count(new Query(Criteria.where(field).ne(null).not().regex(BCRYPT)), type);
+            long belowCost = below == null ? 0 : mongo.count(new Query(Criteria.where(field).regex(below)), type);
+            out.add(new LegacyCount(role, accounts, nonBcrypt, belowCost));
+        }
+        return out;
+    }
+
+    /** cost 04 ~ (target-1) 인 bcrypt 해시 */
+    static Pattern belowCostPattern(int target) {
+        StringBuilder costs = new StringBuilder();
+        for (int c = 4; c < target && c <= 31; c++) {
+            if (costs.length() > 0) costs.append('|');
+            costs.append(String.format("%02d", c));
+        }
+        return Pattern.compile("^\\$2[aby]?\\$(" + costs + ")\\$");
+    }
+
+    public Stats stats(boolean withLegacy) {
+        long[] wait = queueWait.percentiles(0.50, 0.99);
+        long[] hash = hashTime.percentiles(0.50, 0.99);
+        return new Stats(threads, queueCapacity, pool.getQueue().size(), pool.getActiveCount(), bcryptCost,
+                verified.get(), rejected.get(), upgraded.get(),
+                wait[0] / 1000, wait[1] / 1000, hash[0] / 1000, hash[1] / 1000,
+                withLegacy ? legacyCounts() : List.of());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /** 최근 n건 지연(ns) 고리 버퍼 */
+    static final class LatencyWindow {
+        private final long[] samples;
+        private int next;
+        private int size;
+
+        LatencyWindow(int n) { this.samples = new long[n]; }
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            if (size < samples.length) size++;
+        }
+
+        long[] percentiles(double... ps) {
+            long[] copy;
+            synchronized (this) {
+                copy = Arrays.copyOf(samples, size);
+            }
+            Arrays.sort(copy);
+            long[] out = new long[ps.length];
+            for (int i = 0; i < ps.length; i++) {
+                out[i] = copy.length == 0 ? 0 : copy[Math.min(copy.length - 1, (int) (copy.length * ps[i]))];
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+// src/main/java/com/team103/service/QnaAggregateBackfill.java
+package com.team103.service;
+
+import com.team103.model.Answer;
+import com.team103.model.FollowUp;
+import com.team103.model.Question;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 기존 QnA 방에 활동 집계 채우기 (aggVersion 이 현재 버전이 아닌 문서)
+ *
+ * - 기동 후 백그라운드 스레드 1개에서 batch 개씩 QnaAggregateService.recompute
+ * - 실시간 집계는 aggVersion 이 맞는 문서에만 적용되므로, 재계산 도중(읽은 뒤 ~ 쓰기 전) 들어온
+ *   답변/후속질문은 빠질 수 있음 → 묶음마다 시작 시각 이후 생성분이 있는 질문은 한 번 더 재계산
+ * - 집계가 채워지기 전까지 목록은 QuestionExtrasService 가 예전 방식(원본 조회)으로 계산
+ */
+@Component
+public class QnaAggregateBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(QnaAggregateBackfill.class);
+
+    private final MongoTemplate mongo;
+    private final QnaAggregateService aggregates;
+    private final boolean onStart;
+    private final int batch;
+
+    public QnaAggregateBackfill(MongoTemplate mongo,
+                                QnaAggregateService aggregates,
+                                @Value("${qna.aggregates.backfill-on-start:true}") boolean onStart,
+                                @Value("${qna.aggregates.backfill-batch:200}") int batch) {
+        this.mongo = mongo;
+        this.aggregates = aggregates;
+        this.onStart = onStart;
+        this.batch = Math.max(1, batch);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnReady() {
+        if (!onStart) return;
+        Thread t = new Thread(() -> {
+            try {
+                int n = run();
+                if (n > 0) log.info("[QNA-AGG] backfill done : {} questions", n);
+            } catch (RuntimeException e) {
+                log.error("[QNA-AGG] backfill failed", e);
+            }
+        }, "qna-aggregate-backfill");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /** 집계 없는 문서가 없어질 때까지 반복. 반환: 재계산한 질문 수 */
+    public int run() {
+        int total = 0;
+        while (true) {
+            Query q = new Query(Criteria.where("aggVersion").ne(QnaAggregateService.VERSION)).limit(batch);
+            q.fields().include("_id");
+            List<String> ids = new ArrayList<>();
+            for (Question x : mongo.find(q, Question.class)) ids.add(x.getId());
+            if (ids.isEmpty()) return total;
+
+            Date startedAt = new Date();
+            int n = aggregates.recompute(ids);
+            if (n == 0) return total; // 더 진행 못 함 (동시 삭제 등)
+            total += n;
+
+            Set<String> late = touchedSince(ids, startedAt);
+            if (!late.isEmpty()) aggregates.recompute(late);
+        }
+    }
+
+    private Set<String> touchedSince(List<String> ids, Date since) {
+        Criteria c = Criteria.where("questionId").in(ids).and("createdAt").gte(since);
+        Set<String> out = new HashSet<>();
+        for (Answer a : mongo.find(new Query(c), Answer.class)) out.add(a.getQuestionId());
+        for (FollowUp f : mongo.find(new Query(c), FollowUp.class)) out.add(f.getQuestionId());
+        return out;
+    }
+}
@@ -0,0 +1,257 @@
+// src/main/java/com/team103/service/QnaAggregateService.java
+package com.team103.service;
+
+import com.team103.model.Answer;
+import com.team103.model.FollowUp;
+import com.team103.model.Question;
+import com.team103.repository.AnswerRepository;
+import com.team103.repository.FollowUpRepository;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+
+/**
+ * QnA 방(Question) 활동 집계 유지
+ *
+ * - Question 문서에 lastAnswerAt / lastFollowUpAt / updatedAt, 답변·후속질문 수, 응답 교사 id,
+ *   최근 메시지 시각(최대 RECENT_KEEP 개)을 같이 저장
+ *   → 목록 화면은 answers/followups 를 다시 훑지 않고 readState.lastReadAt 과만 비교
+ * - 답변/후속질문 생성·삭제 때 단일 updateFirst($inc/$max/$push·$slice/$addToSet/$pull)로 원자적 반영
+ * - 집계가 아직 없는 문서(aggVersion 없음)는 건드리지 않음 → QnaAggregateBackfill 이 채움
+ * - 집계 실패는 본 요청(답변 저장 등)을 실패시키지 않고 로그만 남김
+ */
+@Service
+public class QnaAggregateService {
+
+    private static final Logger log = LoggerFactory.getLogger(QnaAggregateService.class);
+
+    public static final int VERSION = 1;
+    /** 미확인 수 계산용으로 남기는 최근 시각 수 (이보다 많이 밀리면 이 값으로 표시) */
+    public static final int RECENT_KEEP = 100;
+
+    private final MongoTemplate mongo;
+    private final AnswerRepository answerRepo;
+    private final FollowUpRepository followUpRepo;
+
+    public QnaAggregateService(MongoTemplate mongo,
+                               AnswerRepository answerRepo,
+                               FollowUpRepository followUpRepo) {
+        this.mongo = mongo;
+        this.answerRepo = answerRepo;
+        this.followUpRepo = followUpRepo;
+    }
+
+    /** 학생/학부모 측 후속 질문인지 (미확인 수 규칙과 동일) */
+    public static boolean isStudentSide(FollowUp fu) {
+        String ar = fu.getAuthorRole() != null ? fu.getAuthorRole().toLowerCase() : "";
+        return ar.contains("student") || ar.contains("parent");
+    }
+
+    /* ─────────────── 새 문서 ─────────────── */
+
+    /** save() 로 새로 만드는 질문에 빈 집계 채우기 */
+    public static void initNew(Question q) {
+        q.setAnswerCount(0);
+        q.setFollowUpCount(0);
+        q.setResponderIds(new ArrayList<>());
+        q.setRecentAnswerAts(new ArrayList<>());
+        q.setRecentFollowUpAts(new ArrayList<>());
+        q.setUpdatedAt(q.getCreatedAt());
+        q.setAggVersion(VERSION);
+    }
+
+    /** upsert 로 만드는 방 문서용 ($setOnInsert) */
+    public static Update initOnInsert(Update up, Date createdAt) {
+        return up.setOnInsert("answerCount", 0)
+                .setOnInsert("followUpCount", 0)
+                .setOnInsert("responderIds", new ArrayList<>())
+                .setOnInsert("recentAnswerAts", new ArrayList<>())
+                .setOnInsert("recentFollowUpAts", new ArrayList<>())
+                .setOnInsert("updatedAt", createdAt)
+                .setOnInsert("aggVersion", VERSION);
+    }
+
+    private static Query aggregated(String questionId) {
+        return new Query(Criteria.where("_id").is(questionId).and("aggVersion").is(VERSION));
+    }
+
+    /* ─────────────── 답변 ─────────────── */
+
+    public void onAnswerCreated(Answer a) {
+        if (a == null || a.getQuestionId() == null) return;
+        Date at = a.getCreatedAt() != null ? a.getCreatedAt() : new Date();
+        Update up = new Update()
+                .inc("answerCount", 1)
+                .max("lastAnswerAt", at)
+                .max("updatedAt", at);
+        up.push("recentAnswerAts").slice(-RECENT_KEEP).each(at);
+        if (StringUtils.hasText(a.getAuthor())) up.addToSet("responderIds", a.getAuthor());
+        apply(a.getQuestionId(), up, "answer+");
+    }
+
+    /** soft delete 직후 호출 (deleted=true 저장 뒤) */
+    public void onAnswerDeleted(Answer a) {
+        if (a == null || a.getQuestionId() == null) return;
+        Update up = new Update().inc("answerCount", -1);
+        if (StringUtils.hasText(a.getAuthor())
+                && answerRepo.countActiveByQuestionIdAndAuthor(a.getQuestionId(), a.getAuthor()) == 0) {
+            up.pull("responderIds", a.getAuthor());
+        }
+        if (apply(a.getQuestionId(), up, "answer-")) refreshLatest(a.getQuestionId(), "recentAnswerAts", a.getCreatedAt());
+    }
+
+    /* ─────────────── 후속 질문 ─────────────── */
+
+    public void onFollowUpCreated(FollowUp fu) {
+        if (fu == null || fu.getQuestionId() == null) return;
+        Date at = fu.getCreatedAt() != null ? fu.getCreatedAt() : new Date();
+        Update up = new Update()
+                .max("lastFollowUpAt", at)
+                .max("updatedAt", at);
+        if (isStudentSide(fu)) {
+            up.inc("followUpCount", 1);
+            up.push("recentFollowUpAts").slice(-RECENT_KEEP).each(at);
+        }
+        apply(fu.getQuestionId(), up, "followup+");
+    }
+
+    public void onFollowUpDeleted(FollowUp fu) {
+        if (fu == null || fu.getQuestionId() == null || !isStudentSide(fu)) return;
+        Update up = new Update().inc("followUpCount", -1);
+        if (apply(fu.getQuestionId(), up, "followup-")) refreshLatest(fu.getQuestionId(), "recentFollowUpAts", fu.getCreatedAt());
+    }
+
+    private boolean apply(String questionId, Update up, String what) {
+        try {
+            return mongo.updateFirst(aggregated(questionId), up, Question.class).getMatchedCount() > 0;
+        } catch (RuntimeException e) {
+            log.warn("[QNA-AGG] {} failed question={} : {}", what, questionId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 삭제 후 최근 목록에서 지운 메시지 시각 1개만 빼고, 최신 시각을 남은 목록에서 다시 계산 (파이프라인 update 1회)
+     * ($pull 은 같은 밀리초에 만든 다른 메시지 시각까지 같이 지움)
+     */
+    private void refreshLatest(String questionId, String recentField, Date removedAt) {
+        AggregationUpdate fix = AggregationUpdate.update();
+        if (removedAt != null) fix.set(recentField).toValue(withoutFirst(recentField, removedAt));
+        fix.set("lastAnswerAt").toValue(ArithmeticOperators.Max.maxOf("recentAnswerAts"))
+                .set("lastFollowUpAt").toValue(ArithmeticOperators.Max.maxOf("recentFollowUpAts"));
+        // 위 단계 결과를 보고 계산해야 해서 별도 $set 단계
+        fix.set("updatedAt").toValue(ArithmeticOperators.Max.maxOf("createdAt").and("lastAnswerAt").and("lastFollowUpAt"));
+        try {
+            mongo.updateFirst(aggregated(questionId), fix, Question.class);
+        } catch (RuntimeException e) {
+            log.warn("[QNA-AGG] refresh failed question={} : {}", questionId, e.getMessage());
+        }
+    }
+
+    /** 배열 필드에서 값이 처음 나오는 위치 하나만 뺀 배열 (없으면 그대로) */
+    private static AggregationExpression withoutFirst(String field, Date value) {
+        return ctx -> {
+            Document arr = new Document("$ifNull", List.of("$" + field, List.of()));
+            Document keep = new Document("$filter", new Document("input",
+                    new Document("$range", List.of(0, new Document("$size", arr))))
+                    .append("as", "k")
+                    .append("cond", new Document("$ne", List.of("$$k", "$$i"))));
+            return new Document("$let", new Document("vars",
+                    new Document("i", new Document("$indexOfArray", List.of(arr, value))))
+                    .append("in", new Document("$map", new Document("input", keep)
+                            .append("as", "k")
+                            .append("in", new Document("$arrayElemAt", List.of(arr, "$$k"))))));
+        };
+    }
+
+    /* ─────────────── 전체 재계산 (backfill) ─────────────── */
+
+    /**
+     * answers/followups 원본에서 집계를 다시 계산해 $set (질문 id 묶음 단위, 조회 3회 + bulk 1회)
+     * @return 갱신한 질문 수
+     */
+    public int recompute(Collection<String> questionIds) {
+        if (questionIds == null || questionIds.isEmpty()) return 0;
+        List<String> ids = new ArrayList<>(questionIds);
+
+        Query qq = new Query(Criteria.where("_id").in(ids));
+        qq.fields().include("createdAt");
+        List<Question> questions = mongo.find(qq, Question.class);
+        if (questions.isEmpty()) return 0;
+
+        Map<String, List<Answer>> answersByQ = new HashMap<>();
+        for (Answer a : answerRepo.findByQuestionIdInAndDeletedFalseOrderByCreatedAtDesc(ids)) {
+            if (a == null || a.getQuestionId() == null) continue;
+            answersByQ.computeIfAbsent(a.getQuestionId(), k -> new ArrayList<>()).add(a);
+        }
+        Comparator<Date> dates = Comparator.nullsFirst(Comparator.naturalOrder());
+        for (List<Answer> list : answersByQ.values()) list.sort(Comparator.comparing(Answer::getCreatedAt, dates));
+
+        Map<String, List<FollowUp>> fusByQ = new HashMap<>();
+        for (FollowUp fu : followUpRepo.findByQuestionIdInAndDeletedFalse(ids)) {
+            if (fu == null || fu.getQuestionId() == null) continue;
+            fusByQ.computeIfAbsent(fu.getQuestionId(), k -> new ArrayList<>()).add(fu);
+        }
+
+        BulkOperations ops = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, Question.class);
+        for (Question q : questions) {
+            List<Answer> answers = answersByQ.getOrDefault(q.getId(), List.of());
+            List<FollowUp> fus = fusByQ.getOrDefault(q.getId(), List.of());
+
+            LinkedHashSet<String> responders = new LinkedHashSet<>();
+            List<Date> answerAts = new ArrayList<>();
+            for (Answer a : answers) {
+                if (StringUtils.hasText(a.getAuthor())) responders.add(a.getAuthor());
+                if (a.getCreatedAt() != null) answerAts.add(a.getCreatedAt());
+            }
+
+            Date lastFuAt = null;
+            List<Date> studentSideAts = new ArrayList<>();
+            int studentSide = 0;
+            for (FollowUp fu : fus) {
+                Date at = fu.getCreatedAt();
+                if (at != null && (lastFuAt == null || at.after(lastFuAt))) lastFuAt = at;
+                if (!isStudentSide(fu)) continue;
+                studentSide++;
+                if (at != null) studentSideAts.add(at);
+            }
+            studentSideAts.sort(dates);
+
+            Date lastAnsAt = answerAts.isEmpty() ? null : answerAts.get(answerAts.size() - 1);
+            Date max = q.getCreatedAt();
+            if (lastAnsAt != null && (max == null || lastAnsAt.after(max))) max = lastAnsAt;
+            if (lastFuAt  != null && (max == null || lastFuAt.after(max)))   max = lastFuAt;
+
+            Update up = new Update()
+                    .set("answerCount", answers.size())
+                    .set("followUpCount", studentSide)
+                    .set("responderIds", new ArrayList<>(responders))
+                    .set("recentAnswerAts", tail(answerAts))
+                    .set("recentFollowUpAts", tail(studentSideAts))
+                    .set("lastAnswerAt", lastAnsAt)
+                    .set("lastFollowUpAt", lastFuAt)
+                    .set("updatedAt", max)
+                    .set("aggVersion", VERSION);
+            ops.updateOne(new Query(Criteria.where("_id").is(q.getId())), up);
+        }
+        ops.execute();
+        return questions.size();
+    }
+
+    private static List<Date> tail(List<Date> sorted) {
+        int from = Math.max(0, sorted.size() - RECENT_KEEP);
+        return new ArrayList<>(sorted.subList(from, sorted.size()));
+    }
+}
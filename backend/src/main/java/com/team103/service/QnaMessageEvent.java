@@ -0,0 +1,7 @@
+// src/main/java/com/team103/service/QnaMessageEvent.java
+package com.team103.service;
+
+/**
+ * QnA 방에 새 메시지(답변 또는 후속 질문)가 저장됐다는 알림 → QnaThreadFeed 대기 연결 깨우기
+ */
+public record QnaMessageEvent(String questionId) {}
@@ -0,0 +1,252 @@
+// src/main/java/com/team103/service/QnaRecentService.java
+package com.team103.service;
+
+import com.team103.dto.QnaRecentResponse;
+import com.team103.model.Answer;
+import com.team103.model.QnaRecentPointer;
+import com.team103.model.Question;
+import com.team103.repository.AnswerRepository;
+import com.team103.repository.QuestionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * "최근 QnA" 바로가기 (GET /api/qna/recent) 를 사용자별 문서 1건으로 유지
+ *
+ * - 예전: 학생/학부모는 내가 쓴 질문 전부 조회 → id $in 으로 최신 답변, 교사는 내 답변 없으면 전체 최신 질문
+ * - 이제: 질문/답변 쓰기 때 qna_recent_pointers 의 해당 사용자 문서를 "더 최신일 때만" 갱신하고
+ *   조회는 메모리 캐시(최대 cacheMax, ttlSec) → 없으면 _id 1건 조회
+ *   · 더 최신일 때만 : {_id, at < 새 값 또는 없음} 조건 upsert, 조건이 안 맞아 insert 가 중복 키로 실패하면 이미 최신
+ * - 응답 규칙은 예전과 같음 (답변 우선, 없으면 질문)
+ * - 처음 조회하는 사용자나 삭제로 무효화된 문서는 예전 방식으로 한 번 계산해 채움 (complete=true)
+ * - 후속질문은 예전 응답에도 쓰이지 않아 갱신 대상 아님
+ */
+@Service
+public class QnaRecentService {
+
+    private static final Logger log = LoggerFactory.getLogger(QnaRecentService.class);
+    private static final String ALL = "all";
+
+    private final MongoTemplate mongo;
+    private final QuestionRepository questionRepo;
+    private final AnswerRepository answerRepo;
+    private final long ttlMs;
+
+    private record Cached(QnaRecentPointer pointer, long loadedAt) {}
+
+    private final Map<String, Cached> cache;
+
+    public QnaRecentService(MongoTemplate mongo,
+                            QuestionRepository questionRepo,
+                            AnswerRepository answerRepo,
+                            @Value("${qna.recent.cache.max:50000}") int cacheMax,
+                            @Value("${qna.recent.cache.ttl-sec:60}") long ttlSec) {
+        this.mongo = mongo;
+        this.questionRepo = questionRepo;
+        this.answerRepo = answerRepo;
+        this.ttlMs = Math.max(1, ttlSec) * 1000L;
+        int max = Math.max(100, cacheMax);
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+                return size() > max;
+            }
+        });
+    }
+
+    private static String key(String role, String userId) {
+        return role.toLowerCase(Locale.ROOT) + ":" + userId;
+    }
+
+    private static boolean isAsker(String role) {
+        return "student".equalsIgnoreCase(role) || "parent".equalsIgnoreCase(role);
+    }
+
+    private static boolean isStaff(String role) {
+        return "teacher".equalsIgnoreCase(role) || "director".equalsIgnoreCase(role);
+    }
+
+    /* ─────────────── 조회 ─────────────── */
+
+    /** @return null 이면 보여줄 것 없음 (204) */
+    public QnaRecentResponse recent(String userId, String role) {
+        QnaRecentPointer p = pointer(key(role, userId), role, userId);
+        if (p.getAnswerId() != null) {
+            return new QnaRecentResponse(p.getAnswerQuestionId(), p.getAnswerId(), "ANSWER");
+        }
+        if (isAsker(role) && p.getQuestionId() != null) {
+            return new QnaRecentResponse(p.getQuestionId(), null, "QUESTION");
+        }
+        if (isStaff(role)) {
+            QnaRecentPointer all = pointer(ALL, null, null);
+            if (all.getQuestionId() != null) return new QnaRecentResponse(all.getQuestionId(), null, "QUESTION");
+        }
+        return null;
+    }
+
+    private QnaRecentPointer pointer(String key, String role, String userId) {
+        long now = System.currentTimeMillis();
+        Cached c = cache.get(key);
+        if (c != null && now - c.loadedAt() < ttlMs) return c.pointer();
+
+        QnaRecentPointer p = mongo.findById(key, QnaRecentPointer.class);
+        if (p == null || !p.isComplete()) p = backfill(key, role, userId);
+        cache.put(key, new Cached(p, now));
+        return p;
+    }
+
+    /** 예전 방식으로 한 번 계산해 채움 (그 사이 들어온 더 최신 쓰기는 조건 upsert 라 유지) */
+    private QnaRecentPointer backfill(String key, String role, String userId) {
+        if (ALL.equals(key)) {
+            Question q = questionRepo.findTopByOrderByCreatedAtDesc();
+            if (q != null) setQuestion(key, q.getId(), q.getCreatedAt());
+        } else if (isAsker(role)) {
+            List<Question> mine = questionRepo.findByAuthorAndAuthorRoleOrderByCreatedAtDesc(userId, role.toLowerCase(Locale.ROOT));
+            if (mine != null && !mine.isEmpty()) {
+                setQuestion(key, mine.get(0).getId(), mine.get(0).getCreatedAt());
+                List<String> qids = new ArrayList<>(mine.size());
+                for (Question q : mine) qids.add(q.getId());
+                Answer a = answerRepo.findTopByQuestionIdInAndDeletedFalseOrderByCreatedAtDesc(qids);
+                if (a != null) setAnswer(key, a);
+            }
+        } else if (isStaff(role)) {
+            Answer a = answerRepo.findTopByAuthorOrderByCreatedAtDesc(userId);
+            if (a != null) setAnswer(key, a);
+        }
+        mongo.upsert(new Query(Criteria.where("_id").is(key)), new Update().set("complete", true), QnaRecentPointer.class);
+
+        QnaRecentPointer p = mongo.findById(key, QnaRecentPointer.class);
+        if (p == null) {
+            p = new QnaRecentPointer();
+            p.setId(key);
+        }
+        return p;
+    }
+
+    /* ─────────────── 쓰기 반영 ─────────────── */
+
+    /** 질문/방 생성 */
+    public void onQuestionCreated(Question q) {
+        if (q == null || q.getId() == null) return;
+        safely("question", () -> {
+            if (q.getAuthor() != null && isAsker(q.getAuthorRole())) {
+                setQuestion(key(q.getAuthorRole(), q.getAuthor()), q.getId(), q.getCreatedAt());
+            }
+            setQuestion(ALL, q.getId(), q.getCreatedAt());
+        });
+    }
+
+    /** 답변 생성: 질문 작성자(학생/학부모)와 답변 작성자(교사/원장) 둘 다 */
+    public void onAnswerCreated(Answer a, Question q, String answererRole) {
+        if (a == null || a.getId() == null) return;
+        safely("answer", () -> {
+            if (q != null && q.getAuthor() != null && isAsker(q.getAuthorRole())) {
+                setAnswer(key(q.getAuthorRole(), q.getAuthor()), a);
+            }
+            if (a.getAuthor() != null && isStaff(answererRole)) {
+                setAnswer(key(answererRole, a.getAuthor()), a);
+            }
+        });
+    }
+
+    /** 답변 삭제: 이 답변을 가리키던 문서는 지우고 다음 조회 때 다시 계산 */
+    public void onAnswerDeleted(Answer a) {
+        if (a == null || a.getId() == null) return;
+        forget(Criteria.where("answerId").is(a.getId()), p -> a.getId().equals(p.getAnswerId()));
+    }
+
+    /** 질문 삭제 / 방 병합: 이 질문들을 가리키던 문서는 지우고 다음 조회 때 다시 계산 */
+    public void forgetQuestions(Collection<String> questionIds) {
+        if (questionIds == null || questionIds.isEmpty()) return;
+        Set<String> ids = new HashSet<>(questionIds);
+        forget(new Criteria().orOperator(
+                        Criteria.where("questionId").in(ids),
+                        Criteria.where("answerQuestionId").in(ids)),
+                p -> ids.contains(p.getQuestionId()) || ids.contains(p.getAnswerQuestionId()));
+    }
+
+    private void setAnswer(String key, Answer a) {
+        Date at = a.getCreatedAt() == null ? new Date() : a.getCreatedAt();
+        boolean changed = newer(key, "answerAt", at, new Update()
+                .set("answerQuestionId", a.getQuestionId())
+                .set("answerId", a.getId())
+                .set("answerAt", at));
+        if (changed) {
+            cache.computeIfPresent(key, (k, c) -> {
+                QnaRecentPointer p = copy(c.pointer());
+                p.setAnswerQuestionId(a.getQuestionId());
+                p.setAnswerId(a.getId());
+                p.setAnswerAt(at);
+                return new Cached(p, c.loadedAt());
+            });
+        }
+    }
+
+    private void setQuestion(String key, String questionId, Date createdAt) {
+        Date at = createdAt == null ? new Date() : createdAt;
+        boolean changed = newer(key, "questionAt", at, new Update()
+                .set("questionId", questionId)
+                .set("questionAt", at));
+        if (changed) {
+            cache.computeIfPresent(key, (k, c) -> {
+                QnaRecentPointer p = copy(c.pointer());
+                p.setQuestionId(questionId);
+                p.setQuestionAt(at);
+                return new Cached(p, c.loadedAt());
+            });
+        }
+    }
+
+    /** at 이 저장된 값보다 최신이면 반영 (문서 없으면 생성). 반환: 반영 여부 */
+    private boolean newer(String key, String atField, Date at, Update update) {
+        Query q = new Query(new Criteria().andOperator(
+                Criteria.where("_id").is(key),
+                new Criteria().orOperator(Criteria.where(atField).lt(at), Criteria.where(atField).is(null))));
+        try {
+            mongo.upsert(q, update, QnaRecentPointer.class);
+            return true;
+        } catch (DuplicateKeyException alreadyNewer) {
+            return false;
+        }
+    }
+
+    private void forget(Criteria match, Predicate<QnaRecentPointer> cached) {
+        safely("forget", () -> {
+            mongo.remove(new Query(match), QnaRecentPointer.class);
+            synchronized (cache) {
+                cache.values().removeIf(c -> cached.test(c.pointer()));
+            }
+        });
+    }
+
+    private static QnaRecentPointer copy(QnaRecentPointer s) {
+        QnaRecentPointer p = new QnaRecentPointer();
+        p.setId(s.getId());
+        p.setAnswerQuestionId(s.getAnswerQuestionId());
+        p.setAnswerId(s.getAnswerId());
+        p.setAnswerAt(s.getAnswerAt());
+        p.setQuestionId(s.getQuestionId());
+        p.setQuestionAt(s.getQuestionAt());
+        p.setComplete(s.isComplete());
+        return p;
+    }
+
+    /** 바로가기 갱신 실패가 질문/답변 작성을 막지 않게 */
+    private void safely(String what, Runnable r) {
+        try {
+            r.run();
+        } catch (RuntimeException e) {
+            log.warn("[QNA-RECENT] {} update failed : {}", what, e.getMessage());
+        }
+    }
+}
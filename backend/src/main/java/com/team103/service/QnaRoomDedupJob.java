@@ -0,0 +1,198 @@
+// src/main/java/com/team103/service/QnaRoomDedupJob.java
+package com.team103.service;
+
+import com.team103.model.Answer;
+import com.team103.model.FollowUp;
+import com.team103.model.Question;
+import com.team103.model.QuestionReadState;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 1:1 QnA 방 중복 정리 + partial unique 인덱스 생성 (기동 후 1회, 백그라운드)
+ *
+ * - (academyNumber, roomStudentId) / (academyNumber, roomParentId) 별로 방이 2개 이상이면
+ *   최신 createdAt 방만 남기고, 나머지 방의 answers / followups 를 남는 방으로 옮긴 뒤 삭제
+ *   · 읽음 상태는 남는 방으로 $max upsert 후 삭제, 활동 집계는 남는 방만 다시 계산
+ *   · 옮긴 답변/후속질문은 검색 색인에 남는 방 기준으로 다시 넣고, 지운 방은 색인에서 제거
+ * - 정리 후 인덱스 생성
+ *   room_student_uniq : {room, academyNumber, roomStudentId}  partial {room: true, roomStudentId 존재}
+ *   room_parent_uniq  : {room, academyNumber, roomParentId}   partial {room: true, roomParentId 존재}
+ *   · 그 사이 새 중복이 생겨 DuplicateKey 로 실패하면 다시 정리 후 재시도 (INDEX_ATTEMPTS 회)
+ *   · 예전 sparse unique 인덱스(room=true 가 아닌 질문까지 묶음)는 새 인덱스가 둘 다 생긴 뒤에만 제거
+ *     → 실패해도 컬렉션에 유일성 제약이 없는 순간이 없음
+ * - 새 인덱스가 생기면 QnaRoomService.markIndexed → 그 전까지 요청 경로는 잠금 + 조회 후 생성
+ */
+@Component
+public class QnaRoomDedupJob {
+
+    private static final Logger log = LoggerFactory.getLogger(QnaRoomDedupJob.class);
+    private static final List<String> LEGACY_INDEXES = List.of("uniq_parent_room", "uniq_student_room");
+    private static final int INDEX_ATTEMPTS = 3;
+
+    private final MongoTemplate mongo;
+    private final QnaAggregateService aggregates;
+    private final QnaRecentService qnaRecent;
+    private final QnaSearchIndex searchIndex;
+    private final QnaRoomService rooms;
+    private final boolean onStart;
+
+    public QnaRoomDedupJob(MongoTemplate mongo,
+                           QnaAggregateService aggregates,
+                           QnaRecentService qnaRecent,
+                           QnaSearchIndex searchIndex,
+                           QnaRoomService rooms,
+                           @Value("${qna.rooms.dedup-on-start:true}") boolean onStart) {
+        this.mongo = mongo;
+        this.aggregates = aggregates;
+        this.qnaRecent = qnaRecent;
+        this.searchIndex = searchIndex;
+        this.rooms = rooms;
+        this.onStart = onStart;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnReady() {
+        if (!onStart) return;
+        Thread t = new Thread(() -> {
+            try {
+                int merged = run();
+                if (merged > 0) log.info("[QNA-ROOM] merged {} duplicate rooms", merged);
+            } catch (RuntimeException e) {
+                log.error("[QNA-ROOM] dedup failed", e);
+            }
+        }, "qna-room-dedup");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /** 중복 정리 후 인덱스 보장. 반환: 삭제(병합)한 방 수 */
+    public int run() {
+        int merged = 0;
+        for (int attempt = 1; ; attempt++) {
+            merged += dedup("roomStudentId") + dedup("roomParentId");
+            try {
+                ensureIndexes();
+                break;
+            } catch (DuplicateKeyException e) {
+                // 정리와 인덱스 생성 사이에 새 중복 방이 생김 → 다시 정리
+                if (attempt >= INDEX_ATTEMPTS) {
+                    log.warn("[QNA-ROOM] room unique indexes not created after {} attempts, keeping legacy indexes : {}",
+                            attempt, e.getMessage());
+                    return merged;
+                }
+            }
+        }
+        rooms.markIndexed();
+        dropLegacyIndexes();
+        return merged;
+    }
+
+    private int dedup(String ownerField) {
+        Aggregation agg = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("room").is(true).and(ownerField).exists(true)),
+                Aggregation.group("academyNumber", ownerField).count().as("n"),
+                Aggregation.match(Criteria.where("n").gt(1)));
+
+        int merged = 0;
+        for (Document g : mongo.aggregate(agg, Question.class, Document.class).getMappedResults()) {
+            Document key = g.get("_id", Document.class);
+            if (key == null) continue;
+            Query rooms = new Query(Criteria.where("room").is(true)
+                    .and("academyNumber").is(key.get("academyNumber"))
+                    .and(ownerField).is(key.get(ownerField)))
+                    .with(Sort.by(Sort.Direction.DESC, "createdAt"));
+            List<Question> list = mongo.find(rooms, Question.class);
+            if (list.size() < 2) continue;
+
+            String keep = list.get(0).getId();
+            List<String> losers = new ArrayList<>();
+            for (int i = 1; i < list.size(); i++) losers.add(list.get(i).getId());
+            merge(keep, losers);
+            merged += losers.size();
+        }
+        return merged;
+    }
+
+    private void merge(String keep, List<String> losers) {
+        Query moved = new Query(Criteria.where("questionId").in(losers));
+        List<Answer> movedAnswers = mongo.find(moved, Answer.class);
+        List<FollowUp> movedFollowUps = mongo.find(moved, FollowUp.class);
+        Update toKeep = new Update().set("questionId", keep);
+        mongo.updateMulti(moved, toKeep, Answer.class);
+        mongo.updateMulti(moved, toKeep, FollowUp.class);
+
+        // 읽음 상태: (questionId, userId) 당 1건이라 옮기지 않고 남는 방으로 $max 합친 뒤 삭제
+        List<QuestionReadState> states = mongo.find(moved, QuestionReadState.class);
+        if (!states.isEmpty()) {
+            BulkOperations ops = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, QuestionReadState.class);
+            for (QuestionReadState rs : states) {
+                if (rs.getUserId() == null || rs.getLastReadAt() == null) continue;
+                ops.upsert(new Query(Criteria.where("questionId").is(keep).and("userId").is(rs.getUserId())),
+                        new Update().max("lastReadAt", rs.getLastReadAt()));
+            }
+            ops.execute();
+            mongo.remove(moved, QuestionReadState.class);
+        }
+
+        mongo.remove(new Query(Criteria.where("_id").in(losers)), Question.class);
+        aggregates.recompute(List.of(keep));
+        qnaRecent.forgetQuestions(losers);
+
+        // 검색 색인: 방 범위 검색이 옮긴 메시지를 놓치지 않게 남는 방 기준으로 다시 색인
+        for (Answer a : movedAnswers) {
+            a.setQuestionId(keep);
+            searchIndex.putAnswer(a);
+        }
+        for (FollowUp f : movedFollowUps) {
+            f.setQuestionId(keep);
+            searchIndex.putFollowUp(f);
+        }
+        losers.forEach(searchIndex::removeQuestion);
+    }
+
+    private void ensureIndexes() {
+        var ops = mongo.indexOps(Question.class);
+        ops.ensureIndex(roomIndex("roomStudentId", "room_student_uniq"));
+        ops.ensureIndex(roomIndex("roomParentId", "room_parent_uniq"));
+    }
+
+    /** 새 인덱스가 둘 다 생긴 뒤에만 호출 */
+    private void dropLegacyIndexes() {
+        var ops = mongo.indexOps(Question.class);
+        for (IndexInfo info : ops.getIndexInfo()) {
+            if (LEGACY_INDEXES.contains(info.getName())) {
+                ops.dropIndex(info.getName());
+                log.info("[QNA-ROOM] dropped legacy index {}", info.getName());
+            }
+        }
+    }
+
+    private static Index roomIndex(String ownerField, String name) {
+        return new Index()
+                .on("room", Sort.Direction.ASC)
+                .on("academyNumber", Sort.Direction.ASC)
+                .on(ownerField, Sort.Direction.ASC)
+                .unique()
+                .partial(PartialIndexFilter.of(Criteria.where("room").is(true).and(ownerField).exists(true)))
+                .named(name);
+    }
+}
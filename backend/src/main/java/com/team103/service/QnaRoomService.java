@@ -0,0 +1,158 @@
+// src/main/java/com/team103/service/QnaRoomService.java
+package com.team103.service;
+
+import com.team103.model.Parent;
+import com.team103.model.Question;
+import com.team103.model.Student;
+import com.team103.repository.ParentRepository;
+import com.team103.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 학생/보호자 1:1 QnA 방 조회·생성
+ *
+ * - (room, academyNumber, roomStudentId|roomParentId) partial unique 인덱스를 믿고 findAndModify upsert 1회만
+ *   → 방을 열 때 목록 조회/중복 삭제 없음. 동시 생성은 인덱스가 한 건만 남기고 진 쪽은 재시도에서 기존 방을 받음
+ * - 제목용 이름 조회는 실제로 새로 만들어졌을 때만 (createdAt 이 이번 요청 값과 같을 때)
+ * - 인덱스 이전에 생긴 중복 방은 QnaRoomDedupJob 이 정리
+ *   · 그 잡이 인덱스를 만들기 전(indexed=false)에는 같은 키의 upsert 를 잠금으로 직렬화
+ *     (인덱스 생성이 실패해도 요청 경로가 중복 방을 계속 만들지 않게)
+ */
+@Service
+public class QnaRoomService {
+
+    private final MongoTemplate mongo;
+    private final StudentRepository studentRepo;
+    private final ParentRepository parentRepo;
+    private final QnaSearchIndex searchIndex;
+    private final QnaRecentService qnaRecent;
+
+    /** 방 생성 잠금 (인덱스 준비 전에만 사용) */
+    private final Object[] createLocks = new Object[64];
+    private volatile boolean indexed;
+
+    public QnaRoomService(MongoTemplate mongo,
+                          StudentRepository studentRepo,
+                          ParentRepository parentRepo,
+                          QnaSearchIndex searchIndex,
+                          QnaRecentService qnaRecent,
+                          @Value("${qna.rooms.dedup-on-start:true}") boolean dedupOnStart) {
+        this.mongo = mongo;
+        this.studentRepo = studentRepo;
+        this.parentRepo = parentRepo;
+        this.searchIndex = searchIndex;
+        this.qnaRecent = qnaRecent;
+        for (int i = 0; i < createLocks.length; i++) createLocks[i] = new Object();
+        // 정리 잡을 안 돌리면 인덱스가 이미 있다고 보고 바로 upsert
+        this.indexed = !dedupOnStart;
+    }
+
+    /** QnaRoomDedupJob 이 partial unique 인덱스를 만든 뒤 호출 */
+    void markIndexed() { indexed = true; }
+
+    public boolean isIndexed() { return indexed; }
+
+    public Question studentRoom(int academyNumber, String studentId) {
+        Upserted up = upsert(academyNumber, "roomStudentId", studentId, "student");
+        Question room = up.room();
+        if (up.created()) {
+            String name = studentId;
+            try {
+                Student s = studentRepo.findByStudentId(studentId);
+                if (s != null && s.getStudentName() != null && !s.getStudentName().isEmpty()) name = s.getStudentName();
+            } catch (Exception ignore) {}
+            room = afterCreate(room, "학생 " + name + " 채팅방");
+        }
+        return room;
+    }
+
+    public Question parentRoom(int academyNumber, String parentId) {
+        Upserted up = upsert(academyNumber, "roomParentId", parentId, "parent");
+        Question room = up.room();
+        if (up.created()) {
+            String name = parentId;
+            try {
+                Parent p = parentRepo.findByParentsId(parentId);
+                if (p != null && p.getParentsName() != null && !p.getParentsName().isEmpty()) name = p.getParentsName();
+            } catch (Exception ignore) {}
+            room = afterCreate(room, "보호자 " + name + " 채팅방");
+        }
+        return room;
+    }
+
+    /** 목록 조회 결과에서 방 하나 고르기 (삭제 없음, 최신 createdAt) */
+    public static Question pick(List<Question> rooms) {
+        Question keep = null;
+        if (rooms == null) return null;
+        for (Question q : rooms) {
+            if (q == null) continue;
+            if (keep == null) { keep = q; continue; }
+            Date c = q.getCreatedAt();
+            if (c != null && (keep.getCreatedAt() == null || c.after(keep.getCreatedAt()))) keep = q;
+        }
+        return keep;
+    }
+
+    /* ─────────────── 내부 ─────────────── */
+
+    private record Upserted(Question room, boolean created) {}
+
+    private Upserted upsert(int academyNumber, String keyField, String ownerId, String role) {
+        if (indexed) return doUpsert(academyNumber, keyField, ownerId, role);
+        String key = academyNumber + "|" + keyField + "|" + ownerId;
+        synchronized (createLocks[Math.floorMod(key.hashCode(), createLocks.length)]) {
+            return doUpsert(academyNumber, keyField, ownerId, role);
+        }
+    }
+
+    private Upserted doUpsert(int academyNumber, String keyField, String ownerId, String role) {
+        Query query = new Query(Criteria.where("room").is(true)
+                .and("academyNumber").is(academyNumber)
+                .and(keyField).is(ownerId))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt")); // 정리 전 중복이 남아 있으면 최신 방
+        Date now = new Date();
+        Update update = new Update()
+                .setOnInsert("academyNumber", academyNumber)
+                .setOnInsert("room", true)
+                .setOnInsert(keyField, ownerId)
+                .setOnInsert("title", ("student".equals(role) ? "학생 " : "보호자 ") + ownerId + " 채팅방")
+                .setOnInsert("author", ownerId)
+                .setOnInsert("authorRole", role)
+                .setOnInsert("createdAt", now);
+        QnaAggregateService.initOnInsert(update, now);
+
+        FindAndModifyOptions opts = FindAndModifyOptions.options().upsert(true).returnNew(true);
+        Question room;
+        try {
+            room = mongo.findAndModify(query, update, opts, Question.class);
+        } catch (DuplicateKeyException lost) {
+            // 동시에 같은 방을 만든 요청이 이김 → 이번에는 기존 문서와 매칭됨
+            room = mongo.findAndModify(query, update, opts, Question.class);
+        }
+        // $setOnInsert 한 createdAt 이 그대로면 이번 요청이 만든 문서
+        return new Upserted(room, room != null && now.equals(room.getCreatedAt()));
+    }
+
+    /** 새로 만든 방: 이름으로 제목 갱신 + 검색 색인 / 최근 QnA 반영 */
+    private Question afterCreate(Question room, String title) {
+        if (room == null) return null;
+        if (!title.equals(room.getTitle())) {
+            mongo.updateFirst(new Query(Criteria.where("_id").is(room.getId())), new Update().set("title", title), Question.class);
+            room.setTitle(title);
+        }
+        searchIndex.putQuestion(room); // 방 제목(학생/보호자 이름)으로도 검색되게
+        qnaRecent.onQuestionCreated(room);
+        return room;
+    }
+}
@@ -0,0 +1,460 @@
+// src/main/java/com/team103/service/QnaSearchIndex.java
+package com.team103.service;
+
+import com.team103.model.Answer;
+import com.team103.model.FollowUp;
+import com.team103.model.Question;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * QnA 전문 검색용 메모리 역색인 (학원별)
+ *
+ * - 대상 : 질문 제목+내용, 답변 내용, 후속질문 내용 (삭제된 것 제외). 토큰은 QnaTokenizer (한글 bigram + 초성)
+ * - 학원(academyNumber)마다 shard 1개 : 토큰 → posting (문서번호 int[] 오름차순 + 등장횟수 int[])
+ *   · 문서번호는 shard 안에서 계속 증가 → posting 은 뒤에 붙이기만 하고 교집합은 이분 탐색
+ *   · 수정/삭제는 예전 문서번호를 dead 로 표시하고 새 번호로 다시 색인, dead 가 쌓이면 posting 에서 걸러냄
+ *   · dead 가 shard 문서의 절반을 넘으면(COMPACT_MIN_DEAD 건 이상) 번호를 다시 매겨 배열/posting 을 줄임
+ *     (오래 떠 있는 인스턴스에서 메모리와 BM25 문서 수가 계속 불어나지 않게)
+ * - 검색 : 모든 토큰을 포함하는 문서(AND)만, BM25 점수 → 같으면 최신순. 결과는 id 만 (본문은 QnaSearchService 가 조회)
+ * - 기동 후 백그라운드에서 Mongo 전체를 읽어 채움. 채우는 중 들어온 쓰기가 우선 (rebuild 가 덮어쓰지 않음)
+ */
+@Service
+public class QnaSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(QnaSearchIndex.class);
+
+    public static final byte QUESTION = 0;
+    public static final byte ANSWER = 1;
+    public static final byte FOLLOW_UP = 2;
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int COMPACT_MIN_DEAD = 1000;
+
+    /** 검색 결과 1건 */
+    public record Hit(byte kind, String id, String questionId, long createdAt, float score) {}
+
+    private final MongoTemplate mongo;
+    private final boolean onStart;
+
+    public QnaSearchIndex(MongoTemplate mongo,
+                          @Value("${qna.search.rebuild-on-start:true}") boolean onStart) {
+        this.mongo = mongo;
+        this.onStart = onStart;
+    }
+
+    /* ─────────────── 자료구조 ─────────────── */
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] tfs = new int[4];
+        int size;
+
+        void add(int doc, int tf) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            docs[size] = doc;
+            tfs[size] = tf;
+            size++;
+        }
+
+        /** dead 문서 제거. 반환: 남은 수 */
+        int purge(BitSet dead) {
+            int w = 0;
+            for (int r = 0; r < size; r++) {
+                if (dead.get(docs[r])) continue;
+                docs[w] = docs[r];
+                tfs[w] = tfs[r];
+                w++;
+            }
+            size = w;
+            return w;
+        }
+
+        /** 문서번호 다시 매김 (remap[예전] = 새 번호, dead 는 -1). 순서가 유지되므로 오름차순 그대로. 반환: 남은 수 */
+        int remap(int[] remap) {
+            int w = 0;
+            for (int r = 0; r < size; r++) {
+                int to = remap[docs[r]];
+                if (to < 0) continue;
+                docs[w] = to;
+                tfs[w] = tfs[r];
+                w++;
+            }
+            size = w;
+            if (docs.length > 16 && w < docs.length / 4) {
+                docs = Arrays.copyOf(docs, Math.max(4, w * 2));
+                tfs = Arrays.copyOf(tfs, docs.length);
+            }
+            return w;
+        }
+    }
+
+    private static final class Shard {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        final Map<String, Postings> terms = new HashMap<>();
+        final BitSet dead = new BitSet();
+        byte[] kinds = new byte[64];
+        String[] ids = new String[64];
+        String[] questionIds = new String[64];
+        long[] created = new long[64];
+        int[] lens = new int[64];
+        int size;
+        int live;
+        long liveLen;
+        int deadSincePurge;
+
+        int add(byte kind, String id, String questionId, long createdAt, Map<String, Integer> tf) {
+            if (size == ids.length) {
+                int cap = size * 2;
+                kinds = Arrays.copyOf(kinds, cap);
+                ids = Arrays.copyOf(ids, cap);
+                questionIds = Arrays.copyOf(questionIds, cap);
+                created = Arrays.copyOf(created, cap);
+                lens = Arrays.copyOf(lens, cap);
+            }
+            int doc = size++;
+            int len = 0;
+            for (Map.Entry<String, Integer> e : tf.entrySet()) {
+                terms.computeIfAbsent(e.getKey(), k -> new Postings()).add(doc, e.getValue());
+                len += e.getValue();
+            }
+            kinds[doc] = kind;
+            ids[doc] = id;
+            questionIds[doc] = questionId;
+            created[doc] = createdAt;
+            lens[doc] = len;
+            live++;
+            liveLen += len;
+            return doc;
+        }
+
+        void kill(int doc) {
+            if (dead.get(doc)) return;
+            dead.set(doc);
+            ids[doc] = null;
+            questionIds[doc] = null;
+            live--;
+            liveLen -= lens[doc];
+            if (++deadSincePurge > Math.max(1000, size / 4)) {
+                terms.values().removeIf(p -> p.purge(dead) == 0);
+                deadSincePurge = 0;
+            }
+        }
+
+        boolean needsCompaction() {
+            int deadDocs = size - live;
+            return deadDocs >= COMPACT_MIN_DEAD && deadDocs * 2 > size;
+        }
+
+        /** dead 문서를 빼고 0 부터 다시 번호 매김 (쓰기 락 안에서) */
+        void compact() {
+            int[] remap = new int[size];
+            int cap = Math.max(64, Integer.highestOneBit(Math.max(1, live)) * 2);
+            byte[] k2 = new byte[cap];
+            String[] i2 = new String[cap];
+            String[] q2 = new String[cap];
+            long[] c2 = new long[cap];
+            int[] l2 = new int[cap];
+            int w = 0;
+            for (int d = 0; d < size; d++) {
+                if (dead.get(d)) { remap[d] = -1; continue; }
+                remap[d] = w;
+                k2[w] = kinds[d];
+                i2[w] = ids[d];
+                q2[w] = questionIds[d];
+                c2[w] = created[d];
+                l2[w] = lens[d];
+                w++;
+            }
+            terms.values().removeIf(p -> p.remap(remap) == 0);
+            kinds = k2;
+            ids = i2;
+            questionIds = q2;
+            created = c2;
+            lens = l2;
+            size = w;
+            dead.clear();
+            deadSincePurge = 0;
+        }
+    }
+
+    private record Loc(int academy, int doc) {}
+
+    private final Map<Integer, Shard> shards = new ConcurrentHashMap<>();
+    /** "kind:id" → 색인 위치 */
+    private final Map<String, Loc> locs = new ConcurrentHashMap<>();
+    /** 답변/후속질문 색인 시 학원 찾기용 */
+    private final Map<String, Integer> questionAcademy = new ConcurrentHashMap<>();
+
+    /** rebuild 중 실시간으로 반영된 키 (rebuild 가 예전 값으로 덮지 않게) */
+    private final Set<String> touched = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+
+    public boolean isReady() { return ready; }
+
+    private static String key(byte kind, String id) { return kind + ":" + id; }
+
+    /* ─────────────── 실시간 반영 ─────────────── */
+
+    public void putQuestion(Question q) {
+        if (q == null || q.getId() == null) return;
+        questionAcademy.put(q.getId(), q.getAcademyNumber());
+        put(QUESTION, q.getId(), q.getId(), q.getAcademyNumber(), q.getCreatedAt(),
+                join(q.getTitle(), q.getContent()), true);
+    }
+
+    public void removeQuestion(String questionId) {
+        if (questionId == null) return;
+        remove(QUESTION, questionId, true);
+        questionAcademy.remove(questionId);
+    }
+
+    public void putAnswer(Answer a) {
+        if (a == null || a.getId() == null) return;
+        if (a.isDeleted()) { removeAnswer(a.getId()); return; }
+        Integer academy = academyOf(a.getQuestionId());
+        if (academy == null) return;
+        put(ANSWER, a.getId(), a.getQuestionId(), academy, a.getCreatedAt(), a.getContent(), true);
+    }
+
+    public void removeAnswer(String answerId) {
+        if (answerId != null) remove(ANSWER, answerId, true);
+    }
+
+    public void putFollowUp(FollowUp f) {
+        if (f == null || f.getId() == null) return;
+        if (f.isDeleted()) { removeFollowUp(f.getId()); return; }
+        Integer academy = academyOf(f.getQuestionId());
+        if (academy == null) return;
+        put(FOLLOW_UP, f.getId(), f.getQuestionId(), academy, f.getCreatedAt(), f.getContent(), true);
+    }
+
+    public void removeFollowUp(String followUpId) {
+        if (followUpId != null) remove(FOLLOW_UP, followUpId, true);
+    }
+
+    private Integer academyOf(String questionId) {
+        if (questionId == null) return null;
+        Integer academy = questionAcademy.get(questionId);
+        if (academy != null) return academy;
+        Query q = new Query(Criteria.where("_id").is(questionId));
+        q.fields().include("academyNumber");
+        Question found = mongo.findOne(q, Question.class);
+        if (found == null) return null;
+        questionAcademy.put(questionId, found.getAcademyNumber());
+        return found.getAcademyNumber();
+    }
+
+    private static String join(String a, String b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a + "\n" + b;
+    }
+
+    /** 쓰기는 전체 직렬화 (쓰기 빈도가 낮고 rebuild 와의 순서 보장이 단순해짐), 읽기는 shard 읽기 락 */
+    private synchronized void put(byte kind, String id, String questionId, int academy,
+                                  Date createdAt, String text, boolean live) {
+        String k = key(kind, id);
+        if (live) {
+            if (rebuilding) touched.add(k);
+        } else if (touched.contains(k) || locs.containsKey(k)) {
+            return;
+        }
+        Map<String, Integer> tf = QnaTokenizer.document(text);
+
+        Loc old = locs.remove(k);
+        if (old != null) killAt(old);
+        if (tf.isEmpty()) return;
+
+        Shard shard = shards.computeIfAbsent(academy, a -> new Shard());
+        shard.lock.writeLock().lock();
+        try {
+            int doc = shard.add(kind, id, questionId, createdAt == null ? 0L : createdAt.getTime(), tf);
+            locs.put(k, new Loc(academy, doc));
+        } finally {
+            shard.lock.writeLock().unlock();
+        }
+    }
+
+    private synchronized void remove(byte kind, String id, boolean live) {
+        String k = key(kind, id);
+        if (live && rebuilding) touched.add(k);
+        Loc old = locs.remove(k);
+        if (old != null) killAt(old);
+    }
+
+    private void killAt(Loc loc) {
+        Shard shard = shards.get(loc.academy());
+        if (shard == null) return;
+        shard.lock.writeLock().lock();
+        try {
+            shard.kill(loc.doc());
+            if (shard.needsCompaction()) compact(loc.academy(), shard);
+        } finally {
+            shard.lock.writeLock().unlock();
+        }
+    }
+
+    /** shard 번호 재배치 + 위치 갱신. put/remove(synchronized) 와 shard 쓰기 락 안에서만 호출 */
+    private void compact(int academy, Shard shard) {
+        int before = shard.size;
+        shard.compact();
+        for (int d = 0; d < shard.size; d++) {
+            locs.put(key(shard.kinds[d], shard.ids[d]), new Loc(academy, d));
+        }
+        log.debug("[QNA-SEARCH] compacted academy={} docs {} → {}", academy, before, shard.size);
+    }
+
+    /* ─────────────── 검색 ─────────────── */
+
+    /**
+     * @param onlyQuestions null 이 아니면 이 질문(방)에 속한 문서만
+     * @return 점수 내림차순 최대 limit 건. 토큰이 없거나 하나라도 색인에 없으면 빈 목록
+     */
+    public List<Hit> search(int academy, String text, Set<String> onlyQuestions, int limit) {
+        List<String> tokens = QnaTokenizer.query(text);
+        Shard shard = shards.get(academy);
+        if (tokens.isEmpty() || shard == null || limit <= 0) return List.of();
+
+        shard.lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[tokens.size()];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = shard.terms.get(tokens.get(i));
+                if (lists[i] == null) return List.of();
+            }
+            Arrays.sort(lists, Comparator.comparingInt(p -> p.size));
+
+            int n = Math.max(1, shard.live);
+            float avgLen = Math.max(1f, (float) shard.liveLen / n);
+            float[] idf = new float[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                int df = lists[i].size;
+                idf[i] = (float) Math.log(1 + (n - df + 0.5) / (df + 0.5));
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, RANK.reversed());
+            int[] from = new int[lists.length];
+            Postings first = lists[0];
+
+            candidates:
+            for (int c = 0; c < first.size; c++) {
+                int doc = first.docs[c];
+                if (shard.dead.get(doc)) continue;
+                if (onlyQuestions != null && !onlyQuestions.contains(shard.questionIds[doc])) continue;
+
+                float norm = K1 * (1 - B + B * shard.lens[doc] / avgLen);
+                float score = idf[0] * bm25(first.tfs[c], norm);
+                for (int i = 1; i < lists.length; i++) {
+                    Postings p = lists[i];
+                    int at = Arrays.binarySearch(p.docs, from[i], p.size, doc);
+                    if (at < 0) {
+                        from[i] = -at - 1;
+                        if (from[i] >= p.size) break candidates; // 이 목록이 끝남 → 이후 후보도 없음
+                        continue candidates;
+                    }
+                    from[i] = at + 1;
+                    score += idf[i] * bm25(p.tfs[at], norm);
+                }
+
+                top.add(new Hit(shard.kinds[doc], shard.ids[doc], shard.questionIds[doc], shard.created[doc], score));
+                if (top.size() > limit) top.poll();
+            }
+
+            List<Hit> out = new ArrayList<>(top);
+            out.sort(RANK);
+            return out;
+        } finally {
+            shard.lock.readLock().unlock();
+        }
+    }
+
+    private static float bm25(int tf, float norm) {
+        return tf * (K1 + 1) / (tf + norm);
+    }
+
+    /** 점수 내림차순 → 최신순 */
+    private static final Comparator<Hit> RANK = Comparator
+            .comparingDouble((Hit h) -> -h.score())
+            .thenComparingLong(h -> -h.createdAt());
+
+    /* ─────────────── 기동 시 색인 ─────────────── */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnReady() {
+        if (!onStart) { ready = true; return; }
+        Thread t = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("[QNA-SEARCH] rebuild failed", e);
+            }
+        }, "qna-search-rebuild");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /** Mongo 전체를 읽어 색인 (이미 색인된 것/실시간으로 바뀐 것은 건너뜀) */
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        rebuilding = true;
+        int count = 0;
+        try {
+            Query qs = new Query();
+            qs.fields().include("academyNumber").include("title").include("content").include("createdAt");
+            try (Stream<Question> s = mongo.stream(qs, Question.class)) {
+                for (Question q : (Iterable<Question>) s::iterator) {
+                    if (q.getId() == null) continue;
+                    questionAcademy.putIfAbsent(q.getId(), q.getAcademyNumber());
+                    put(QUESTION, q.getId(), q.getId(), q.getAcademyNumber(), q.getCreatedAt(),
+                            join(q.getTitle(), q.getContent()), false);
+                    count++;
+                }
+            }
+
+            Query active = new Query(Criteria.where("deleted").ne(true));
+            active.fields().include("questionId").include("content").include("createdAt");
+            try (Stream<Answer> s = mongo.stream(active, Answer.class)) {
+                for (Answer a : (Iterable<Answer>) s::iterator) {
+                    Integer academy = a.getQuestionId() == null ? null : questionAcademy.get(a.getQuestionId());
+                    if (a.getId() == null || academy == null) continue;
+                    put(ANSWER, a.getId(), a.getQuestionId(), academy, a.getCreatedAt(), a.getContent(), false);
+                    count++;
+                }
+            }
+            try (Stream<FollowUp> s = mongo.stream(active, FollowUp.class)) {
+                for (FollowUp f : (Iterable<FollowUp>) s::iterator) {
+                    Integer academy = f.getQuestionId() == null ? null : questionAcademy.get(f.getQuestionId());
+                    if (f.getId() == null || academy == null) continue;
+                    put(FOLLOW_UP, f.getId(), f.getQuestionId(), academy, f.getCreatedAt(), f.getContent(), false);
+                    count++;
+                }
+            }
+        } finally {
+            synchronized (this) {
+                rebuilding = false;
+                touched.clear();
+            }
+            ready = true;
+        }
+        log.info("[QNA-SEARCH] indexed {} docs in {} ms ({} academies)",
+                count, System.currentTimeMillis() - started, shards.size());
+    }
+}
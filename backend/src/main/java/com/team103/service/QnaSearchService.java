@@ -0,0 +1,158 @@
+// src/main/java/com/team103/service/QnaSearchService.java
+package com.team103.service;
+
+import com.team103.dto.QnaSearchHit;
+import com.team103.dto.QnaSearchResponse;
+import com.team103.model.Answer;
+import com.team103.model.FollowUp;
+import com.team103.model.Question;
+import com.team103.repository.AnswerRepository;
+import com.team103.repository.FollowUpRepository;
+import com.team103.repository.QuestionRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * QnA 검색 (QnaSearchIndex 결과 → 화면용 결과)
+ *
+ * - 색인에서 상위 limit×2 건의 id 만 받고, 본문은 종류별 id $in 조회 1회씩 (질문/답변/후속질문)
+ * - 그 사이 삭제되었거나 다른 방으로 옮겨진 문서는 DB 값 기준으로 거르거나 방을 바꿔서 내려줌
+ *   · 걸러져서 limit 보다 적고 색인에 더 있으면 더 넓게(×4, 최대 MAX_FETCH) 다시 받아서 채움
+ */
+@Service
+public class QnaSearchService {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 50;
+    private static final int MAX_FETCH = 1000;
+    private static final int MAX_QUERY = 100;
+    private static final int SNIPPET = 80;
+
+    private final QnaSearchIndex index;
+    private final QuestionRepository questionRepo;
+    private final AnswerRepository answerRepo;
+    private final FollowUpRepository followUpRepo;
+
+    public QnaSearchService(QnaSearchIndex index,
+                            QuestionRepository questionRepo,
+                            AnswerRepository answerRepo,
+                            FollowUpRepository followUpRepo) {
+        this.index = index;
+        this.questionRepo = questionRepo;
+        this.answerRepo = answerRepo;
+        this.followUpRepo = followUpRepo;
+    }
+
+    /**
+     * @param onlyQuestions null 이면 학원 전체, 아니면 이 방들 안에서만
+     * @throws IllegalArgumentException 검색어가 비었거나 너무 김
+     */
+    public QnaSearchResponse search(int academyNumber, String text, Set<String> onlyQuestions, Integer limit) {
+        String q = text == null ? "" : text.trim();
+        if (q.isEmpty() || q.length() > MAX_QUERY) throw new IllegalArgumentException("bad query");
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(MAX_LIMIT, limit));
+
+        // limit 는 거른 뒤에 적용 (삭제/접근 불가 문서 때문에 페이지가 짧게 오지 않게)
+        List<QnaSearchHit> out;
+        int fetch = size * 2;
+        while (true) {
+            List<QnaSearchIndex.Hit> hits = index.search(academyNumber, q, onlyQuestions, fetch);
+            out = hydrate(academyNumber, hits, q, onlyQuestions);
+            if (out.size() >= size || hits.size() < fetch || fetch >= MAX_FETCH) break;
+            fetch = Math.min(MAX_FETCH, fetch * 4);
+        }
+        if (out.size() > size) out = new ArrayList<>(out.subList(0, size));
+        return new QnaSearchResponse(out, !index.isReady());
+    }
+
+    private List<QnaSearchHit> hydrate(int academyNumber, List<QnaSearchIndex.Hit> hits,
+                                       String q, Set<String> onlyQuestions) {
+        if (hits.isEmpty()) return List.of();
+
+        Set<String> answerIds = new HashSet<>();
+        Set<String> followUpIds = new HashSet<>();
+        for (QnaSearchIndex.Hit h : hits) {
+            if (h.kind() == QnaSearchIndex.ANSWER) answerIds.add(h.id());
+            else if (h.kind() == QnaSearchIndex.FOLLOW_UP) followUpIds.add(h.id());
+        }
+        Map<String, Answer> answers = new HashMap<>();
+        if (!answerIds.isEmpty()) answerRepo.findAllById(answerIds).forEach(a -> answers.put(a.getId(), a));
+        Map<String, FollowUp> followUps = new HashMap<>();
+        if (!followUpIds.isEmpty()) followUpRepo.findAllById(followUpIds).forEach(f -> followUps.put(f.getId(), f));
+
+        // 답변/후속질문의 방은 DB 값 기준 (중복 방 병합으로 옮겨졌을 수 있음)
+        Set<String> questionIds = new HashSet<>();
+        for (QnaSearchIndex.Hit h : hits) {
+            if (h.kind() == QnaSearchIndex.QUESTION) questionIds.add(h.id());
+        }
+        answers.values().forEach(a -> questionIds.add(a.getQuestionId()));
+        followUps.values().forEach(f -> questionIds.add(f.getQuestionId()));
+        questionIds.remove(null);
+        Map<String, Question> questions = new HashMap<>();
+        questionRepo.findAllById(questionIds).forEach(x -> questions.put(x.getId(), x));
+
+        String[] words = q.toLowerCase(Locale.ROOT).split("\\s+");
+        List<QnaSearchHit> out = new ArrayList<>(hits.size());
+        for (QnaSearchIndex.Hit h : hits) {
+            QnaSearchHit r = new QnaSearchHit();
+            String body;
+            String questionId;
+            if (h.kind() == QnaSearchIndex.ANSWER) {
+                Answer a = answers.get(h.id());
+                if (a == null || a.isDeleted()) continue;
+                r.setKind("answer");
+                r.setAuthor(a.getAuthor());
+                r.setCreatedAt(a.getCreatedAt());
+                questionId = a.getQuestionId();
+                body = a.getContent();
+            } else if (h.kind() == QnaSearchIndex.FOLLOW_UP) {
+                FollowUp f = followUps.get(h.id());
+                if (f == null || f.isDeleted()) continue;
+                r.setKind("followup");
+                r.setAuthor(f.getAuthor());
+                r.setCreatedAt(f.getCreatedAt());
+                questionId = f.getQuestionId();
+                body = f.getContent();
+            } else {
+                Question x = questions.get(h.id());
+                if (x == null) continue;
+                r.setKind("question");
+                r.setAuthor(x.getAuthor());
+                r.setCreatedAt(x.getCreatedAt());
+                questionId = x.getId();
+                body = x.getContent() == null || x.getContent().isBlank() ? x.getTitle() : x.getContent();
+            }
+
+            Question parent = questions.get(questionId);
+            if (parent == null || parent.getAcademyNumber() != academyNumber) continue;
+            if (onlyQuestions != null && !onlyQuestions.contains(questionId)) continue;
+
+            r.setId(h.id());
+            r.setQuestionId(questionId);
+            r.setQuestionTitle(parent.getTitle());
+            r.setSnippet(snippet(body, words));
+            r.setScore(h.score());
+            out.add(r);
+        }
+        return out;
+    }
+
+    /** 검색어가 처음 나오는 곳 주변 SNIPPET 글자 */
+    private static String snippet(String body, String[] words) {
+        if (body == null) return "";
+        String flat = body.replaceAll("\\s+", " ").trim();
+        if (flat.length() <= SNIPPET) return flat;
+
+        String lower = flat.toLowerCase(Locale.ROOT);
+        int at = -1;
+        for (String w : words) {
+            if (w.isEmpty()) continue;
+            int i = lower.indexOf(w);
+            if (i >= 0 && (at < 0 || i < at)) at = i;
+        }
+        int start = Math.max(0, Math.min(at < 0 ? 0 : at - SNIPPET / 4, flat.length() - SNIPPET));
+        int end = Math.min(flat.length(), start + SNIPPET);
+        return (start > 0 ? "…" : "") + flat.substring(start, end) + (end < flat.length() ? "…" : "");
+    }
+}
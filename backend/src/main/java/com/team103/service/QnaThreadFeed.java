@@ -0,0 +1,326 @@
+// src/main/java/com/team103/service/QnaThreadFeed.java
+package com.team103.service;
+
+import com.team103.dto.QnaThreadUpdates;
+import com.team103.model.Answer;
+import com.team103.model.FollowUp;
+import com.team103.model.Parent;
+import com.team103.model.Student;
+import com.team103.model.Teacher;
+import com.team103.repository.ParentRepository;
+import com.team103.repository.StudentRepository;
+import com.team103.repository.TeacherRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * QnA 방 새 메시지 대기 (long-poll)
+ *
+ * - 클라이언트는 커서(마지막으로 받은 메시지 위치)를 주고 요청 → 그 뒤 메시지가 있으면 바로,
+ *   없으면 QnaMessageEvent 가 올 때까지(최대 timeoutSec) 연결을 잡아 둠
+ *   → 조용한 방은 timeoutSec 마다 요청 1건, Mongo 조회는 요청 시 1회뿐
+ * - 이벤트가 오면 그 방 대기자들의 가장 이른 커서 기준으로 한 번만 조회해서 대기자별로 잘라 전달
+ * - 커서 = base64url("createdAt(ms):최근 lookbackMs 안에 이미 받은 id@ms들") → 같은 시각 메시지도 빠짐/중복 없음
+ *   · createdAt 은 저장 전에 찍히므로, 커서보다 이른 시각인데 응답 뒤에 커밋된 메시지가 있을 수 있음
+ *     → 조회는 커서 lookbackMs 전부터, 그 구간에서 이미 받은 id 만 제외 (lookback 보다 늦게 커밋된 것은 놓칠 수 있음)
+ * - 다른 인스턴스에서 저장된 메시지는 이벤트가 안 오므로 timeout 후 재요청 때 조회로 따라잡음
+ */
+@Service
+public class QnaThreadFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(QnaThreadFeed.class);
+
+    private final MongoTemplate mongo;
+    private final TeacherRepository teacherRepo;
+    private final StudentRepository studentRepo;
+    private final ParentRepository parentRepo;
+
+    private final long timeoutMs;
+    private final int maxWaiters;
+    private final long lookbackMs;
+
+    /** questionId → 대기 중인 요청 */
+    private final Map<String, Set<Waiter>> waiters = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final ExecutorService dispatch = Executors.newFixedThreadPool(2, r -> {
+        Thread t = new Thread(r, "qna-feed");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public QnaThreadFeed(MongoTemplate mongo,
+                         TeacherRepository teacherRepo,
+                         StudentRepository studentRepo,
+                         ParentRepository parentRepo,
+                         @Value("${qna.feed.timeout-sec:25}") long timeoutSec,
+                         @Value("${qna.feed.max-waiters:10000}") int maxWaiters,
+                         @Value("${qna.feed.lookback-ms:5000}") long lookbackMs) {
+        this.mongo = mongo;
+        this.teacherRepo = teacherRepo;
+        this.studentRepo = studentRepo;
+        this.parentRepo = parentRepo;
+        this.timeoutMs = Math.max(1, timeoutSec) * 1000L;
+        this.maxWaiters = Math.max(1, maxWaiters);
+        this.lookbackMs = Math.max(0, lookbackMs);
+    }
+
+    /** ms = 받은 메시지 중 가장 늦은 시각, seen = [ms - lookbackMs, ms] 안에서 이미 받은 id → createdAt(ms) */
+    private record Cursor(long ms, Map<String, Long> seen) {}
+
+    private record Waiter(Cursor cursor, DeferredResult<ResponseEntity<QnaThreadUpdates>> result) {}
+
+    /* ─────────────── 대기 ─────────────── */
+
+    /**
+     * @param cursorToken 이전 응답의 cursor
+     * @param sinceMs     커서가 없을 때 시작 위치(클라이언트가 가진 마지막 메시지 시각). 둘 다 없으면 "지금"부터
+     * @throws IllegalArgumentException 커서 형식이 잘못된 경우
+     */
+    public DeferredResult<ResponseEntity<QnaThreadUpdates>> await(String questionId, String cursorToken, Long sinceMs) {
+        Cursor cursor;
+        if (cursorToken != null && !cursorToken.isBlank()) {
+            cursor = decode(cursorToken);
+        } else if (sinceMs != null) {
+            cursor = seeded(questionId, sinceMs);
+        } else {
+            // 시작 위치만 알려주고 바로 응답 (다음 요청부터 대기)
+            DeferredResult<ResponseEntity<QnaThreadUpdates>> now = new DeferredResult<>();
+            now.setResult(ResponseEntity.ok(empty(latestCursor(questionId))));
+            return now;
+        }
+
+        final Cursor from = cursor;
+        DeferredResult<ResponseEntity<QnaThreadUpdates>> dr =
+                new DeferredResult<>(timeoutMs, () -> ResponseEntity.ok(empty(from)));
+
+        if (waiting.get() >= maxWaiters) {
+            dr.setResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").build());
+            return dr;
+        }
+
+        // 등록을 먼저 하고 조회 → 등록~조회 사이에 저장된 메시지도 이벤트 또는 조회 중 하나로 반드시 잡힘
+        Waiter w = new Waiter(from, dr);
+        waiters.computeIfAbsent(questionId, k -> ConcurrentHashMap.newKeySet()).add(w);
+        waiting.incrementAndGet();
+        dr.onCompletion(() -> unregister(questionId, w));
+
+        deliver(questionId, List.of(w));
+        return dr;
+    }
+
+    private void unregister(String questionId, Waiter w) {
+        Set<Waiter> set = waiters.get(questionId);
+        if (set != null && set.remove(w)) {
+            waiting.decrementAndGet();
+            if (set.isEmpty()) waiters.remove(questionId, set);
+        }
+    }
+
+    @EventListener
+    public void onMessage(QnaMessageEvent e) {
+        if (e == null || e.questionId() == null) return;
+        Set<Waiter> set = waiters.get(e.questionId());
+        if (set == null || set.isEmpty()) return;
+        List<Waiter> snapshot = new ArrayList<>(set);
+        dispatch.execute(() -> deliver(e.questionId(), snapshot));
+    }
+
+    /** 대기자들의 가장 이른 커서 이후 메시지를 한 번 조회해서, 각자 새 것이 있으면 응답 */
+    private void deliver(String questionId, List<Waiter> targets) {
+        try {
+            long minMs = Long.MAX_VALUE;
+            for (Waiter w : targets) if (!w.result().isSetOrExpired()) minMs = Math.min(minMs, w.cursor().ms());
+            if (minMs == Long.MAX_VALUE) return;
+
+            List<Answer> answers = findAnswers(questionId, minMs - lookbackMs);
+            List<FollowUp> fus = findFollowUps(questionId, minMs - lookbackMs);
+            if (answers.isEmpty() && fus.isEmpty()) return;
+            fillNames(answers, fus);
+
+            for (Waiter w : targets) {
+                if (w.result().isSetOrExpired()) continue;
+                List<Answer> a = new ArrayList<>();
+                for (Answer x : answers) if (isAfter(x.getId(), x.getCreatedAt(), w.cursor())) a.add(x);
+                List<FollowUp> f = new ArrayList<>();
+                for (FollowUp x : fus) if (isAfter(x.getId(), x.getCreatedAt(), w.cursor())) f.add(x);
+                if (a.isEmpty() && f.isEmpty()) continue;
+                w.result().setResult(ResponseEntity.ok(new QnaThreadUpdates(a, f, encode(advance(w.cursor(), a, f)))));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("[QNA-FEED] deliver failed question={} : {}", questionId, ex.getMessage());
+        }
+    }
+
+    /* ─────────────── 조회 ─────────────── */
+
+    private List<Answer> findAnswers(String questionId, long fromMs) {
+        Query q = new Query(new Criteria().andOperator(
+                Criteria.where("questionId").is(questionId),
+                Criteria.where("createdAt").gte(new Date(fromMs)),
+                new Criteria().orOperator(
+                        Criteria.where("deleted").is(false),
+                        Criteria.where("deleted").exists(false))))
+                .with(Sort.by(Sort.Direction.ASC, "createdAt"));
+        return mongo.find(q, Answer.class);
+    }
+
+    private List<FollowUp> findFollowUps(String questionId, long fromMs) {
+        Query q = new Query(Criteria.where("questionId").is(questionId)
+                .and("createdAt").gte(new Date(fromMs))
+                .and("deleted").is(false))
+                .with(Sort.by(Sort.Direction.ASC, "createdAt"));
+        return mongo.find(q, FollowUp.class);
+    }
+
+    /** ms 시점까지 클라이언트가 이미 가진 것으로 보는 커서 (lookback 구간의 메시지를 seen 으로 채움) */
+    private Cursor seeded(String questionId, long ms) {
+        Map<String, Long> seen = new HashMap<>();
+        for (Answer a : findAnswers(questionId, ms - lookbackMs)) addSeen(seen, a.getId(), a.getCreatedAt(), ms);
+        for (FollowUp f : findFollowUps(questionId, ms - lookbackMs)) addSeen(seen, f.getId(), f.getCreatedAt(), ms);
+        return new Cursor(ms, seen);
+    }
+
+    private static void addSeen(Map<String, Long> seen, String id, Date createdAt, long upTo) {
+        if (id == null || createdAt == null || createdAt.getTime() > upTo) return;
+        seen.put(id, createdAt.getTime());
+    }
+
+    /** 방의 마지막 메시지 위치 (없으면 현재 시각) */
+    private Cursor latestCursor(String questionId) {
+        Query qa = new Query(Criteria.where("questionId").is(questionId))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt")).limit(1);
+        Answer a = mongo.findOne(qa, Answer.class);
+        FollowUp f = mongo.findOne(Query.of(qa), FollowUp.class);
+        long ms = System.currentTimeMillis();
+        if (a != null && a.getCreatedAt() != null) ms = Math.max(ms, a.getCreatedAt().getTime());
+        if (f != null && f.getCreatedAt() != null) ms = Math.max(ms, f.getCreatedAt().getTime());
+        return seeded(questionId, ms);
+    }
+
+    /** AnswerController / FollowUpController 목록 응답과 같은 이름 필드 */
+    private void fillNames(List<Answer> answers, List<FollowUp> fus) {
+        if (!answers.isEmpty()) {
+            Set<String> tids = new HashSet<>();
+            for (Answer a : answers) if (a.getAuthor() != null && !a.getAuthor().isEmpty()) tids.add(a.getAuthor());
+            Map<String, String> names = new HashMap<>();
+            if (!tids.isEmpty()) {
+                for (Teacher t : teacherRepo.findByTeacherIdIn(new ArrayList<>(tids))) {
+                    if (t != null && t.getTeacherName() != null && !t.getTeacherName().isEmpty()) {
+                        names.put(t.getTeacherId(), t.getTeacherName());
+                    }
+                }
+            }
+            for (Answer a : answers) {
+                String tid = a.getAuthor();
+                a.setTeacherName(tid == null || tid.isEmpty() ? "" : names.getOrDefault(tid, tid));
+            }
+        }
+
+        Map<String, String> cache = new HashMap<>();
+        for (FollowUp f : fus) {
+            String id = f.getAuthor();
+            String role = f.getAuthorRole();
+            if ("student".equalsIgnoreCase(role)) {
+                f.setStudentName(cache.computeIfAbsent("s|" + id, k -> studentName(id)));
+            } else if ("parent".equalsIgnoreCase(role)) {
+                f.setParentName(cache.computeIfAbsent("p|" + id, k -> parentName(id)));
+            } else {
+                String fallback = id == null ? "" : id;
+                f.setStudentName(fallback);
+                f.setParentName(fallback);
+            }
+        }
+    }
+
+    private String studentName(String studentId) {
+        if (studentId == null) return "";
+        Student s = studentRepo.findByStudentId(studentId);
+        return (s != null && s.getStudentName() != null && !s.getStudentName().isEmpty()) ? s.getStudentName() : studentId;
+    }
+
+    private String parentName(String parentId) {
+        if (parentId == null) return "";
+        Parent p = parentRepo.findByParentsId(parentId);
+        String name = (p != null) ? p.getParentsName() : null;
+        return (name != null && !name.isEmpty()) ? name : parentId;
+    }
+
+    /* ─────────────── 커서 ─────────────── */
+
+    private boolean isAfter(String id, Date createdAt, Cursor c) {
+        if (createdAt == null) return false;
+        long t = createdAt.getTime();
+        if (t > c.ms()) return true;
+        return t >= c.ms() - lookbackMs && !c.seen().containsKey(id);
+    }
+
+    private Cursor advance(Cursor from, List<Answer> answers, List<FollowUp> fus) {
+        long max = from.ms();
+        for (Answer a : answers) max = Math.max(max, a.getCreatedAt().getTime());
+        for (FollowUp f : fus) max = Math.max(max, f.getCreatedAt().getTime());
+
+        long floor = max - lookbackMs;
+        Map<String, Long> seen = new HashMap<>();
+        for (Map.Entry<String, Long> e : from.seen().entrySet()) if (e.getValue() >= floor) seen.put(e.getKey(), e.getValue());
+        for (Answer a : answers) if (a.getCreatedAt().getTime() >= floor) seen.put(a.getId(), a.getCreatedAt().getTime());
+        for (FollowUp f : fus) if (f.getCreatedAt().getTime() >= floor) seen.put(f.getId(), f.getCreatedAt().getTime());
+        return new Cursor(max, seen);
+    }
+
+    private static QnaThreadUpdates empty(Cursor c) {
+        return new QnaThreadUpdates(List.of(), List.of(), encode(c));
+    }
+
+    private static String encode(Cursor c) {
+        StringJoiner seen = new StringJoiner(",");
+        for (Map.Entry<String, Long> e : c.seen().entrySet()) seen.add(e.getKey() + "@" + e.getValue());
+        String raw = c.ms() + ":" + seen;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            if (sep <= 0) throw new IllegalArgumentException("invalid cursor");
+            long ms = Long.parseLong(raw.substring(0, sep));
+            String rest = raw.substring(sep + 1);
+            Map<String, Long> seen = new HashMap<>();
+            if (!rest.isEmpty()) {
+                for (String item : rest.split(",")) {
+                    // 예전 커서("ms:id,id")는 id 만 있음 → 그 ms 에 받은 것
+                    int at = item.lastIndexOf('@');
+                    if (at < 0) seen.put(item, ms);
+                    else seen.put(item.substring(0, at), Long.parseLong(item.substring(at + 1)));
+                }
+            }
+            return new Cursor(ms, seen);
+        } catch (IllegalArgumentException e) { // NumberFormatException 포함
+            throw new IllegalArgumentException("invalid cursor");
+        }
+    }
+
+    public int waitingCount() { return waiting.get(); }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatch.shutdownNow();
+    }
+}
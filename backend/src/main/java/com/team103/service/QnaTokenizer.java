@@ -0,0 +1,96 @@
+// src/main/java/com/team103/service/QnaTokenizer.java
+package com.team103.service;
+
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * QnA 검색용 토크나이저 (형태소 분석기 없이)
+ *
+ * - 한글 음절 연속 구간 : 2글자씩 겹쳐 자름 (bigram) → "미분을" = 미분, 분을 → 조사가 붙어도 "미분" 으로 찾음
+ *   · 1글자 구간은 그대로 1개
+ *   · 초성 bigram 도 함께 ('#' 접두) → "ㅁㅂ" 로 "미분" 검색
+ * - 초성만 입력한 검색어 : 초성 bigram (본문 자모는 색인 안 함)
+ * - 영문/숫자 연속 구간 : 소문자 단어 1개
+ * - 그 외 문자는 구분자
+ */
+final class QnaTokenizer {
+
+    static final char CHOSEONG_MARK = '#';
+
+    private static final char[] CHOSEONG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    private QnaTokenizer() {}
+
+    /** 문서 토큰 → 등장 횟수 */
+    static Map<String, Integer> document(String text) {
+        Map<String, Integer> tf = new HashMap<>();
+        tokenize(text, true, t -> tf.merge(t, 1, Integer::sum));
+        return tf;
+    }
+
+    /** 검색어 토큰 (중복 제거, 입력 순서). 초성만 입력한 구간은 초성 bigram 으로 */
+    static List<String> query(String text) {
+        LinkedHashSet<String> out = new LinkedHashSet<>();
+        tokenize(text, false, out::add);
+        return new ArrayList<>(out);
+    }
+
+    /* ─────────────── 내부 ─────────────── */
+
+    private interface Sink { void add(String token); }
+
+    private static boolean isSyllable(char c) { return c >= '가' && c <= '힣'; }
+    private static boolean isChoseongJamo(char c) { return c >= 'ㄱ' && c <= 'ㅎ'; }
+
+    private static char choseong(char syllable) {
+        return CHOSEONG[(syllable - '가') / (21 * 28)];
+    }
+
+    private static void tokenize(String text, boolean withChoseong, Sink sink) {
+        if (text == null || text.isEmpty()) return;
+        String s = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        int n = s.length();
+        int i = 0;
+        while (i < n) {
+            char c = s.charAt(i);
+            int j = i + 1;
+            if (isSyllable(c)) {
+                while (j < n && isSyllable(s.charAt(j))) j++;
+                hangul(s, i, j, withChoseong, sink);
+            } else if (isChoseongJamo(c)) {
+                // 본문의 "ㅋㅋ" 같은 자모는 색인하지 않고, 검색어에서만 초성 검색으로 씀
+                while (j < n && isChoseongJamo(s.charAt(j))) j++;
+                if (!withChoseong) bigrams(CHOSEONG_MARK, s, i, j, sink);
+            } else if (Character.isLetterOrDigit(c)) {
+                while (j < n && Character.isLetterOrDigit(s.charAt(j))
+                        && !isSyllable(s.charAt(j)) && !isChoseongJamo(s.charAt(j))) j++;
+                sink.add(s.substring(i, j));
+            }
+            i = j;
+        }
+    }
+
+    private static void hangul(String s, int from, int to, boolean withChoseong, Sink sink) {
+        if (to - from == 1) {
+            sink.add(s.substring(from, to));
+        } else {
+            for (int k = from; k + 1 < to; k++) sink.add(s.substring(k, k + 2));
+        }
+        if (withChoseong && to - from >= 2) {
+            char[] cho = new char[to - from];
+            for (int k = from; k < to; k++) cho[k - from] = choseong(s.charAt(k));
+            String js = new String(cho);
+            bigrams(CHOSEONG_MARK, js, 0, js.length(), sink);
+        }
+    }
+
+    private static void bigrams(char mark, String s, int from, int to, Sink sink) {
+        for (int k = from; k + 1 < to; k++) {
+            sink.add(new String(new char[]{mark, s.charAt(k), s.charAt(k + 1)}));
+        }
+    }
+}
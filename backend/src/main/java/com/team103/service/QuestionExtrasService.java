@@ -0,0 +1,253 @@
+// src/main/java/com/team103/service/QuestionExtrasService.java
+package com.team103.service;
+
+import com.team103.model.Academy;
+import com.team103.model.Answer;
+import com.team103.model.FollowUp;
+import com.team103.model.Question;
+import com.team103.model.Teacher;
+import com.team103.repository.AcademyRepository;
+import com.team103.repository.AnswerRepository;
+import com.team103.repository.FollowUpRepository;
+import com.team103.repository.TeacherRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * QnA 방 목록 부가정보(학원명, 교사명, updatedAt, 미확인 수, 최근 응답자) 일괄 계산
+ *
+ * - 예전에는 질문마다 academy/answers×2/followups×2/teacher×N/readState 를 따로 조회 (N+1)
+ * - 이제 목록 한 번에 대해 질문 id 로 묶어서 조회
+ *   · answers      : questionId $in 1회
+ *   · followups    : questionId $in 1회
+ *   · readState    : ReadStateTracker 메모리 우선, 없는 것만 userId + questionId $in 1회
+ *   · teacher 이름 : 등장한 교사 id $in 1회
+ *   · academy 이름 : 목록에 나온 학원번호별 1회 (보통 1개)
+ * - 계산 규칙은 QuestionController 의 기존 populateExtras / computeUnreadForUser 와 동일
+ * - Question 에 활동 집계(QnaAggregateService)가 있는 방은 answers/followups 를 읽지 않고
+ *   저장된 시각·응답자·최근 메시지 시각과 lastReadAt 만 비교. 집계 전 방만 위 원본 조회 경로
+ */
+@Service
+public class QuestionExtrasService {
+
+    private final AnswerRepository answerRepo;
+    private final FollowUpRepository followUpRepo;
+    private final ReadStateTracker readStates;
+    private final TeacherRepository teacherRepo;
+    private final AcademyRepository academyRepo;
+
+    public QuestionExtrasService(AnswerRepository answerRepo,
+                                 FollowUpRepository followUpRepo,
+                                 ReadStateTracker readStates,
+                                 TeacherRepository teacherRepo,
+                                 AcademyRepository academyRepo) {
+        this.answerRepo = answerRepo;
+        this.followUpRepo = followUpRepo;
+        this.readStates = readStates;
+        this.teacherRepo = teacherRepo;
+        this.academyRepo = academyRepo;
+    }
+
+    /** 단건 */
+    public void fill(Question q, String userId, String role) {
+        if (q == null) return;
+        fill(List.of(q), userId, role);
+    }
+
+    /**
+     * 목록 전체 채우기
+     * @param userId null 이면 미확인 수 / 최근 응답자는 계산하지 않음
+     */
+    public void fill(List<Question> questions, String userId, String role) {
+        if (questions == null || questions.isEmpty()) return;
+
+        List<String> ids = new ArrayList<>(questions.size());
+        List<String> legacyIds = new ArrayList<>();
+        Set<String> tids = new HashSet<>();
+        for (Question q : questions) {
+            if (q == null || q.getId() == null) continue;
+            ids.add(q.getId());
+            if (hasAggregates(q)) {
+                if (q.getResponderIds() != null) tids.addAll(q.getResponderIds());
+            } else {
+                legacyIds.add(q.getId());
+            }
+        }
+
+        Map<String, List<Answer>> answersByQ = loadAnswers(legacyIds);
+        Map<String, List<FollowUp>> followUpsByQ = loadFollowUps(legacyIds);
+        for (List<Answer> list : answersByQ.values()) {
+            for (Answer a : list) if (a.getAuthor() != null && !a.getAuthor().isEmpty()) tids.add(a.getAuthor());
+        }
+        Map<String, Date> lastReadByQ = (userId == null) ? Map.of() : readStates.lastReadAt(userId, ids);
+        Map<String, String> teacherNames = loadTeacherNames(tids);
+        Map<Integer, String> academyNames = loadAcademyNames(questions);
+
+        boolean staffView = role != null
+                && (role.equalsIgnoreCase("teacher") || role.equalsIgnoreCase("director"));
+
+        for (Question q : questions) {
+            if (q == null) continue;
+
+            String academyName = academyNames.get(q.getAcademyNumber());
+            if (academyName != null) q.setAcademyName(academyName);
+
+            if (hasAggregates(q)) {
+                fillFromAggregates(q, teacherNames, userId == null ? null : lastReadByQ.get(q.getId()),
+                        userId != null, staffView);
+                continue;
+            }
+
+            List<Answer> answers = answersByQ.getOrDefault(q.getId(), List.of());
+            List<FollowUp> fus = followUpsByQ.getOrDefault(q.getId(), List.of());
+
+            // ── 교사명 / 최신 답변 시각 / updatedAt ──
+            Date lastAnsAt = null;
+            for (Answer a : answers) {
+                if (a.getCreatedAt() != null && (lastAnsAt == null || a.getCreatedAt().after(lastAnsAt))) {
+                    lastAnsAt = a.getCreatedAt();
+                }
+            }
+            Date lastFuAt = null;
+            for (FollowUp fu : fus) {
+                if (fu.getCreatedAt() != null && (lastFuAt == null || fu.getCreatedAt().after(lastFuAt))) {
+                    lastFuAt = fu.getCreatedAt();
+                }
+            }
+            List<String> names = responderNames(answers, teacherNames);
+            q.setTeacherNames(names);
+            q.setLastAnswerAt(lastAnsAt);
+
+            Date max = q.getCreatedAt();
+            if (lastAnsAt != null && (max == null || lastAnsAt.after(max))) max = lastAnsAt;
+            if (lastFuAt  != null && (max == null || lastFuAt.after(max)))   max = lastFuAt;
+            q.setUpdatedAt(max);
+
+            if (userId == null) continue;
+
+            // ── 미확인 수 ──
+            Date lastRead = lastReadByQ.get(q.getId());
+            int cnt = 0;
+            if (staffView) {
+                // 교사/원장: 학생/학부모 메시지 기준
+                if (q.getCreatedAt() != null && (lastRead == null || q.getCreatedAt().after(lastRead))) cnt++;
+                for (FollowUp fu : fus) {
+                    if (fu.getCreatedAt() == null) continue;
+                    String ar = fu.getAuthorRole() != null ? fu.getAuthorRole().toLowerCase() : "";
+                    if (!(ar.contains("student") || ar.contains("parent"))) continue;
+                    if (lastRead == null || fu.getCreatedAt().after(lastRead)) cnt++;
+                }
+            } else {
+                // 학생/학부모: 교사 답변 기준
+                for (Answer a : answers) {
+                    if (lastRead == null || (a.getCreatedAt() != null && a.getCreatedAt().after(lastRead))) cnt++;
+                }
+            }
+            q.setUnreadCount(cnt);
+            q.setRecentResponderNames(names);
+        }
+    }
+
+    private static boolean hasAggregates(Question q) {
+        return q.getAggVersion() != null && q.getAggVersion() == QnaAggregateService.VERSION;
+    }
+
+    /** 저장된 집계로만 채우기 (answers/followups 조회 없음) */
+    private static void fillFromAggregates(Question q, Map<String, String> teacherNames,
+                                           Date lastRead, boolean withUnread, boolean staffView) {
+        List<String> names = new ArrayList<>();
+        if (q.getResponderIds() != null) {
+            for (String tid : q.getResponderIds()) names.add(teacherNames.getOrDefault(tid, tid));
+        }
+        q.setTeacherNames(names);
+
+        Date max = q.getCreatedAt();
+        if (q.getLastAnswerAt() != null && (max == null || q.getLastAnswerAt().after(max))) max = q.getLastAnswerAt();
+        if (q.getLastFollowUpAt() != null && (max == null || q.getLastFollowUpAt().after(max))) max = q.getLastFollowUpAt();
+        q.setUpdatedAt(max);
+
+        if (!withUnread) return;
+        int cnt;
+        if (staffView) {
+            // 교사/원장: 질문 자체 + 학생/학부모 후속 질문
+            cnt = (q.getCreatedAt() != null && (lastRead == null || q.getCreatedAt().after(lastRead))) ? 1 : 0;
+            cnt += countAfter(q.getRecentFollowUpAts(), q.getFollowUpCount(), lastRead);
+        } else {
+            // 학생/학부모: 교사 답변
+            cnt = countAfter(q.getRecentAnswerAts(), q.getAnswerCount(), lastRead);
+        }
+        q.setUnreadCount(cnt);
+        q.setRecentResponderNames(names);
+    }
+
+    /** lastRead 이후 메시지 수 (읽은 적 없으면 전체 수) */
+    private static int countAfter(List<Date> recent, Integer total, Date lastRead) {
+        if (lastRead == null) return total == null ? 0 : Math.max(0, total);
+        int n = 0;
+        if (recent != null) for (Date d : recent) if (d != null && d.after(lastRead)) n++;
+        return n;
+    }
+
+    /* ─────────────── 일괄 조회 ─────────────── */
+
+    /** 질문별 활성 답변 (createdAt 오름차순) */
+    private Map<String, List<Answer>> loadAnswers(List<String> ids) {
+        Map<String, List<Answer>> out = new HashMap<>();
+        if (ids.isEmpty()) return out;
+        for (Answer a : answerRepo.findByQuestionIdInAndDeletedFalseOrderByCreatedAtDesc(ids)) {
+            if (a == null || a.getQuestionId() == null) continue;
+            out.computeIfAbsent(a.getQuestionId(), k -> new ArrayList<>()).add(a);
+        }
+        Comparator<Answer> byCreated = Comparator.comparing(Answer::getCreatedAt,
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+        for (List<Answer> list : out.values()) list.sort(byCreated);
+        return out;
+    }
+
+    private Map<String, List<FollowUp>> loadFollowUps(List<String> ids) {
+        Map<String, List<FollowUp>> out = new HashMap<>();
+        if (ids.isEmpty()) return out;
+        for (FollowUp fu : followUpRepo.findByQuestionIdInAndDeletedFalse(ids)) {
+            if (fu == null || fu.getQuestionId() == null) continue;
+            out.computeIfAbsent(fu.getQuestionId(), k -> new ArrayList<>()).add(fu);
+        }
+        return out;
+    }
+
+    private Map<String, String> loadTeacherNames(Set<String> tids) {
+        Map<String, String> out = new HashMap<>();
+        if (tids.isEmpty()) return out;
+        for (Teacher t : teacherRepo.findByTeacherIdIn(new ArrayList<>(tids))) {
+            if (t == null || t.getTeacherId() == null) continue;
+            if (t.getTeacherName() != null && !t.getTeacherName().isEmpty()) {
+                out.put(t.getTeacherId(), t.getTeacherName());
+            }
+        }
+        return out;
+    }
+
+    private Map<Integer, String> loadAcademyNames(List<Question> questions) {
+        Map<Integer, String> out = new HashMap<>();
+        Set<Integer> seen = new HashSet<>();
+        for (Question q : questions) {
+            if (q == null || !seen.add(q.getAcademyNumber())) continue;
+            try {
+                Academy ac = academyRepo.findByNumber(q.getAcademyNumber());
+                if (ac != null && ac.getName() != null) out.put(q.getAcademyNumber(), ac.getName());
+            } catch (Exception ignore) {}
+        }
+        return out;
+    }
+
+    /** 답변 순서대로 교사 id 중복 제거 → 이름 (없으면 id 그대로) */
+    private static List<String> responderNames(List<Answer> answers, Map<String, String> teacherNames) {
+        LinkedHashSet<String> tids = new LinkedHashSet<>();
+        for (Answer a : answers) {
+            if (a.getAuthor() != null && !a.getAuthor().isEmpty()) tids.add(a.getAuthor());
+        }
+        List<String> names = new ArrayList<>(tids.size());
+        for (String tid : tids) names.add(teacherNames.getOrDefault(tid, tid));
+        return names;
+    }
+}
@@ -0,0 +1,125 @@
+// src/main/java/com/team103/service/QuestionPageService.java
+package com.team103.service;
+
+import com.team103.dto.QuestionPageResponse;
+import com.team103.model.Question;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * QnA 방 목록 커서 페이징 (updatedAt 내림차순, 같은 시각은 _id 내림차순)
+ *
+ * - questions 의 (academyNumber, updatedAt, _id) 인덱스를 그대로 타서 페이지마다 limit+1 건만 읽음
+ *   (자동 인덱스 생성이 꺼져 있어도 기동 시 ensureIndex)
+ * - 커서는 마지막 항목의 (updatedAt, _id) 를 base64url 로 감싼 불투명 문자열
+ *   · updatedAt 이 없는 문서(집계 backfill 전)는 맨 뒤로 모임 → "n:<id>" 커서로 이어서 조회
+ * - 부가정보(미확인 수 등)는 호출 측에서 QuestionExtrasService 로 페이지 단위만 채움
+ */
+@Service
+public class QuestionPageService {
+
+    private static final Logger log = LoggerFactory.getLogger(QuestionPageService.class);
+
+    public static final int DEFAULT_LIMIT = 30;
+    public static final int MAX_LIMIT = 100;
+
+    private static final Sort ORDER = Sort.by(Sort.Direction.DESC, "updatedAt")
+            .and(Sort.by(Sort.Direction.DESC, "_id"));
+
+    private final MongoTemplate mongo;
+
+    public QuestionPageService(MongoTemplate mongo) {
+        this.mongo = mongo;
+    }
+
+    @PostConstruct
+    void ensureIndex() {
+        try {
+            mongo.indexOps(Question.class).ensureIndex(new Index()
+                    .on("academyNumber", Sort.Direction.ASC)
+                    .on("updatedAt", Sort.Direction.DESC)
+                    .on("_id", Sort.Direction.DESC)
+                    .named("academy_updated_idx"));
+        } catch (RuntimeException e) {
+            log.warn("[QNA-PAGE] index ensure failed : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     * @throws IllegalArgumentException 커서 형식이 잘못된 경우
+     */
+    public QuestionPageResponse page(int academyNumber, String cursor, Integer limit) {
+        int size = (limit == null || limit <= 0) ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+
+        Criteria c = Criteria.where("academyNumber").is(academyNumber);
+        if (cursor != null && !cursor.isBlank()) c = c.andOperator(after(decode(cursor)));
+
+        Query q = new Query(c).with(ORDER).limit(size + 1);
+        List<Question> rows = mongo.find(q, Question.class);
+
+        String next = null;
+        if (rows.size() > size) {
+            rows = new ArrayList<>(rows.subList(0, size));
+            next = encode(rows.get(size - 1));
+        }
+        return new QuestionPageResponse(rows, next);
+    }
+
+    /* ─────────────── 커서 ─────────────── */
+
+    private record Position(Date updatedAt, String id) {}
+
+    /** 정렬상 pos 뒤에 오는 문서 조건 */
+    private static Criteria after(Position pos) {
+        if (pos.updatedAt() == null) {
+            return new Criteria().andOperator(
+                    Criteria.where("updatedAt").is(null),
+                    Criteria.where("_id").lt(pos.id()));
+        }
+        return new Criteria().orOperator(
+                Criteria.where("updatedAt").lt(pos.updatedAt()),
+                new Criteria().andOperator(
+                        Criteria.where("updatedAt").is(pos.updatedAt()),
+                        Criteria.where("_id").lt(pos.id())),
+                Criteria.where("updatedAt").is(null));
+    }
+
+    static String encode(Question last) {
+        String ts = last.getUpdatedAt() == null ? "n" : Long.toString(last.getUpdatedAt().getTime());
+        String raw = ts + ":" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Position decode(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid cursor");
+        }
+        int sep = raw.indexOf(':');
+        if (sep <= 0 || sep == raw.length() - 1) throw new IllegalArgumentException("invalid cursor");
+        String ts = raw.substring(0, sep);
+        String id = raw.substring(sep + 1);
+        if ("n".equals(ts)) return new Position(null, id);
+        try {
+            return new Position(new Date(Long.parseLong(ts)), id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,229 @@
+// src/main/java/com/team103/service/ReadStateTracker.java
+package com.team103.service;
+
+import com.team103.model.QuestionReadState;
+import com.team103.repository.QuestionReadStateRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * QnA 읽음 상태(question_read_state) 메모리 테이블 + 묶음 저장 (write-behind)
+ *
+ * - 방을 열 때마다 findAndModify(upsert, returnNew) 하던 것을 메모리 갱신으로 바꾸고,
+ *   flushMs 마다 바뀐 것만 unordered bulk upsert 1회 ($max 라서 순서가 뒤섞여도 최신 값 유지)
+ * - 미확인 수 계산은 메모리 먼저, 없는 것만 (userId, questionId $in) 1회 조회 후 캐시
+ *   · 다른 인스턴스에서 읽은 기록 대비로 캐시는 ttlSec 후 다시 읽음 (저장 대기 중인 값은 유지)
+ * - (questionId, userId) unique 인덱스 → 문서는 한 쌍에 1건. 예전 중복 문서는 기동 시 최신 1건만 남김
+ * - 종료 시 남은 변경 flush
+ */
+@Service
+public class ReadStateTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadStateTracker.class);
+    private static final String INDEX_NAME = "question_user_uniq";
+
+    /** 조회했지만 기록이 없음 */
+    private static final Date NONE = new Date(Long.MIN_VALUE);
+
+    private final MongoTemplate mongo;
+    private final QuestionReadStateRepository readRepo;
+    private final long ttlMs;
+    private final int maxCached;
+
+    private record Cached(Date lastReadAt, long loadedAt) {}
+
+    /** key = questionId|userId */
+    private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+    /** 아직 저장 안 된 읽음 시각 */
+    private final Map<String, Date> pending = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "read-state-flush");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public ReadStateTracker(MongoTemplate mongo,
+                            QuestionReadStateRepository readRepo,
+                            @Value("${readstate.flush-ms:2000}") long flushMs,
+                            @Value("${readstate.cache.ttl-sec:60}") long ttlSec,
+                            @Value("${readstate.cache.max:200000}") int maxCached) {
+        this.mongo = mongo;
+        this.readRepo = readRepo;
+        this.ttlMs = Math.max(1, ttlSec) * 1000L;
+        this.maxCached = Math.max(1000, maxCached);
+        long every = Math.max(100, flushMs);
+        flusher.scheduleWithFixedDelay(this::flushQuietly, every, every, TimeUnit.MILLISECONDS);
+    }
+
+    private static String key(String questionId, String userId) { return questionId + "|" + userId; }
+
+    /* ─────────────── 쓰기 ─────────────── */
+
+    /** 읽음 표시 (메모리만, 저장은 flusher) */
+    public void markRead(String questionId, String userId, Date when) {
+        if (questionId == null || userId == null || when == null) return;
+        String k = key(questionId, userId);
+        pending.merge(k, when, ReadStateTracker::later);
+        long now = System.currentTimeMillis();
+        cache.merge(k, new Cached(when, now),
+                (a, b) -> new Cached(later(a.lastReadAt() == NONE ? null : a.lastReadAt(), b.lastReadAt()), now));
+        if (cache.size() > maxCached) trimCache();
+    }
+
+    private static Date later(Date a, Date b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.after(b) ? a : b;
+    }
+
+    /* ─────────────── 읽기 ─────────────── */
+
+    /** 질문별 lastReadAt (기록 없는 질문은 결과에 없음) */
+    public Map<String, Date> lastReadAt(String userId, Collection<String> questionIds) {
+        Map<String, Date> out = new HashMap<>();
+        if (userId == null || questionIds == null || questionIds.isEmpty()) return out;
+
+        long now = System.currentTimeMillis();
+        List<String> missing = new ArrayList<>();
+        for (String qid : questionIds) {
+            String k = key(qid, userId);
+            Cached c = cache.get(k);
+            Date p = pending.get(k);
+            if (c != null && (now - c.loadedAt() < ttlMs || p != null)) {
+                Date v = later(c.lastReadAt() == NONE ? null : c.lastReadAt(), p);
+                if (v != null) out.put(qid, v);
+            } else {
+                missing.add(qid);
+            }
+        }
+        if (missing.isEmpty()) return out;
+
+        Map<String, Date> loaded = new HashMap<>();
+        for (QuestionReadState rs : readRepo.findByUserIdAndQuestionIdIn(userId, missing)) {
+            if (rs == null || rs.getQuestionId() == null || rs.getLastReadAt() == null) continue;
+            loaded.merge(rs.getQuestionId(), rs.getLastReadAt(), ReadStateTracker::later);
+        }
+        for (String qid : missing) {
+            String k = key(qid, userId);
+            Date v = later(loaded.get(qid), pending.get(k)); // 조회 중에 찍힌 읽음도 반영
+            cache.put(k, new Cached(v == null ? NONE : v, now));
+            if (v != null) out.put(qid, v);
+        }
+        if (cache.size() > maxCached) trimCache();
+        return out;
+    }
+
+    /** 저장 대기 없는 캐시부터 비움 (대기 중인 값은 flush 전까지 유지) */
+    private void trimCache() {
+        cache.keySet().removeIf(k -> !pending.containsKey(k));
+    }
+
+    /* ─────────────── 저장 ─────────────── */
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("[READ-STATE] flush failed, retry next round : {}", e.getMessage());
+        }
+    }
+
+    /** 대기 중인 읽음 시각을 bulk upsert 1회로 저장. 반환: 저장한 건수 */
+    public synchronized int flush() {
+        if (pending.isEmpty()) return 0;
+        Map<String, Date> batch = new HashMap<>(pending);
+
+        BulkOperations ops = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, QuestionReadState.class);
+        for (Map.Entry<String, Date> e : batch.entrySet()) {
+            int sep = e.getKey().indexOf('|');
+            String qid = e.getKey().substring(0, sep);
+            String uid = e.getKey().substring(sep + 1);
+            ops.upsert(new Query(Criteria.where("questionId").is(qid).and("userId").is(uid)),
+                    new Update().max("lastReadAt", e.getValue()));
+        }
+        ops.execute();
+
+        // 저장하는 사이 더 최신 값이 들어왔으면 남겨 둠
+        for (Map.Entry<String, Date> e : batch.entrySet()) pending.remove(e.getKey(), e.getValue());
+        return batch.size();
+    }
+
+    public int pendingCount() { return pending.size(); }
+
+    /* ─────────────── 인덱스 ─────────────── */
+
+    @PostConstruct
+    void ensureUniqueIndex() {
+        Index idx = new Index()
+                .on("questionId", Sort.Direction.ASC)
+                .on("userId", Sort.Direction.ASC)
+                .unique()
+                .named(INDEX_NAME);
+        try {
+            mongo.indexOps(QuestionReadState.class).ensureIndex(idx);
+        } catch (RuntimeException first) {
+            // 예전 findAndModify 경합으로 생긴 중복 문서가 있으면 정리 후 한 번 더
+            try {
+                int removed = removeDuplicates();
+                mongo.indexOps(QuestionReadState.class).ensureIndex(idx);
+                log.info("[READ-STATE] unique index created after removing {} duplicate docs", removed);
+            } catch (RuntimeException e) {
+                log.warn("[READ-STATE] unique index ensure failed : {}", e.getMessage());
+            }
+        }
+    }
+
+    /** (questionId, userId) 중복 문서 중 lastReadAt 최신 1건만 남김 */
+    private int removeDuplicates() {
+        Aggregation agg = Aggregation.newAggregation(
+                Aggregation.group("questionId", "userId").count().as("n"),
+                Aggregation.match(Criteria.where("n").gt(1)));
+        int removed = 0;
+        for (Document d : mongo.aggregate(agg, QuestionReadState.class, Document.class).getMappedResults()) {
+            Document id = d.get("_id", Document.class);
+            if (id == null) continue;
+            Query dup = new Query(Criteria.where("questionId").is(id.get("questionId"))
+                    .and("userId").is(id.get("userId")))
+                    .with(Sort.by(Sort.Direction.DESC, "lastReadAt"));
+            List<QuestionReadState> docs = mongo.find(dup, QuestionReadState.class);
+            for (int i = 1; i < docs.size(); i++) {
+                mongo.remove(new Query(Criteria.where("_id").is(docs.get(i).getId())), QuestionReadState.class);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            int n = flush();
+            if (n > 0) log.info("[READ-STATE] flushed {} pending read states on shutdown", n);
+        } catch (RuntimeException e) {
+            log.error("[READ-STATE] shutdown flush failed, {} read states lost", pending.size(), e);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+// src/main/java/com/team103/service/SeatBoardCache.java
+package com.team103.service;
+
+import com.team103.dto.SeatBoardResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * (classId, date) 별 조립 완료된 SeatBoardResponse 스냅샷 캐시
+ *
+ * - 좌석판이 바뀌는 건 QR 출석/좌석 이동 때뿐이라, 바뀌지 않은 좌석판 재조회는 메모리에서 바로 응답
+ * - 무효화: SeatBoardChangedEvent (SeatBoardService 쓰기 메서드, AttendanceCheckInController)
+ *   · classId == null 이면 해당 날짜 전체 무효화 (입구 출석 → 대기열 변경)
+ * - LRU 상한(maxEntries) + 안전장치로 최대 보관 시간(maxAgeSec; 강의실/수업 편집처럼 이벤트가 없는 변경 대비)
+ * - 스냅샷마다 단조 증가 version 부여 (SeatBoardResponse.version)
+ * - 빌드 전에 stamp() 를 읽어 두고 putIfUnchanged 로 저장 → 그 사이 같은 (classId, date) 나 날짜 전체가
+ *   무효화됐으면 저장하지 않음 (낡은 데이터로 만든 좌석판이 maxAge 동안 남지 않게)
+ *
+ * ⚠️ 반환된 SeatBoardResponse는 여러 요청이 공유하므로 수정하지 말 것
+ */
+@Component
+public class SeatBoardCache {
+
+    private final int maxEntries;
+    private final long maxAgeMs;
+
+    /** 스냅샷 version 발급기 (전역 단조 증가) */
+    private final AtomicLong versionSeq = new AtomicLong();
+
+    /** 무효화 순번 (stamp) */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /** 키("classId|date" 또는 "*|date")별 마지막 무효화 순번. entries 잠금 안에서만 접근 */
+    private final Map<String, Mark> invalidated = new HashMap<>();
+    /** maxAge 가 지나 정리한 무효화 기록 중 가장 큰 순번 (이보다 오래된 stamp 는 저장 거부) */
+    private long prunedUpTo;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final LinkedHashMap<String, Entry> entries;
+
+    private record Entry(String date, SeatBoardResponse board, long builtAt) {}
+
+    private record Mark(long seq, long at) {}
+
+    public SeatBoardCache(@Value("${seatboard.cache.max-entries:512}") int maxEntries,
+                          @Value("${seatboard.cache.max-age-sec:60}") long maxAgeSec) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.maxAgeMs = Math.max(1, maxAgeSec) * 1000L;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > SeatBoardCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    private static String keyOf(String classId, String ymd) { return classId + "|" + ymd; }
+    private static String dateKeyOf(String ymd) { return "*|" + ymd; }
+
+    /** 캐시에 있으면 반환, 없으면 loader로 조립 후 저장 */
+    public SeatBoardResponse get(String classId, String ymd, Supplier<SeatBoardResponse> loader) {
+        final String key = keyOf(classId, ymd);
+        final long now = System.currentTimeMillis();
+
+        synchronized (entries) {
+            Entry e = entries.get(key);
+            if (e != null && now - e.builtAt() < maxAgeMs) {
+                hits.incrementAndGet();
+                return e.board();
+            }
+        }
+
+        misses.incrementAndGet();
+        final long stamp = stamp();
+        return putIfUnchanged(classId, ymd, loader.get(), stamp);
+    }
+
+    /** 빌드(DB 조회) 시작 전에 읽어 둘 무효화 순번 */
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    /**
+     * version 을 붙여 저장. 단, stamp 이후 (classId, date) 또는 그 날짜 전체가 무효화됐으면 저장하지 않음
+     * (조회는 무효화 전 데이터였을 수 있음). 어느 쪽이든 board 를 그대로 반환
+     */
+    public SeatBoardResponse putIfUnchanged(String classId, String ymd, SeatBoardResponse board, long stamp) {
+        board.setVersion(versionSeq.incrementAndGet());
+        synchronized (entries) {
+            if (stamp >= prunedUpTo
+                    && lastInvalidated(keyOf(classId, ymd)) <= stamp
+                    && lastInvalidated(dateKeyOf(ymd)) <= stamp) {
+                entries.put(keyOf(classId, ymd), new Entry(ymd, board, System.currentTimeMillis()));
+            }
+        }
+        return board;
+    }
+
+    private long lastInvalidated(String key) {
+        Mark m = invalidated.get(key);
+        return m == null ? 0 : m.seq();
+    }
+
+    /** 유효한 스냅샷이 있으면 반환, 없으면 null (일괄 조회에서 캐시된 것만 먼저 골라낼 때) */
+    public SeatBoardResponse peek(String classId, String ymd) {
+        final long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry e = entries.get(keyOf(classId, ymd));
+            if (e == null || now - e.builtAt() >= maxAgeMs) return null;
+            hits.incrementAndGet();
+            return e.board();
+        }
+    }
+
+    public void invalidate(String classId, String ymd) {
+        synchronized (entries) {
+            long seq = invalidations.incrementAndGet();
+            long now = System.currentTimeMillis();
+            if (classId == null) {
+                entries.values().removeIf(e -> Objects.equals(e.date(), ymd));
+                invalidated.put(dateKeyOf(ymd), new Mark(seq, now));
+            } else {
+                entries.remove(keyOf(classId, ymd));
+                invalidated.put(keyOf(classId, ymd), new Mark(seq, now));
+            }
+            // 무효화 기록은 maxAge 지난 것부터 정리 (그보다 오래 걸린 빌드는 어차피 저장 거부)
+            if (invalidated.size() > maxEntries * 4) {
+                invalidated.values().removeIf(m -> {
+                    if (now - m.at() < maxAgeMs) return false;
+                    prunedUpTo = Math.max(prunedUpTo, m.seq());
+                    return true;
+                });
+            }
+        }
+    }
+
+    @EventListener
+    public void onSeatBoardChanged(SeatBoardChangedEvent e) {
+        if (e == null || e.date() == null) return;
+        invalidate(e.classId(), e.date());
+    }
+
+    /** 운영 확인용 통계 */
+    public Map<String, Object> stats() {
+        int size;
+        synchronized (entries) { size = entries.size(); }
+        long h = hits.get(), m = misses.get();
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("size", size);
+        out.put("maxEntries", maxEntries);
+        out.put("hits", h);
+        out.put("misses", m);
+        out.put("hitRatio", (h + m) == 0 ? 0.0 : (double) h / (h + m));
+        out.put("evictions", evictions.get());
+        out.put("invalidations", invalidations.get());
+        return out;
+    }
+}
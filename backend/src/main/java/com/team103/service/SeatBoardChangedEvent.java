@@ -0,0 +1,8 @@
+// src/main/java/com/team103/service/SeatBoardChangedEvent.java
+package com.team103.service;
+
+/**
+ * 좌석판에 영향을 주는 쓰기(좌석 배정/해제, 이동·휴식, QR 출석)가 일어났다는 알림.
+ * - classId == null 이면 해당 날짜의 모든 좌석판(입구 출석 → 대기열 변경 등)
+ */
+public record SeatBoardChangedEvent(String classId, String date) {}
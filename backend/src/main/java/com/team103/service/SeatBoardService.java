@@ -10,15 +10,19 @@ import com.team103.repository.AttendanceRepository;
 import com.team103.repository.CourseRepository;
 import com.team103.repository.RoomRepository;
 import com.team103.repository.StudentRepository;
-import com.team103.repository.WaitingRoomRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import java.lang.reflect.Method;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.*;
 
 @Service
 public class SeatBoardService {
@@ -27,22 +31,56 @@ public class SeatBoardService {
     private static final DateTimeFormatter YMD = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter HM  = DateTimeFormatter.ofPattern("HH:mm");
 
+    private static final Logger log = LoggerFactory.getLogger(SeatBoardService.class);
+
     private final CourseRepository courseRepo;
     private final AttendanceRepository attRepo;
     private final RoomRepository roomRepo;
     private final StudentRepository studentRepo;
-    private final WaitingRoomRepository waitingRepo;
+    private final LobbyService lobby;
+    private final ApplicationEventPublisher events;
+    private final SeatBoardCache boardCache;
+    private final CourseScheduleIndex scheduleIndex;
+    private final AttendanceWriteService attWrites;
+    private final EntranceCheckInService entrance;
+    private final CheckInDedup dedup;
+
+    /** 원장 현황판 일괄 조립용 (Java 17: 가상 스레드 대신 크기 제한 풀, 넘치면 호출 스레드에서 실행) */
+    private final ExecutorService overviewPool;
 
     public SeatBoardService(CourseRepository courseRepo,
                             AttendanceRepository attRepo,
                             RoomRepository roomRepo,
                             StudentRepository studentRepo,
-                            WaitingRoomRepository waitingRepo) {
+                            LobbyService lobby,
+                            ApplicationEventPublisher events,
+                            SeatBoardCache boardCache,
+                            CourseScheduleIndex scheduleIndex,
+                            AttendanceWriteService attWrites,
+                            EntranceCheckInService entrance,
+                            CheckInDedup dedup,
+                            @Value("${seatboard.overview.parallelism:4}") int overviewParallelism) {
         this.courseRepo = courseRepo;
         this.attRepo = attRepo;
         this.roomRepo = roomRepo;
         this.studentRepo = studentRepo;
-        this.waitingRepo = waitingRepo;
+        this.lobby = lobby;
+        this.events = events;
+        this.boardCache = boardCache;
+        this.scheduleIndex = scheduleIndex;
+        this.attWrites = attWrites;
+        this.entrance = entrance;
+        this.dedup = dedup;
+
+        int n = Math.max(1, overviewParallelism);
+        this.overviewPool = new ThreadPoolExecutor(n, n, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(256),
+                r -> {
+                    Thread t = new Thread(r, "seat-board-overview");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
     }
 
     /* ─────────────── util ─────────────── */
@@ -60,18 +98,6 @@ public class SeatBoardService {
     private static Integer seatNumberOf(Room.VectorSeat v){ return v==null?null:parseIntOrNull(v.getLabel()); }
     private static int seatOrderOf(Room.VectorSeat v){ Integer n=seatNumberOf(v); return n==null?Integer.MAX_VALUE:n; }
 
-    private static Object tryInvoke(Object t,String n,Class<?>[] tp,Object[] a){
-        if(t==null)return null;
-        try{
-            Method m=tp==null?t.getClass().getMethod(n):t.getClass().getMethod(n,tp);
-            m.setAccessible(true);
-            return a==null?m.invoke(t):m.invoke(t,a);
-        }catch(Exception e){return null;}
-    }
-    private static String tryGetString(Object t,String n){
-        Object v=tryInvoke(t,n,null,null);
-        return v==null?null:String.valueOf(v);
-    }
 
     /* ─────────────── 시간 계산 유틸 (지각/결석 판정용) ─────────────── */
 
@@ -129,15 +155,15 @@ public class SeatBoardService {
         if(ids==null||ids.isEmpty())return map;
         studentRepo.findByStudentIdIn(new ArrayList<>(ids)).forEach(s->{
             if(s==null)return;
-            String sid=tryGetString(s,"getStudentId");
-            String nm=firstNonBlank(tryGetString(s,"getStudentName"),tryGetString(s,"getName"));
+            String sid=ModelAccessors.studentId(s);
+            String nm=ModelAccessors.studentName(s);
             if(sid!=null&&nm!=null)map.put(sid,nm);
         });
         return map;
     }
 
     /**
-     * waiting_room 기준 대기열 조회 + 이 반 학생들의 상태를 "입구 출석"으로 올려줌
+     * 학원 대기열 조회 ("입구 출석" 상태 승격은 buildSeatBoard 3-1 에서 entrance_daily 기준)
      */
     private List<SeatBoardResponse.WaitingItem> loadWaiting(
             int academyNumber,
@@ -146,32 +172,15 @@ public class SeatBoardService {
             Map<String,String> statusByStudent,
             String ymd
     ){
-        // 1) 기본적으로는 학원번호 기준으로 가져오고
-        List<WaitingRoom> raws;
-        if (academyNumber > 0) {
-            raws = waitingRepo.findByAcademyNumber(academyNumber);
-            // 🔥 혹시 한 건도 없으면, 학원번호 무시하고 전체에서 찾기 (테스트/데이터 꼬임 대비)
-            if (raws == null || raws.isEmpty()) {
-                raws = waitingRepo.findAll();
-            }
-        } else {
-            // academyNumber를 못 구한 경우엔 그냥 전체에서
-            raws = waitingRepo.findAll();
-        }
-
+        // 1) 학원 대기실 (LobbyService 메모리, 체크인 시각 순) — 다른 학원/전체 스캔 없음
         // 2) 이 반 학생(roster) + 오늘(ymd)만 필터링
-        raws = raws.stream()
-                .filter(w -> roster.contains(w.getStudentId()))
-                .filter(w -> {
-                    String ts = w.getCheckedInAt();
-                    return ts == null || ts.startsWith(ymd);
-                })
-                .toList();
-
+        Set<String> rosterSet = new HashSet<>(roster);
         List<SeatBoardResponse.WaitingItem> out = new ArrayList<>();
-        for (WaitingRoom w : raws) {
+        for (WaitingRoom w : lobby.waiting(academyNumber)) {
             String sid = w.getStudentId();
-
+            if (!rosterSet.contains(sid)) continue;
+            String ts = w.getCheckedInAt();
+            if (ts != null && !ts.startsWith(ymd)) continue;
 
             SeatBoardResponse.WaitingItem it = new SeatBoardResponse.WaitingItem();
             it.setStudentId(sid);
@@ -180,11 +189,6 @@ public class SeatBoardService {
             it.setCheckedInAt(w.getCheckedInAt());
             out.add(it);
         }
-
-        out.sort(Comparator.comparing(
-                SeatBoardResponse.WaitingItem::getCheckedInAt,
-                Comparator.nullsLast(String::compareTo)
-        ));
         return out;
     }
 
@@ -192,6 +196,7 @@ public class SeatBoardService {
     /**
      * 학원번호 + 방번호 + 학생ID + 날짜 기준으로
      * "이 학생이 이 방에서 듣는 수업"의 classId를 찾아준다.
+     * - CourseScheduleIndex: (학원, 방, 날짜) → classIds 조회 후 roster Set 확인 (전체 Course 스캔 없음)
      */
     public String findClassIdForRoomAndStudent(int academyNumber,
                                                int roomNumber,
@@ -200,104 +205,126 @@ public class SeatBoardService {
 
         if (academyNumber <= 0 || roomNumber <= 0 || isBlank(studentId)) return null;
 
-        List<Course> all = courseRepo.findAll();
-        for (Course c : all) {
-            if (c == null) continue;
+        final String day = isBlank(ymd) ? todayYmd() : ymd.trim();
+        return scheduleIndex.findClassId(academyNumber, roomNumber, studentId.trim(), day);
+    }
 
-            // 1) 학원번호 매칭
-            boolean academyOk = false;
-            try {
-                @SuppressWarnings("unchecked")
-                List<Integer> nums = (List<Integer>) tryInvoke(c, "getAcademyNumbersSafe", null, null);
-                if (nums != null && !nums.isEmpty()) {
-                    if (nums.contains(academyNumber)) {
-                        academyOk = true;
-                    }
-                } else {
-                    Object v = tryInvoke(c, "getAcademyNumber", null, null);
-                    Integer an = (v != null) ? Integer.valueOf(String.valueOf(v)) : null;
-                    if (an == null || Objects.equals(an, academyNumber)) {
-                        // an == null 이면 같은 학원으로 친다 (구데이터 호환)
-                        academyOk = true;
-                    }
-                }
-            } catch (Exception ignore) {}
-            if (!academyOk) continue;
-
-            // 2) 방 번호 매칭 (roomFor(ymd) → 없으면 primaryRoomNumber)
-            Integer rn = null;
+    /* ─────────────── 좌석판 조회 ─────────────── */
+
+    /** 스냅샷 캐시 우선 (쓰기 시 SeatBoardChangedEvent로 무효화). 반환 객체는 공유되므로 수정 금지 */
+    public SeatBoardResponse getSeatBoard(String classId,String date){
+        final String ymd = isBlank(date) ? todayYmd() : date.trim();
+        return boardCache.get(classId, ymd, () -> buildSeatBoard(classId, ymd));
+    }
+
+    /**
+     * 학원 전체 좌석판 일괄 조회 (원장 현황판)
+     * - 캐시에 없는 수업만 모아서 출석 문서 / 학생 이름 / 입구 출석을 각각 한 번에 읽고,
+     *   조립(assembleBoard)은 overviewPool 에서 병렬 → 강의실 수와 관계없이 쿼리 수 일정
+     * - 조립에 실패한 수업은 결과에서 빠짐 (호출 측에서 빈 좌석판으로 대체)
+     *
+     * @param courses classId → Course (호출 측에서 학원/날짜 기준으로 고른 것)
+     * @param rooms   방번호 → Room (같은 학원 강의실)
+     */
+    public Map<String, SeatBoardResponse> getSeatBoards(int academyNumber, String date,
+                                                         Map<String, Course> courses,
+                                                         Map<Integer, Room> rooms) {
+        final String ymd = isBlank(date) ? todayYmd() : date.trim();
+        Map<String, SeatBoardResponse> out = new LinkedHashMap<>();
+
+        // 1) 캐시에 있는 것은 그대로
+        List<String> misses = new ArrayList<>();
+        for (String cid : courses.keySet()) {
+            SeatBoardResponse cached = boardCache.peek(cid, ymd);
+            if (cached != null) out.put(cid, cached);
+            else misses.add(cid);
+        }
+        if (misses.isEmpty()) return out;
+
+        // 무효화 stamp 는 DB 를 읽기 전에 → 읽는 도중 바뀐 수업의 좌석판은 캐시에 넣지 않음
+        final long stamp = boardCache.stamp();
+
+        // 2) 출석 문서 한 번에 (없는 것만 개별 생성: 그날 첫 조회 때뿐)
+        Map<String, Attendance> attByClass = new HashMap<>();
+        for (Attendance a : attRepo.findByClassIdInAndDateBetween(misses, ymd, ymd)) {
+            if (a != null && a.getClassId() != null) attByClass.putIfAbsent(a.getClassId(), a);
+        }
+
+        record Input(String classId, Course course, Integer roomNumber, Room room, Attendance att) {}
+        List<Input> inputs = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
+        for (String cid : misses) {
+            Course c = courses.get(cid);
+            Integer rn = ModelAccessors.roomFor(c, ymd);
+            if (rn == null) continue;
             try {
-                Object rf = tryInvoke(c, "getRoomFor", new Class[]{String.class}, new Object[]{ymd});
-                if (rf != null) rn = Integer.valueOf(String.valueOf(rf));
-            } catch (Exception ignore) {}
-            if (rn == null) {
-                Object v = tryInvoke(c, "getPrimaryRoomNumber", null, null);
-                if (v != null) rn = Integer.valueOf(String.valueOf(v));
-            }
-            if (rn == null || !Objects.equals(rn, roomNumber)) continue;
-
-            // 3) roster(학생 리스트)에 이 학생이 포함되는지
-            Object rosterObj = tryInvoke(c, "getStudents", null, null);
-            boolean inRoster = false;
-            if (rosterObj instanceof List<?> roster) {
-                for (Object sidObj : roster) {
-                    if (sidObj == null) continue;
-                    String sid = String.valueOf(sidObj).trim();
-                    if (!sid.isEmpty() && studentId.equals(sid)) {
-                        inRoster = true;
-                        break;
-                    }
-                }
+                Room room = rooms.get(rn);
+                if (room == null) room = resolveRoom(rn, academyNumber);
+                Attendance att = attByClass.get(cid);
+                if (att == null) att = ensureAttendanceDoc(cid, ymd, c);
+                ids.addAll(boardStudentIds(c, rn, att));
+                inputs.add(new Input(cid, c, rn, room, att));
+            } catch (RuntimeException e) {
+                log.warn("[SEAT-BOARD] overview skip class={} : {}", cid, e.getMessage());
             }
-            if (!inRoster) continue;
+        }
 
-            // 4) classId 추출
-            String cid = tryGetString(c, "getClassId");
-            if (isBlank(cid) || "null".equalsIgnoreCase(cid)) {
-                cid = tryGetString(c, "getId");
-            }
-            if (!isBlank(cid)) {
-                return cid;
-            }
+        // 3) 이름 / 입구 출석 한 번씩
+        Map<String,String> nameById = resolveStudentNames(ids);
+        Set<String> entered = entrance.checkedInStudents(academyNumber, ymd);
+
+        // 4) 병렬 조립 → 캐시에 저장
+        Map<String, CompletableFuture<SeatBoardResponse>> futures = new LinkedHashMap<>();
+        for (Input in : inputs) {
+            futures.put(in.classId(), CompletableFuture.supplyAsync(() -> assembleBoard(
+                    in.course(), ymd, in.roomNumber(), in.room(), in.room().getAcademyNumber(),
+                    in.att(), nameById, entered), overviewPool));
         }
-        return null;
+        futures.forEach((cid, f) -> {
+            try {
+                SeatBoardResponse built = f.join();
+                out.put(cid, boardCache.putIfUnchanged(cid, ymd, built, stamp));
+            } catch (CompletionException e) {
+                log.warn("[SEAT-BOARD] overview build failed class={} : {}", cid, e.getCause().getMessage());
+            }
+        });
+        return out;
     }
 
-    /* ─────────────── 좌석판 조회 ─────────────── */
-    public SeatBoardResponse getSeatBoard(String classId,String date){
-        final String ymd = isBlank(date) ? todayYmd() : date.trim();
+    @PreDestroy
+    public void shutdownOverviewPool() {
+        overviewPool.shutdownNow();
+    }
+
+    private SeatBoardResponse buildSeatBoard(String classId,String ymd){
 
         // 1) 수업
         Course course = courseRepo.findByClassId(classId)
                 .orElseThrow(() -> new RuntimeException("class not found: " + classId));
 
         // 해당 날짜의 우선 강의실 번호 결정 (코스 오버라이드 > 기본)
-        Integer roomNumber = null;
-        try{
-            Object v=tryInvoke(course,"getRoomFor",new Class[]{String.class},new Object[]{ymd});
-            if(v!=null)roomNumber=Integer.valueOf(String.valueOf(v));
-        }catch(Exception ignore){}
-        if(roomNumber==null){
-            // 1순위 방으로 폴백
-            Object v=tryInvoke(course,"getPrimaryRoomNumber",null,null);
-            if(v!=null) roomNumber = Integer.valueOf(String.valueOf(v));
-        }
+        Integer roomNumber = ModelAccessors.roomFor(course, ymd);
         if(roomNumber==null) {
             throw new RuntimeException("room not set: "+classId+" @ "+ymd);
         }
 
-        // 학원번호 (복수 필드 호환)
-        List<Integer> academies = new ArrayList<>();
-        try {
-            @SuppressWarnings("unchecked")
-            List<Integer> tmp=(List<Integer>)tryInvoke(course,"getAcademyNumbersSafe",null,null);
-            if(tmp!=null) academies = tmp;
-        } catch (Exception ignore) {}
-        Integer academyNumber = !academies.isEmpty()
-                ? academies.get(0)
-                : (Integer) tryInvoke(course,"getAcademyNumber",null,null);
-
-        // 2) 강의실
+        // 2) 강의실 (학원번호는 복수 필드 호환, 못 찾으면 폴백한 강의실의 학원)
+        Integer academyNumber = ModelAccessors.academyNumber(course);
+        Room room = resolveRoom(roomNumber, academyNumber);
+        academyNumber = room.getAcademyNumber();
+
+        // 3) 출석(해당일) 문서 보장
+        Attendance att = ensureAttendanceDoc(classId, ymd, course);
+
+        // 3-1) 이름 맵 / 오늘 입구 출석한 학생 (entrance_daily 요약 1~2건만 조회)
+        Map<String,String> nameById = resolveStudentNames(boardStudentIds(course, roomNumber, att));
+        Set<String> entered = entrance.checkedInStudents(academyNumber, ymd);
+
+        return assembleBoard(course, ymd, roomNumber, room, academyNumber, att, nameById, entered);
+    }
+
+    /** 날짜별 강의실: 학원+방번호 → 없으면 방번호만으로 폴백 */
+    private Room resolveRoom(int roomNumber, Integer academyNumber) {
         Room room = null;
         if (academyNumber != null) {
             room = roomRepo.findByRoomNumberAndAcademyNumber(roomNumber, academyNumber).orElse(null);
@@ -311,13 +338,43 @@ public class SeatBoardService {
                 throw new RuntimeException("room not found: room=" + roomNumber + ", academy=" + academyNumber);
             }
             room = lst.get(0);
-            academyNumber = room.getAcademyNumber();
         }
+        return room;
+    }
+
+    /** 좌석판에 이름이 필요한 학생 ID (좌석 배정 + Seat_Map + 출석 명단) */
+    private static Set<String> boardStudentIds(Course course, Integer roomNumber, Attendance att) {
+        Set<String> ids = new HashSet<>(ModelAccessors.seatMapFor(course, roomNumber).values());
+        if (att.getSeatAssignments() != null) {
+            for (Attendance.SeatAssign a : att.getSeatAssignments()) {
+                if (a != null && !isBlank(a.getStudentId())) ids.add(a.getStudentId());
+            }
+        }
+        if (att.getAttendanceList() != null) {
+            for (Attendance.Item it : att.getAttendanceList()) {
+                if (it != null && !isBlank(it.getStudentId())) ids.add(it.getStudentId());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 미리 읽어 둔 데이터로 좌석판 조립 (출석/이름/입구 출석은 인자로 받은 것만 사용)
+     * - 대기열은 LobbyService 메모리 우선, 그 학원이 아직 적재 전이면 lobby.waiting 이 Mongo 에서 읽음
+     * - 단건 조회(buildSeatBoard)와 학원 전체 일괄 조회(getSeatBoards)가 같이 사용
+     */
+    private SeatBoardResponse assembleBoard(Course course, String ymd, Integer roomNumber, Room room,
+                                            int academyNumber, Attendance att,
+                                            Map<String,String> nameById, Set<String> entered){
 
-        // 3) 출석(해당일) 문서 보장 + 상태 맵
-        Attendance att = ensureAttendanceDoc(classId, ymd, course);
         Map<String,String> statusByStudent = buildStatusMap(att);
 
+        // 미기록인데 오늘 입구 QR을 찍은 학생 → "입구 출석"
+        if (!entered.isEmpty()) {
+            statusByStudent.replaceAll((sid, st) ->
+                    "미기록".equals(st) && entered.contains(sid) ? "입구 출석" : st);
+        }
+
         // 4) 좌석 배정: Attendance.seatAssignments + Course.Seat_Map 병합
         Map<String,String> studentBySeatLabel = new HashMap<>();
         if(att.getSeatAssignments()!=null){
@@ -327,30 +384,8 @@ public class SeatBoardService {
                 if(!isBlank(k)&&!isBlank(a.getStudentId()))studentBySeatLabel.put(k,a.getStudentId());
             }
         }
-        try{
-            Object raw=tryInvoke(course,"getSeatMap",null,null);
-            if(raw instanceof Map<?,?> top){
-                Object sub=top.get(String.valueOf(roomNumber));
-                if(sub==null)sub=top.get(roomNumber);
-                if(sub instanceof Map<?,?> inner){
-                    for(var e:inner.entrySet()){
-                        String k=String.valueOf(e.getKey());
-                        String v=String.valueOf(e.getValue());
-                        // Attendance에서 이미 지정한 좌석은 우선
-                        studentBySeatLabel.putIfAbsent(k,v);
-                    }
-                }
-            }
-        }catch(Exception ignore){}
-
-        // 이름 맵 대상 수집
-        Set<String> ids=new HashSet<>(studentBySeatLabel.values());
-        if(att.getAttendanceList()!=null) {
-            att.getAttendanceList().forEach(it -> {
-                if(it!=null && !isBlank(it.getStudentId())) ids.add(it.getStudentId());
-            });
-        }
-        Map<String,String> nameById = resolveStudentNames(ids);
+        // Attendance에서 이미 지정한 좌석은 우선
+        ModelAccessors.seatMapFor(course, roomNumber).forEach(studentBySeatLabel::putIfAbsent);
 
         // 5) roster & 웨이팅 (여기서 "입구 출석" 반영)
         List<String> roster = att.getAttendanceList()!=null
@@ -360,9 +395,8 @@ public class SeatBoardService {
                 .toList()
                 : List.of();
 
-        List<SeatBoardResponse.WaitingItem> waiting = (academyNumber!=null)
-                ? loadWaiting(academyNumber, roster, nameById, statusByStudent, ymd)
-                : List.of();
+        List<SeatBoardResponse.WaitingItem> waiting =
+                loadWaiting(academyNumber, roster, nameById, statusByStudent, ymd);
 
         // 6) 좌석 상태 구성 (vector 우선 → legacyGrid 폴백)
         List<SeatBoardResponse.SeatStatus> seats=new ArrayList<>();
@@ -433,7 +467,7 @@ public class SeatBoardService {
         SeatBoardResponse r=new SeatBoardResponse();
         SeatBoardResponse.CurrentClass cc=new SeatBoardResponse.CurrentClass();
         cc.setClassId(course.getClassId());
-        cc.setClassName((String)tryInvoke(course,"getClassName",null,null));
+        cc.setClassName(ModelAccessors.className(course));
         r.setCurrentClass(cc);
         r.setDate(ymd);
         r.setLayoutType(layoutType);
@@ -480,125 +514,69 @@ public class SeatBoardService {
 
     /**
      * @param markAttendance true이면 좌석 배정과 함께 출결 상태도 판정(기존 QR 동작), false이면 좌석만 배정
+     *
+     * 문서 전체 save() 대신 AttendanceWriteService 부분 갱신 (동시 QR 스캔끼리 덮어쓰지 않음)
      */
     public void assignSeat(String classId,String date,String seatLabel,String studentId, boolean markAttendance){
         if(isBlank(seatLabel)||isBlank(studentId))
             throw new IllegalArgumentException("seatLabel/studentId required");
         String ymd=isBlank(date)?todayYmd():date.trim();
 
-        Attendance att=ensureAttendanceDoc(classId,ymd,null);
-        List<Attendance.SeatAssign> list=new ArrayList<>(nvl(att.getSeatAssignments(),List.of()));
-        // 같은 좌석/학생 중복 제거
-        list.removeIf(x->seatLabel.equals(x.getSeatLabel())||studentId.equals(x.getStudentId()));
-        Attendance.SeatAssign a=new Attendance.SeatAssign();
-        a.setSeatLabel(seatLabel);
-        a.setStudentId(studentId);
-        list.add(a);
-        att.setSeatAssignments(list);
+        if (markAttendance) {
+            // QR 반복 스캔: 같은 학생+수업+좌석이 창 안에 다시 오면 Mongo 안 건드림
+            dedup.once(CheckInDedup.seatKey(studentId, classId, seatLabel, ymd),
+                    () -> { doAssignSeat(classId, ymd, seatLabel, studentId, true); return Boolean.TRUE; },
+                    ok -> true);
+        } else {
+            doAssignSeat(classId, ymd, seatLabel, studentId, false);
+        }
+    }
+
+    private void doAssignSeat(String classId,String ymd,String seatLabel,String studentId, boolean markAttendance){
+        ensureAttendanceDoc(classId,ymd,null);
+        // 같은 좌석/학생 기존 배정 제거 + 추가 (Seat_Version CAS)
+        attWrites.assignSeat(classId,ymd,seatLabel,studentId);
 
         if (markAttendance) {
             // 🔥 수업 시작 시간 기준으로 출석/지각/결석 판정
             Course c = courseRepo.findByClassId(classId).orElse(null);
             String newStatus = decideStatusForCheckIn(c, ymd);
 
-            ensureAttendanceStatus(att,studentId,newStatus);
-            attRepo.save(att);
+            // "출석"은 미기록/입구 출석/이동/휴식일 때만 승격, 그 외 상태는 덮어쓰기
+            attWrites.markCheckIn(classId,ymd,studentId,newStatus);
 
             // 웨이팅 삭제
             try{
-                Integer an=(Integer)tryInvoke(c,"getAcademyNumber",null,null);
-                if(an!=null)waitingRepo.deleteByAcademyNumberAndStudentId(an,studentId);
+                Integer an=ModelAccessors.academyNumber(c);
+                if(an!=null)lobby.remove(an,studentId);
             }catch(Exception ignore){}
-        } else {
-            attRepo.save(att);
         }
+        events.publishEvent(new SeatBoardChangedEvent(classId, ymd));
     }
 
     public void unassignSeat(String classId,String date,String seatLabel){
         String ymd=isBlank(date)?todayYmd():date.trim();
-        Attendance att=attRepo.findFirstByClassIdAndDate(classId,ymd);
-        if(att==null||att.getSeatAssignments()==null)return;
-        att.getSeatAssignments().removeIf(x->seatLabel.equals(x.getSeatLabel()));
-        attRepo.save(att);
+        attWrites.unassignSeat(classId,ymd,seatLabel);
+        dedup.forgetSeat(classId,seatLabel,ymd); // 해제 직후 재스캔은 새 배정으로 처리
+        events.publishEvent(new SeatBoardChangedEvent(classId, ymd));
     }
 
     public void moveOrBreak(String classId,String date,String studentId,String status){
         String ymd=isBlank(date)?todayYmd():date.trim();
-        Attendance att=ensureAttendanceDoc(classId,ymd,null);
+        ensureAttendanceDoc(classId,ymd,null);
 
         // ✅ 좌석은 그대로 두고, 상태만 이동/휴식/대기로 변경
-        ensureAttendanceStatus(att,studentId,isBlank(status)?"이동":status);
-
-        attRepo.save(att);
+        attWrites.setStatus(classId,ymd,studentId,isBlank(status)?"이동":status,null,null);
+        events.publishEvent(new SeatBoardChangedEvent(classId, ymd));
     }
 
+    /** 없으면 roster(미기록)로 생성 (upsert라 동시 생성돼도 한 건) */
     private Attendance ensureAttendanceDoc(String classId, String ymd, Course opt) {
         Attendance att = attRepo.findFirstByClassIdAndDate(classId, ymd);
         if (att != null) return att;
 
-        att = new Attendance();
-        att.setClassId(classId);
-        att.setDate(ymd);
-        att.setAttendanceList(new ArrayList<>());
-        att.setSeatAssignments(new ArrayList<>());
-
         Course c = (opt != null) ? opt : courseRepo.findByClassId(classId).orElse(null);
-        if (c != null) {
-            Object rosterObj = tryInvoke(c, "getStudents", null, null);
-            if (rosterObj instanceof List<?> roster) {
-                for (Object sidObj : roster) {
-                    if (sidObj == null) continue;
-                    String sid = String.valueOf(sidObj).trim();
-                    if (sid.isEmpty()) continue;
-
-                    Attendance.Item it = new Attendance.Item();
-                    it.setStudentId(sid);
-                    it.setStatus("미기록");
-                    att.getAttendanceList().add(it);
-                }
-            }
-        }
-        return attRepo.save(att);
-    }
-
-    private void ensureAttendanceStatus(Attendance att, String sid, String newStatus){
-        if(att.getAttendanceList()==null)
-            att.setAttendanceList(new ArrayList<>());
-
-        for(Attendance.Item it : att.getAttendanceList()){
-            if(!sid.equals(it.getStudentId())) continue;
-
-            String cur = it.getStatus();
-
-            // 🔥 새 상태가 "출석"인 경우: 일부 상태만 덮어쓰기
-            if("출석".equals(newStatus)) {
-                // 이미 지각/결석이면 그대로 유지
-                if("지각".equals(cur) || "LATE".equalsIgnoreCase(cur) ||
-                   "결석".equals(cur) || "ABSENT".equalsIgnoreCase(cur)) {
-                    return; // 그대로 두고 종료
-                }
-
-                // 미기록/입구 출석/이동/휴식/공백 등은 "출석"으로 승격
-                if(cur == null || cur.isBlank() ||
-                   "미기록".equals(cur) ||
-                   "입구 출석".equals(cur) ||
-                   "이동".equals(cur) || "MOVE".equalsIgnoreCase(cur) ||
-                   "휴식".equals(cur) || "BREAK".equalsIgnoreCase(cur)) {
-                    it.setStatus("출석");
-                }
-                return;
-            }
-
-            // 🔥 새 상태가 "이동" / "휴식" / "결석" / "지각" 등일 때는 그대로 덮어쓰기
-            it.setStatus(newStatus);
-            return;
-        }
-
-        // 기존 엔트리가 없으면 새로 추가
-        Attendance.Item it = new Attendance.Item();
-        it.setStudentId(sid);
-        it.setStatus(newStatus);
-        att.getAttendanceList().add(it);
+        return attWrites.ensureDoc(classId, ymd, ModelAccessors.roster(c));
     }
 
 }
@@ -0,0 +1,283 @@
+// src/main/java/com/team103/service/SeatBoardStreamService.java
+package com.team103.service;
+
+import com.team103.dto.SeatBoardDelta;
+import com.team103.dto.SeatBoardResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 좌석판 실시간 스트림(SSE)
+ *
+ * - 구독 시 "board" 이벤트로 전체 SeatBoardResponse 1회 전송
+ * - 이후 SeatBoardChangedEvent 가 올 때만 좌석판을 다시 만들어 바뀐 좌석/카운트만 "delta" 이벤트로 전송
+ * - 구독자가 없는 좌석판은 아무 작업도 하지 않음 (폴링 없음)
+ * - 짧은 시간에 몰린 변경(QR 러시)은 COALESCE_MS 안에서 한 번으로 합침
+ */
+@Service
+public class SeatBoardStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatBoardStreamService.class);
+
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L; // 30분 후 클라이언트 재접속
+    private static final long COALESCE_MS = 200;
+    private static final long HEARTBEAT_SEC = 25;
+
+    private final SeatBoardService seatSvc;
+
+    /** key = classId|date */
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "seat-board-stream");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public SeatBoardStreamService(SeatBoardService seatSvc) {
+        this.seatSvc = seatSvc;
+        scheduler.scheduleAtFixedRate(this::heartbeat, HEARTBEAT_SEC, HEARTBEAT_SEC, TimeUnit.SECONDS);
+    }
+
+    /** 좌석판 하나를 구독하는 연결들 + 마지막으로 보낸 스냅샷 */
+    private static final class Channel {
+        final String key;
+        final String classId;
+        final String date;
+        final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        final AtomicBoolean dirty = new AtomicBoolean(false);
+        SeatBoardResponse last;
+        long version;
+
+        Channel(String key, String classId, String date) {
+            this.key = key;
+            this.classId = classId;
+            this.date = date;
+        }
+    }
+
+    private static String keyOf(String classId, String ymd) { return classId + "|" + ymd; }
+
+    /* ─────────────── 구독 ─────────────── */
+
+    public SseEmitter subscribe(String classId, String date) {
+        final String ymd = (date == null || date.isBlank()) ? SeatBoardService.todayYmd() : date.trim();
+
+        // 존재하지 않는 수업이면 여기서 예외 → 일반 요청처럼 에러 응답
+        SeatBoardResponse board = seatSvc.getSeatBoard(classId, ymd);
+
+        final String key = keyOf(classId, ymd);
+        final SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+
+        Channel ch;
+        synchronized (channels) {
+            ch = channels.computeIfAbsent(key, k -> new Channel(k, classId, ymd));
+            ch.emitters.add(emitter);
+        }
+
+        final Channel channel = ch;
+        emitter.onCompletion(() -> detach(channel, emitter));
+        emitter.onTimeout(() -> detach(channel, emitter));
+        emitter.onError(e -> detach(channel, emitter));
+
+        synchronized (channel) {
+            if (channel.last == null) {
+                channel.last = board;
+            } else {
+                // 기존 구독자가 보던 스냅샷이 더 오래됐을 수 있으니 한 번 맞춰줌
+                markDirty(channel);
+            }
+            send(emitter, "board", channel.version, board);
+        }
+        return emitter;
+    }
+
+    private void detach(Channel ch, SseEmitter emitter) {
+        synchronized (channels) {
+            ch.emitters.remove(emitter);
+            if (ch.emitters.isEmpty()) channels.remove(ch.key, ch);
+        }
+    }
+
+    /* ─────────────── 변경 알림 ─────────────── */
+
+    @EventListener
+    public void onSeatBoardChanged(SeatBoardChangedEvent e) {
+        if (channels.isEmpty() || e == null || e.date() == null) return;
+
+        for (Channel ch : channels.values()) {
+            if (!ch.date.equals(e.date())) continue;
+            if (e.classId() != null && !e.classId().equals(ch.classId)) continue;
+            markDirty(ch);
+        }
+    }
+
+    private void markDirty(Channel ch) {
+        if (ch.dirty.compareAndSet(false, true)) {
+            scheduler.schedule(() -> refresh(ch), COALESCE_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void refresh(Channel ch) {
+        ch.dirty.set(false);
+        if (ch.emitters.isEmpty()) return;
+
+        SeatBoardResponse next;
+        try {
+            next = seatSvc.getSeatBoard(ch.classId, ch.date);
+        } catch (RuntimeException ex) {
+            log.warn("[SEAT-STREAM] board rebuild failed key={} : {}", ch.key, ex.getMessage());
+            return;
+        }
+
+        synchronized (ch) {
+            SeatBoardResponse prev = ch.last;
+            ch.last = next;
+
+            if (prev == null || layoutChanged(prev, next)) {
+                ch.version++;
+                broadcast(ch, "board", next);
+                return;
+            }
+
+            SeatBoardDelta delta = diff(prev, next);
+            if (delta == null) return;
+
+            ch.version++;
+            delta.setClassId(ch.classId);
+            delta.setDate(ch.date);
+            delta.setVersion(ch.version);
+            broadcast(ch, "delta", delta);
+        }
+    }
+
+    private void heartbeat() {
+        for (Channel ch : channels.values()) {
+            for (SseEmitter em : ch.emitters) {
+                try {
+                    em.send(SseEmitter.event().comment("ping"));
+                } catch (IOException | IllegalStateException ex) {
+                    detach(ch, em);
+                }
+            }
+        }
+    }
+
+    /* ─────────────── 전송 ─────────────── */
+
+    private void broadcast(Channel ch, String name, Object data) {
+        for (SseEmitter em : ch.emitters) {
+            if (!send(em, name, ch.version, data)) detach(ch, em);
+        }
+    }
+
+    private static boolean send(SseEmitter em, String name, long version, Object data) {
+        try {
+            em.send(SseEmitter.event().id(String.valueOf(version)).name(name).data(data));
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            em.completeWithError(ex);
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        for (Channel ch : channels.values()) {
+            for (SseEmitter em : ch.emitters) {
+                try { em.complete(); } catch (Exception ignore) {}
+            }
+        }
+        channels.clear();
+    }
+
+    /* ─────────────── diff ─────────────── */
+
+    /** 좌석 수/배치가 바뀌면 delta 대신 전체 board 재전송 */
+    private static boolean layoutChanged(SeatBoardResponse a, SeatBoardResponse b) {
+        if (!Objects.equals(a.getLayoutType(), b.getLayoutType())) return true;
+        if (!Objects.equals(a.getRows(), b.getRows()) || !Objects.equals(a.getCols(), b.getCols())) return true;
+        if (!Objects.equals(a.getCanvasW(), b.getCanvasW()) || !Objects.equals(a.getCanvasH(), b.getCanvasH())) return true;
+
+        List<SeatBoardResponse.SeatStatus> sa = nvl(a.getSeats());
+        List<SeatBoardResponse.SeatStatus> sb = nvl(b.getSeats());
+        if (sa.size() != sb.size()) return true;
+
+        for (int i = 0; i < sa.size(); i++) {
+            SeatBoardResponse.SeatStatus x = sa.get(i), y = sb.get(i);
+            if (!Objects.equals(x.getSeatNumber(), y.getSeatNumber())
+                    || !Objects.equals(x.getRow(), y.getRow()) || !Objects.equals(x.getCol(), y.getCol())
+                    || !Objects.equals(x.getX(), y.getX()) || !Objects.equals(x.getY(), y.getY())
+                    || !Objects.equals(x.getW(), y.getW()) || !Objects.equals(x.getH(), y.getH())
+                    || !Objects.equals(x.getR(), y.getR())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** 바뀐 것이 없으면 null */
+    private static SeatBoardDelta diff(SeatBoardResponse prev, SeatBoardResponse next) {
+        List<SeatBoardResponse.SeatStatus> sa = nvl(prev.getSeats());
+        List<SeatBoardResponse.SeatStatus> sb = nvl(next.getSeats());
+
+        List<SeatBoardDelta.SeatChange> changed = new ArrayList<>();
+        for (int i = 0; i < sb.size(); i++) {
+            SeatBoardResponse.SeatStatus x = sa.get(i), y = sb.get(i);
+            if (!Objects.equals(x.getStudentId(), y.getStudentId())
+                    || !Objects.equals(x.getStudentName(), y.getStudentName())
+                    || !Objects.equals(x.getAttendanceStatus(), y.getAttendanceStatus())
+                    || !Objects.equals(x.getDisabled(), y.getDisabled())
+                    || !Objects.equals(x.getOccupiedAt(), y.getOccupiedAt())) {
+                changed.add(new SeatBoardDelta.SeatChange(i, y));
+            }
+        }
+
+        boolean waitingChanged = !sameWaiting(prev.getWaiting(), next.getWaiting());
+        boolean countsChanged =
+                !Objects.equals(prev.getPresentCount(), next.getPresentCount())
+                || !Objects.equals(prev.getLateCount(), next.getLateCount())
+                || !Objects.equals(prev.getAbsentCount(), next.getAbsentCount())
+                || !Objects.equals(prev.getMoveOrBreakCount(), next.getMoveOrBreakCount())
+                || !Objects.equals(prev.getNotRecordedCount(), next.getNotRecordedCount());
+
+        if (changed.isEmpty() && !waitingChanged && !countsChanged) return null;
+
+        SeatBoardDelta d = new SeatBoardDelta();
+        d.setSeats(changed);
+        d.setWaiting(waitingChanged ? nvl(next.getWaiting()) : null);
+        d.setPresentCount(next.getPresentCount());
+        d.setLateCount(next.getLateCount());
+        d.setAbsentCount(next.getAbsentCount());
+        d.setMoveOrBreakCount(next.getMoveOrBreakCount());
+        d.setNotRecordedCount(next.getNotRecordedCount());
+        return d;
+    }
+
+    private static boolean sameWaiting(List<SeatBoardResponse.WaitingItem> a, List<SeatBoardResponse.WaitingItem> b) {
+        List<SeatBoardResponse.WaitingItem> x = nvl(a), y = nvl(b);
+        if (x.size() != y.size()) return false;
+        for (int i = 0; i < x.size(); i++) {
+            SeatBoardResponse.WaitingItem p = x.get(i), q = y.get(i);
+            if (!Objects.equals(p.getStudentId(), q.getStudentId())
+                    || !Objects.equals(p.getStudentName(), q.getStudentName())
+                    || !Objects.equals(p.getStatus(), q.getStatus())
+                    || !Objects.equals(p.getCheckedInAt(), q.getCheckedInAt())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <T> List<T> nvl(List<T> l) { return l == null ? List.of() : l; }
+}
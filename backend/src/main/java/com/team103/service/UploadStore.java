@@ -0,0 +1,289 @@
+// src/main/java/com/team103/service/UploadStore.java
+package com.team103.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 업로드 파일 저장소 (내용 주소 방식)
+ *
+ * - 요청 본문(multipart)을 MultipartStreamReader 로 직접 읽어서 파일 파트는 바로 디스크로
+ *   · Spring 멀티파트(임시 파일 버퍼링)를 거치지 않음 → spring.servlet.multipart.enabled=false
+ *   · 파일 파트 본문 → NIO 채널 → uploads/blobs/.tmp 임시 파일, 쓰면서 SHA-256 계산
+ * - 저장 위치: uploads/blobs/ab/cd/<sha256><ext>  (해시 앞 2바이트로 디렉터리 분산)
+ *   · 같은 내용이 이미 있으면 임시 파일만 지우고 기존 파일 사용 (중복 저장 안 함)
+ *   · ext 는 파일 앞부분(매직 바이트)으로 판별, 모르면 원본 파일명 확장자
+ * - 크기 제한은 읽는 도중에 검사 (넘는 순간 중단 → 413)
+ *   · 파일 1개 : spring.servlet.multipart.max-file-size
+ *   · 요청 전체 : spring.servlet.multipart.max-request-size (Content-Length 로 먼저 한 번)
+ *   · 텍스트 필드 1개 : upload.max-field-bytes
+ * - 요청 중간에 실패하면 그 전까지 저장된 blob 은 남음 (내용 주소라 다음 업로드 때 재사용됨)
+ */
+@Service
+public class UploadStore {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadStore.class);
+
+    private static final int BUFFER = 64 * 1024;
+    private static final int MAX_PART_HEADER_BYTES = 8 * 1024;
+
+    /** 저장된 파일 1개 (relativePath 는 uploads/ 기준) */
+    public record StoredBlob(String sha256, String relativePath, long size, boolean deduplicated) {
+        /** 정적 매핑(/files/** → ./uploads/) 기준 경로 */
+        public String publicPath() {
+            return "/files/" + relativePath;
+        }
+    }
+
+    /** 요청 1건에서 읽은 텍스트 필드 + 저장된 파일 */
+    public record Upload(Map<String, List<String>> fields, List<StoredBlob> files) {
+        /** 첫 번째 값 (없으면 null) */
+        public String field(String name) {
+            List<String> v = fields.get(name);
+            return v == null || v.isEmpty() ? null : v.get(0);
+        }
+
+        public List<String> fieldValues(String name) {
+            return fields.getOrDefault(name, List.of());
+        }
+    }
+
+    private final Path root;
+    private final Path blobs;
+    private final Path tmp;
+    private final long maxFileBytes;
+    private final long maxRequestBytes;
+    private final int maxFieldBytes;
+
+    private final AtomicLong stored = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public UploadStore(@Value("${upload.dir:uploads}") String dir,
+                       @Value("${spring.servlet.multipart.max-file-size:10MB}") DataSize maxFileSize,
+                       @Value("${spring.servlet.multipart.max-request-size:20MB}") DataSize maxRequestSize,
+                       @Value("${upload.max-field-bytes:1MB}") DataSize maxFieldSize) {
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+        this.blobs = root.resolve("blobs");
+        this.tmp = blobs.resolve(".tmp");
+        this.maxFileBytes = maxFileSize.toBytes() > 0 ? maxFileSize.toBytes() : Long.MAX_VALUE;
+        this.maxRequestBytes = maxRequestSize.toBytes() > 0 ? maxRequestSize.toBytes() : Long.MAX_VALUE;
+        this.maxFieldBytes = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, maxFieldSize.toBytes()));
+        try {
+            Files.createDirectories(tmp);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create upload dir: " + tmp, e);
+        }
+    }
+
+    public long storedCount() { return stored.get(); }
+    public long deduplicatedCount() { return deduplicated.get(); }
+    public long rejectedCount() { return rejected.get(); }
+
+    /* ─────────────── 요청 읽기 ─────────────── */
+
+    /**
+     * multipart/form-data 요청 본문을 끝까지 읽음.
+     * fileField 이름의 파일 파트만 저장하고, 다른 파일 파트는 읽고 버림. 빈 파일은 건너뜀.
+     */
+    public Upload receive(HttpServletRequest request, String fileField) {
+        String boundary = MultipartStreamReader.boundaryOf(request.getContentType());
+        if (boundary == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "multipart/form-data 요청이 아닙니다.");
+        }
+        long declared = request.getContentLengthLong();
+        if (declared > maxRequestBytes) {
+            rejected.incrementAndGet();
+            throw tooLarge("요청 크기가 너무 큽니다.");
+        }
+
+        Map<String, List<String>> fields = new LinkedHashMap<>();
+        List<StoredBlob> files = new ArrayList<>();
+        try (InputStream body = new LimitedInputStream(request.getInputStream(), maxRequestBytes, "요청 크기가 너무 큽니다.")) {
+            MultipartStreamReader reader = new MultipartStreamReader(body, boundary, MAX_PART_HEADER_BYTES);
+            MultipartStreamReader.Part part;
+            while ((part = reader.next()) != null) {
+                if (part.name() == null) continue;
+                if (part.isFile()) {
+                    if (!part.name().equals(fileField) || part.filename().isBlank()) continue;
+                    StoredBlob blob = store(part.body(), part.filename());
+                    if (blob != null) files.add(blob);
+                } else {
+                    fields.computeIfAbsent(part.name(), k -> new ArrayList<>()).add(readField(part.body()));
+                }
+            }
+        } catch (IOException e) {
+            // 클라이언트가 보낸 본문이 잘렸거나 형식이 틀림
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 multipart 요청입니다.", e);
+        }
+        return new Upload(fields, files);
+    }
+
+    private String readField(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] b = new byte[4096];
+        int n;
+        while ((n = in.read(b)) >= 0) {
+            if (out.size() + n > maxFieldBytes) {
+                rejected.incrementAndGet();
+                throw tooLarge("입력 값이 너무 깁니다.");
+            }
+            out.write(b, 0, n);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /* ─────────────── 저장 ─────────────── */
+
+    /**
+     * 스트림 → 임시 파일(SHA-256 계산) → blobs/ab/cd/<hash><ext>.
+     * 빈 스트림이면 null. max-file-size 를 넘으면 중단하고 413.
+     */
+    public StoredBlob store(InputStream in, String originalName) throws IOException {
+        MessageDigest sha = sha256();
+        byte[] head = new byte[16];
+        int headLen = 0;
+        long size = 0;
+
+        Path part = Files.createTempFile(tmp, "up-", ".part");
+        boolean keep = false;
+        try {
+            ReadableByteChannel src = Channels.newChannel(in);
+            try (FileChannel out = FileChannel.open(part, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buf = ByteBuffer.allocate(BUFFER);
+                int n;
+                while ((n = src.read(buf)) >= 0) {
+                    if (n == 0) continue;
+                    size += n;
+                    if (size > maxFileBytes) {
+                        rejected.incrementAndGet();
+                        throw tooLarge("파일 크기가 너무 큽니다.");
+                    }
+                    buf.flip();
+                    if (headLen < head.length) {
+                        int c = Math.min(head.length - headLen, buf.remaining());
+                        buf.get(buf.position(), head, headLen, c);
+                        headLen += c;
+                    }
+                    sha.update(buf);
+                    buf.rewind();
+                    while (buf.hasRemaining()) out.write(buf);
+                    buf.clear();
+                }
+            }
+            if (size == 0) return null;
+
+            String hash = HexFormat.of().formatHex(sha.digest());
+            String ext = extensionOf(head, headLen, originalName);
+            String relative = "blobs/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + ext;
+            Path target = root.resolve(relative);
+            Files.createDirectories(target.getParent());
+
+            if (Files.exists(target)) {
+                deduplicated.incrementAndGet();
+                return new StoredBlob(hash, relative, size, true);
+            }
+            try {
+                try {
+                    Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(part, target);
+                }
+            } catch (FileAlreadyExistsException raced) {
+                // 같은 내용이 동시에 올라옴 → 먼저 들어간 파일 사용
+                deduplicated.incrementAndGet();
+                return new StoredBlob(hash, relative, size, true);
+            }
+            keep = true;
+            stored.incrementAndGet();
+            log.debug("[UPLOAD] stored {} ({} bytes)", relative, size);
+            return new StoredBlob(hash, relative, size, false);
+        } finally {
+            if (!keep) Files.deleteIfExists(part);
+        }
+    }
+
+    /** 매직 바이트로 이미지 형식 판별, 모르면 원본 확장자 (영숫자 8자 이하만) */
+    static String extensionOf(byte[] h, int len, String originalName) {
+        if (len >= 3 && (h[0] & 0xff) == 0xFF && (h[1] & 0xff) == 0xD8 && (h[2] & 0xff) == 0xFF) return ".jpg";
+        if (len >= 8 && (h[0] & 0xff) == 0x89 && h[1] == 'P' && h[2] == 'N' && h[3] == 'G') return ".png";
+        if (len >= 6 && h[0] == 'G' && h[1] == 'I' && h[2] == 'F' && h[3] == '8') return ".gif";
+        if (len >= 12 && h[0] == 'R' && h[1] == 'I' && h[2] == 'F' && h[3] == 'F'
+                && h[8] == 'W' && h[9] == 'E' && h[10] == 'B' && h[11] == 'P') return ".webp";
+
+        if (originalName == null) return "";
+        int dot = originalName.lastIndexOf('.');
+        if (dot < 0 || dot == originalName.length() - 1) return "";
+        String ext = originalName.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return ext.matches("[a-z0-9]{1,8}") ? "." + ext : "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ResponseStatusException tooLarge(String message) {
+        return new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, message);
+    }
+
+    /** 읽은 바이트가 limit 를 넘는 순간 413 (Content-Length 없이 chunked 로 들어와도) */
+    private final class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private final String message;
+        private long count;
+
+        LimitedInputStream(InputStream in, long limit, String message) {
+            super(in);
+            this.limit = limit;
+            this.message = message;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count(n);
+            return n;
+        }
+
+        private void count(int n) {
+            count += n;
+            if (count > limit) {
+                rejected.incrementAndGet();
+                throw tooLarge(message);
+            }
+        }
+    }
+}
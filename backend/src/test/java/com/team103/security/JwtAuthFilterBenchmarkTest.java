@@ -0,0 +1,140 @@
+package com.team103.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.security.SecureRandom;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * JwtAuthFilter 토큰 처리 비용 비교.
+ * - legacy : 예전 필터처럼 validate / getUsername / 클레임 4개를 각각 호출 (요청당 파싱 6회, JwtParser 는 재사용한 상태)
+ * - parsed : 캐시 끔, 요청당 파싱 1회
+ * - cached : 같은 토큰 재요청, 파싱 없이 캐시
+ * 결과 권한이 같은지 확인하고, 걸린 시간은 로거(info)로만 남김 (CI 환경 편차 때문에 시간은 단정하지 않음).
+ * 시간 측정은 benchmark 태그라 기본 mvn test 에서 제외 (mvn test -Pbenchmark).
+ */
+class JwtAuthFilterBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthFilterBenchmarkTest.class);
+
+    private static final int TOKENS = 200;
+    private static final int ROUNDS = 50;
+
+    private static JwtUtil jwtUtil() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return new JwtUtil(Base64.getEncoder().encodeToString(secret), 3_600_000, 60);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /** 예전 필터의 추출 순서 그대로 */
+    private static List<String> legacy(JwtUtil jwt, String token) {
+        if (!jwt.validate(token)) return null;
+        jwt.getUsername(token);
+        Set<String> raw = new LinkedHashSet<>(jwt.getClaimAsStringList(token, "roles"));
+        String role = jwt.getClaimAsString(token, "role");
+        if (role != null && !role.isBlank()) raw.add(role);
+        raw.addAll(jwt.getClaimAsStringList(token, "authorities"));
+        String scope = jwt.getClaimAsString(token, "scope");
+        if (scope != null) raw.addAll(Arrays.asList(scope.split("[,\\s]+")));
+        List<String> out = new ArrayList<>();
+        for (String r : raw) {
+            String s = r.trim().toUpperCase();
+            s = s.startsWith("ROLE_") ? s : "ROLE_" + s;
+            if (!out.contains(s)) out.add(s);
+        }
+        return out;
+    }
+
+    private static Authentication filter(JwtAuthFilter f, String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/api/questions");
+        req.addHeader("Authorization", "Bearer " + token);
+        f.doFilter(req, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static List<String> names(Authentication a) {
+        List<String> out = new ArrayList<>();
+        for (GrantedAuthority g : a.getAuthorities()) out.add(g.getAuthority());
+        return out;
+    }
+
+    private record Fixture(JwtUtil jwt, List<String> tokens, JwtAuthFilter parsed, JwtAuthFilter cached) {}
+
+    private static Fixture fixture() {
+        JwtUtil jwt = jwtUtil();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < TOKENS; i++) {
+            tokens.add(jwt.generateToken("user" + i, i % 2 == 0 ? List.of("TEACHER", "DIRECTOR") : List.of("student")));
+        }
+        return new Fixture(jwt, tokens,
+                new JwtAuthFilter(jwt, new VerifiedTokenCache(0, 900)),
+                new JwtAuthFilter(jwt, new VerifiedTokenCache(10_000, 900)));
+    }
+
+    @Test
+    void singleParseAndCacheMatchLegacy() throws Exception {
+        Fixture fx = fixture();
+        JwtUtil jwt = fx.jwt();
+        List<String> tokens = fx.tokens();
+        JwtAuthFilter parsed = fx.parsed();
+        JwtAuthFilter cached = fx.cached();
+
+        for (String t : tokens) {
+            List<String> expected = legacy(jwt, t);
+            assertEquals(expected, names(filter(parsed, t)));
+            assertEquals(expected, names(filter(cached, t)));
+            assertEquals(expected, names(filter(cached, t)));
+        }
+        assertNull(filter(cached, tokens.get(0) + "x"));
+        assertNotNull(filter(cached, tokens.get(0)));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void reportTiming() throws Exception {
+        Fixture fx = fixture();
+        JwtUtil jwt = fx.jwt();
+        List<String> tokens = fx.tokens();
+        JwtAuthFilter parsed = fx.parsed();
+        JwtAuthFilter cached = fx.cached();
+
+        // 워밍업
+        for (String t : tokens) {
+            legacy(jwt, t);
+            filter(parsed, t);
+            filter(cached, t);
+        }
+
+        long t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) for (String t : tokens) legacy(jwt, t);
+        long t1 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) for (String t : tokens) filter(parsed, t);
+        long t2 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) for (String t : tokens) filter(cached, t);
+        long t3 = System.nanoTime();
+
+        long ops = (long) TOKENS * ROUNDS;
+        log.info("[jwt-filter-bench] legacy(6 parses)={}ns/req parsed(1 parse)={}ns/req cached={}ns/req",
+                (t1 - t0) / ops, (t2 - t1) / ops, (t3 - t2) / ops);
+    }
+}
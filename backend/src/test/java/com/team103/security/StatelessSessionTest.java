@@ -0,0 +1,103 @@
+package com.team103.security;
+
+import com.team103.controller.QnaRecentController;
+import com.team103.service.QnaRecentService;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 세션 없는 인증 확인.
+ * JwtAuthFilter → CurrentUser 로 컨트롤러가 사용자/역할을 받고, 여러 스레드로 요청을 몰아도 HttpSession 이 하나도 안 생기는지.
+ */
+class StatelessSessionTest {
+
+    private static final int USERS = 50;
+    private static final int REQUESTS = 2_000;
+    private static final String[] ROLES = {"student", "parent", "teacher", "director"};
+
+    /** 실제 체인의 SecurityContextHolderFilter 역할 (스레드 재사용 시 이전 인증이 남지 않게) */
+    private static final Filter CLEAR_CONTEXT = (req, res, chain) -> {
+        try {
+            chain.doFilter(req, res);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    };
+
+    @Test
+    void noSessionIsCreatedUnderLoad() throws Exception {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        JwtUtil jwt = new JwtUtil(Base64.getEncoder().encodeToString(secret), 3_600_000, 60);
+
+        // 서비스가 받은 (userId, role) 기록
+        Map<String, String> seen = new ConcurrentHashMap<>();
+        QnaRecentService recent = mock(QnaRecentService.class);
+        when(recent.recent(anyString(), anyString())).thenAnswer(inv -> {
+            seen.put(inv.getArgument(0), inv.getArgument(1));
+            return null;
+        });
+        QnaRecentController controller = new QnaRecentController();
+        ReflectionTestUtils.setField(controller, "qnaRecent", recent);
+
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setCustomArgumentResolvers(new CurrentUserArgumentResolver())
+                .addFilters(CLEAR_CONTEXT, new NoHttpSessionFilter(),
+                        new JwtAuthFilter(jwt, new VerifiedTokenCache(1_000, 900)))
+                .build();
+
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) tokens.add(jwt.generateToken("user" + i, ROLES[i % ROLES.length]));
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<MvcResult>> futures = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                String token = tokens.get(i % USERS);
+                futures.add(pool.submit(() -> mvc.perform(get("/api/qna/recent")
+                        .header("Authorization", "Bearer " + token)).andReturn()));
+            }
+            for (Future<MvcResult> f : futures) {
+                MvcResult r = f.get(30, TimeUnit.SECONDS);
+                assertEquals(204, r.getResponse().getStatus());
+                assertNull(r.getRequest().getSession(false), "session created");
+                assertNull(r.getResponse().getCookie("JSESSIONID"));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(USERS, seen.size());
+        for (int i = 0; i < USERS; i++) assertEquals(ROLES[i % ROLES.length], seen.get("user" + i));
+
+        // 토큰 없으면 401, 역시 세션 없음
+        MvcResult anon = mvc.perform(get("/api/qna/recent")).andReturn();
+        assertEquals(401, anon.getResponse().getStatus());
+        assertNull(anon.getRequest().getSession(false));
+    }
+
+    @Test
+    void sessionCreationIsRejected() {
+        NoHttpSessionFilter.SessionlessRequest req =
+                new NoHttpSessionFilter.SessionlessRequest(new MockHttpServletRequest("GET", "/api/questions"));
+        assertNull(req.getSession(false));
+        assertThrows(IllegalStateException.class, req::getSession);
+        assertThrows(IllegalStateException.class, () -> req.getSession(true));
+    }
+}
@@ -0,0 +1,95 @@
+package com.team103.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 테스트용 가짜 FCM (Firebase 자격 증명 불필요, FcmDispatcher 에 직접 넘겨서 사용)
+ *
+ * - sendEach 1회마다 latencyMs ± jitterMs 만큼 대기 (HTTP 왕복 흉내)
+ * - 건별로 정해진 비율만큼 UNREGISTERED / QUOTA_EXCEEDED / UNAVAILABLE 반환
+ * - ratePerSec > 0 이면 1초 창 안에서 그 수를 넘는 건은 QUOTA_EXCEEDED
+ * - recordDeliveries 면 토큰별 성공 시각(nanoTime) 기록 → 벤치마크에서 지연 계산
+ */
+class FakeFcmTransport implements FcmTransport {
+
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double unregisteredRate;
+    private final double quotaRate;
+    private final double unavailableRate;
+    private final int ratePerSec;
+    private final boolean recordDeliveries;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final Map<String, Long> deliveredAt = new ConcurrentHashMap<>();
+
+    private long windowStart;
+    private int windowCount;
+
+    FakeFcmTransport(long latencyMs, long jitterMs,
+                     double unregisteredRate, double quotaRate, double unavailableRate,
+                     int ratePerSec, boolean recordDeliveries) {
+        this.latencyMs = Math.max(0, latencyMs);
+        this.jitterMs = Math.max(0, jitterMs);
+        this.unregisteredRate = unregisteredRate;
+        this.quotaRate = quotaRate;
+        this.unavailableRate = unavailableRate;
+        this.ratePerSec = ratePerSec;
+        this.recordDeliveries = recordDeliveries;
+    }
+
+    @Override
+    public List<Status> sendEach(List<Push> batch) throws FcmTransportException {
+        calls.incrementAndGet();
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        long wait = latencyMs + (jitterMs == 0 ? 0 : rnd.nextLong(-jitterMs, jitterMs + 1));
+        if (wait > 0) {
+            try {
+                Thread.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FcmTransportException("interrupted", true, e);
+            }
+        }
+
+        int allowed = acquire(batch.size());
+        List<Status> out = new ArrayList<>(batch.size());
+        long now = System.nanoTime();
+        for (int i = 0; i < batch.size(); i++) {
+            Status s;
+            double r = rnd.nextDouble();
+            if (i >= allowed) s = Status.QUOTA_EXCEEDED;
+            else if (r < unregisteredRate) s = Status.UNREGISTERED;
+            else if (r < unregisteredRate + quotaRate) s = Status.QUOTA_EXCEEDED;
+            else if (r < unregisteredRate + quotaRate + unavailableRate) s = Status.UNAVAILABLE;
+            else s = Status.OK;
+
+            if (s == Status.OK && recordDeliveries) deliveredAt.put(batch.get(i).token(), now);
+            out.add(s);
+        }
+        return out;
+    }
+
+    /** 1초 창 안에서 허용 건수 (ratePerSec <= 0 이면 제한 없음) */
+    private synchronized int acquire(int n) {
+        if (ratePerSec <= 0) return n;
+        long now = System.currentTimeMillis();
+        if (now - windowStart >= 1000) {
+            windowStart = now;
+            windowCount = 0;
+        }
+        int ok = Math.max(0, Math.min(n, ratePerSec - windowCount));
+        windowCount += ok;
+        return ok;
+    }
+
+    public long calls() { return calls.get(); }
+
+    /** 토큰별 성공 시각 (System.nanoTime) */
+    public Map<String, Long> deliveredAt() { return deliveredAt; }
+}
@@ -0,0 +1,83 @@
+package com.team103.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * FcmService → FcmDispatcher → FakeFcmTransport 알림 fan-out 처리량/지연 측정.
+ * 학원 전체(한 번에 수천 명)와 반 단위(30명씩 여러 번) 두 가지.
+ * 모든 메시지가 성공/실패/토큰 제거 중 하나로 끝나는지만 확인하고, 처리량·지연은 로거(info)로만 남김.
+ * 기본 mvn test 에서는 제외 (mvn test -Pbenchmark).
+ */
+@Tag("benchmark")
+class FcmFanOutBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(FcmFanOutBenchmarkTest.class);
+
+    private static final long WAIT_MS = 60_000;
+
+    private record Result(long messages, double perSec, long p50Ms, long p99Ms) {}
+
+    private static Result run(String label, int bursts, int perBurst) throws InterruptedException {
+        // 지연 30±10ms, UNREGISTERED 0.5%, QUOTA 0.5%, UNAVAILABLE 1%
+        FakeFcmTransport transport = new FakeFcmTransport(30, 10, 0.005, 0.005, 0.01, 0, true);
+        FcmDispatcher dispatcher = new FcmDispatcher(mock(MongoTemplate.class), transport, 20_000, 4, 5, 10, 200);
+        FcmService fcm = new FcmService(dispatcher);
+
+        int total = bursts * perBurst;
+        Map<String, Long> enqueuedAt = new HashMap<>(total * 2);
+        long t0 = System.nanoTime();
+        try {
+            for (int b = 0; b < bursts; b++) {
+                for (int i = 0; i < perBurst; i++) {
+                    String token = label + "-" + b + "-" + i;
+                    enqueuedAt.put(token, System.nanoTime());
+                    fcm.sendMessageTo("u" + i, token, "새 메시지 알림", "새 메시지가 도착했습니다.");
+                }
+            }
+
+            long deadline = System.currentTimeMillis() + WAIT_MS;
+            while (done(dispatcher) < total && System.currentTimeMillis() < deadline) Thread.sleep(5);
+            long t1 = System.nanoTime();
+
+            assertEquals(0, dispatcher.droppedCount());
+            assertEquals(total, done(dispatcher));
+            assertTrue(dispatcher.sentCount() >= total * 0.95, "sent=" + dispatcher.sentCount());
+
+            List<Long> lat = new ArrayList<>();
+            transport.deliveredAt().forEach((token, at) -> lat.add((at - enqueuedAt.get(token)) / 1_000_000));
+            Collections.sort(lat);
+            return new Result(total, total / ((t1 - t0) / 1e9),
+                    lat.get(lat.size() / 2), lat.get(Math.min(lat.size() - 1, (int) (lat.size() * 0.99))));
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    private static long done(FcmDispatcher d) {
+        return d.sentCount() + d.failedCount() + d.unregisteredCount() + d.droppedCount();
+    }
+
+    @Test
+    void academyWideFanOut() throws InterruptedException {
+        Result r = run("academy", 1, 5_000);
+        log.info("[fcm-bench] academy-wide msgs={} throughput={} msg/s p50={}ms p99={}ms",
+                r.messages(), Math.round(r.perSec()), r.p50Ms(), r.p99Ms());
+    }
+
+    @Test
+    void classWideFanOut() throws InterruptedException {
+        Result r = run("class", 200, 30);
+        log.info("[fcm-bench] class-wide msgs={} throughput={} msg/s p50={}ms p99={}ms",
+                r.messages(), Math.round(r.perSec()), r.p50Ms(), r.p99Ms());
+    }
+}
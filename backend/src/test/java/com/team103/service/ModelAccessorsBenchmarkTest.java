@@ -0,0 +1,109 @@
+package com.team103.service;
+
+import com.team103.model.Course;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 기존 리플렉션 경로(getMethod → setAccessible → invoke) vs ModelAccessors 비교.
+ * 결과값이 같은지 확인하고, 걸린 시간은 로거(info)로만 남김 (CI 환경 편차 때문에 시간은 단정하지 않음).
+ * 시간 측정은 benchmark 태그라 기본 mvn test 에서 제외 (mvn test -Pbenchmark).
+ */
+class ModelAccessorsBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ModelAccessorsBenchmarkTest.class);
+
+    private static final int COURSES = 2_000;
+    private static final int ROUNDS = 20;
+    private static final String YMD = "2025-11-19";
+
+    private static Object tryInvoke(Object t, String n, Class<?>[] tp, Object[] a) {
+        if (t == null) return null;
+        try {
+            Method m = tp == null ? t.getClass().getMethod(n) : t.getClass().getMethod(n, tp);
+            m.setAccessible(true);
+            return a == null ? m.invoke(t) : m.invoke(t, a);
+        } catch (Exception e) { return null; }
+    }
+
+    private static List<Course> sampleCourses() {
+        List<Course> out = new ArrayList<>();
+        for (int i = 0; i < COURSES; i++) {
+            Course c = new Course();
+            c.setClassId("C" + i);
+            c.setAcademyNumber(100 + (i % 5));
+            c.setRoomNumbers(List.of(400 + (i % 30)));
+            c.setStudents(List.of("s" + i, "s" + (i + 1), "s" + (i + 2)));
+            if (i % 7 == 0) c.putOverride(YMD, "18:00", "19:00", 499);
+            out.add(c);
+        }
+        return out;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long reflective(List<Course> courses) {
+        long acc = 0;
+        for (Course c : courses) {
+            List<Integer> nums = (List<Integer>) tryInvoke(c, "getAcademyNumbersSafe", null, null);
+            Object rf = tryInvoke(c, "getRoomFor", new Class[]{String.class}, new Object[]{YMD});
+            List<String> roster = (List<String>) tryInvoke(c, "getStudents", null, null);
+            String cid = String.valueOf(tryInvoke(c, "getClassId", null, null));
+            acc += nums.get(0) + Integer.parseInt(String.valueOf(rf)) + roster.size() + cid.length();
+        }
+        return acc;
+    }
+
+    private static long compiled(List<Course> courses) {
+        long acc = 0;
+        for (Course c : courses) {
+            acc += ModelAccessors.academyNumber(c) + ModelAccessors.roomFor(c, YMD)
+                    + ModelAccessors.roster(c).size() + ModelAccessors.classId(c).length();
+        }
+        return acc;
+    }
+
+    private static long methodHandle(List<Course> courses) {
+        long acc = 0;
+        for (Course c : courses) {
+            acc += ((List<?>) ModelAccessors.invoke(c, "getStudents")).size();
+        }
+        return acc;
+    }
+
+    @Test
+    void accessorsMatchReflection() {
+        List<Course> courses = sampleCourses();
+        assertEquals(reflective(courses), compiled(courses));
+        assertEquals(courses.size() * 3L, methodHandle(courses));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void reportTiming() {
+        List<Course> courses = sampleCourses();
+
+        // 워밍업
+        reflective(courses);
+        compiled(courses);
+        methodHandle(courses);
+
+        long t0 = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) reflective(courses);
+        long t1 = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) compiled(courses);
+        long t2 = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) methodHandle(courses);
+        long t3 = System.nanoTime();
+
+        long ops = (long) COURSES * ROUNDS;
+        log.info("[accessor-bench] reflective={}ns/course compiled={}ns/course methodHandle={}ns/call",
+                (t1 - t0) / ops, (t2 - t1) / ops, (t3 - t2) / ops);
+    }
+}
@@ -0,0 +1,106 @@
+package com.team103.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * PasswordVerifier 판정 / 다시 해시 대상 / 풀 포화 시 거절 확인.
+ * 로그인 몰림 상황의 큐 대기·해시 시간 p50/p99 는 로거(info)로만 남김 (benchmark 태그, mvn test -Pbenchmark).
+ */
+class PasswordVerifierTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordVerifierTest.class);
+
+    private static PasswordVerifier verifier(int threads, int queue, int cost) {
+        return new PasswordVerifier(new BCryptPasswordEncoder(cost), mock(MongoTemplate.class),
+                mock(LoginPrincipalService.class), threads, queue, cost, 5_000, true);
+    }
+
+    @Test
+    void verdicts() {
+        PasswordVerifier v = verifier(2, 16, 6);
+        try {
+            String current = new BCryptPasswordEncoder(6).encode("pw");
+            String weak = new BCryptPasswordEncoder(4).encode("pw");
+
+            assertEquals(new PasswordVerifier.Verdict(true, false), v.verify("pw", current));
+            assertEquals(new PasswordVerifier.Verdict(true, true), v.verify("pw", weak));
+            assertFalse(v.verify("nope", current).matched());
+            // bcrypt 가 아닌 옛 계정 (평문) → 맞으면 다시 해시 대상
+            assertEquals(new PasswordVerifier.Verdict(true, true), v.verify("pw", "pw"));
+            assertFalse(v.verify("nope", "pw").matched());
+            assertFalse(v.verify("pw", null).matched());
+
+            assertTrue(PasswordVerifier.belowCostPattern(6).matcher(weak).find());
+            assertFalse(PasswordVerifier.belowCostPattern(6).matcher(current).find());
+        } finally {
+            v.shutdown();
+        }
+    }
+
+    @Test
+    void fullPoolRejectsInsteadOfQueueingForever() throws Exception {
+        PasswordVerifier v = verifier(1, 1, 12);
+        String hash = new BCryptPasswordEncoder(12).encode("pw");
+        ExecutorService callers = Executors.newFixedThreadPool(6);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger busy = new AtomicInteger();
+        try {
+            List<Future<?>> fs = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                fs.add(callers.submit(() -> {
+                    go.await();
+                    try {
+                        assertTrue(v.verify("pw", hash).matched());
+                    } catch (PasswordVerifier.BusyException e) {
+                        busy.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<?> f : fs) f.get(30, TimeUnit.SECONDS);
+        } finally {
+            callers.shutdownNow();
+            v.shutdown();
+        }
+        assertTrue(busy.get() >= 1, "busy=" + busy.get());
+        assertEquals(busy.get(), v.stats(false).rejected());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void loginBurstQueueTime() throws Exception {
+        int logins = 200;
+        PasswordVerifier v = verifier(Runtime.getRuntime().availableProcessors(), 1_000, 8);
+        String hash = new BCryptPasswordEncoder(8).encode("pw");
+        ExecutorService callers = Executors.newFixedThreadPool(64);
+        try {
+            List<Future<Boolean>> fs = new ArrayList<>();
+            long t0 = System.nanoTime();
+            for (int i = 0; i < logins; i++) fs.add(callers.submit(() -> v.verify("pw", hash).matched()));
+            for (Future<Boolean> f : fs) assertTrue(f.get(60, TimeUnit.SECONDS));
+            long ms = (System.nanoTime() - t0) / 1_000_000;
+
+            PasswordVerifier.Stats s = v.stats(false);
+            assertEquals(logins, s.verified());
+            log.info("[password-bench] logins={} threads={} total={}ms queueWait p50={}us p99={}us hash p50={}us p99={}us",
+                    logins, s.threads(), ms, s.queueWaitP50Us(), s.queueWaitP99Us(), s.hashP50Us(), s.hashP99Us());
+        } finally {
+            callers.shutdownNow();
+            v.shutdown();
+        }
+    }
+}
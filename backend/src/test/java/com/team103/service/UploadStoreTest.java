@@ -0,0 +1,181 @@
+package com.team103.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UploadStore 스트리밍 업로드.
+ * - 64KB 버퍼 경계에 걸치는 큰 파일 / 경계 문자열 비슷한 바이트가 섞인 파일도 원본 그대로 저장되는지
+ * - 같은 내용은 blob 1개만 남는지 (해시 = 파일명)
+ * - 크기 제한을 넘으면 413 이고 임시 파일이 남지 않는지
+ * 처리 시간은 로거(info)로만 남김 (benchmark 태그, mvn test -Pbenchmark).
+ */
+class UploadStoreTest {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadStoreTest.class);
+
+    private static final String BOUNDARY = "----formBoundary7MA4YWxkTrZu0gW";
+
+    @TempDir
+    Path dir;
+
+    private UploadStore store(long maxFileBytes) {
+        return new UploadStore(dir.toString(), DataSize.ofBytes(maxFileBytes), DataSize.ofMegabytes(64), DataSize.ofKilobytes(64));
+    }
+
+    private record FilePart(String field, String filename, byte[] data) {}
+
+    private static MockHttpServletRequest multipart(List<String[]> fields, List<FilePart> files) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (String[] f : fields) {
+            out.writeBytes(("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + f[0] + "\"\r\n\r\n"
+                    + f[1] + "\r\n").getBytes(StandardCharsets.UTF_8));
+        }
+        for (FilePart p : files) {
+            out.writeBytes(("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + p.field()
+                    + "\"; filename=\"" + p.filename() + "\"\r\nContent-Type: application/octet-stream\r\n\r\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            out.writeBytes(p.data());
+            out.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+        }
+        out.writeBytes(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        MockHttpServletRequest req = new MockHttpServletRequest("POST", "/api/files/upload");
+        req.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        req.setContent(out.toByteArray());
+        return req;
+    }
+
+    private static byte[] image(int size, long seed) {
+        byte[] b = new byte[size];
+        new Random(seed).nextBytes(b);
+        b[0] = (byte) 0xFF;
+        b[1] = (byte) 0xD8;
+        b[2] = (byte) 0xFF;
+        // 경계 문자열과 앞부분만 같은 바이트열을 버퍼 경계 근처에 심어 둠
+        byte[] almost = ("\r\n--" + BOUNDARY.substring(0, BOUNDARY.length() - 1)).getBytes(StandardCharsets.ISO_8859_1);
+        for (int at : new int[]{size / 3, 64 * 1024 - 10, size - almost.length - 1}) {
+            if (at <= 3 || at + almost.length >= size) continue;
+            System.arraycopy(almost, 0, b, at, almost.length);
+            if (b[at + almost.length] == BOUNDARY.charAt(BOUNDARY.length() - 1)) b[at + almost.length] = 0;
+        }
+        return b;
+    }
+
+    private static String sha256(byte[] b) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(b));
+    }
+
+    private long blobCount() throws Exception {
+        try (Stream<Path> s = Files.walk(dir.resolve("blobs"))) {
+            return s.filter(Files::isRegularFile).filter(p -> !p.getParent().getFileName().toString().equals(".tmp")).count();
+        }
+    }
+
+    private long tmpCount() throws Exception {
+        try (Stream<Path> s = Files.list(dir.resolve("blobs").resolve(".tmp"))) {
+            return s.count();
+        }
+    }
+
+    @Test
+    void streamsFieldsAndFilesIntact() throws Exception {
+        UploadStore store = store(10 << 20);
+        byte[] big = image(300_000, 1);
+        byte[] small = "plain text".getBytes(StandardCharsets.UTF_8);
+
+        UploadStore.Upload up = store.receive(multipart(
+                List.of(new String[]{"title", "공지 제목"}, new String[]{"academyNumbers", "1"}, new String[]{"academyNumbers", "2"}),
+                List.of(new FilePart("images", "photo.JPG", big),
+                        new FilePart("images", "note.txt", small),
+                        new FilePart("images", "", new byte[0]),           // 선택 안 된 파일 칸
+                        new FilePart("other", "skip.png", small))), "images");
+
+        assertEquals("공지 제목", up.field("title"));
+        assertEquals(List.of("1", "2"), up.fieldValues("academyNumbers"));
+        assertEquals(2, up.files().size());
+
+        UploadStore.StoredBlob b0 = up.files().get(0);
+        String h = sha256(big);
+        assertEquals(h, b0.sha256());
+        assertEquals("blobs/" + h.substring(0, 2) + "/" + h.substring(2, 4) + "/" + h + ".jpg", b0.relativePath());
+        assertEquals("/files/" + b0.relativePath(), b0.publicPath());
+        assertArrayEquals(big, Files.readAllBytes(dir.resolve(b0.relativePath())));
+        assertArrayEquals(small, Files.readAllBytes(dir.resolve(up.files().get(1).relativePath())));
+        assertTrue(up.files().get(1).relativePath().endsWith(".txt"));
+        assertEquals(0, tmpCount());
+    }
+
+    private void uploadSame(UploadStore store, byte[] img, int rounds) throws Exception {
+        for (int i = 0; i < rounds; i++) {
+            UploadStore.Upload up = store.receive(multipart(List.of(),
+                    List.of(new FilePart("images", "same-" + i + ".jpg", img))), "images");
+            assertEquals(i > 0, up.files().get(0).deduplicated());
+        }
+        assertEquals(1, blobCount());
+        assertEquals(1, store.storedCount());
+        assertEquals(rounds - 1, store.deduplicatedCount());
+        assertEquals(0, tmpCount());
+    }
+
+    @Test
+    void identicalUploadsShareOneBlob() throws Exception {
+        uploadSame(store(10 << 20), image(200_000, 2), 3);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void identicalUploadsTiming() throws Exception {
+        UploadStore store = store(10 << 20);
+        byte[] img = image(200_000, 2);
+
+        int rounds = 50;
+        long t0 = System.nanoTime();
+        uploadSame(store, img, rounds);
+        long t1 = System.nanoTime();
+
+        log.info("[upload-store] {} x {}KB uploads → 1 blob, {}us/upload",
+                rounds, img.length / 1024, (t1 - t0) / 1000 / rounds);
+    }
+
+    @Test
+    void oversizedFileIsRejectedMidStream() throws Exception {
+        UploadStore store = store(100_000);
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> store.receive(multipart(List.of(),
+                List.of(new FilePart("images", "ok.jpg", image(50_000, 3)),
+                        new FilePart("images", "huge.jpg", image(500_000, 4)))), "images"));
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE.value(), e.getStatusCode().value());
+        assertEquals(0, tmpCount());
+        assertEquals(1, store.rejectedCount());
+    }
+
+    @Test
+    void truncatedBodyIsBadRequest() {
+        UploadStore store = store(10 << 20);
+        MockHttpServletRequest req = multipart(List.of(), List.of(new FilePart("images", "a.jpg", image(10_000, 5))));
+        byte[] body = req.getContentAsByteArray();
+        req.setContent(Arrays.copyOf(body, body.length / 2));
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> store.receive(req, "images"));
+        assertEquals(HttpStatus.BAD_REQUEST.value(), e.getStatusCode().value());
+    }
+}
@@ -236,6 +236,106 @@ export async function fetchSeatBoard(classId: string, date = todayYmd()): Promis
   }
 }
 
+/* ===== 좌석판 실시간 스트림(SSE) ===== */
+export type SeatBoardDelta = {
+  classId: string;
+  date: string;
+  version: number;
+  seats: Array<{ index: number; seat: SeatBoardSeat }>;
+  waiting?: SeatBoardResponse["waiting"] | null; // null이면 변경 없음
+  presentCount?: number;
+  lateCount?: number;
+  absentCount?: number;
+  moveOrBreakCount?: number;
+  notRecordedCount?: number;
+};
+
+/** delta 이벤트를 현재 좌석판에 반영 */
+export function applySeatBoardDelta(prev: SeatBoardResponse, d: SeatBoardDelta): SeatBoardResponse {
+  const seats = prev.seats.slice();
+  for (const c of d.seats ?? []) {
+    if (c.index >= 0 && c.index < seats.length) seats[c.index] = { ...seats[c.index], ...c.seat };
+  }
+  return {
+    ...prev,
+    seats,
+    waiting: d.waiting ?? prev.waiting,
+    presentCount: d.presentCount ?? prev.presentCount,
+    lateCount: d.lateCount ?? prev.lateCount,
+    absentCount: d.absentCount ?? prev.absentCount,
+    moveOrBreakCount: d.moveOrBreakCount ?? prev.moveOrBreakCount,
+    notRecordedCount: d.notRecordedCount ?? prev.notRecordedCount,
+  };
+}
+
+/**
+ * GET /api/teachers/classes/{classId}/seat-board/stream
+ *  - EventSource는 Authorization 헤더를 못 넣어서 fetch 스트림으로 직접 파싱
+ *  - 반환값: 구독 해제 함수
+ */
+export function subscribeSeatBoard(
+  classId: string,
+  date: string,
+  handlers: {
+    onBoard: (b: SeatBoardResponse) => void;
+    onDelta: (d: SeatBoardDelta) => void;
+    onError?: (e: unknown) => void;
+  }
+): () => void {
+  const ctrl = new AbortController();
+  const s = getSession();
+
+  (async () => {
+    const res = await fetch(
+      abs(`/api/teachers/classes/${encodeURIComponent(classId)}/seat-board/stream?date=${encodeURIComponent(date)}`),
+      {
+        headers: {
+          Accept: "text/event-stream",
+          ...(s?.token ? { Authorization: `Bearer ${s.token}` } : {}),
+        },
+        credentials: "include",
+        cache: "no-store",
+        signal: ctrl.signal,
+      }
+    );
+    if (!res.ok || !res.body) throw new Error(friendlyHttpMessage(res.status));
+
+    const reader = res.body.getReader();
+    const decoder = new TextDecoder();
+    let buf = "";
+
+    for (;;) {
+      const { value, done } = await reader.read();
+      if (done) break;
+      buf += decoder.decode(value, { stream: true });
+
+      let sep: number;
+      while ((sep = buf.search(/\r?\n\r?\n/)) >= 0) {
+        const block = buf.slice(0, sep);
+        buf = buf.slice(sep).replace(/^\r?\n\r?\n/, "");
+
+        let event = "message";
+        const data: string[] = [];
+        for (const line of block.split(/\r?\n/)) {
+          if (line.startsWith("event:")) event = line.slice(6).trim();
+          else if (line.startsWith("data:")) data.push(line.slice(5).replace(/^ /, ""));
+        }
+        if (data.length === 0) continue; // heartbeat(comment)
+
+        const payload = JSON.parse(data.join("\n"));
+        if (event === "board") handlers.onBoard(payload as SeatBoardResponse);
+        else if (event === "delta") handlers.onDelta(payload as SeatBoardDelta);
+      }
+    }
+    // 서버 타임아웃 등으로 정상 종료 → 호출측에서 재구독
+    if (!ctrl.signal.aborted) throw new Error("stream closed");
+  })().catch((e) => {
+    if (!ctrl.signal.aborted) handlers.onError?.(e);
+  });
+
+  return () => ctrl.abort();
+}
+
 /* ===== Client-side filter(for fallback) ===== */
 function filterClassesForDateClient(list: TeacherClassLite[], date: string): TeacherClassLite[] {
   if (!Array.isArray(list) || list.length === 0) return [];
@@ -11,6 +11,7 @@ import {
   getAnswers as apiGetAnswers,
   postAnswer as apiPostAnswer,
   markQuestionRead as apiMarkQuestionRead,
+  waitThreadUpdates as apiWaitThreadUpdates,
   getFollowupsFlexible,
   postFollowupFlexible,
 } from "@/lib/qna";
@@ -27,8 +28,25 @@ type QnaPanelProps = {
   questionId?: string;
 };
 
-// setInterval 타입 안전
-type IntervalHandle = ReturnType<typeof setInterval> | null;
+// 새 메시지 대기 결과를 기존 목록 뒤에 id 기준으로 합침 (이미 있는 항목은 무시)
+function mergeById<T extends IdLike>(prev: T[], incoming: T[]): T[] {
+  if (!incoming.length) return prev;
+  const seen = new Set(prev.map((x) => String(x?._id ?? x?.id)));
+  const add = incoming.filter((x) => !seen.has(String(x?._id ?? x?.id)));
+  return add.length ? [...prev, ...add] : prev;
+}
+
+// 스레드에서 가장 최근 메시지 시각(ms) — 새 메시지 대기 시작 위치
+function latestAt(...lists: any[][]): number {
+  let max = 0;
+  for (const list of lists) {
+    for (const x of list) {
+      const t = x?.createdAt ? +new Date(x.createdAt) : 0;
+      if (Number.isFinite(t) && t > max) max = t;
+    }
+  }
+  return max;
+}
 
 // 🔹 API BASE (학부모 자녀 이름 조회용)
 const API_BASE = "/backend";
@@ -70,7 +88,8 @@ export default function QnaPanel({
   // 🔹 학부모 전용: 부모/자녀 이름 표기용
   const [parentChildLabel, setParentChildLabel] = useState<string | null>(null);
 
-  const pollRef = useRef<IntervalHandle>(null);
+  // 새 메시지 대기(long-poll) 루프 중단용
+  const feedRef = useRef<AbortController | null>(null);
 
   // ✅ 미확인 표시 기준 시각
   const pageEnterAtRef = useRef<string>(new Date().toISOString()); // 화면 진입 시각(fallback)
@@ -89,8 +108,8 @@ export default function QnaPanel({
   const qid = question?._id || question?.id;
   const canSend = useMemo(() => input.trim().length > 0 && !!qid, [input, qid]);
 
-  // 공통 새로고침 (질문/답변/팔로우업 재조회)
-  const reloadThread = async (rootId: string) => {
+  // 공통 새로고침 (질문/답변/팔로우업 재조회) → 불러온 것 중 가장 최근 메시지 시각(ms) 반환
+  const reloadThread = async (rootId: string): Promise<number> => {
     const q = (await apiGetQuestion(rootId)) as QnaQuestion;
     setQuestion(q);
 
@@ -110,7 +129,8 @@ export default function QnaPanel({
     }
 
     const a = (await apiGetAnswers(rootId)) as QnaAnswer[];
-    setAnswers(Array.isArray(a) ? a : []);
+    const loadedAnswers = Array.isArray(a) ? a : [];
+    setAnswers(loadedAnswers);
 
     const rawFollowups: any[] = Array.isArray((q as any)?.followups) ? (q as any).followups : [];
     const hasInlineContent = rawFollowups.some(
@@ -128,31 +148,51 @@ export default function QnaPanel({
 
     // 새 스레드 로드 후 하단으로
     scrollToBottom();
+
+    return latestAt([q], loadedAnswers, Array.isArray(resolvedFollowups) ? resolvedFollowups : []);
   };
 
-  // ✅ 폴링 시작/갱신
-  const startPolling = (rootId: string) => {
-    if (pollRef.current) clearInterval(pollRef.current);
-    pollRef.current = setInterval(async () => {
-      try {
-        const latest = (await apiGetAnswers(String(rootId))) as QnaAnswer[];
-        if (Array.isArray(latest)) {
-          setAnswers(latest);
-          scrollToBottom();
+  // ✅ 새 메시지 대기 중단
+  const stopLiveUpdates = () => {
+    if (feedRef.current) {
+      feedRef.current.abort();
+      feedRef.current = null;
+    }
+  };
+
+  // ✅ 새 메시지 대기 시작/갱신 (서버가 새 답변/후속질문이 생길 때까지 응답을 잡아 둠 → 조용한 방은 요청이 거의 없음)
+  const startLiveUpdates = (rootId: string, since: number) => {
+    stopLiveUpdates();
+    const ctrl = new AbortController();
+    feedRef.current = ctrl;
+
+    (async () => {
+      let cursor: string | null = null;
+      while (!ctrl.signal.aborted) {
+        try {
+          const res = await apiWaitThreadUpdates(
+            String(rootId),
+            cursor ? { cursor } : { since },
+            ctrl.signal
+          );
+          if (ctrl.signal.aborted) break;
+          cursor = res.cursor || cursor;
+          if (res.answers.length) setAnswers((prev) => mergeById(prev, res.answers as QnaAnswer[]));
+          if (res.followUps.length) setFollowupQs((prev) => mergeById(prev, res.followUps));
+          if (res.answers.length || res.followUps.length) scrollToBottom();
+        } catch {
+          if (ctrl.signal.aborted) break;
+          // 네트워크 오류 등: 잠깐 쉬고 같은 커서로 재시도
+          await new Promise((r) => setTimeout(r, 3000));
         }
-      } catch {
-        /* ignore */
       }
-    }, 5000);
+    })();
   };
 
   // 선택된 학원으로 방 열기(질문방 생성/조회 후 로드)
   const openRoomForAcademy = async (academyNo: number) => {
-    // 폴링 먼저 정리(전환 타이밍 꼬임 방지)
-    if (pollRef.current) {
-      clearInterval(pollRef.current);
-      pollRef.current = null;
-    }
+    // 대기 먼저 정리(전환 타이밍 꼬임 방지)
+    stopLiveUpdates();
 
     const session: any = getSavedSession();
     const rawRole = String(role ?? session?.role ?? "student").toLowerCase();
@@ -164,8 +204,8 @@ export default function QnaPanel({
     const id = (room as any)?._id || (room as any)?.id;
     if (!id) throw new Error("Q&A 방을 찾거나 생성하지 못했습니다.");
 
-    await reloadThread(String(id));
-    startPolling(String(id));
+    const since = await reloadThread(String(id));
+    startLiveUpdates(String(id), since);
   };
 
   // 🔹 학부모: 부모/자녀 이름 라벨 세팅
@@ -285,8 +325,8 @@ export default function QnaPanel({
       // ✅ questionId가 주어진 경우: 해당 스레드 즉시 오픈(권한 오류면 '내 방'으로 폴백)
       if (questionId) {
         try {
-          await reloadThread(String(questionId));
-          startPolling(String(questionId));
+          const since = await reloadThread(String(questionId));
+          startLiveUpdates(String(questionId), since);
           return;
         } catch (e: any) {
           const msg = String(e?.message ?? "");
@@ -302,8 +342,8 @@ export default function QnaPanel({
                 : await getOrCreateStudentRoom(acad);
             const id = String(room?._id || room?.id || "");
             if (id) {
-              await reloadThread(id);
-              startPolling(id);
+              const since = await reloadThread(id);
+              startLiveUpdates(id, since);
               return;
             }
           }
@@ -345,7 +385,7 @@ export default function QnaPanel({
   useEffect(() => {
     bootstrap();
     return () => {
-      if (pollRef.current) clearInterval(pollRef.current);
+      stopLiveUpdates();
     };
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, []);
@@ -355,8 +395,8 @@ export default function QnaPanel({
     if (!questionId) return;
     (async () => {
       try {
-        await reloadThread(String(questionId));
-        startPolling(String(questionId));
+        const since = await reloadThread(String(questionId));
+        startLiveUpdates(String(questionId), since);
       } catch (e: any) {
         const msg = String(e?.message ?? "");
         if (msg.startsWith("AUTH_401") || msg.startsWith("AUTH_403")) {
@@ -374,8 +414,8 @@ export default function QnaPanel({
               : await getOrCreateStudentRoom(acad);
           const id = String(room?._id || room?.id || "");
           if (id) {
-            await reloadThread(id);
-            startPolling(id);
+            const since = await reloadThread(id);
+            startLiveUpdates(id, since);
           }
         } else {
           setError(e?.message ?? "스레드를 불러오지 못했습니다.");
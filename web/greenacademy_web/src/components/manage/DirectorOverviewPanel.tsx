@@ -10,7 +10,13 @@ import {
   type DirectorOverviewResponse,
   type DirectorRoomStatus,
 } from "@/app/lib/directorApi";
-import { fetchSeatBoard, todayYmd, type SeatBoardResponse } from "@/app/lib/teachermainApi";
+import {
+  applySeatBoardDelta,
+  fetchSeatBoard,
+  subscribeSeatBoard,
+  todayYmd,
+  type SeatBoardResponse,
+} from "@/app/lib/teachermainApi";
 
 const isVectorRoom = (r: DirectorRoomStatus | null) =>
   !!r &&
@@ -142,22 +148,21 @@ export default function DirectorOverviewPanel({ user }: { user: NonNullable<Logi
     setModalOpen(false);
   }, [academy]);
 
-  // 우측 좌석판 로드 + 3초 폴링
-  React.useEffect(() => {
-    if (!data || !sel || sel.type !== "room") {
-      setBoard(null);
-      return;
-    }
+  // 스트림 대상 classId (개요가 15초마다 갱신돼도 같은 반이면 재구독하지 않도록 분리)
+  const boardClassId = React.useMemo(() => {
+    if (!data || !sel || sel.type !== "room") return null;
     const room = data.rooms.find((r) => r.roomNumber === sel.roomNumber) || null;
-    if (!room) {
-      setBoard(null);
-      return;
-    }
+    if (!room || isVectorRoom(room) || !room.classId) return null;
+    return room.classId;
+  }, [data, sel]);
 
-    if (isVectorRoom(room) || !room.classId) {
+  // 우측 좌석판 로드 + 실시간 스트림(SSE) 구독 (끊기면 3초 후 재구독)
+  React.useEffect(() => {
+    if (!boardClassId) {
       setBoard(null);
       return;
     }
+    const room = { classId: boardClassId };
 
     let alive = true;
 
@@ -175,13 +180,37 @@ export default function DirectorOverviewPanel({ user }: { user: NonNullable<Logi
       }
     };
 
-    loadBoard(true);
-    const timer = setInterval(() => loadBoard(false), 3000);
+    let unsubscribe: (() => void) | null = null;
+    let retry: ReturnType<typeof setTimeout> | null = null;
+
+    const connect = () => {
+      unsubscribe = subscribeSeatBoard(room.classId!, ymd, {
+        onBoard: (b) => {
+          if (!alive) return;
+          setBoard((prev) => mergeSeatBoard(prev, b));
+          setLoadingBoard(false);
+        },
+        onDelta: (d) => {
+          if (!alive) return;
+          setBoard((prev) => (prev ? applySeatBoardDelta(prev, d) : prev));
+        },
+        onError: () => {
+          if (!alive) return;
+          // 스트림 실패 시 한 번 조회로 화면 유지 후 재구독
+          loadBoard(false);
+          retry = setTimeout(connect, 3000);
+        },
+      });
+    };
+
+    setLoadingBoard(true);
+    connect();
     return () => {
       alive = false;
-      clearInterval(timer);
+      unsubscribe?.();
+      if (retry) clearTimeout(retry);
     };
-  }, [data, sel, ymd]);
+  }, [boardClassId, ymd]);
 
   // 합계 (이건 여전히 전체 rooms 기준)
   const totals = React.useMemo(
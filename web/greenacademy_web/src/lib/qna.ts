@@ -180,6 +180,37 @@ export async function getAnswers(
   );
 }
 
+export type QnaThreadUpdates = {
+  answers: QnaAnswer[];
+  followUps: any[];
+  /** 다음 대기 요청에 그대로 넘기는 값 */
+  cursor: string;
+};
+
+/**
+ * ✅ 방 새 메시지 대기 (long-poll)
+ * - 새 답변/후속질문이 생기면 바로, 없으면 서버 timeout(기본 25초) 후 빈 배열로 응답
+ * - 처음에는 since(가진 마지막 메시지 시각 ms)로, 이후에는 응답의 cursor 로 호출
+ */
+export async function waitThreadUpdates(
+  questionId: string,
+  from: { cursor?: string | null; since?: number | null },
+  signal?: AbortSignal
+): Promise<QnaThreadUpdates> {
+  const params = new URLSearchParams();
+  if (from.cursor) params.set("cursor", from.cursor);
+  else if (from.since != null) params.set("since", String(Math.floor(from.since)));
+  const raw = await requestAuthLocal<QnaThreadUpdates>(
+    `/backend/api/questions/${questionId}/updates?${params.toString()}`,
+    { method: "GET", signal }
+  );
+  return {
+    answers: Array.isArray(raw?.answers) ? raw.answers : [],
+    followUps: Array.isArray(raw?.followUps) ? raw.followUps : [],
+    cursor: String(raw?.cursor ?? from.cursor ?? ""),
+  };
+}
+
 // 읽음 처리 (★ 서버 갱신 + 로컬 lastReadAt 동기화)
 export async function markQuestionRead(
   questionId: string
@@ -378,6 +409,73 @@ export async function listQuestions(
     : [];
 }
 
+export type QnaQuestionPage = {
+  items: QnaQuestion[];
+  /** 다음 페이지 요청에 그대로 넘기는 값 (null 이면 마지막 페이지) */
+  nextCursor: string | null;
+};
+
+/** ✅ 교사/원장: 학원별 질문 목록 커서 페이징 (최근 활동 순) */
+export async function listQuestionsPage(
+  academyNumber: number,
+  cursor?: string | null,
+  limit?: number
+): Promise<QnaQuestionPage> {
+  const params = new URLSearchParams({ academyNumber: String(academyNumber) });
+  if (cursor) params.set("cursor", cursor);
+  if (limit) params.set("limit", String(limit));
+  const raw = await requestAuthLocal<QnaQuestionPage>(
+    `/backend/api/questions/page?${params.toString()}`,
+    { method: "GET" }
+  );
+  return {
+    items: Array.isArray(raw?.items)
+      ? raw.items.map((x) => ({ ...x, unreadCount: x?.unreadCount ?? 0 }))
+      : [],
+    nextCursor: raw?.nextCursor ?? null,
+  };
+}
+
+export type QnaSearchHit = {
+  kind: "question" | "answer" | "followup";
+  id: string;
+  questionId: string;
+  questionTitle?: string;
+  author?: string;
+  /** 검색어 주변 본문 일부 */
+  snippet: string;
+  createdAt?: string;
+  score: number;
+};
+
+export type QnaSearchResult = {
+  items: QnaSearchHit[];
+  /** 서버 기동 직후 색인 중이면 true (결과가 일부일 수 있음) */
+  indexing: boolean;
+};
+
+/**
+ * ✅ QnA 검색 (질문/답변/후속질문 본문)
+ * - 교사/원장: 학원 전체, 학생/학부모: 본인 방 안에서만
+ * - 한글은 두 글자 이상, 초성(예: "ㅁㅂ")으로도 검색 가능
+ */
+export async function searchQna(
+  academyNumber: number,
+  q: string,
+  limit?: number
+): Promise<QnaSearchResult> {
+  const params = new URLSearchParams({ academyNumber: String(academyNumber), q });
+  if (limit) params.set("limit", String(limit));
+  const raw = await requestAuthLocal<QnaSearchResult>(
+    `/backend/api/questions/search?${params.toString()}`,
+    { method: "GET" }
+  );
+  return {
+    items: Array.isArray(raw?.items) ? raw.items : [],
+    indexing: !!raw?.indexing,
+  };
+}
+
 /** (선택) 교사/원장: ID(학생/학부모)를 넣으면 해당 대상 방 조회/생성 */
 export async function getOrCreateTeacherRoomById(
   academyNumber: number,